@@ -0,0 +1,190 @@
+package manager;
+
+import java.util.Comparator;
+
+import shapes.Shape;
+import utilities.KeyComparator;
+
+/**
+ * Chooses the sorting algorithm for the "a" (auto) option by looking at the loaded shapes
+ * before sorting them.
+ *
+ * <p>Shapes compared by a {@link KeyComparator} (volume or base area) are always sorted with the
+ * radix sort by key, which takes linear time and calls no comparator, so no comparison sort here
+ * can beat it. For other orders (height and key lists) it measures
+ *
+ * <ul>
+ * <li>the size of the array,</li>
+ * <li>the number of descents (places where a shape is ordered after its successor), counted over
+ *     the whole array since a single pass is cheap compared to any sort,</li>
+ * <li>the ratio of inverted pairs in an evenly spaced sample, and</li>
+ * <li>the ratio of equal neighbours in the sorted sample (duplicate keys).</li>
+ * </ul>
+ *
+ * <p>and picks insertion sort for small or almost sorted input, merge sort for input that is
+ * largely presorted or reversed (on which the quick sort in {@link utilities.Sort} degrades towards
+ * quadratic time), three-way quick sort for input full of duplicates (which it groups in a single
+ * partition), and quick sort otherwise.
+ */
+final class AlgorithmSelector
+{
+	// Inputs up to this size are sorted with insertion sort
+	private static final int SMALL_INPUT = 32;
+
+	// Insertion sort is chosen if there are at most this many descents in the whole array
+	private static final int NEARLY_SORTED_DESCENTS = 8;
+
+	// Number of evenly spaced shapes examined for inversions and duplicates
+	private static final int SAMPLE_SIZE = 1024;
+
+	// Sampled inversion ratio below which (or above 1 minus which) the input counts as presorted
+	private static final double PRESORTED_INVERSIONS = 0.1;
+
+	// Sampled duplicate ratio above which the input counts as duplicate-heavy
+	private static final double DUPLICATE_HEAVY = 0.1;
+
+	private AlgorithmSelector()
+	{
+	}
+
+	/**
+	 * The algorithm chosen for an array and the reason for choosing it.
+	 */
+	static final class Selection
+	{
+		final String algorithm;
+		final String reason;
+
+		Selection(String algorithm, String reason)
+		{
+			this.algorithm = algorithm;
+			this.reason = reason;
+		}
+	}
+
+	/**
+	 * Chooses the sorting algorithm for the given shapes.
+	 *
+	 * @param shapes     the shapes that are about to be sorted.
+	 * @param comparator the order they will be sorted in.
+	 * @return the chosen algorithm ("r", "i", "m", "t" or "q") and the reason for the choice.
+	 */
+	static Selection select(Shape[] shapes, Comparator<Shape> comparator)
+	{
+		int n = shapes.length;
+		if (comparator instanceof KeyComparator)
+		{
+			return new Selection("r", "a single numeric key, which a radix sort orders in linear time ("
+					+ n + " shapes)");
+		}
+		if (n <= SMALL_INPUT)
+		{
+			return new Selection("i", n + " shapes is a small input");
+		}
+
+		long descents = 0;
+		for (int i = 1; i < n; i++)
+		{
+			if (comparator.compare(shapes[i - 1], shapes[i]) > 0) descents++;
+		}
+		if (descents <= NEARLY_SORTED_DESCENTS)
+		{
+			return new Selection("i", "nearly sorted input with " + descents + " descents in " + n + " shapes");
+		}
+
+		int sampleSize = Math.min(n, SAMPLE_SIZE);
+		Shape[] sample = new Shape[sampleSize];
+		for (int i = 0; i < sampleSize; i++)
+		{
+			sample[i] = shapes[(int) ((long) i * n / sampleSize)];
+		}
+
+		// Counting inversions with a merge sort leaves the sample sorted for the duplicate count
+		double pairs = (double) sampleSize * (sampleSize - 1) / 2;
+		double inversionRatio = countInversions(sample, new Shape[sampleSize], 0, sampleSize, comparator) / pairs;
+
+		int duplicates = 0;
+		for (int i = 1; i < sampleSize; i++)
+		{
+			if (comparator.compare(sample[i - 1], sample[i]) == 0) duplicates++;
+		}
+		double duplicateRatio = (double) duplicates / sampleSize;
+
+		String measurements = String.format("%d shapes, %d descents, sampled inversion ratio %.3f, sampled duplicate ratio %.3f",
+				n, descents, inversionRatio, duplicateRatio);
+
+		if (inversionRatio < PRESORTED_INVERSIONS || inversionRatio > 1 - PRESORTED_INVERSIONS)
+		{
+			return new Selection("m", "largely presorted or reversed input (" + measurements + ")");
+		}
+		if (duplicateRatio > DUPLICATE_HEAVY)
+		{
+			return new Selection("t", "many duplicate keys (" + measurements + ")");
+		}
+		return new Selection("q", "unordered input with distinct keys (" + measurements + ")");
+	}
+
+	/**
+	 * Sorts array[from, to) with a merge sort and returns the number of inverted pairs it contained.
+	 */
+	private static long countInversions(Shape[] array, Shape[] buffer, int from, int to, Comparator<Shape> comparator)
+	{
+		if (to - from < 2) return 0;
+
+		int mid = (from + to) >>> 1;
+		long inversions = countInversions(array, buffer, from, mid, comparator)
+				+ countInversions(array, buffer, mid, to, comparator);
+
+		System.arraycopy(array, from, buffer, from, to - from);
+		int i = from, j = mid, k = from;
+		while (i < mid && j < to)
+		{
+			if (comparator.compare(buffer[i], buffer[j]) <= 0)
+			{
+				array[k++] = buffer[i++];
+			}
+			else
+			{
+				// buffer[j] is ordered before every remaining element of the left half
+				inversions += mid - i;
+				array[k++] = buffer[j++];
+			}
+		}
+		while (i < mid) array[k++] = buffer[i++];
+		while (j < to) array[k++] = buffer[j++];
+		return inversions;
+	}
+
+	/**
+	 * Returns the display name of a sorting algorithm option.
+	 *
+	 * @param algorithm the algorithm option.
+	 * @return its name, e.g. "quick sort" for "q".
+	 */
+	static String nameOf(String algorithm)
+	{
+		switch (algorithm.toLowerCase())
+		{
+			case "b":
+				return "bubble sort";
+			case "s":
+				return "selection sort";
+			case "i":
+				return "insertion sort";
+			case "m":
+				return "merge sort";
+			case "q":
+				return "quick sort";
+			case "z":
+				return "heap sort";
+			case "w":
+				return "in-place merge sort";
+			case "t":
+				return "three-way quick sort";
+			case "r":
+				return "radix sort by key";
+			default:
+				return algorithm;
+		}
+	}
+}
@@ -0,0 +1,98 @@
+package manager;
+
+import utilities.SortCancelledException;
+import utilities.SortMonitor;
+
+/**
+ * Watches a sort started with the {@code --deadline} option. It prints the progress about once a
+ * second and cancels the sort as soon as the finish time projected from the progress rate so far
+ * (or the time already spent) exceeds the deadline, so that a quadratic sort of a large file fails
+ * within seconds instead of running for hours. The work of a sort is only estimated, so a sort may
+ * do more; beyond the estimate its finish is projected as the time spent multiplied by the overrun,
+ * which stays close to the time spent for a sort that overruns a little and grows fast for a sort
+ * that degrades to quadratic time.
+ */
+class DeadlineMonitor implements SortMonitor
+{
+	// Minimum time between two printed progress lines
+	private static final long REPORT_INTERVAL_NANOS = 1_000_000_000L;
+
+	// Part of the deadline that has to pass before the projection is trusted
+	private static final int WARM_UP_DIVISOR = 20;
+
+	private final long deadlineNanos;
+	private final String fallback;
+
+	private long startNanos;
+	private long lastReportNanos;
+
+	/**
+	 * Creates a monitor for the given deadline.
+	 *
+	 * @param deadlineSeconds the time the sort may take.
+	 * @param fallback        the algorithm to sort with instead when the sort is cancelled, or null
+	 *                        to give up.
+	 */
+	DeadlineMonitor(double deadlineSeconds, String fallback)
+	{
+		this.deadlineNanos = (long) (deadlineSeconds * 1e9);
+		this.fallback = fallback;
+	}
+
+	/**
+	 * Returns the algorithm to sort with when the sort is cancelled.
+	 *
+	 * @return the fallback algorithm, or null if the sort should be given up.
+	 */
+	String getFallback()
+	{
+		return fallback;
+	}
+
+	/**
+	 * Starts the clock, to be called right before the sort starts.
+	 */
+	void start()
+	{
+		startNanos = System.nanoTime();
+		lastReportNanos = startNanos;
+	}
+
+	@Override
+	public void progress(long done, long total)
+	{
+		long now = System.nanoTime();
+		long elapsed = now - startNanos;
+		double fraction = total <= 0 ? 1 : Math.min(1, (double) done / total);
+		double overrun = total <= 0 ? 1 : Math.max(1, (double) done / total);
+
+		if (elapsed > deadlineNanos)
+		{
+			throw new SortCancelledException(String.format("%.1f%% done when the deadline of %.1f seconds passed",
+					fraction * 100, deadlineNanos / 1e9));
+		}
+
+		if (elapsed >= deadlineNanos / WARM_UP_DIVISOR && fraction > 0)
+		{
+			long projected = (long) (elapsed / fraction * overrun);
+			if (projected > deadlineNanos && overrun > 1)
+			{
+				throw new SortCancelledException(String.format(
+						"%.1f times the estimated work done after %.1f seconds, projected finish after %.1f seconds exceeds the deadline of %.1f seconds",
+						overrun, elapsed / 1e9, projected / 1e9, deadlineNanos / 1e9));
+			}
+			if (projected > deadlineNanos)
+			{
+				throw new SortCancelledException(String.format(
+						"%.1f%% done after %.1f seconds, projected finish after %.1f seconds exceeds the deadline of %.1f seconds",
+						fraction * 100, elapsed / 1e9, projected / 1e9, deadlineNanos / 1e9));
+			}
+		}
+
+		if (now - lastReportNanos >= REPORT_INTERVAL_NANOS)
+		{
+			lastReportNanos = now;
+			System.out.println(String.format("Progress: %.1f%% after %.1f seconds.", fraction * 100, elapsed / 1e9));
+		}
+	}
+}
@@ -0,0 +1,358 @@
+package manager;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import shapes.Shape;
+
+/**
+ * Sorts a shape data file that is too large for one JVM by spreading it over several worker
+ * processes. The coordinator
+ *
+ * <ol>
+ * <li>draws a random sample of the shapes and picks splitters that divide the sample into
+ *     equally sized key ranges,</li>
+ * <li>streams the file once more and writes every shape to the partition file of its key range,</li>
+ * <li>starts one {@link SortWorker} per partition through a {@link WorkerTransport}, and</li>
+ * <li>concatenates the sorted partitions in key order into the result file.</li>
+ * </ol>
+ *
+ * <p>Neither the coordinator nor any worker holds more than one partition in memory. The partitions
+ * and sorted partitions are kept in a temporary directory that is removed afterwards; the result is
+ * written next to the input as {@code <file>.sorted.txt} in the shape data file format.
+ */
+public class DistributedSortCoordinator
+{
+	// Number of sampled shapes per worker used to choose the splitters
+	private static final int SAMPLES_PER_WORKER = 256;
+
+	// Width of the zero padded count line, patched once a partition is complete
+	private static final String COUNT_FORMAT = "%010d";
+
+	private final String fileName;
+	private final String sortAlgorithm;
+	private final String compareType;
+	private final int workers;
+	private final WorkerTransport transport;
+	private final Comparator<Shape> comparator;
+
+	/**
+	 * Creates a coordinator for the given file and sort settings.
+	 *
+	 * @param fileName      the shape data file, compressed with gzip if the name ends in ".gz".
+	 * @param sortAlgorithm the sorting algorithm every worker uses ("b", "s", "i", "m", "q" or "z").
+	 * @param compareType   the type of comparison to sort by ("h", "v" or "a").
+	 * @param workers       the number of worker processes (and partitions).
+	 * @param transport     starts the worker processes.
+	 */
+	public DistributedSortCoordinator(String fileName, String sortAlgorithm, String compareType, int workers,
+			WorkerTransport transport)
+	{
+		this.fileName = fileName;
+		this.sortAlgorithm = sortAlgorithm;
+		this.compareType = compareType;
+		this.workers = workers;
+		this.transport = transport;
+		this.comparator = SortManager.comparatorFor(compareType);
+	}
+
+	/**
+	 * Runs the distributed sort and prints the sorted results and the time spent in every phase.
+	 */
+	public void run()
+	{
+		Path workDirectory = null;
+		try
+		{
+			workDirectory = Files.createTempDirectory("shape-sort");
+			long startTime = System.nanoTime();
+
+			Shape[] splitters = chooseSplitters();
+			long sampledTime = System.nanoTime();
+
+			File[] partitions = new File[workers];
+			File[] sortedPartitions = new File[workers];
+			for (int p = 0; p < workers; p++)
+			{
+				partitions[p] = workDirectory.resolve("partition-" + p + ".txt").toFile();
+				sortedPartitions[p] = workDirectory.resolve("sorted-" + p + ".txt").toFile();
+			}
+			long[] counts = partition(splitters, partitions);
+			long partitionedTime = System.nanoTime();
+
+			runWorkers(partitions, sortedPartitions);
+			long sortedTime = System.nanoTime();
+
+			String resultFile = concatenate(sortedPartitions, counts);
+			long endTime = System.nanoTime();
+
+			System.out.println("Sorted result written to: " + resultFile);
+			for (int p = 0; p < workers; p++)
+			{
+				System.out.println("Partition " + p + ": " + counts[p] + " shapes.");
+			}
+			System.out.println("Phase sample: " + (sampledTime - startTime) / 1_000_000 + " milliseconds.");
+			System.out.println("Phase partition: " + (partitionedTime - sampledTime) / 1_000_000 + " milliseconds.");
+			System.out.println("Phase worker sort: " + (sortedTime - partitionedTime) / 1_000_000 + " milliseconds.");
+			System.out.println("Phase concatenate: " + (endTime - sortedTime) / 1_000_000 + " milliseconds.");
+			System.out.println(sortAlgorithm + " distributed run time was: " + (endTime - startTime) / 1_000_000
+					+ " milliseconds.");
+		}
+		catch (NumberFormatException e)
+		{
+			System.out.println("Error: Invalid number format in file.");
+		}
+		catch (IOException e)
+		{
+			System.out.println("Error: Distributed sort failed: " + e.getMessage());
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			System.out.println("Error: Interrupted while waiting for the workers.");
+		}
+		finally
+		{
+			deleteDirectory(workDirectory);
+		}
+	}
+
+	/**
+	 * Draws a reservoir sample of the shapes in the file and returns the splitters between
+	 * the partitions: partition p receives the shapes ordered before splitter p.
+	 *
+	 * @return the workers - 1 splitters in sorted order.
+	 * @throws IOException if the file cannot be read.
+	 */
+	private Shape[] chooseSplitters() throws IOException
+	{
+		String[] reservoir = new String[workers * SAMPLES_PER_WORKER];
+		Random random = new Random();
+		long seen = 0;
+
+		try (BufferedReader reader = openReader())
+		{
+			long remaining = readCount(reader);
+			String line;
+			while (remaining-- > 0 && (line = reader.readLine()) != null)
+			{
+				if (seen < reservoir.length)
+				{
+					reservoir[(int) seen] = line;
+				}
+				else
+				{
+					long slot = (long) (random.nextDouble() * (seen + 1));
+					if (slot < reservoir.length) reservoir[(int) slot] = line;
+				}
+				seen++;
+			}
+		}
+
+		Shape[] sample = new Shape[(int) Math.min(seen, reservoir.length)];
+		int size = 0;
+		for (int i = 0; i < sample.length; i++)
+		{
+			Shape shape = SortManager.parseShape(reservoir[i]);
+			if (shape != null) sample[size++] = shape;
+		}
+		sample = Arrays.copyOf(sample, size);
+		Arrays.sort(sample, comparator);
+
+		Shape[] splitters = new Shape[workers - 1];
+		for (int p = 1; p < workers; p++)
+		{
+			// An empty sample leaves every splitter null, then all shapes go to the last partition
+			splitters[p - 1] = size == 0 ? null : sample[(int) ((long) p * size / workers)];
+		}
+		return splitters;
+	}
+
+	/**
+	 * Streams the file and writes every shape to the partition of its key range.
+	 *
+	 * @param splitters  the splitters returned by {@link #chooseSplitters()}.
+	 * @param partitions the partition files to write.
+	 * @return the number of shapes written to every partition.
+	 * @throws IOException if the file cannot be read or a partition cannot be written.
+	 */
+	private long[] partition(Shape[] splitters, File[] partitions) throws IOException
+	{
+		long[] counts = new long[workers];
+		BufferedWriter[] writers = new BufferedWriter[workers];
+		try (BufferedReader reader = openReader())
+		{
+			for (int p = 0; p < workers; p++)
+			{
+				writers[p] = Files.newBufferedWriter(partitions[p].toPath(), StandardCharsets.UTF_8);
+				writers[p].write(String.format(COUNT_FORMAT, 0));
+				writers[p].newLine();
+			}
+
+			long remaining = readCount(reader);
+			String line;
+			while (remaining-- > 0 && (line = reader.readLine()) != null)
+			{
+				Shape shape = SortManager.parseShape(line);
+				if (shape == null) continue;
+
+				int p = partitionOf(shape, splitters);
+				writers[p].write(line);
+				writers[p].newLine();
+				counts[p]++;
+			}
+		}
+		finally
+		{
+			for (BufferedWriter writer : writers)
+			{
+				if (writer != null) writer.close();
+			}
+		}
+
+		// Patch the real shape counts into the count lines
+		for (int p = 0; p < workers; p++)
+		{
+			try (RandomAccessFile file = new RandomAccessFile(partitions[p], "rw"))
+			{
+				file.write(String.format(COUNT_FORMAT, counts[p]).getBytes(StandardCharsets.US_ASCII));
+			}
+		}
+		return counts;
+	}
+
+	/**
+	 * Returns the partition a shape belongs to: the first partition whose splitter is ordered after
+	 * the shape. Shapes equal to a splitter always end up in the same partition.
+	 */
+	private int partitionOf(Shape shape, Shape[] splitters)
+	{
+		int low = 0;
+		int high = splitters.length;
+		while (low < high)
+		{
+			int mid = (low + high) >>> 1;
+			if (splitters[mid] != null && comparator.compare(shape, splitters[mid]) < 0)
+			{
+				high = mid;
+			}
+			else
+			{
+				low = mid + 1;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Starts one worker per partition and waits for all of them.
+	 *
+	 * @throws IOException if a worker cannot be started or fails.
+	 * @throws InterruptedException if interrupted while waiting for the workers.
+	 */
+	private void runWorkers(File[] partitions, File[] sortedPartitions) throws IOException, InterruptedException
+	{
+		Process[] processes = new Process[workers];
+		try
+		{
+			for (int p = 0; p < workers; p++)
+			{
+				processes[p] = transport.startWorker(new String[] {
+						partitions[p].getPath(), sortedPartitions[p].getPath(), sortAlgorithm, compareType });
+			}
+			for (int p = 0; p < workers; p++)
+			{
+				int status = processes[p].waitFor();
+				if (status != 0)
+				{
+					throw new IOException("worker " + p + " exited with status " + status);
+				}
+			}
+		}
+		finally
+		{
+			for (Process process : processes)
+			{
+				if (process != null && process.isAlive()) process.destroy();
+			}
+		}
+	}
+
+	/**
+	 * Concatenates the sorted partitions in key order into the result file and prints the
+	 * sorted results while doing so.
+	 *
+	 * @return the name of the result file.
+	 * @throws IOException if a sorted partition cannot be read or the result cannot be written.
+	 */
+	private String concatenate(File[] sortedPartitions, long[] counts) throws IOException
+	{
+		long total = 0;
+		for (long count : counts)
+		{
+			total += count;
+		}
+
+		String baseName = SortManager.isCompressed(fileName) ? fileName.substring(0, fileName.length() - 3) : fileName;
+		String resultFile = baseName + ".sorted.txt";
+		SortedResultSampler sampler = new SortedResultSampler(total, compareType);
+
+		try (BufferedWriter writer = Files.newBufferedWriter(new File(resultFile).toPath(), StandardCharsets.UTF_8))
+		{
+			writer.write(Long.toString(total));
+			writer.newLine();
+			for (File sortedPartition : sortedPartitions)
+			{
+				try (BufferedReader reader = Files.newBufferedReader(sortedPartition.toPath(), StandardCharsets.UTF_8))
+				{
+					String line;
+					while ((line = reader.readLine()) != null)
+					{
+						writer.write(line);
+						writer.newLine();
+						sampler.accept(SortManager.parseShape(line));
+					}
+				}
+			}
+		}
+
+		sampler.print();
+		return resultFile;
+	}
+
+	private BufferedReader openReader() throws IOException
+	{
+		return new BufferedReader(new InputStreamReader(SortManager.openInput(fileName), StandardCharsets.UTF_8));
+	}
+
+	private static long readCount(BufferedReader reader) throws IOException
+	{
+		String header = reader.readLine();
+		return header == null ? 0 : Long.parseLong(header.trim());
+	}
+
+	private static void deleteDirectory(Path directory)
+	{
+		if (directory == null) return;
+
+		File[] files = directory.toFile().listFiles();
+		if (files != null)
+		{
+			for (File file : files)
+			{
+				file.delete();
+			}
+		}
+		directory.toFile().delete();
+	}
+}
@@ -0,0 +1,30 @@
+package manager;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Starts every worker as a child JVM on the local machine, using the same Java installation
+ * and class path as the running program.
+ */
+public class LocalProcessTransport implements WorkerTransport
+{
+	@Override
+	public Process startWorker(String[] workerArguments) throws IOException
+	{
+		List<String> command = new ArrayList<>();
+		command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.add(SortWorker.class.getName());
+		command.addAll(Arrays.asList(workerArguments));
+
+		return new ProcessBuilder(command)
+				.redirectOutput(ProcessBuilder.Redirect.INHERIT)
+				.redirectError(ProcessBuilder.Redirect.INHERIT)
+				.start();
+	}
+}
@@ -0,0 +1,270 @@
+package manager;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import shapes.Shape;
+
+/**
+ * Sorts many shape data files in one run instead of starting the program once per file. The files
+ * are given as a directory (every .txt and .gz file in it) or a glob pattern such as
+ * {@code res/shapes*.txt}.
+ *
+ * <p>Loading a file mostly waits for the disk, sorting it keeps a core busy, so the two run on
+ * separate pools: up to {@code concurrency} files are loaded at the same time on an I/O pool, and
+ * the loaded files are sorted on a CPU pool with at most one thread per core. A file is only
+ * loaded once fewer than {@code concurrency} files are loaded or being sorted, which bounds the
+ * memory in use.
+ *
+ * <p>The sampled results and timings of every file are printed as one combined report in the order
+ * of the file names, or written to a separate {@code <file_name>.result.txt} per file.
+ */
+public class MultiFileSorter
+{
+	// Suffixes of files written by this program, never picked up as input
+	private static final String[] OUTPUT_SUFFIXES = { ".sorted.txt", ".result.txt" };
+
+	private final List<Path> files;
+	private final String sortAlgorithm;
+	private final String compareType;
+	private final int concurrency;
+	private final boolean separate;
+
+	/**
+	 * Creates a sorter for the given files and sort settings.
+	 *
+	 * @param files         the shape data files.
+	 * @param sortAlgorithm the sorting algorithm used for every file.
+	 * @param compareType   the type of comparison to sort by.
+	 * @param concurrency   the largest number of files loaded or sorted at the same time.
+	 * @param separate      true to write the results of every file to {@code <file_name>.result.txt},
+	 *                      false to print one combined report.
+	 */
+	public MultiFileSorter(List<Path> files, String sortAlgorithm, String compareType, int concurrency,
+			boolean separate)
+	{
+		this.files = files;
+		this.sortAlgorithm = sortAlgorithm;
+		this.compareType = compareType;
+		this.concurrency = concurrency;
+		this.separate = separate;
+	}
+
+	/**
+	 * Returns whether a file argument names more than one file: a directory or a glob pattern.
+	 *
+	 * @param fileName the value of the -f option.
+	 * @return true if the argument is a directory or contains '*' or '?'.
+	 */
+	static boolean isMultiFile(String fileName)
+	{
+		return fileName.indexOf('*') >= 0 || fileName.indexOf('?') >= 0 || new File(fileName).isDirectory();
+	}
+
+	/**
+	 * Lists the shape data files named by a directory or a glob pattern, sorted by name. The glob may
+	 * only be used in the last part of the path.
+	 *
+	 * @param fileName a directory or a glob pattern such as "res/shapes*.txt".
+	 * @return the matching files.
+	 * @throws IOException if the directory cannot be read.
+	 */
+	static List<Path> listFiles(String fileName) throws IOException
+	{
+		Path directory;
+		PathMatcher matcher;
+		if (new File(fileName).isDirectory())
+		{
+			directory = Paths.get(fileName);
+			matcher = directory.getFileSystem().getPathMatcher("glob:*.{txt,gz}");
+		}
+		else
+		{
+			// The pattern is split by hand, '*' and '?' are not valid in a Windows path
+			int separator = Math.max(fileName.lastIndexOf('/'), fileName.lastIndexOf('\\'));
+			directory = Paths.get(separator < 0 ? "." : fileName.substring(0, separator + 1));
+			matcher = directory.getFileSystem().getPathMatcher("glob:" + fileName.substring(separator + 1));
+		}
+
+		List<Path> files = new ArrayList<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory))
+		{
+			for (Path file : stream)
+			{
+				if (Files.isRegularFile(file) && matcher.matches(file.getFileName()) && !isOutput(file))
+				{
+					files.add(file);
+				}
+			}
+		}
+		Collections.sort(files);
+		return files;
+	}
+
+	private static boolean isOutput(Path file)
+	{
+		String name = file.getFileName().toString().toLowerCase();
+		for (String suffix : OUTPUT_SUFFIXES)
+		{
+			if (name.endsWith(suffix)) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Loads and sorts all files and prints the report, or the names of the result files.
+	 */
+	public void run()
+	{
+		int cores = Runtime.getRuntime().availableProcessors();
+		ExecutorService ioPool = Executors.newFixedThreadPool(concurrency);
+		ExecutorService cpuPool = Executors.newFixedThreadPool(Math.min(concurrency, cores));
+		Semaphore inMemory = new Semaphore(concurrency);
+		long startTime = System.nanoTime();
+
+		try
+		{
+			List<CompletableFuture<FileResult>> results = new ArrayList<>();
+			for (Path file : files)
+			{
+				inMemory.acquire();
+				CompletableFuture<FileResult> result = CompletableFuture
+						.supplyAsync(() -> load(file), ioPool)
+						.thenApplyAsync(this::sort, cpuPool);
+				result.whenComplete((r, e) -> inMemory.release());
+				results.add(result);
+			}
+
+			long shapes = 0;
+			for (CompletableFuture<FileResult> result : results)
+			{
+				FileResult fileResult = result.get();
+				shapes += fileResult.count;
+				report(fileResult);
+			}
+
+			System.out.println("Sorted " + files.size() + " files with " + shapes + " shapes in "
+					+ (System.nanoTime() - startTime) / 1_000_000 + " milliseconds (concurrent files: " + concurrency
+					+ ", sorting threads: " + Math.min(concurrency, cores) + ").");
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			System.out.println("Error: Interrupted while sorting the files.");
+		}
+		catch (ExecutionException e)
+		{
+			System.out.println("Error: Sorting the files failed: " + e.getCause());
+		}
+		finally
+		{
+			ioPool.shutdownNow();
+			cpuPool.shutdownNow();
+		}
+	}
+
+	/**
+	 * The loaded shapes of a file, and after sorting its report.
+	 */
+	private static final class FileResult
+	{
+		final Path file;
+		Shape[] shapes;
+		int count;
+		long loadMillis;
+		long sortMillis;
+		String report;
+
+		FileResult(Path file)
+		{
+			this.file = file;
+		}
+	}
+
+	private FileResult load(Path file)
+	{
+		FileResult result = new FileResult(file);
+		long startTime = System.nanoTime();
+		Shape[] loaded = SortManager.readShapesFromFile(file.toString());
+		result.loadMillis = (System.nanoTime() - startTime) / 1_000_000;
+
+		if (loaded != null)
+		{
+			// Lines that could not be parsed leave gaps in the array
+			int n = 0;
+			for (Shape shape : loaded)
+			{
+				if (shape != null) loaded[n++] = shape;
+			}
+			result.shapes = n == loaded.length ? loaded : Arrays.copyOf(loaded, n);
+			result.count = n;
+		}
+		return result;
+	}
+
+	private FileResult sort(FileResult result)
+	{
+		StringBuilder report = new StringBuilder("File: ").append(result.file).append("\n");
+		if (result.shapes == null)
+		{
+			report.append("Error: Could not read file: ").append(result.file).append("\n");
+			result.report = report.toString();
+			return result;
+		}
+
+		long startTime = System.nanoTime();
+		boolean sorted = SortManager.sortShapes(result.shapes, sortAlgorithm, compareType);
+		result.sortMillis = (System.nanoTime() - startTime) / 1_000_000;
+
+		if (sorted)
+		{
+			report.append(SortManager.formatSortedResults(result.shapes.length, i -> result.shapes[i], compareType));
+		}
+		report.append("Load time was: ").append(result.loadMillis).append(" milliseconds.\n");
+		report.append(sortAlgorithm).append(" run time was: ").append(result.sortMillis).append(" milliseconds.\n");
+		result.report = report.toString();
+
+		// Only the report is kept until it is printed
+		result.shapes = null;
+		return result;
+	}
+
+	private void report(FileResult result)
+	{
+		if (!separate)
+		{
+			System.out.print(result.report);
+			System.out.println();
+			return;
+		}
+
+		String name = result.file.toString();
+		if (SortManager.isCompressed(name)) name = name.substring(0, name.length() - 3);
+		Path resultFile = Paths.get(name + ".result.txt");
+		try
+		{
+			Files.write(resultFile, result.report.getBytes(StandardCharsets.UTF_8));
+			System.out.println("Results of " + result.file + " (" + result.count + " shapes, " + sortAlgorithm
+					+ " run time " + result.sortMillis + " milliseconds) written to: " + resultFile);
+		}
+		catch (IOException e)
+		{
+			System.out.println("Error: Could not write file: " + resultFile + " (" + e.getMessage() + ")");
+		}
+	}
+}
@@ -0,0 +1,378 @@
+package manager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import shapes.Shape;
+
+/**
+ * Stores shapes as packed fixed-size records in direct (off-heap) memory instead of as Shape objects,
+ * so that a dataset of hundreds of millions of shapes adds nothing to the heap that the garbage
+ * collector has to trace or copy. Every record holds
+ *
+ * <pre>
+ *  offset  0: shape type code (stored as 8 bytes to keep the fields aligned)
+ *  offset  8: height
+ *  offset 16: radius or side
+ *  offset 24: volume    (calculated once when the shape is added)
+ *  offset 32: base area (calculated once when the shape is added)
+ * </pre>
+ *
+ * <p>The records live in direct ByteBuffer segments of up to {@value #RECORDS_PER_SEGMENT} records each
+ * (a single buffer is limited to 2 GB). The sort routines move the records inside the segments and compare
+ * the cached keys directly; Shape objects are only created again for the entries that are printed.
+ */
+public class OffHeapShapeStore
+{
+	private static final int RECORD_BYTES = 40;
+	private static final int SEGMENT_SHIFT = 24;
+	private static final int RECORDS_PER_SEGMENT = 1 << SEGMENT_SHIFT;
+	private static final int SEGMENT_MASK = RECORDS_PER_SEGMENT - 1;
+
+	private static final int TYPE = 0;
+	private static final int HEIGHT = 8;
+	private static final int RADIUS_OR_SIDE = 16;
+	private static final int VOLUME = 24;
+	private static final int BASE_AREA = 32;
+
+	// Ranges up to this size are finished with insertion sort
+	private static final int INSERTION_SORT_THRESHOLD = 16;
+
+	// Shape type names, indexed by type code
+	private static final String[] TYPE_NAMES = { "Cylinder", "Cone", "Pyramid", "TriangularPrism",
+			"SquarePrism", "PentagonalPrism", "OctagonalPrism" };
+
+	private final ByteBuffer[] segments;
+	private final int capacity;
+	private int size;
+
+	// Lines skipped by load because they did not describe a valid shape
+	private int skipped;
+
+	/**
+	 * Allocates an empty store for the given number of shapes.
+	 *
+	 * @param capacity the maximum number of shapes the store can hold.
+	 */
+	public OffHeapShapeStore(int capacity)
+	{
+		this.capacity = capacity;
+		int segmentCount = (int) (((long) capacity + RECORDS_PER_SEGMENT - 1) >>> SEGMENT_SHIFT);
+		segments = new ByteBuffer[segmentCount];
+		for (int s = 0; s < segmentCount; s++)
+		{
+			int records = Math.min(RECORDS_PER_SEGMENT, capacity - s * RECORDS_PER_SEGMENT);
+			segments[s] = ByteBuffer.allocateDirect(records * RECORD_BYTES).order(ByteOrder.nativeOrder());
+		}
+	}
+
+	/**
+	 * Returns the number of shapes in the store.
+	 *
+	 * @return the number of shapes.
+	 */
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 * Appends a shape to the store. Only its type and dimensions are kept, together with its
+	 * volume and base area.
+	 *
+	 * @param shape the shape to add.
+	 * @throws IllegalStateException if the store is full.
+	 */
+	public void add(Shape shape)
+	{
+		if (size == capacity)
+		{
+			throw new IllegalStateException("Store is full: " + capacity + " shapes.");
+		}
+
+		ByteBuffer segment = segments[size >>> SEGMENT_SHIFT];
+		int offset = (size & SEGMENT_MASK) * RECORD_BYTES;
+		segment.putLong(offset + TYPE, typeCode(shape.getShapeName()));
+		segment.putDouble(offset + HEIGHT, shape.getHeight());
+		segment.putDouble(offset + RADIUS_OR_SIDE, SortManager.radiusOrSide(shape));
+		segment.putDouble(offset + VOLUME, shape.calcVolume());
+		segment.putDouble(offset + BASE_AREA, shape.calcBaseArea());
+		size++;
+	}
+
+	/**
+	 * Creates a Shape object for the record at the given position, so that it can be rendered
+	 * through {@link Shape#toString(String)}.
+	 *
+	 * @param index the position of the record.
+	 * @return a new Shape with the type and dimensions of the record.
+	 */
+	public Shape get(int index)
+	{
+		if (index < 0 || index >= size)
+		{
+			throw new IndexOutOfBoundsException("Index " + index + " out of bounds");
+		}
+
+		ByteBuffer segment = segments[index >>> SEGMENT_SHIFT];
+		int offset = (index & SEGMENT_MASK) * RECORD_BYTES;
+		return SortManager.createShape(TYPE_NAMES[(int) segment.getLong(offset + TYPE)],
+				segment.getDouble(offset + HEIGHT), segment.getDouble(offset + RADIUS_OR_SIDE));
+	}
+
+	/**
+	 * Sorts the records in descending order of the given key, in the same order as
+	 * {@link SortManager#sortShapes(Shape[], String, String)} would sort the shapes.
+	 *
+	 * @param compareType   the key to sort by: "h" for height, "v" for volume, and "a" for base area.
+	 * @param sortAlgorithm "z" for heap sort, any other algorithm uses quick sort.
+	 */
+	public void sort(String compareType, String sortAlgorithm)
+	{
+		int key = keyOffset(compareType);
+		if ("z".equalsIgnoreCase(sortAlgorithm))
+		{
+			heapSort(0, size, key);
+		}
+		else
+		{
+			int depthLimit = 2 * (32 - Integer.numberOfLeadingZeros(Math.max(size, 1)));
+			quickSort(0, size - 1, key, depthLimit);
+		}
+	}
+
+	/**
+	 * Quick sort with a median-of-three pivot and Hoare partitioning, which splits runs of equal keys
+	 * evenly. Ranges that recurse too deep are finished with heap sort, short ranges with insertion sort.
+	 */
+	private void quickSort(int low, int high, int key, int depthLimit)
+	{
+		while (high - low >= INSERTION_SORT_THRESHOLD)
+		{
+			if (depthLimit-- == 0)
+			{
+				heapSort(low, high + 1, key);
+				return;
+			}
+
+			int mid = (low + high) >>> 1;
+			if (before(mid, low, key)) swap(mid, low);
+			if (before(high, low, key)) swap(high, low);
+			if (before(high, mid, key)) swap(high, mid);
+			double pivot = key(mid, key);
+
+			int i = low - 1;
+			int j = high + 1;
+			while (true)
+			{
+				do i++; while (key(i, key) > pivot);
+				do j--; while (key(j, key) < pivot);
+				if (i >= j) break;
+				swap(i, j);
+			}
+
+			// Recurse into the smaller part and loop on the larger one to bound the stack depth
+			if (j - low < high - j)
+			{
+				quickSort(low, j, key, depthLimit);
+				low = j + 1;
+			}
+			else
+			{
+				quickSort(j + 1, high, key, depthLimit);
+				high = j;
+			}
+		}
+		insertionSort(low, high, key);
+	}
+
+	private void insertionSort(int low, int high, int key)
+	{
+		for (int i = low + 1; i <= high; i++)
+		{
+			for (int j = i; j > low && before(j, j - 1, key); j--)
+			{
+				swap(j, j - 1);
+			}
+		}
+	}
+
+	/**
+	 * Heap sort of the records in [from, to). The heap keeps the record that sorts last at its root.
+	 */
+	private void heapSort(int from, int to, int key)
+	{
+		int n = to - from;
+		for (int i = n / 2 - 1; i >= 0; i--)
+		{
+			siftDown(from, i, n, key);
+		}
+		for (int i = n - 1; i > 0; i--)
+		{
+			swap(from, from + i);
+			siftDown(from, 0, i, key);
+		}
+	}
+
+	private void siftDown(int from, int i, int n, int key)
+	{
+		while (true)
+		{
+			int last = i;
+			int left = 2 * i + 1;
+			int right = left + 1;
+			if (left < n && before(from + last, from + left, key)) last = left;
+			if (right < n && before(from + last, from + right, key)) last = right;
+			if (last == i) return;
+
+			swap(from + i, from + last);
+			i = last;
+		}
+	}
+
+	// Descending order: a record sorts first if its key is larger
+	private boolean before(int a, int b, int key)
+	{
+		return key(a, key) > key(b, key);
+	}
+
+	private double key(int index, int key)
+	{
+		return segments[index >>> SEGMENT_SHIFT].getDouble((index & SEGMENT_MASK) * RECORD_BYTES + key);
+	}
+
+	private void swap(int a, int b)
+	{
+		ByteBuffer segmentA = segments[a >>> SEGMENT_SHIFT];
+		ByteBuffer segmentB = segments[b >>> SEGMENT_SHIFT];
+		int offsetA = (a & SEGMENT_MASK) * RECORD_BYTES;
+		int offsetB = (b & SEGMENT_MASK) * RECORD_BYTES;
+		for (int field = 0; field < RECORD_BYTES; field += 8)
+		{
+			long temp = segmentA.getLong(offsetA + field);
+			segmentA.putLong(offsetA + field, segmentB.getLong(offsetB + field));
+			segmentB.putLong(offsetB + field, temp);
+		}
+	}
+
+	private static int keyOffset(String compareType)
+	{
+		switch (compareType.toLowerCase())
+		{
+			case "h":
+				return HEIGHT;
+			case "v":
+				return VOLUME;
+			case "a":
+				return BASE_AREA;
+			default:
+				throw new IllegalArgumentException("Unknown compare type: " + compareType);
+		}
+	}
+
+	private static long typeCode(String shapeName)
+	{
+		for (int code = 0; code < TYPE_NAMES.length; code++)
+		{
+			if (TYPE_NAMES[code].equals(shapeName)) return code;
+		}
+		throw new IllegalArgumentException("Unknown shape type: " + shapeName);
+	}
+
+	/**
+	 * Reads a shape data file into a new store. Lines that do not describe a valid shape are
+	 * reported by the parser and skipped.
+	 *
+	 * @param fileName the shape data file, compressed with gzip if the name ends in ".gz".
+	 * @return a store holding the shapes of the file.
+	 * @throws IOException if the file cannot be read.
+	 */
+	public static OffHeapShapeStore load(String fileName) throws IOException
+	{
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(SortManager.openInput(fileName), StandardCharsets.UTF_8)))
+		{
+			String header = reader.readLine();
+			int count = header == null ? 0 : Integer.parseInt(header.trim());
+			OffHeapShapeStore store = new OffHeapShapeStore(count);
+
+			String line;
+			while (store.size() + store.skipped < count && (line = reader.readLine()) != null)
+			{
+				Shape shape = SortManager.parseShape(line);
+				if (shape == null)
+				{
+					store.skipped++;
+					continue;
+				}
+				store.add(shape);
+			}
+			return store;
+		}
+	}
+
+	/**
+	 * Loads a shape data file into an off-heap store, sorts it and prints the sorted results,
+	 * the run time of the sort and the garbage collection time spent while loading and sorting.
+	 *
+	 * @param fileName      the shape data file.
+	 * @param sortAlgorithm "z" for heap sort, any other algorithm uses quick sort.
+	 * @param compareType   the type of comparison to sort by ("h", "v" or "a").
+	 * @param outputFile    the file every sorted row is written to, or null to only print the results.
+	 */
+	public static void sortAndBenchmark(String fileName, String sortAlgorithm, String compareType, String outputFile)
+	{
+		long gcMillisBefore = totalGcMillis();
+		OffHeapShapeStore store;
+		try
+		{
+			store = load(fileName);
+		}
+		catch (NumberFormatException e)
+		{
+			System.out.println("Error: Invalid number format in file.");
+			return;
+		}
+		catch (IOException e)
+		{
+			System.out.println("Error: Could not read file: " + fileName + " (" + e.getMessage() + ")");
+			return;
+		}
+
+		String algorithm = "z".equalsIgnoreCase(sortAlgorithm) ? "z" : "q";
+		if (!algorithm.equalsIgnoreCase(sortAlgorithm))
+		{
+			System.out.println("Off-heap records are sorted with quick sort or heap sort, using quick sort.");
+		}
+
+		long startTime = System.nanoTime();
+		store.sort(compareType, algorithm);
+		long durationMillis = (System.nanoTime() - startTime) / 1_000_000;
+		long gcMillis = totalGcMillis() - gcMillisBefore;
+
+		SortManager.printSortedResults(store.size(), store::get, compareType);
+		System.out.println(algorithm + " off-heap run time was: " + durationMillis + " milliseconds.");
+		System.out.println("Garbage collection time while loading and sorting: " + gcMillis + " milliseconds.");
+
+		if (outputFile != null)
+		{
+			SortedResultWriter.writeAndReport(outputFile, store.size(), store::get, compareType);
+		}
+	}
+
+	private static long totalGcMillis()
+	{
+		long total = 0;
+		for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans())
+		{
+			total += Math.max(0, gc.getCollectionTime());
+		}
+		return total;
+	}
+}
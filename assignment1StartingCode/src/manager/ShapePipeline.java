@@ -0,0 +1,406 @@
+package manager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+import shapes.Shape;
+
+/**
+ * Sorts a shape data file as a pipeline of overlapping stages, each running on its own thread:
+ *
+ * <ol>
+ * <li><b>read</b>: decompresses (for ".gz" files) and splits the input into batches of lines.</li>
+ * <li><b>parse</b>: turns line batches into chunks of Shape objects.</li>
+ * <li><b>sort</b>: sorts every chunk with the selected algorithm as soon as it is complete.</li>
+ * </ol>
+ *
+ * <p>The stages are connected by bounded queues, so a slow stage applies back-pressure instead of
+ * letting the whole file pile up in memory as text. Once the last chunk is sorted the sorted chunks
+ * are merged into the final order, which means that most of the sorting work is already done by the
+ * time the last byte has been decompressed. The throughput of every stage is reported at the end.
+ */
+public class ShapePipeline
+{
+	// Number of lines handed from the read stage to the parse stage at once
+	private static final int BATCH_LINES = 4096;
+
+	// Number of shapes in every independently sorted chunk
+	private static final int CHUNK_SHAPES = 1 << 16;
+
+	// Capacity (in batches/chunks) of the queues between the stages
+	private static final int QUEUE_CAPACITY = 8;
+
+	// End-of-stream markers passed down the queues
+	private static final String[] END_OF_LINES = new String[0];
+	private static final Shape[] END_OF_SHAPES = new Shape[0];
+
+	private final String fileName;
+	private final String sortAlgorithm;
+	private final String compareType;
+	private final String outputFile;
+
+	private final BlockingQueue<String[]> lineBatches = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+	private final BlockingQueue<Shape[]> shapeChunks = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+	private final List<Shape[]> sortedRuns = new ArrayList<>();
+
+	// First error raised by any stage, the remaining stages drain their input and stop
+	private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+	private final StageStats readStats = new StageStats("read", "lines");
+	private final StageStats parseStats = new StageStats("parse", "shapes");
+	private final StageStats sortStats = new StageStats("sort", "shapes");
+	private final StageStats mergeStats = new StageStats("merge", "shapes");
+
+	/**
+	 * Creates a pipeline for the given file and sort settings.
+	 *
+	 * @param fileName      the shape data file, compressed with gzip if the name ends in ".gz".
+	 * @param sortAlgorithm the sorting algorithm used for every chunk ("b", "s", "i", "m", "q" or "z").
+	 * @param compareType   the type of comparison to sort by ("h", "v" or "a").
+	 * @param outputFile    the file every sorted row is written to, or null to only print the results.
+	 */
+	public ShapePipeline(String fileName, String sortAlgorithm, String compareType, String outputFile)
+	{
+		this.fileName = fileName;
+		this.sortAlgorithm = sortAlgorithm;
+		this.compareType = compareType;
+		this.outputFile = outputFile;
+	}
+
+	/**
+	 * Runs all stages, merges the sorted chunks and prints the sorted results, the run time
+	 * and the throughput of every stage.
+	 */
+	public void run()
+	{
+		long startTime = System.nanoTime();
+
+		Thread reader = new Thread(this::readLines, "pipeline-read");
+		Thread parser = new Thread(this::parseLines, "pipeline-parse");
+		Thread sorter = new Thread(this::sortChunks, "pipeline-sort");
+		reader.start();
+		parser.start();
+		sorter.start();
+
+		try
+		{
+			reader.join();
+			parser.join();
+			sorter.join();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			System.out.println("Error: Interrupted while waiting for the pipeline to finish.");
+			return;
+		}
+
+		Throwable error = failure.get();
+		if (error != null)
+		{
+			if (error instanceof NumberFormatException)
+			{
+				System.out.println("Error: Invalid number format in file.");
+			}
+			else
+			{
+				System.out.println("Error: Could not read file: " + fileName + " (" + error.getMessage() + ")");
+			}
+			return;
+		}
+
+		Shape[] shapes = mergeRuns();
+
+		long durationMillis = (System.nanoTime() - startTime) / 1_000_000;
+
+		SortManager.printSortedResults(shapes, compareType);
+		System.out.println(readStats);
+		System.out.println(parseStats);
+		System.out.println(sortStats);
+		System.out.println(mergeStats);
+		System.out.println(sortAlgorithm + " pipeline run time was: " + durationMillis + " milliseconds.");
+
+		if (outputFile != null)
+		{
+			SortedResultWriter.writeAndReport(outputFile, shapes.length, i -> shapes[i], compareType);
+		}
+	}
+
+	/**
+	 * Read stage: decompresses the file and forwards its lines in batches. The first line holds
+	 * the number of shapes in the file, at most that many lines are forwarded.
+	 */
+	private void readLines()
+	{
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(SortManager.openInput(fileName), StandardCharsets.UTF_8)))
+		{
+			String header = reader.readLine();
+			int remaining = header == null ? 0 : Integer.parseInt(header.trim());
+
+			while (remaining > 0)
+			{
+				long start = System.nanoTime();
+				String[] batch = new String[Math.min(BATCH_LINES, remaining)];
+				int count = 0;
+				String line;
+				while (count < batch.length && (line = reader.readLine()) != null)
+				{
+					batch[count++] = line;
+				}
+				readStats.record(count, System.nanoTime() - start);
+
+				if (count == 0) break; // The file holds fewer shapes than announced
+				remaining -= count;
+				lineBatches.put(count == batch.length ? batch : Arrays.copyOf(batch, count));
+			}
+		}
+		catch (IOException | RuntimeException e)
+		{
+			failure.compareAndSet(null, e);
+		}
+		catch (InterruptedException e)
+		{
+			failure.compareAndSet(null, e);
+			Thread.currentThread().interrupt();
+		}
+		finally
+		{
+			putQuietly(lineBatches, END_OF_LINES);
+		}
+	}
+
+	/**
+	 * Parse stage: turns line batches into chunks of {@value #CHUNK_SHAPES} shapes. Lines that do not
+	 * describe a valid shape are reported by the parser and skipped.
+	 */
+	private void parseLines()
+	{
+		Shape[] chunk = new Shape[CHUNK_SHAPES];
+		int count = 0;
+
+		try
+		{
+			String[] batch;
+			while ((batch = lineBatches.take()) != END_OF_LINES)
+			{
+				if (failure.get() != null) continue; // Drain so the read stage never blocks
+
+				long start = System.nanoTime();
+				int parsed = 0;
+				try
+				{
+					for (String line : batch)
+					{
+						Shape shape = SortManager.parseShape(line);
+						if (shape == null) continue;
+
+						chunk[count++] = shape;
+						parsed++;
+						if (count == CHUNK_SHAPES)
+						{
+							parseStats.record(parsed, System.nanoTime() - start);
+							shapeChunks.put(chunk);
+							chunk = new Shape[CHUNK_SHAPES];
+							count = 0;
+							parsed = 0;
+							start = System.nanoTime();
+						}
+					}
+				}
+				catch (RuntimeException e)
+				{
+					failure.compareAndSet(null, e);
+				}
+				parseStats.record(parsed, System.nanoTime() - start);
+			}
+
+			if (count > 0 && failure.get() == null)
+			{
+				shapeChunks.put(Arrays.copyOf(chunk, count));
+			}
+		}
+		catch (InterruptedException e)
+		{
+			failure.compareAndSet(null, e);
+			Thread.currentThread().interrupt();
+		}
+		finally
+		{
+			putQuietly(shapeChunks, END_OF_SHAPES);
+		}
+	}
+
+	/**
+	 * Sort stage: sorts every chunk with the selected algorithm as soon as it arrives.
+	 */
+	private void sortChunks()
+	{
+		try
+		{
+			Shape[] chunk;
+			while ((chunk = shapeChunks.take()) != END_OF_SHAPES)
+			{
+				if (failure.get() != null) continue; // Drain so the parse stage never blocks
+
+				long start = System.nanoTime();
+				try
+				{
+					SortManager.sortShapes(chunk, sortAlgorithm, compareType);
+					sortedRuns.add(chunk);
+				}
+				catch (RuntimeException e)
+				{
+					failure.compareAndSet(null, e);
+				}
+				sortStats.record(chunk.length, System.nanoTime() - start);
+			}
+		}
+		catch (InterruptedException e)
+		{
+			failure.compareAndSet(null, e);
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Merges the sorted chunks into one sorted array. The chunks are merged with a binary heap
+	 * of chunk indices; equal shapes are taken from the earlier chunk first.
+	 *
+	 * @return all shapes of the file in sorted order.
+	 */
+	private Shape[] mergeRuns()
+	{
+		long start = System.nanoTime();
+		Comparator<Shape> comparator = SortManager.comparatorFor(compareType);
+
+		int total = 0;
+		for (Shape[] run : sortedRuns)
+		{
+			total += run.length;
+		}
+
+		Shape[] merged = new Shape[total];
+		int runCount = sortedRuns.size();
+		Shape[][] runs = sortedRuns.toArray(new Shape[runCount][]);
+		int[] positions = new int[runCount];
+
+		// Min-heap of run indices ordered by the current head element of each run
+		int[] heap = new int[runCount];
+		int heapSize = 0;
+		for (int r = 0; r < runCount; r++)
+		{
+			if (runs[r].length > 0) heap[heapSize++] = r;
+		}
+		for (int i = heapSize / 2 - 1; i >= 0; i--)
+		{
+			siftDown(heap, heapSize, i, runs, positions, comparator);
+		}
+
+		int k = 0;
+		while (heapSize > 0)
+		{
+			int r = heap[0];
+			merged[k++] = runs[r][positions[r]++];
+			if (positions[r] == runs[r].length)
+			{
+				heap[0] = heap[--heapSize];
+			}
+			siftDown(heap, heapSize, 0, runs, positions, comparator);
+		}
+
+		mergeStats.record(total, System.nanoTime() - start);
+		return merged;
+	}
+
+	private static void siftDown(int[] heap, int heapSize, int i, Shape[][] runs, int[] positions, Comparator<Shape> comparator)
+	{
+		while (true)
+		{
+			int smallest = i;
+			int left = 2 * i + 1;
+			int right = left + 1;
+
+			if (left < heapSize && precedes(heap[left], heap[smallest], runs, positions, comparator))
+			{
+				smallest = left;
+			}
+			if (right < heapSize && precedes(heap[right], heap[smallest], runs, positions, comparator))
+			{
+				smallest = right;
+			}
+			if (smallest == i) return;
+
+			int temp = heap[i];
+			heap[i] = heap[smallest];
+			heap[smallest] = temp;
+			i = smallest;
+		}
+	}
+
+	private static boolean precedes(int a, int b, Shape[][] runs, int[] positions, Comparator<Shape> comparator)
+	{
+		int result = comparator.compare(runs[a][positions[a]], runs[b][positions[b]]);
+		return result < 0 || (result == 0 && a < b);
+	}
+
+	private static <T> void putQuietly(BlockingQueue<T> queue, T marker)
+	{
+		boolean interrupted = false;
+		while (true)
+		{
+			try
+			{
+				queue.put(marker);
+				break;
+			}
+			catch (InterruptedException e)
+			{
+				interrupted = true;
+			}
+		}
+		if (interrupted) Thread.currentThread().interrupt();
+	}
+
+	/**
+	 * Counts the items processed by a stage and the time the stage spent working on them,
+	 * excluding the time it was blocked on its queues.
+	 */
+	private static class StageStats
+	{
+		private final String stage;
+		private final String unit;
+		private long items;
+		private long busyNanos;
+
+		StageStats(String stage, String unit)
+		{
+			this.stage = stage;
+			this.unit = unit;
+		}
+
+		void record(long count, long nanos)
+		{
+			items += count;
+			busyNanos += nanos;
+		}
+
+		@Override
+		public String toString()
+		{
+			long millis = busyNanos / 1_000_000;
+			long perSecond = busyNanos == 0 ? 0 : items * 1_000_000_000L / busyNanos;
+			return "Stage " + stage + ": " + items + " " + unit + " in " + millis
+					+ " milliseconds busy (" + perSecond + " " + unit + "/second).";
+		}
+	}
+}
@@ -0,0 +1,387 @@
+package manager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import shapes.Shape;
+import utilities.QuantileSketch;
+import utilities.ShapeKey;
+import utilities.Sort;
+
+/**
+ * Reports the distribution of the volume, height and base area of the shapes in a file without
+ * sorting them: the minimum, the maximum, the 50th, 90th and 99th percentile and a histogram.
+ *
+ * <p>There are two modes:
+ * <ul>
+ * <li><b>exact</b>: the shapes are loaded, the keys are extracted in one parallel pass and every
+ *     percentile is found with {@link Sort#quickSelect(double[], int, int, int)} in linear time.</li>
+ * <li><b>approximate</b>: the file is streamed in batches that are summarized in parallel into
+ *     {@link QuantileSketch}es, so memory use does not depend on the size of the file. The
+ *     percentiles are within {@value #SKETCH_ACCURACY} relative error; minimum, maximum and
+ *     histogram are exact.</li>
+ * </ul>
+ *
+ * <p>The histogram buckets are fixed (1, 2, 5, 10, 20, 50, ...), so both modes count every key
+ * into its bucket during the same single pass that extracts it.
+ */
+public class ShapeStatistics
+{
+	// Percentiles reported for every key
+	private static final double[] PERCENTILES = { 0.50, 0.90, 0.99 };
+
+	// Relative error of the percentiles in approximate mode
+	private static final double SKETCH_ACCURACY = 0.01;
+
+	// Number of lines summarized by one task in approximate mode
+	private static final int BATCH_LINES = 8192;
+
+	// Number of shapes handled by one task of the parallel pass in exact mode
+	private static final int CHUNK_SHAPES = 16384;
+
+	// Estimated heap use of a loaded shape and its extracted keys, used to choose the mode
+	private static final long BYTES_PER_SHAPE = 40 + 8 + 3 * 8;
+
+	// Upper bounds of the histogram buckets: 0.001, 0.002, 0.005, 0.01, ... 1e15
+	private static final double[] BUCKET_BOUNDS = bucketBounds(-3, 15);
+
+	// Keys the statistics are reported for
+	private static final ShapeKey[] KEYS = { ShapeKey.VOLUME, ShapeKey.HEIGHT, ShapeKey.BASE_AREA };
+
+	private ShapeStatistics()
+	{
+	}
+
+	/**
+	 * Computes and prints the statistics of a shape data file.
+	 *
+	 * @param fileName the shape data file, compressed with gzip if the name ends in ".gz".
+	 * @param mode     "exact", "approx", or null to use exact statistics only if the shapes fit
+	 *                 comfortably in memory.
+	 */
+	public static void report(String fileName, String mode)
+	{
+		try
+		{
+			boolean exact;
+			if (mode == null)
+			{
+				exact = fitsInMemory(fileName);
+			}
+			else
+			{
+				exact = mode.equalsIgnoreCase("exact");
+			}
+
+			long startTime = System.nanoTime();
+			if (exact)
+			{
+				reportExact(fileName);
+			}
+			else
+			{
+				reportApproximate(fileName);
+			}
+			System.out.println("Statistics run time was: " + (System.nanoTime() - startTime) / 1_000_000
+					+ " milliseconds.");
+		}
+		catch (NumberFormatException e)
+		{
+			System.out.println("Error: Invalid number format in file.");
+		}
+		catch (IOException e)
+		{
+			System.out.println("Error: Could not read file: " + fileName + " (" + e.getMessage() + ")");
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			System.out.println("Error: Interrupted while computing statistics.");
+		}
+		catch (ExecutionException e)
+		{
+			Throwable cause = e.getCause();
+			if (cause instanceof NumberFormatException)
+			{
+				System.out.println("Error: Invalid number format in file.");
+			}
+			else
+			{
+				System.out.println("Error: Statistics failed: " + cause);
+			}
+		}
+	}
+
+	/**
+	 * Returns whether the shapes announced by the count line of an uncompressed file use at most
+	 * half of the maximum heap size once loaded. Compressed files are always streamed.
+	 */
+	private static boolean fitsInMemory(String fileName) throws IOException
+	{
+		if (SortManager.isCompressed(fileName)) return false;
+
+		try (BufferedReader reader = openReader(fileName))
+		{
+			String header = reader.readLine();
+			long count = header == null ? 0 : Long.parseLong(header.trim());
+			return count * BYTES_PER_SHAPE <= Runtime.getRuntime().maxMemory() / 2;
+		}
+	}
+
+	/**
+	 * Loads the shapes, extracts the keys and fills the histograms in one parallel pass, then
+	 * selects the exact percentiles.
+	 */
+	private static void reportExact(String fileName)
+	{
+		Shape[] loaded = SortManager.readShapesFromFile(fileName);
+		if (loaded == null) return;
+
+		// Lines that could not be parsed leave gaps in the array
+		int valid = 0;
+		for (Shape shape : loaded)
+		{
+			if (shape != null) loaded[valid++] = shape;
+		}
+		int n = valid;
+		Shape[] shapes = Arrays.copyOf(loaded, n);
+
+		double[][] values = new double[KEYS.length][n];
+		int chunks = (n + CHUNK_SHAPES - 1) / CHUNK_SHAPES;
+		Summary summary = IntStream.range(0, chunks).parallel().mapToObj(c -> {
+			Summary part = new Summary(false);
+			int end = Math.min(n, (c + 1) * CHUNK_SHAPES);
+			for (int i = c * CHUNK_SHAPES; i < end; i++)
+			{
+				for (int k = 0; k < KEYS.length; k++)
+				{
+					double value = KEYS[k].valueOf(shapes[i]);
+					values[k][i] = value;
+					part.add(k, value);
+				}
+			}
+			return part;
+		}).reduce(Summary::merge).orElseGet(() -> new Summary(false));
+
+		System.out.println("Statistics of " + n + " shapes (exact, quickselect):");
+		for (int k = 0; k < KEYS.length; k++)
+		{
+			double[] percentiles = new double[PERCENTILES.length];
+			int from = 0;
+			for (int p = 0; p < PERCENTILES.length && n > 0; p++)
+			{
+				// The percentiles are selected in increasing order, every selection only has to
+				// search the range to the right of the previous one
+				int rank = rankOf(PERCENTILES[p], n);
+				percentiles[p] = Sort.quickSelect(values[k], from, n, rank);
+				from = rank;
+			}
+			print(KEYS[k], summary, k, percentiles);
+		}
+	}
+
+	/**
+	 * Streams the file in batches of lines that are parsed and summarized by parallel tasks.
+	 * At most two batches per task thread are in flight, so memory use stays bounded.
+	 */
+	private static void reportApproximate(String fileName)
+			throws IOException, InterruptedException, ExecutionException
+	{
+		int threads = Runtime.getRuntime().availableProcessors();
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		ArrayDeque<Future<Summary>> pending = new ArrayDeque<>();
+		Summary summary = new Summary(true);
+
+		try (BufferedReader reader = openReader(fileName))
+		{
+			String header = reader.readLine();
+			long remaining = header == null ? 0 : Long.parseLong(header.trim());
+
+			List<String> batch = new ArrayList<>(BATCH_LINES);
+			String line;
+			while (remaining-- > 0 && (line = reader.readLine()) != null)
+			{
+				batch.add(line);
+				if (batch.size() == BATCH_LINES)
+				{
+					if (pending.size() == 2 * threads) summary.merge(pending.poll().get());
+					pending.add(executor.submit(summarize(batch)));
+					batch = new ArrayList<>(BATCH_LINES);
+				}
+			}
+			if (!batch.isEmpty()) pending.add(executor.submit(summarize(batch)));
+
+			while (!pending.isEmpty())
+			{
+				summary.merge(pending.poll().get());
+			}
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+
+		System.out.println("Statistics of " + summary.count[0] + " shapes (approximate, "
+				+ (int) (SKETCH_ACCURACY * 100) + "% relative error in percentiles):");
+		for (int k = 0; k < KEYS.length; k++)
+		{
+			double[] percentiles = new double[PERCENTILES.length];
+			for (int p = 0; p < PERCENTILES.length; p++)
+			{
+				percentiles[p] = summary.sketches[k].quantile(PERCENTILES[p]);
+			}
+			print(KEYS[k], summary, k, percentiles);
+		}
+	}
+
+	private static Callable<Summary> summarize(List<String> lines)
+	{
+		return () -> {
+			Summary part = new Summary(true);
+			for (String line : lines)
+			{
+				Shape shape = SortManager.parseShape(line);
+				if (shape == null) continue;
+				for (int k = 0; k < KEYS.length; k++)
+				{
+					part.add(k, KEYS[k].valueOf(shape));
+				}
+			}
+			return part;
+		};
+	}
+
+	/**
+	 * Returns the zero based index of a percentile in ascending order (nearest rank), the same
+	 * definition {@link QuantileSketch#quantile(double)} estimates.
+	 */
+	private static int rankOf(double percentile, int n)
+	{
+		return Math.max(0, (int) Math.ceil(percentile * n) - 1);
+	}
+
+	private static void print(ShapeKey key, Summary summary, int k, double[] percentiles)
+	{
+		if (summary.count[k] == 0)
+		{
+			System.out.println(key.getLabel() + ": no shapes");
+			return;
+		}
+
+		StringBuilder line = new StringBuilder(key.getLabel()).append(": min=").append(summary.min[k]);
+		for (int p = 0; p < PERCENTILES.length; p++)
+		{
+			line.append(", p").append(Math.round(PERCENTILES[p] * 100)).append('=').append(percentiles[p]);
+		}
+		line.append(", max=").append(summary.max[k]);
+		System.out.println(line);
+
+		// Print the buckets from the first to the last non-empty one
+		long[] histogram = summary.histograms[k];
+		int first = 0;
+		int last = histogram.length - 1;
+		while (histogram[first] == 0) first++;
+		while (histogram[last] == 0) last--;
+
+		System.out.println(key.getLabel() + " histogram:");
+		for (int b = first; b <= last; b++)
+		{
+			String lower = b == 0 ? "-inf" : Double.toString(BUCKET_BOUNDS[b - 1]);
+			String upper = b == BUCKET_BOUNDS.length ? "inf" : Double.toString(BUCKET_BOUNDS[b]);
+			System.out.println("  [" + lower + ", " + upper + "): " + histogram[b]);
+		}
+	}
+
+	/**
+	 * Returns the bucket bounds 1, 2 and 5 times every power of ten from 10^lowExponent to 10^highExponent.
+	 */
+	private static double[] bucketBounds(int lowExponent, int highExponent)
+	{
+		double[] bounds = new double[3 * (highExponent - lowExponent) + 1];
+		int b = 0;
+		for (int e = lowExponent; e < highExponent; e++)
+		{
+			bounds[b++] = Double.parseDouble("1e" + e);
+			bounds[b++] = Double.parseDouble("2e" + e);
+			bounds[b++] = Double.parseDouble("5e" + e);
+		}
+		bounds[b] = Double.parseDouble("1e" + highExponent);
+		return bounds;
+	}
+
+	/**
+	 * Returns the histogram bucket of a value: bucket b holds the values in
+	 * [BUCKET_BOUNDS[b - 1], BUCKET_BOUNDS[b]), the first and last bucket are open ended.
+	 */
+	private static int bucketOf(double value)
+	{
+		int index = Arrays.binarySearch(BUCKET_BOUNDS, value);
+		return index >= 0 ? index + 1 : -index - 1;
+	}
+
+	private static BufferedReader openReader(String fileName) throws IOException
+	{
+		return new BufferedReader(new InputStreamReader(SortManager.openInput(fileName), StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Count, minimum, maximum, histogram and (in approximate mode) sketch of every key for a part
+	 * of the shapes. Parts summarized in parallel are merged into one.
+	 */
+	private static final class Summary
+	{
+		final long[] count = new long[KEYS.length];
+		final double[] min = new double[KEYS.length];
+		final double[] max = new double[KEYS.length];
+		final long[][] histograms = new long[KEYS.length][BUCKET_BOUNDS.length + 1];
+		final QuantileSketch[] sketches;
+
+		Summary(boolean sketched)
+		{
+			Arrays.fill(min, Double.POSITIVE_INFINITY);
+			Arrays.fill(max, Double.NEGATIVE_INFINITY);
+			sketches = sketched ? new QuantileSketch[KEYS.length] : null;
+			for (int k = 0; sketched && k < KEYS.length; k++)
+			{
+				sketches[k] = new QuantileSketch(SKETCH_ACCURACY);
+			}
+		}
+
+		void add(int k, double value)
+		{
+			count[k]++;
+			if (value < min[k]) min[k] = value;
+			if (value > max[k]) max[k] = value;
+			histograms[k][bucketOf(value)]++;
+			if (sketches != null) sketches[k].add(value);
+		}
+
+		Summary merge(Summary other)
+		{
+			for (int k = 0; k < KEYS.length; k++)
+			{
+				count[k] += other.count[k];
+				min[k] = Math.min(min[k], other.min[k]);
+				max[k] = Math.max(max[k], other.max[k]);
+				for (int b = 0; b < histograms[k].length; b++)
+				{
+					histograms[k][b] += other.histograms[k][b];
+				}
+				if (sketches != null) sketches[k].merge(other.sketches[k]);
+			}
+			return this;
+		}
+	}
+}
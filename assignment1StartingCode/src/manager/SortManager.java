@@ -1,21 +1,37 @@
 package manager;
 
-import java.io.File;
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Scanner;
+import java.util.function.IntFunction;
+import java.util.zip.GZIPInputStream;
 
 import shapes.Cone;
 import shapes.Cylinder;
 import shapes.OctagonalPrism;
 import shapes.PentagonalPrism;
+import shapes.Prism;
 import shapes.Pyramid;
 import shapes.Shape;
 import shapes.SquarePrism;
 import shapes.TriangularPrism;
 import utilities.Sort;
+import utilities.SortCancelledException;
 import utilities.VolumeComparator;
 import utilities.BaseAreaComparator;
+import utilities.CompositeComparator;
+import utilities.KeyedShape;
+import utilities.ShapeKey;
 
 public class SortManager 
 {
@@ -25,10 +41,75 @@ public class SortManager
 		String fileName = null;
         String compareType = null;
         String sortAlgorithm = null;
+        boolean pipelined = false;
+        int workers = 0;
+        boolean offHeap = false;
+        boolean indexed = false;
+        String statistics = null;
+        String outputFile = null;
+        String deadline = null;
+        int concurrency = 0;
+        boolean separate = false;
+        boolean compactKeys = false;
 
         for (String arg : args) 
         {
-            if (arg.toLowerCase().startsWith("-f")) 
+            if (arg.toLowerCase().startsWith("--deadline=")) 
+            {
+                deadline = arg.substring(11); // Seconds the sort may take, optionally followed by ':' and a fallback algorithm
+            } 
+            else if (arg.toLowerCase().startsWith("-stats")) 
+            {
+                statistics = arg.substring(6); // Report key statistics instead of sorting, optionally ":exact" or ":approx"
+            } 
+            else if (arg.equalsIgnoreCase("-index")) 
+            {
+                indexed = true; // Maintain a persistent sorted index of the append-only file
+            } 
+            else if (arg.equalsIgnoreCase("-separate")) 
+            {
+                separate = true; // Write the results of every file of a multi-file sort to its own file
+            } 
+            else if (arg.equalsIgnoreCase("-compact")) 
+            {
+                compactKeys = true; // Sort by float precision keys and compare exactly only to break ties
+            } 
+            else if (arg.equalsIgnoreCase("-offheap")) 
+            {
+                offHeap = true; // Keep the shapes in off-heap records instead of Shape objects
+            } 
+            else if (arg.toLowerCase().startsWith("-o")) 
+            {
+                outputFile = arg.substring(2); // Write every sorted row to this file
+            } 
+            else if (arg.equalsIgnoreCase("-p")) 
+            {
+                pipelined = true; // Overlap reading, parsing and sorting on separate threads
+            } 
+            else if (arg.toLowerCase().startsWith("-d")) 
+            {
+                try 
+                {
+                    workers = Integer.parseInt(arg.substring(2)); // Number of worker processes
+                } 
+                catch (NumberFormatException e) 
+                {
+                    workers = -1;
+                }
+            } 
+            else if (arg.toLowerCase().startsWith("-j")) 
+            {
+                try 
+                {
+                    concurrency = Integer.parseInt(arg.substring(2)); // Number of files sorted at the same time
+                    if (concurrency == 0) concurrency = -1;
+                } 
+                catch (NumberFormatException e) 
+                {
+                    concurrency = -1;
+                }
+            } 
+            else if (arg.toLowerCase().startsWith("-f")) 
             {
                 fileName = arg.substring(2); // Extract the file name/path after '-f'
             } 
@@ -42,6 +123,20 @@ public class SortManager
             }
         }
 
+        // Statistics mode does not sort, so it needs neither a sort type nor an algorithm
+        if (statistics != null && fileName != null) 
+        {
+            if (!statistics.isEmpty() && !statistics.equalsIgnoreCase(":exact") && !statistics.equalsIgnoreCase(":approx")) 
+            {
+                System.out.println("Error: Invalid statistics mode. Use -stats, -stats:exact or -stats:approx.");
+                printUsage();
+                return;
+            }
+            System.out.println("File: " + fileName);
+            ShapeStatistics.report(fileName, statistics.isEmpty() ? null : statistics.substring(1));
+            return;
+        }
+
         // Validate inputs
         if (fileName == null || compareType == null || sortAlgorithm == null) 
         {
@@ -51,11 +146,9 @@ public class SortManager
         }
 
         // Validate compareType argument
-        if (!compareType.equalsIgnoreCase("v") && 
-            !compareType.equalsIgnoreCase("h") && 
-            !compareType.equalsIgnoreCase("a")) 
+        if (comparatorFor(compareType) == null) 
         {
-            System.out.println("Error: Invalid sort type. Use 'v' for volume, 'h' for height, or 'a' for base area.");
+            System.out.println("Error: Invalid sort type. Use 'v' for volume, 'h' for height, or 'a' for base area, or a comma separated list of them and 'type' (e.g., -tv,h,type).");
             printUsage();
             return;
         }
@@ -66,37 +159,249 @@ public class SortManager
             !sortAlgorithm.equalsIgnoreCase("i") && 
             !sortAlgorithm.equalsIgnoreCase("m") && 
             !sortAlgorithm.equalsIgnoreCase("q") && 
-            !sortAlgorithm.equalsIgnoreCase("z")) 
+            !sortAlgorithm.equalsIgnoreCase("z") && 
+            !sortAlgorithm.equalsIgnoreCase("w") && 
+            !sortAlgorithm.equalsIgnoreCase("t") && 
+            !sortAlgorithm.equalsIgnoreCase("r") && 
+            !sortAlgorithm.equalsIgnoreCase("a")) 
         {
-            System.out.println("Error: Invalid sort algorithm. Use 'b' for bubble, 's' for selection, 'i' for insertion, 'm' for merge, 'q' for quick, or 'z' for custom.");
+            System.out.println("Error: Invalid sort algorithm. Use 'b' for bubble, 's' for selection, 'i' for insertion, 'm' for merge, 'q' for quick, 'z' for custom, 'w' for in-place merge, 't' for three-way quick, 'r' for key radix, or 'a' for auto.");
             printUsage();
             return;
         }
         
+        if (workers < 0 || workers == 1) 
+        {
+            System.out.println("Error: Invalid number of workers. Use -d followed by a number of at least 2 (e.g., -d4).");
+            printUsage();
+            return;
+        }
+        
+        if (outputFile != null && outputFile.isEmpty()) 
+        {
+            System.out.println("Error: Missing output file name. Use -o followed by a file name (e.g., -osorted.txt).");
+            printUsage();
+            return;
+        }
+
+        DeadlineMonitor deadlineMonitor = null;
+        if (deadline != null) 
+        {
+            deadlineMonitor = parseDeadline(deadline);
+            if (deadlineMonitor == null) 
+            {
+                System.out.println("Error: Invalid deadline. Use --deadline=<seconds> or --deadline=<seconds>:<algorithm> (e.g., --deadline=30:m).");
+                printUsage();
+                return;
+            }
+            if (indexed || offHeap || workers > 0 || pipelined || isCompressed(fileName)) 
+            {
+                System.out.println("Error: --deadline only applies to the in-memory sort, not to -index, -offheap, -d, -p or .gz files.");
+                return;
+            }
+        }
+
+        if (compactKeys) 
+        {
+            if (!sortAlgorithm.equalsIgnoreCase("r")) 
+            {
+                System.out.println("Error: -compact applies to the key radix sort, use it with -sr.");
+                return;
+            }
+            if (indexed || offHeap || workers > 0 || pipelined || isCompressed(fileName) || MultiFileSorter.isMultiFile(fileName)) 
+            {
+                System.out.println("Error: -compact only applies to the in-memory sort, not to -index, -offheap, -d, -p, .gz files or several files.");
+                return;
+            }
+        }
+
+        if (outputFile != null && (indexed || workers > 0)) 
+        {
+            System.out.println("Error: -o cannot be combined with -index or -d, a distributed sort writes <file_name>.sorted.txt.");
+            return;
+        }
+
+        if (concurrency < 0) 
+        {
+            System.out.println("Error: Invalid number of concurrent files. Use -j followed by a number of at least 1 (e.g., -j4).");
+            printUsage();
+            return;
+        }
+
+        // A directory or glob pattern sorts every matching file, -j alone sorts a single file the same way
+        if (concurrency > 0 || separate || MultiFileSorter.isMultiFile(fileName)) 
+        {
+            if (pipelined || workers > 0 || offHeap || indexed || outputFile != null || deadline != null) 
+            {
+                System.out.println("Error: Sorting several files cannot be combined with -p, -d, -offheap, -index, -o or --deadline.");
+                return;
+            }
+            List<Path> files;
+            try 
+            {
+                files = MultiFileSorter.listFiles(fileName);
+            } 
+            catch (IOException | InvalidPathException e) 
+            {
+                System.out.println("Error: Could not list files: " + fileName + " (" + e.getMessage() + ")");
+                return;
+            }
+            if (files.isEmpty()) 
+            {
+                System.out.println("Error: No shape files match: " + fileName);
+                return;
+            }
+            System.out.println("Files: " + files.size() + " matching " + fileName);
+            System.out.println("Sort by: " + compareType);
+            System.out.println("Sort algorithm: " + sortAlgorithm);
+            new MultiFileSorter(files, sortAlgorithm, compareType, concurrency > 0 ? concurrency 
+                    : Runtime.getRuntime().availableProcessors(), separate).run();
+            return;
+        }
+        
         // Test purpose
         System.out.println("File: " + fileName);
         System.out.println("Sort by: " + compareType);
         System.out.println("Sort algorithm: " + sortAlgorithm);
 
+        if (indexed) 
+        {
+            if (isCompressed(fileName)) 
+            {
+                System.out.println("Error: A sorted index can only be kept for an uncompressed file.");
+                return;
+            }
+            SortedShapeIndex.updateAndPrint(fileName, sortAlgorithm, compareType);
+            return;
+        }
+
+        if (offHeap && isComposite(compareType)) 
+        {
+            System.out.println("Error: Off-heap sorting supports a single sort type 'v', 'h' or 'a'.");
+            return;
+        }
+
+        if (offHeap) 
+        {
+            OffHeapShapeStore.sortAndBenchmark(fileName, sortAlgorithm, compareType, outputFile);
+            return;
+        }
+
+        if (workers > 0) 
+        {
+            new DistributedSortCoordinator(fileName, sortAlgorithm, compareType, workers, 
+                    new LocalProcessTransport()).run();
+            return;
+        }
+
+        // Compressed input is always streamed through the pipeline so that sorting
+        // overlaps decompression instead of waiting for the whole file
+        if (pipelined || isCompressed(fileName)) 
+        {
+            new ShapePipeline(fileName, sortAlgorithm, compareType, outputFile).run();
+            return;
+        }
         
          Shape[] shapes = readShapesFromFile(fileName);
 //       for (Shape shape : shapes) 
 //       {
 //			System.out.println(shape);
 //       }
-         sortAndBenchmark(shapes, sortAlgorithm, compareType);
+         sortAndBenchmark(shapes, sortAlgorithm, compareType, compactKeys, outputFile, deadlineMonitor);
          
     }
 
+    /**
+     * Resets the peak usage of all heap memory pools, so that {@link #heapPeak()} measures the
+     * peak of the work that follows.
+     *
+     * @return the heap memory used right now, in bytes.
+     */
+    private static long resetHeapPeak() 
+    {
+        long used = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) 
+        {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) 
+            {
+                pool.resetPeakUsage();
+                used += pool.getUsage().getUsed();
+            }
+        }
+        return used;
+    }
+
+    /**
+     * Returns the sum of the peak usage of all heap memory pools since the last {@link #resetHeapPeak()}.
+     * Garbage that was not collected yet counts as used, so this is an upper bound of the live data.
+     *
+     * @return the peak heap usage in bytes.
+     */
+    private static long heapPeak() 
+    {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) 
+        {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) 
+            {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    /**
+     * Parses the value of the --deadline option, "<seconds>" or "<seconds>:<fallback algorithm>".
+     *
+     * @param deadline  the text after "--deadline=".
+     * @return          a monitor for the deadline, or null if the value is invalid.
+     */
+    private static DeadlineMonitor parseDeadline(String deadline) 
+    {
+        int colon = deadline.indexOf(':');
+        String seconds = colon < 0 ? deadline : deadline.substring(0, colon);
+        String fallback = colon < 0 ? null : deadline.substring(colon + 1).toLowerCase();
+        if (fallback != null && (fallback.length() != 1 || "bsimqzwtr".indexOf(fallback.charAt(0)) < 0)) 
+        {
+            return null;
+        }
+        try 
+        {
+            double limit = Double.parseDouble(seconds);
+            return limit > 0 ? new DeadlineMonitor(limit, fallback) : null;
+        } 
+        catch (NumberFormatException e) 
+        {
+            return null;
+        }
+    }
+
     // Print usage instructions to the user
     private static void printUsage() 
     {
         System.out.println("Usage:");
-        System.out.println("java -jar Sort.jar -f<file_name> -t[v/h/a] -s[b/s/i/m/q/z]");
+        System.out.println("java -jar Sort.jar -f<file_name> -t[v/h/a][,...] -s[b/s/i/m/q/z/w/t/r/a] [-p] [-d<workers>] [-offheap] [-index] [-o<output_file>]");
+        System.out.println("                        [--deadline=<seconds>[:<fallback>]] [-compact]");
+        System.out.println("       java -jar Sort.jar -f<directory/glob> -t[v/h/a][,...] -s[b/s/i/m/q/z/w/t/r/a] [-j<files>] [-separate]");
+        System.out.println("       java -jar Sort.jar -f<file_name> -stats[:exact/:approx]");
         System.out.println("Options:");
-        System.out.println("-f or -F: specify the file name with path (e.g., -f\"res\\shapes1.txt\")");
-        System.out.println("-t or -T: specify 'v' for volume, 'h' for height, or 'a' for base area (e.g., -tH)");
-        System.out.println("-s or -S: specify sorting algorithm 'b' (bubble), 's' (selection), 'i' (insertion), 'm' (merge), 'q' (quick), 'z' (custom) (e.g., -sB)");
+        System.out.println("-f or -F: specify the file name with path (e.g., -f\"res\\shapes1.txt\"), files ending in .gz are decompressed on the fly");
+        System.out.println("-t or -T: specify 'v' for volume, 'h' for height, or 'a' for base area (e.g., -tH),");
+        System.out.println("          or a comma separated list of them and 'type' to break ties by the next key (e.g., -tv,h,type)");
+        System.out.println("-s or -S: specify sorting algorithm 'b' (bubble), 's' (selection), 'i' (insertion), 'm' (merge), 'q' (quick), 'z' (custom), 'w' (in-place merge), 't' (three-way quick), 'r' (radix by key), 'a' (auto, chosen from the input) (e.g., -sB)");
+        System.out.println("-p or -P: read, parse and sort the file as overlapping pipeline stages (always on for .gz files)");
+        System.out.println("-d or -D: range-partition the file and sort the partitions in the given number of worker processes (e.g., -d4)");
+        System.out.println("-compact: with -sr, sort by keys rounded to float precision and compare exactly only to break ties");
+        System.out.println("-offheap: keep the shapes in packed off-heap records and sort them there (quick sort, or heap sort for 'z')");
+        System.out.println("-index: keep a sorted index in <file_name>.idx and only sort and merge the lines appended since the last run");
+        System.out.println("--deadline=<seconds>[:<fallback>]: print the progress of the sort and cancel it when its projected finish");
+        System.out.println("        is later than the deadline, then sort with the fallback algorithm if one is given (e.g., --deadline=30:m)");
+        System.out.println("-o: write every sorted row to the given file (e.g., -osorted.txt)");
+        System.out.println("-j: sort the files of a directory or glob pattern (e.g., -f\"res\\shapes*.txt\") this many at a time (e.g., -j4),");
+        System.out.println("    one per processor by default; the results are printed as one report in the order of the file names");
+        System.out.println("-separate: write the results of every file of a directory or glob pattern to <file_name>.result.txt instead");
+        System.out.println("-stats: print min, max, p50/p90/p99 and a histogram of volume, height and base area instead of sorting,");
+        System.out.println("        exact if the shapes fit in memory, otherwise approximate (force with -stats:exact or -stats:approx)");
     }
     
     /**
@@ -113,12 +418,11 @@ public class SortManager
      *                  If the file is empty or contains invalid lines, the returned array may be empty or smaller.
      * @throws FileNotFoundException if the file cannot be found or read. NumberFormatException if invalid number format in file
      */
-    private static Shape[] readShapesFromFile(String fileName) 
+    static Shape[] readShapesFromFile(String fileName) 
     {
-        File file = new File(fileName);
         Shape[] shapes = null;
 
-        try (Scanner scanner = new Scanner(file)) 
+        try (Scanner scanner = new Scanner(openInput(fileName))) 
         {
             if (scanner.hasNextInt()) 
             {
@@ -144,10 +448,51 @@ public class SortManager
         {
             System.out.println("Error: Invalid number format in file.");
         }
+        catch (IOException e) 
+        {
+            System.out.println("Error: Could not read file: " + fileName + " (" + e.getMessage() + ")");
+        }
 
         return shapes;
     }
 
+    /**
+     * Opens a shape data file for reading. Files whose name ends in ".gz" are
+     * decompressed transparently, so compressed data never has to be unpacked to disk first.
+     *
+     * @param fileName  the name of the file containing the shape data.
+     * @return          a buffered stream over the (decompressed) file contents.
+     * @throws IOException if the file cannot be opened or is not a valid gzip file.
+     */
+    static InputStream openInput(String fileName) throws IOException 
+    {
+        InputStream in = new FileInputStream(fileName);
+        if (isCompressed(fileName)) 
+        {
+            try 
+            {
+                return new BufferedInputStream(new GZIPInputStream(in, 1 << 16), 1 << 16);
+            } 
+            catch (IOException e) 
+            {
+                in.close();
+                throw e;
+            }
+        }
+        return new BufferedInputStream(in, 1 << 16);
+    }
+
+    /**
+     * Returns whether the file name denotes a gzip compressed shape file.
+     *
+     * @param fileName  the name of the file.
+     * @return          true if the name ends in ".gz".
+     */
+    static boolean isCompressed(String fileName) 
+    {
+        return fileName.toLowerCase().endsWith(".gz");
+    }
+
     /**
      * Parses a line of text to create a Shape object.
      * The input line is expected to contain the shape type, height, and dimension (radius or side)
@@ -162,7 +507,7 @@ public class SortManager
      *              Returns null if the input line is invalid or if the shape type is unrecognized.
      * 
      */
-    private static Shape parseShape(String line) 
+    static Shape parseShape(String line) 
     {
         String[] parts = line.split(" ");
         if (parts.length < 3) 
@@ -178,6 +523,31 @@ public class SortManager
         return createShape(shapeType, height, radiusOrSide);
     }
 
+    /**
+     * Formats a Shape object as a line of the shape data file, the reverse of {@link #parseShape(String)}.
+     *
+     * @param shape the shape to format.
+     * @return      a line formatted as "<shapeType> <height> <radiusOrSide>".
+     */
+    static String toDataLine(Shape shape) 
+    {
+        return shape.getShapeName() + " " + shape.getHeight() + " " + radiusOrSide(shape);
+    }
+
+    /**
+     * Returns the radius (for circular shapes) or the side length (for all other shapes) of a shape.
+     *
+     * @param shape the shape.
+     * @return      the radius or side length the shape was created with.
+     */
+    static double radiusOrSide(Shape shape) 
+    {
+        if (shape instanceof Cone) return ((Cone) shape).getRadius();
+        if (shape instanceof Cylinder) return ((Cylinder) shape).getRadius();
+        if (shape instanceof Pyramid) return ((Pyramid) shape).getSide();
+        return ((Prism) shape).getSide();
+    }
+
     /**
      * Creates a Shape object based on the specified shape type, height, and dimension.
      * The dimension can represent either the radius (for circular shapes like Cone and Cylinder)
@@ -194,7 +564,7 @@ public class SortManager
      * @return              a new Shape object of the specified type with the given dimensions.
      *                      Returns null if the shape type is not recognized.
      */
-    private static Shape createShape(String shapeType, double height, double radiusOrSide) 
+    static Shape createShape(String shapeType, double height, double radiusOrSide) 
     {
         switch (shapeType.toLowerCase()) 
         {
@@ -226,91 +596,58 @@ public class SortManager
      * @param shapes        an array of Shape objects to be sorted.
      * @param sortAlgorithm the sorting algorithm to use, represented by:
      *                      "b" for bubble sort, "s" for selection sort, "i" for insertion sort,
-     *                      "m" for merge sort, "q" for quick sort, and "z" for a custom sorting algorithm.
+     *                      "m" for merge sort, "q" for quick sort, "z" for a custom sorting algorithm,
+     *                      "w" for in-place merge sort, "t" for three-way quick sort,
+     *                      "r" for the radix sort by key, and "a" to choose one of them automatically based on the input.
      * @param compareType   the type of comparison to sort by:
      *                      "h" for height, "v" for volume, and "a" for base area.
      *                      Determines how the shapes are compared and the output format after sorting.
      */
-    private static void sortAndBenchmark(Shape[] shapes, String sortAlgorithm, String compareType) 
+    private static void sortAndBenchmark(Shape[] shapes, String sortAlgorithm, String compareType, boolean compactKeys, 
+            String outputFile, DeadlineMonitor deadline) 
     {
         Shape[] shapesCopy = shapes.clone();
     	
+        long heapBefore = resetHeapPeak();
         long startTime = System.nanoTime();
 
-        // Determine the comparator based on the compare type
-        Comparator<Shape> comparator;
-        
-        if ("h".equals(compareType.toLowerCase())) 
+        if ("a".equalsIgnoreCase(sortAlgorithm)) 
         {
-            // Use the compareTo method for height sorting
-            // Sort based on compareTo method (not directly using a comparator)
-            switch (sortAlgorithm.toLowerCase()) 
-            {
-                case "b":
-                    Sort.bubbleSort(shapesCopy);
-                    break;
-                case "s":
-                    Sort.selectionSort(shapesCopy); 
-                    break;
-                case "i":
-                    Sort.insertionSort(shapesCopy); 
-                    break;
-                case "m":
-                    Sort.mergeSort(shapesCopy); 
-                    break;
-                case "q":
-                    Sort.quickSort(shapesCopy); 
-                    break;
-                case "z":
-                    Sort.heapSort(shapesCopy); 
-                    break;
-                default:
-                    System.out.println("Invalid sort method. Use 'b', 's', 'i', 'm', 'q', or 'z'.");
-                    return;
+            // Sampling is part of the measured run time so that auto can be compared with the fixed choices
+            AlgorithmSelector.Selection selection = AlgorithmSelector.select(shapesCopy, comparatorFor(compareType));
+            System.out.println("Auto selected " + AlgorithmSelector.nameOf(selection.algorithm) + ": " + selection.reason);
+            sortAlgorithm = selection.algorithm;
+        }
+
+        if (deadline != null) 
+        {
+            deadline.start();
+            Sort.setMonitor(deadline);
+        }
+        try 
+        {
+            if (!sortShapes(shapesCopy, sortAlgorithm, compareType, compactKeys)) 
+            {
+                return;
             }
         } 
-        else 
+        catch (SortCancelledException e) 
         {
-            // For base area or volume sorting, determine which comparator to use
-            switch (compareType.toLowerCase()) 
-            {
-                case "a":
-                    comparator = new BaseAreaComparator(); 
-                    break;
-                case "v":
-                    comparator = new VolumeComparator();
-                    break;
-                default:
-                    System.out.println("Invalid compare type. Use 'v' for volume, 'h' for height, or 'a' for base area.");
-                    return;
-            }
-           
-            // Perform the selected sort using the comparator
-            switch (sortAlgorithm.toLowerCase()) 
-            {
-                case "b":
-                    Sort.bubbleSort(shapesCopy, comparator);
-                    break;
-                case "s":
-                    Sort.selectionSort(shapesCopy, comparator);
-                    break;
-                case "i":
-                    Sort.insertionSort(shapesCopy, comparator);
-                    break;
-                case "m":
-                    Sort.mergeSort(shapesCopy, comparator);
-                    break;
-                case "q":
-                    Sort.quickSort(shapesCopy, comparator);
-                    break;
-                case "z":
-                    Sort.heapSort(shapesCopy, comparator); 
-                    break;
-                default:
-                    System.out.println("Invalid sort method. Use 'b', 's', 'i', 'm', 'q', or 'z'.");
-                    return;
+            System.out.println(AlgorithmSelector.nameOf(sortAlgorithm) + " cancelled: " + e.getMessage() + ".");
+            if (deadline.getFallback() == null) 
+            {
+                return;
             }
-            
+
+            // The cancelled sort left a permutation of the shapes, sort it again with the fallback
+            System.out.println("Falling back to " + AlgorithmSelector.nameOf(deadline.getFallback()) + ".");
+            Sort.setMonitor(null);
+            sortAlgorithm = deadline.getFallback();
+            sortShapes(shapesCopy, sortAlgorithm, compareType, compactKeys);
+        } 
+        finally 
+        {
+            Sort.setMonitor(null);
         }
 
         long endTime = System.nanoTime();
@@ -319,6 +656,258 @@ public class SortManager
         // Output the sorted data and benchmark results
         printSortedResults(shapesCopy, compareType);
         System.out.println(sortAlgorithm + " run time was: " + durationMillis + " milliseconds.");
+        System.out.println("Peak heap growth while sorting: " + Math.max(0, heapPeak() - heapBefore) / (1 << 20) + " MB.");
+
+        if (outputFile != null) 
+        {
+            SortedResultWriter.writeAndReport(outputFile, shapesCopy.length, i -> shapesCopy[i], compareType);
+        }
+    }
+    
+    /**
+     * Sorts an array of Shape objects in place using the specified sorting algorithm and comparison type.
+     * Height sorting uses the natural ordering of the shapes (compareTo), while volume and base area
+     * sorting use the matching comparator.
+     *
+     * @param shapes        an array of Shape objects to be sorted.
+     * @param sortAlgorithm the sorting algorithm to use ("b", "s", "i", "m", "q", "z", "w", "t" or "r" for the
+     *                      radix sort by key), or "a" to let {@link AlgorithmSelector} choose one for this array.
+     * @param compareType   the type of comparison to sort by ("h", "v" or "a"), or a comma separated
+     *                      key list such as "v,h,type" whose keys are calculated once per shape.
+     * @return              true if the array was sorted, false if the algorithm or compare type is invalid.
+     */
+    static boolean sortShapes(Shape[] shapes, String sortAlgorithm, String compareType) 
+    {
+        return sortShapes(shapes, sortAlgorithm, compareType, false);
+    }
+
+    /**
+     * Sorts an array of Shape objects in place like {@link #sortShapes(Shape[], String, String)},
+     * optionally with compact keys.
+     *
+     * <p>With compact keys, the key radix sort calculates the first key of every shape once, sorts by it
+     * rounded to float precision with {@link Sort#sortByCompactKey} and compares shapes exactly (all
+     * keys in full precision, precalculated for a key list) only where the rounded keys are equal. The order is the same as
+     * without compact keys while the radix sort moves half as many key bytes. Other algorithms do
+     * not precalculate keys and ignore the option.
+     *
+     * @param shapes        an array of Shape objects to be sorted.
+     * @param sortAlgorithm the sorting algorithm to use, see {@link #sortShapes(Shape[], String, String)}.
+     * @param compareType   the type of comparison to sort by ("h", "v", "a" or a key list).
+     * @param compactKeys   true to sort the key radix sort by compact keys.
+     * @return              true if the array was sorted, false if the algorithm or compare type is invalid.
+     */
+    static boolean sortShapes(Shape[] shapes, String sortAlgorithm, String compareType, boolean compactKeys) 
+    {
+        if ("a".equalsIgnoreCase(sortAlgorithm) && comparatorFor(compareType) != null) 
+        {
+            sortAlgorithm = AlgorithmSelector.select(shapes, comparatorFor(compareType)).algorithm;
+        }
+
+        if (compactKeys && "r".equalsIgnoreCase(sortAlgorithm) && comparatorFor(compareType) != null) 
+        {
+            // The first key decides the radix order, the full comparison only breaks ties of the rounded keys
+            ShapeKey first = ShapeKey.forOption(compareType.split(",")[0]);
+            if (!isComposite(compareType)) 
+            {
+                Sort.sortByCompactKey(shapes, first::valueOf, first.isDescending(), comparatorFor(compareType));
+                return true;
+            }
+            // Ties of a key list can be long (e.g. by type), so they are compared by precalculated keys
+            CompositeComparator composite = CompositeComparator.parse(compareType);
+            KeyedShape[] keyed = composite.decorate(shapes);
+            Sort.sortByCompactKey(keyed, shape -> shape.getValue(0), first.isDescending(), Comparator.naturalOrder());
+            CompositeComparator.undecorate(keyed, shapes);
+            return true;
+        }
+
+        if ("r".equalsIgnoreCase(sortAlgorithm)) 
+        {
+            return radixSort(shapes, compareType);
+        }
+
+        if ("h".equals(compareType.toLowerCase())) 
+        {
+            // Use the compareTo method for height sorting
+            // Sort based on compareTo method (not directly using a comparator)
+            return sortComparable(shapes, sortAlgorithm);
+        } 
+
+        if (isComposite(compareType)) 
+        {
+            // Calculate every key once per shape and sort the keyed wrappers by their natural order
+            CompositeComparator composite = CompositeComparator.parse(compareType);
+            if (composite == null) 
+            {
+                System.out.println("Invalid compare type. Use 'v', 'h', 'a' or 'type' in the key list.");
+                return false;
+            }
+            KeyedShape[] keyed = composite.decorate(shapes);
+            if (!sortComparable(keyed, sortAlgorithm)) 
+            {
+                return false;
+            }
+            CompositeComparator.undecorate(keyed, shapes);
+            return true;
+        }
+
+        // For base area or volume sorting, determine which comparator to use
+        Comparator<Shape> comparator = comparatorFor(compareType);
+        if (comparator == null) 
+        {
+            System.out.println("Invalid compare type. Use 'v' for volume, 'h' for height, or 'a' for base area.");
+            return false;
+        }
+       
+        // Perform the selected sort using the comparator
+        switch (sortAlgorithm.toLowerCase()) 
+        {
+            case "b":
+                Sort.bubbleSort(shapes, comparator);
+                break;
+            case "s":
+                Sort.selectionSort(shapes, comparator);
+                break;
+            case "i":
+                Sort.insertionSort(shapes, comparator);
+                break;
+            case "m":
+                Sort.mergeSort(shapes, comparator);
+                break;
+            case "q":
+                Sort.quickSort(shapes, comparator);
+                break;
+            case "z":
+                Sort.heapSort(shapes, comparator); 
+                break;
+            case "w":
+                Sort.inPlaceMergeSort(shapes, comparator);
+                break;
+            case "t":
+                Sort.threeWayQuickSort(shapes, comparator);
+                break;
+            default:
+                System.out.println("Invalid sort method. Use 'b', 's', 'i', 'm', 'q', 'z', 'w', or 't'.");
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Sorts shapes by their keys with the stable radix sort of
+     * {@link Sort#sortByDoubleKey(Object[], java.util.function.ToDoubleFunction, boolean)}, which
+     * calculates every key once and calls no comparator. A key list is sorted by one key after the
+     * other from the last to the first, so that earlier keys decide and later keys break ties.
+     *
+     * @param shapes        an array of Shape objects to be sorted.
+     * @param compareType   the type of comparison to sort by ("h", "v", "a" or a key list).
+     * @return              true if the array was sorted, false if the compare type is invalid.
+     */
+    private static boolean radixSort(Shape[] shapes, String compareType) 
+    {
+        String[] options = compareType.split(",");
+        ShapeKey[] keys = new ShapeKey[options.length];
+        for (int k = 0; k < options.length; k++) 
+        {
+            keys[k] = ShapeKey.forOption(options[k].trim());
+            if (keys[k] == null) 
+            {
+                System.out.println("Invalid compare type. Use 'v', 'h', 'a' or 'type' in the key list.");
+                return false;
+            }
+        }
+
+        if (keys.length == 1) 
+        {
+            Sort.sortByDoubleKey(shapes, keys[0]::valueOf, keys[0].isDescending());
+            return true;
+        }
+        KeyedShape[] keyed = CompositeComparator.parse(compareType).decorate(shapes);
+        for (int k = keys.length - 1; k >= 0; k--) 
+        {
+            int key = k;
+            Sort.sortByDoubleKey(keyed, shape -> shape.getValue(key), keys[k].isDescending());
+        }
+        CompositeComparator.undecorate(keyed, shapes);
+        return true;
+    }
+
+    /**
+     * Sorts an array by the natural ordering of its elements using the specified sorting algorithm.
+     *
+     * @param array         the array to be sorted.
+     * @param sortAlgorithm the sorting algorithm to use ("b", "s", "i", "m", "q", "z", "w" or "t").
+     * @return              true if the array was sorted, false if the algorithm is invalid.
+     */
+    @SuppressWarnings("rawtypes")
+    static boolean sortComparable(Comparable[] array, String sortAlgorithm) 
+    {
+        switch (sortAlgorithm.toLowerCase()) 
+        {
+            case "b":
+                Sort.bubbleSort(array);
+                break;
+            case "s":
+                Sort.selectionSort(array); 
+                break;
+            case "i":
+                Sort.insertionSort(array); 
+                break;
+            case "m":
+                Sort.mergeSort(array); 
+                break;
+            case "q":
+                Sort.quickSort(array); 
+                break;
+            case "z":
+                Sort.heapSort(array); 
+                break;
+            case "w":
+                Sort.inPlaceMergeSort(array);
+                break;
+            case "t":
+                Sort.threeWayQuickSort(array);
+                break;
+            default:
+                System.out.println("Invalid sort method. Use 'b', 's', 'i', 'm', 'q', 'z', 'w', or 't'.");
+                return false;
+        }
+        return true;
+    }
+    
+    /**
+     * Returns the comparator that orders shapes the same way as the given comparison type.
+     * Height uses the natural ordering of the shapes.
+     *
+     * @param compareType   the type of comparison ("h", "v" or "a"), or a comma separated key list
+     *                      such as "v,h,type" for a {@link CompositeComparator}.
+     * @return              the matching comparator, or null if the compare type is unknown.
+     */
+    static Comparator<Shape> comparatorFor(String compareType) 
+    {
+        switch (compareType.toLowerCase()) 
+        {
+            case "h":
+                return Comparator.naturalOrder();
+            case "a":
+                return new BaseAreaComparator(); 
+            case "v":
+                return new VolumeComparator();
+            default:
+                return CompositeComparator.parse(compareType);
+        }
+    }
+
+    /**
+     * Returns whether the comparison type is a key list (or the type key) rather than a single
+     * "h", "v" or "a".
+     *
+     * @param compareType   the type of comparison.
+     * @return              true if the shapes are compared by a {@link CompositeComparator}.
+     */
+    static boolean isComposite(String compareType) 
+    {
+        return compareType.indexOf(',') >= 0 || compareType.trim().equalsIgnoreCase("type");
     }
     
     /**
@@ -331,9 +920,37 @@ public class SortManager
      *                     "h" for height, "v" for volume, and "a" for base area.
      *                     The output format of each shape's details will change based on this type.
      */
-    private static void printSortedResults(Shape[] shapes, String compareType) 
+    static void printSortedResults(Shape[] shapes, String compareType) 
+    {
+        printSortedResults(shapes.length, i -> shapes[i], compareType);
+    }
+
+    /**
+     * Prints the sorted results of shapes that are not stored in a Shape array, such as the records
+     * of an {@link OffHeapShapeStore}. Only the printed shapes are looked up.
+     *
+     * @param length       the number of sorted shapes.
+     * @param shapeAt      returns the shape at a position in sorted order.
+     * @param compareType  the type of comparison used to sort the shapes.
+     * @see #printSortedResults(Shape[], String)
+     */
+    static void printSortedResults(int length, IntFunction<Shape> shapeAt, String compareType) 
+    {
+        // Print all accumulated output at once
+        System.out.print(formatSortedResults(length, shapeAt, compareType));
+    }
+
+    /**
+     * Formats the sorted results printed by {@link #printSortedResults(int, IntFunction, String)},
+     * for callers that collect the results of several sorts before printing them.
+     *
+     * @param length       the number of sorted shapes.
+     * @param shapeAt      returns the shape at a position in sorted order.
+     * @param compareType  the type of comparison used to sort the shapes.
+     * @return             the lines of the sorted results, each ending in a newline.
+     */
+    static String formatSortedResults(int length, IntFunction<Shape> shapeAt, String compareType) 
     {
-    	int length = shapes.length;
         StringBuilder output = new StringBuilder();
 
         if (length <= 1000) 
@@ -341,29 +958,28 @@ public class SortManager
             // Print all elements when the array has less than 1000 shapes
             for (int i = 0; i < length; i++) 
             {
-                output.append(shapes[i].toString(compareType)).append("\n");
+                output.append(shapeAt.apply(i).toString(compareType)).append("\n");
             }
         } 
         else 
         {
-            output.append("First element is: ").append(shapes[0].toString(compareType)).append("\n");
+            output.append("First element is: ").append(shapeAt.apply(0).toString(compareType)).append("\n");
             for (int i = 1000; i < length; i += 1000) 
             {
                 if (i < length) 
                 {
-                    output.append(i).append("-th element is: ").append(shapes[i].toString(compareType)).append("\n");
+                    output.append(i).append("-th element is: ").append(shapeAt.apply(i).toString(compareType)).append("\n");
                 }
             }
             // Print the second last element if there are at least 2 elements
             if (length > 1) 
             {
-                output.append("Second last element is: ").append(shapes[length - 2].toString(compareType)).append("\n");
+                output.append("Second last element is: ").append(shapeAt.apply(length - 2).toString(compareType)).append("\n");
             }
-            output.append("Last element is: ").append(shapes[length - 1].toString(compareType)).append("\n");
+            output.append("Last element is: ").append(shapeAt.apply(length - 1).toString(compareType)).append("\n");
         }
 
-        // Print all accumulated output at once
-        System.out.print(output.toString());
+        return output.toString();
     }
 
 }
@@ -0,0 +1,49 @@
+package manager;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import shapes.Shape;
+
+/**
+ * Worker process of a {@link DistributedSortCoordinator}. Sorts one partition file with
+ * {@link utilities.Sort} and writes the sorted shapes to an output file in the shape data
+ * file format (without the leading count line).
+ *
+ * <p>Usage: {@code SortWorker <partition_file> <output_file> <sort_algorithm> <compare_type>}.
+ * The process exits with status 0 on success and 1 on failure.
+ */
+public class SortWorker
+{
+	public static void main(String[] args)
+	{
+		if (args.length != 4)
+		{
+			System.err.println("Usage: SortWorker <partition_file> <output_file> <sort_algorithm> <compare_type>");
+			System.exit(1);
+		}
+
+		Shape[] shapes = SortManager.readShapesFromFile(args[0]);
+		if (shapes == null || !SortManager.sortShapes(shapes, args[2], args[3]))
+		{
+			System.exit(1);
+		}
+
+		try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(args[1]), StandardCharsets.UTF_8))
+		{
+			for (Shape shape : shapes)
+			{
+				writer.write(SortManager.toDataLine(shape));
+				writer.newLine();
+			}
+		}
+		catch (IOException e)
+		{
+			System.err.println("Error: Could not write sorted partition: " + args[1] + " (" + e.getMessage() + ")");
+			System.exit(1);
+		}
+	}
+}
@@ -0,0 +1,71 @@
+package manager;
+
+import shapes.Shape;
+
+/**
+ * Streaming counterpart of {@link SortManager#printSortedResults(Shape[], String)} for sorted
+ * results that are never held in one array. The shapes are passed in sorted order one at a time
+ * and the same lines are printed: every shape if there are at most 1000 of them, otherwise the
+ * first shape, every thousandth shape, the second last shape and the last shape.
+ */
+class SortedResultSampler
+{
+	private final long length;
+	private final String compareType;
+	private final StringBuilder output = new StringBuilder();
+
+	private long index;
+	private Shape secondLast;
+	private Shape last;
+
+	/**
+	 * Creates a sampler for a sorted result of known length.
+	 *
+	 * @param length      the total number of shapes that will be passed in.
+	 * @param compareType the type of comparison used to sort the shapes, determines the output format.
+	 */
+	SortedResultSampler(long length, String compareType)
+	{
+		this.length = length;
+		this.compareType = compareType;
+	}
+
+	/**
+	 * Accepts the next shape in sorted order.
+	 *
+	 * @param shape the next shape.
+	 */
+	void accept(Shape shape)
+	{
+		if (length <= 1000)
+		{
+			output.append(shape.toString(compareType)).append("\n");
+		}
+		else if (index == 0)
+		{
+			output.append("First element is: ").append(shape.toString(compareType)).append("\n");
+		}
+		else if (index % 1000 == 0)
+		{
+			output.append(index).append("-th element is: ").append(shape.toString(compareType)).append("\n");
+		}
+
+		secondLast = last;
+		last = shape;
+		index++;
+	}
+
+	/**
+	 * Prints the accumulated lines, followed by the second last and last shape for results
+	 * of more than 1000 shapes.
+	 */
+	void print()
+	{
+		if (length > 1000 && last != null)
+		{
+			output.append("Second last element is: ").append(secondLast.toString(compareType)).append("\n");
+			output.append("Last element is: ").append(last.toString(compareType)).append("\n");
+		}
+		System.out.print(output.toString());
+	}
+}
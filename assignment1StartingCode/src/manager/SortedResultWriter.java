@@ -0,0 +1,218 @@
+package manager;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import shapes.Shape;
+import utilities.ShapeKey;
+
+/**
+ * Writes every sorted shape to a file, one row per shape in the format of
+ * {@link Shape#toString(String)}, without building the rows as Strings.
+ *
+ * <p>The rows are split into chunks of {@value #CHUNK_ROWS}. Every chunk is formatted by a task
+ * of a thread pool straight into a direct ByteBuffer, while the calling thread writes the finished
+ * chunks in order through a FileChannel and hands their buffers on to the next chunks. Numbers are
+ * appended to a StringBuilder that the task reuses for every value, which gives the digits of
+ * {@link Double#toString(double)} without creating a String, and copied into the buffer from there.
+ */
+public class SortedResultWriter
+{
+	// Number of rows formatted by one task
+	private static final int CHUNK_ROWS = 16384;
+
+	// Upper bounds for the bytes of a row: the shape name part and every listed key
+	private static final int ROW_PREFIX_BYTES = 64;
+	private static final int KEY_BYTES = 48;
+
+	private static final byte[] ROW_START = bytes("The polygons.");
+	private static final byte[] NAME_END = bytes(" has ");
+	private static final byte[] KEY_SEPARATOR = bytes(", ");
+
+	private final ShapeKey[] keys;
+	private final byte[][] labels;
+	private final int bufferBytes;
+
+	// Shape names as bytes, filled the first time a name is written
+	private final ConcurrentHashMap<String, byte[]> names = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a writer for rows of the given compare type.
+	 *
+	 * @param compareType the type of comparison the shapes were sorted by, a single key or a
+	 *                    comma separated list, determines the values written in every row.
+	 */
+	public SortedResultWriter(String compareType)
+	{
+		String[] options = compareType.split(",");
+		keys = new ShapeKey[options.length];
+		labels = new byte[options.length][];
+		for (int k = 0; k < options.length; k++)
+		{
+			keys[k] = ShapeKey.forOption(options[k]);
+			if (keys[k] == null)
+			{
+				throw new IllegalArgumentException("Unknown compare type: " + options[k]);
+			}
+			labels[k] = bytes("a " + keys[k].getLabel() + " of: ");
+		}
+		bufferBytes = CHUNK_ROWS * (ROW_PREFIX_BYTES + KEY_BYTES * keys.length);
+	}
+
+	/**
+	 * Writes the rows of all shapes to a file, replacing its contents.
+	 *
+	 * @param outputFile the file to write.
+	 * @param length     the number of sorted shapes.
+	 * @param shapeAt    returns the shape at a position in sorted order, called from several threads.
+	 * @return the number of bytes written.
+	 * @throws IOException if the file cannot be written.
+	 * @throws InterruptedException if interrupted while waiting for a chunk to be formatted.
+	 */
+	public long write(String outputFile, int length, IntFunction<Shape> shapeAt) throws IOException, InterruptedException
+	{
+		int threads = Runtime.getRuntime().availableProcessors();
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		ArrayDeque<Future<ByteBuffer>> pending = new ArrayDeque<>();
+		long written = 0;
+
+		try (FileChannel channel = FileChannel.open(Paths.get(outputFile), StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))
+		{
+			// Two chunks per thread are in flight: one being formatted and one waiting to be written
+			int inFlight = 2 * threads;
+			int next = 0;
+			while (next < length && pending.size() < inFlight)
+			{
+				pending.add(executor.submit(format(ByteBuffer.allocateDirect(bufferBytes), next, length, shapeAt)));
+				next += CHUNK_ROWS;
+			}
+
+			while (!pending.isEmpty())
+			{
+				ByteBuffer buffer = pending.poll().get();
+				while (buffer.hasRemaining())
+				{
+					written += channel.write(buffer);
+				}
+				if (next < length)
+				{
+					pending.add(executor.submit(format(buffer, next, length, shapeAt)));
+					next += CHUNK_ROWS;
+				}
+			}
+		}
+		catch (ExecutionException e)
+		{
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+			throw new IOException(cause);
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+		return written;
+	}
+
+	/**
+	 * Returns a task that formats the rows of the chunk starting at the given position into the
+	 * buffer and returns the buffer ready to be written.
+	 */
+	private Callable<ByteBuffer> format(ByteBuffer buffer, int from, int length,
+			IntFunction<Shape> shapeAt)
+	{
+		return () -> {
+			buffer.clear();
+			StringBuilder digits = new StringBuilder(32);
+			int to = Math.min(length, from + CHUNK_ROWS);
+			for (int i = from; i < to; i++)
+			{
+				putRow(buffer, shapeAt.apply(i), digits);
+			}
+			buffer.flip();
+			return buffer;
+		};
+	}
+
+	private void putRow(ByteBuffer buffer, Shape shape, StringBuilder digits)
+	{
+		byte[] name = names.computeIfAbsent(shape.getShapeName(), SortedResultWriter::bytes);
+		buffer.put(ROW_START).put(name).put(NAME_END);
+		for (int k = 0; k < keys.length; k++)
+		{
+			if (k > 0) buffer.put(KEY_SEPARATOR);
+			buffer.put(labels[k]);
+			if (keys[k] == ShapeKey.TYPE)
+			{
+				buffer.put(name);
+			}
+			else
+			{
+				putDouble(buffer, keys[k].valueOf(shape), digits);
+			}
+		}
+		buffer.put((byte) '\n');
+	}
+
+	/**
+	 * Writes a value as {@link Double#toString(double)} does, e.g. 1234.5 or 1.0585861999549447E14.
+	 * The characters are formatted into the given scratch builder, which holds only ASCII.
+	 */
+	private static void putDouble(ByteBuffer buffer, double value, StringBuilder digits)
+	{
+		digits.setLength(0);
+		digits.append(value);
+		for (int i = 0; i < digits.length(); i++)
+		{
+			buffer.put((byte) digits.charAt(i));
+		}
+	}
+
+	private static byte[] bytes(String text)
+	{
+		return text.getBytes(StandardCharsets.US_ASCII);
+	}
+
+	/**
+	 * Writes the rows of all shapes to a file and prints how long it took, or an error message if
+	 * the file could not be written.
+	 *
+	 * @param outputFile  the file to write.
+	 * @param length      the number of sorted shapes.
+	 * @param shapeAt     returns the shape at a position in sorted order, called from several threads.
+	 * @param compareType the type of comparison the shapes were sorted by.
+	 */
+	static void writeAndReport(String outputFile, int length, IntFunction<Shape> shapeAt, String compareType)
+	{
+		long startTime = System.nanoTime();
+		try
+		{
+			long bytes = new SortedResultWriter(compareType).write(outputFile, length, shapeAt);
+			long durationMillis = (System.nanoTime() - startTime) / 1_000_000;
+			System.out.println("Wrote " + length + " sorted rows (" + bytes / (1 << 20) + " MB) to " + outputFile
+					+ " in " + durationMillis + " milliseconds.");
+		}
+		catch (IOException e)
+		{
+			System.out.println("Error: Could not write file: " + outputFile + " (" + e.getMessage() + ")");
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			System.out.println("Error: Interrupted while writing file: " + outputFile);
+		}
+	}
+}
@@ -0,0 +1,503 @@
+package manager;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import shapes.Shape;
+import utilities.CompositeComparator;
+import utilities.ShapeKey;
+
+/**
+ * A persistent sorted index over an append-only shape data file, stored next to it as
+ * {@code <file>.idx}. The index holds one entry per shape, sorted by the compare type: the sort
+ * key values of the shape followed by the byte offset of its line in the data file.
+ *
+ * <p>When lines have been appended to the data file since the last update, only the new batch is
+ * parsed and sorted, and then merged into the existing entries in place: the index file is extended
+ * by the size of the batch and the merge runs backwards from its end, so entries that sort before
+ * the first new entry are never read or moved. The cost of an update is therefore proportional to
+ * the size of the batch plus the number of existing entries that sort after its first entry, rather
+ * than to the size of the whole file.
+ *
+ * <p>Only lines terminated by a newline are indexed, so a batch that is still being appended is
+ * picked up by the next update. The count on the first line of the data file is not used; the index
+ * covers every shape line in the file. The index is rebuilt from scratch when the compare type
+ * changes, when the data file shrinks, when it was modified without growing, or when the first or
+ * the last {@value #CHECK_BYTES} bytes of the part it covers, after the count line, no longer match
+ * their checksum. An edit further inside a long file is not detected without reading the file
+ * whole, so the data file must only be appended to.
+ *
+ * <p>The magic number is cleared before a merge moves entries and written again, last, once the
+ * merge is on disk, so an update that is interrupted leaves an index that the next update rebuilds.
+ *
+ * <pre>
+ * Index file layout:
+ *   int    magic ("SHIX")
+ *   UTF    compare type
+ *   long   length of the data file covered by the index
+ *   long   modification time of the data file when it was indexed
+ *   int    CRC-32 of the first and last bytes of the covered part, after the count line
+ *   long   number of entries
+ *   entry* key values (one double per key) followed by the long line offset
+ * </pre>
+ */
+public class SortedShapeIndex
+{
+	private static final int MAGIC = 0x53484958;
+
+	// Number of entries read or written per block while merging
+	private static final int BLOCK_ENTRIES = 1 << 14;
+
+	// Number of bytes at each end of the indexed part of the data file covered by the checksum
+	private static final int CHECK_BYTES = 1 << 12;
+
+	private final String fileName;
+	private final String compareType;
+	private final ShapeKey[] keys;
+	private final File indexFile;
+	private final int entryBytes;
+
+	// Header fields of the index file
+	private int headerBytes;
+	private long indexedLength;
+	private long dataModified;
+	private int dataChecksum;
+	private long count;
+
+	/**
+	 * Creates an index for the given data file and compare type. Nothing is read or written
+	 * until {@link #update(String)} is called.
+	 *
+	 * @param fileName    the uncompressed shape data file.
+	 * @param compareType the type of comparison, "h", "v", "a" or a key list such as "v,h,type".
+	 */
+	public SortedShapeIndex(String fileName, String compareType)
+	{
+		this.fileName = fileName;
+		this.compareType = compareType.toLowerCase();
+		this.keys = CompositeComparator.parse(compareType).getKeys();
+		this.indexFile = new File(fileName + ".idx");
+		this.entryBytes = keys.length * 8 + 8;
+	}
+
+	/**
+	 * Brings the index up to date with the data file by sorting the lines appended since the last
+	 * update and merging them into the index.
+	 *
+	 * @param sortAlgorithm the algorithm used to sort the new batch ("b", "s", "i", "m", "q" or "z").
+	 * @return the number of shapes added to the index.
+	 * @throws IOException if the data file or the index cannot be read or written.
+	 */
+	public int update(String sortAlgorithm) throws IOException
+	{
+		File data = new File(fileName);
+		long fileLength = data.length();
+		long modified = data.lastModified();
+		if (!readHeader() || !coversData(fileLength, modified))
+		{
+			createEmptyIndex();
+		}
+		if (indexedLength == fileLength)
+		{
+			return 0;
+		}
+
+		List<Entry> batch = new ArrayList<>();
+		long newIndexedLength = readBatch(indexedLength, count == 0 && indexedLength == 0, batch);
+		Entry[] entries = batch.toArray(new Entry[batch.size()]);
+
+		// Auto selection and the radix sort by key need the shapes themselves, merge sort keeps batch
+		// ties in file order
+		String algorithm = "a".equalsIgnoreCase(sortAlgorithm) || "r".equalsIgnoreCase(sortAlgorithm) ? "m"
+				: sortAlgorithm;
+		SortManager.sortComparable(entries, algorithm);
+
+		clearMagic();
+		mergeIntoIndex(entries);
+		indexedLength = newIndexedLength;
+		dataModified = modified;
+		dataChecksum = checksum(newIndexedLength);
+		count += entries.length;
+		writeHeader();
+		return entries.length;
+	}
+
+	/**
+	 * Returns the number of shapes in the index.
+	 *
+	 * @return the number of entries.
+	 */
+	public long size()
+	{
+		return count;
+	}
+
+	/**
+	 * Prints the sorted results from the index, looking up only the printed shapes in the data file.
+	 *
+	 * @throws IOException if the index or the data file cannot be read.
+	 */
+	public void printSortedResults() throws IOException
+	{
+		try (RandomAccessFile index = new RandomAccessFile(indexFile, "r");
+				RandomAccessFile data = new RandomAccessFile(fileName, "r"))
+		{
+			SortManager.printSortedResults((int) count, i -> {
+				try
+				{
+					index.seek(headerBytes + (long) i * entryBytes + keys.length * 8L);
+					data.seek(index.readLong());
+					return SortManager.parseShape(new String(data.readLine().getBytes(StandardCharsets.ISO_8859_1),
+							StandardCharsets.UTF_8));
+				}
+				catch (IOException e)
+				{
+					throw new UncheckedIOException(e);
+				}
+			}, compareType);
+		}
+		catch (UncheckedIOException e)
+		{
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Reads the header of an existing index file.
+	 *
+	 * @return true if the index exists, is complete and was built for the same compare type.
+	 */
+	private boolean readHeader() throws IOException
+	{
+		if (!indexFile.isFile()) return false;
+
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile))))
+		{
+			if (in.readInt() != MAGIC || !in.readUTF().equals(compareType)) return false;
+			indexedLength = in.readLong();
+			dataModified = in.readLong();
+			dataChecksum = in.readInt();
+			count = in.readLong();
+			headerBytes = encodeHeader().length;
+			return indexFile.length() >= headerBytes + count * entryBytes;
+		}
+		catch (IOException e)
+		{
+			return false; // Unreadable index, rebuild it
+		}
+	}
+
+	/**
+	 * Checks that the data file still starts with the part the index covers: it has not shrunk,
+	 * it has not been modified unless it grew, and the ends of the covered part match their checksum.
+	 */
+	private boolean coversData(long fileLength, long modified) throws IOException
+	{
+		if (indexedLength > fileLength) return false;
+		if (indexedLength == fileLength && modified != dataModified) return false;
+		return checksum(indexedLength) == dataChecksum;
+	}
+
+	/**
+	 * Returns the CRC-32 of the first and the last {@value #CHECK_BYTES} bytes of the given
+	 * length of the data file, leaving out its first line, which holds the shape count and may be
+	 * rewritten when appending.
+	 */
+	private int checksum(long length) throws IOException
+	{
+		CRC32 crc = new CRC32();
+		byte[] buffer = new byte[CHECK_BYTES];
+		try (RandomAccessFile data = new RandomAccessFile(fileName, "r"))
+		{
+			int headLength = (int) Math.min(CHECK_BYTES, length);
+			data.readFully(buffer, 0, headLength);
+			int start = 0;
+			while (start < headLength && buffer[start++] != '\n')
+			{
+				// Skip the count line
+			}
+			crc.update(buffer, start, headLength - start);
+
+			long tailStart = Math.max(headLength, length - CHECK_BYTES);
+			data.seek(tailStart);
+			data.readFully(buffer, 0, (int) (length - tailStart));
+			crc.update(buffer, 0, (int) (length - tailStart));
+		}
+		return (int) crc.getValue();
+	}
+
+	private void createEmptyIndex() throws IOException
+	{
+		indexedLength = 0;
+		dataModified = 0;
+		dataChecksum = checksum(0);
+		count = 0;
+		headerBytes = encodeHeader().length;
+		try (RandomAccessFile index = new RandomAccessFile(indexFile, "rw"))
+		{
+			index.setLength(0);
+		}
+		writeHeader();
+	}
+
+	/**
+	 * Writes the header, the magic number last and only once the rest of the index is on disk.
+	 */
+	private void writeHeader() throws IOException
+	{
+		byte[] header = encodeHeader();
+		try (RandomAccessFile index = new RandomAccessFile(indexFile, "rw"))
+		{
+			index.seek(4);
+			index.write(header, 4, header.length - 4);
+			index.getChannel().force(false);
+			index.seek(0);
+			index.write(header, 0, 4);
+		}
+	}
+
+	/**
+	 * Marks the index as incomplete until the next {@link #writeHeader()}, so that it is rebuilt
+	 * if an update does not finish.
+	 */
+	private void clearMagic() throws IOException
+	{
+		try (RandomAccessFile index = new RandomAccessFile(indexFile, "rw"))
+		{
+			index.writeInt(0);
+			index.getChannel().force(false);
+		}
+	}
+
+	private byte[] encodeHeader() throws IOException
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes))
+		{
+			out.writeInt(MAGIC);
+			out.writeUTF(compareType);
+			out.writeLong(indexedLength);
+			out.writeLong(dataModified);
+			out.writeInt(dataChecksum);
+			out.writeLong(count);
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Parses the newline terminated lines of the data file starting at the given offset.
+	 *
+	 * @param start      the offset of the first unindexed line.
+	 * @param skipHeader true if the first line is the count line of the file.
+	 * @param batch      receives one entry per valid shape line.
+	 * @return the offset just past the last newline, where the next update starts.
+	 */
+	private long readBatch(long start, boolean skipHeader, List<Entry> batch) throws IOException
+	{
+		try (FileInputStream file = new FileInputStream(fileName))
+		{
+			file.getChannel().position(start);
+			InputStream in = new BufferedInputStream(file, 1 << 16);
+
+			byte[] line = new byte[128];
+			int length = 0;
+			long lineStart = start;
+			long position = start;
+			int b;
+			while ((b = in.read()) != -1)
+			{
+				position++;
+				if (b != '\n')
+				{
+					if (length == line.length) line = Arrays.copyOf(line, length * 2);
+					line[length++] = (byte) b;
+					continue;
+				}
+
+				String text = new String(line, 0, length, StandardCharsets.UTF_8).trim();
+				if (skipHeader)
+				{
+					skipHeader = false;
+					if (text.matches("\\d+")) text = "";
+				}
+				if (!text.isEmpty())
+				{
+					Shape shape = SortManager.parseShape(text);
+					if (shape != null) batch.add(new Entry(keyValues(shape), lineStart));
+				}
+				length = 0;
+				lineStart = position;
+			}
+			return lineStart;
+		}
+	}
+
+	private double[] keyValues(Shape shape)
+	{
+		double[] values = new double[keys.length];
+		for (int k = 0; k < keys.length; k++)
+		{
+			values[k] = keys[k].valueOf(shape);
+		}
+		return values;
+	}
+
+	/**
+	 * Merges the sorted batch into the sorted entries of the index file, in place, starting from
+	 * the end. Existing entries only move if they sort after a new entry, and they only move towards
+	 * the end of the file, so an entry is always read before its slot is overwritten.
+	 */
+	private void mergeIntoIndex(Entry[] batch) throws IOException
+	{
+		try (RandomAccessFile index = new RandomAccessFile(indexFile, "rw"))
+		{
+			FileChannel channel = index.getChannel();
+			channel.truncate(headerBytes + count * entryBytes);
+
+			ByteBuffer readBlock = ByteBuffer.allocate(BLOCK_ENTRIES * entryBytes);
+			ByteBuffer writeBlock = ByteBuffer.allocate(BLOCK_ENTRIES * entryBytes);
+			long readStart = count; // Old entries from readStart onwards are in readBlock
+			long writeEnd = count + batch.length; // writeBlock holds entries ending at writeEnd
+			int writeCount = 0;
+
+			long i = count - 1;
+			int j = batch.length - 1;
+			Entry old = null;
+			while (j >= 0)
+			{
+				if (old == null && i >= 0)
+				{
+					if (i < readStart)
+					{
+						readStart = Math.max(0, i + 1 - BLOCK_ENTRIES);
+						readBlock.clear().limit((int) ((i + 1 - readStart) * entryBytes));
+						while (readBlock.hasRemaining())
+						{
+							if (channel.read(readBlock, headerBytes + readStart * entryBytes + readBlock.position()) < 0)
+							{
+								throw new IOException("Index file is truncated: " + indexFile);
+							}
+						}
+					}
+					old = readEntry(readBlock, (int) ((i - readStart) * entryBytes));
+				}
+
+				Entry next;
+				if (old != null && old.compareTo(batch[j]) > 0)
+				{
+					next = old;
+					old = null;
+					i--;
+				}
+				else
+				{
+					next = batch[j--];
+				}
+
+				// Fill writeBlock from its end so that it can be flushed as one contiguous range
+				writeCount++;
+				writeEntry(writeBlock, (BLOCK_ENTRIES - writeCount) * entryBytes, next);
+				if (writeCount == BLOCK_ENTRIES || j < 0)
+				{
+					writeBlock.limit(BLOCK_ENTRIES * entryBytes).position((BLOCK_ENTRIES - writeCount) * entryBytes);
+					long target = headerBytes + (writeEnd - writeCount) * entryBytes;
+					while (writeBlock.hasRemaining())
+					{
+						target += channel.write(writeBlock, target);
+					}
+					writeEnd -= writeCount;
+					writeCount = 0;
+					writeBlock.clear();
+				}
+			}
+			// The remaining old entries [0, i] are already in their final position
+		}
+	}
+
+	private Entry readEntry(ByteBuffer block, int position)
+	{
+		double[] values = new double[keys.length];
+		for (int k = 0; k < keys.length; k++)
+		{
+			values[k] = block.getDouble(position + k * 8);
+		}
+		return new Entry(values, block.getLong(position + keys.length * 8));
+	}
+
+	private void writeEntry(ByteBuffer block, int position, Entry entry)
+	{
+		for (int k = 0; k < keys.length; k++)
+		{
+			block.putDouble(position + k * 8, entry.values[k]);
+		}
+		block.putLong(position + keys.length * 8, entry.offset);
+	}
+
+	/**
+	 * One index entry: the key values of a shape and the offset of its line in the data file.
+	 */
+	private final class Entry implements Comparable<Entry>
+	{
+		final double[] values;
+		final long offset;
+
+		Entry(double[] values, long offset)
+		{
+			this.values = values;
+			this.offset = offset;
+		}
+
+		@Override
+		public int compareTo(Entry other)
+		{
+			for (int k = 0; k < keys.length; k++)
+			{
+				int result = keys[k].compare(values[k], other.values[k]);
+				if (result != 0) return result;
+			}
+			return 0;
+		}
+	}
+
+	/**
+	 * Updates the index of a data file and prints the sorted results and the update time.
+	 *
+	 * @param fileName      the uncompressed shape data file.
+	 * @param sortAlgorithm the algorithm used to sort the new batch.
+	 * @param compareType   the type of comparison to sort by.
+	 */
+	public static void updateAndPrint(String fileName, String sortAlgorithm, String compareType)
+	{
+		try
+		{
+			SortedShapeIndex index = new SortedShapeIndex(fileName, compareType);
+			long startTime = System.nanoTime();
+			int added = index.update(sortAlgorithm);
+			long durationMillis = (System.nanoTime() - startTime) / 1_000_000;
+
+			index.printSortedResults();
+			System.out.println("Index " + index.indexFile.getPath() + ": " + added + " new shapes merged, "
+					+ index.size() + " shapes indexed.");
+			System.out.println(sortAlgorithm + " index update time was: " + durationMillis + " milliseconds.");
+		}
+		catch (IOException e)
+		{
+			System.out.println("Error: Could not update index for: " + fileName + " (" + e.getMessage() + ")");
+		}
+	}
+}
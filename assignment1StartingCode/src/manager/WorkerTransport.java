@@ -0,0 +1,21 @@
+package manager;
+
+import java.io.IOException;
+
+/**
+ * Starts the worker processes of a {@link DistributedSortCoordinator}. Every worker runs
+ * {@link SortWorker} with the given arguments; the transport decides where the worker runs.
+ * A transport that starts workers on other hosts must make the partition and output files
+ * reachable under the same paths, for example through a shared file system.
+ */
+public interface WorkerTransport
+{
+	/**
+	 * Starts one worker process.
+	 *
+	 * @param workerArguments the command line arguments for {@link SortWorker#main(String[])}.
+	 * @return the started process, the worker succeeded if it exits with status 0.
+	 * @throws IOException if the process cannot be started.
+	 */
+	Process startWorker(String[] workerArguments) throws IOException;
+}
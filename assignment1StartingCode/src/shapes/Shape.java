@@ -76,11 +76,23 @@ public abstract class Shape implements Comparable<Shape>
 	
     /**
      * Returns a string representation of the shape based on the compare type
-     * @param compareType the type to determine the output (h: height, v: volume, a: base area)
+     * @param compareType the type to determine the output (h: height, v: volume, a: base area, type: shape type),
+     *                    or a comma separated list of them (e.g. v,h,type) to show every listed value
      * @return the string representation based on the compare type
      */
     public String toString(String compareType) {
+        if (compareType.indexOf(',') >= 0) {
+            StringBuilder result = new StringBuilder("The polygons.").append(getShapeName()).append(" has ");
+            String[] types = compareType.split(",");
+            for (int i = 0; i < types.length; i++) {
+                if (i > 0) result.append(", ");
+                result.append(valueOf(types[i].trim()));
+            }
+            return result.toString();
+        }
         switch (compareType.toLowerCase()) {
+            case "type":
+                return "The polygons." + getShapeName() + " has a Type of: " + getShapeName();
             case "h":
                 return "The polygons." + getShapeName() + " has a Height of: " + getHeight();
             case "v":
@@ -91,4 +103,19 @@ public abstract class Shape implements Comparable<Shape>
                 return "Unknown compare type";
         }
     }
+
+    private String valueOf(String compareType) {
+        switch (compareType.toLowerCase()) {
+            case "h":
+                return "a Height of: " + getHeight();
+            case "v":
+                return "a Volume of: " + calcVolume();
+            case "a":
+                return "a Base area of: " + calcBaseArea();
+            case "type":
+                return "a Type of: " + getShapeName();
+            default:
+                return "an Unknown compare type";
+        }
+    }
 }
@@ -0,0 +1,300 @@
+package utilities;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToDoubleFunction;
+
+import shapes.Shape;
+
+/**
+ * Runs the sorts of {@link Sort} in the background for callers that must not block, such as the
+ * request threads of a server. Every submitted sort returns a CompletableFuture that completes with
+ * a sorted copy of the array; the submitted array itself is not modified.
+ *
+ * <ul>
+ * <li>All jobs share one pool with a fixed number of threads, so any number of concurrent jobs
+ *     never uses more cores than the pool has.</li>
+ * <li>A job is split into at most {@code parallelism} chunks (and never more than the per-job cap
+ *     given to the constructor); the chunks are sorted as separate tasks of the pool and merged
+ *     by the task that finishes last. Small arrays are sorted as one chunk.</li>
+ * <li>Admission control: at most {@code maxJobs} jobs are accepted at a time, further jobs fail
+ *     at once with a {@link RejectedExecutionException} instead of queueing without bound.</li>
+ * <li>Cancelling a future stops the job at the next progress checkpoint of the running chunk
+ *     sorts (see {@link SortMonitor}), chunks that have not started are skipped.</li>
+ * </ul>
+ *
+ * <p>Chunks are sorted with the stable {@link Sort#mergeSort(Shape[], Comparator)} or
+ * {@link Sort#sortByDoubleKey(Object[], ToDoubleFunction, boolean)} and merged stably, so the
+ * result is the same for every parallelism.
+ */
+public class AsyncSorter implements AutoCloseable
+{
+	// Chunks are not made smaller than this, the overhead of a task would outweigh the gain
+	private static final int MIN_CHUNK = 8192;
+
+	private final ExecutorService pool;
+	private final int threads;
+	private final int maxParallelism;
+	private final Semaphore admissions;
+
+	/**
+	 * Creates a sorter with one thread per available processor.
+	 *
+	 * @param maxParallelism the largest number of chunks a single job is split into.
+	 * @param maxJobs        the largest number of jobs accepted at the same time.
+	 */
+	public AsyncSorter(int maxParallelism, int maxJobs)
+	{
+		this(Runtime.getRuntime().availableProcessors(), maxParallelism, maxJobs);
+	}
+
+	/**
+	 * Creates a sorter.
+	 *
+	 * @param threads        the number of threads shared by all jobs.
+	 * @param maxParallelism the largest number of chunks a single job is split into.
+	 * @param maxJobs        the largest number of jobs accepted at the same time.
+	 */
+	public AsyncSorter(int threads, int maxParallelism, int maxJobs)
+	{
+		if (threads < 1 || maxParallelism < 1 || maxJobs < 1)
+		{
+			throw new IllegalArgumentException("Threads, parallelism and jobs must be at least 1.");
+		}
+		this.threads = threads;
+		this.maxParallelism = maxParallelism;
+		this.admissions = new Semaphore(maxJobs);
+
+		AtomicInteger created = new AtomicInteger();
+		ThreadFactory factory = task -> {
+			Thread thread = new Thread(task, "async-sort-" + created.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+		this.pool = Executors.newFixedThreadPool(threads, factory);
+	}
+
+	/**
+	 * Sorts a copy of the shapes in the order of the comparator.
+	 *
+	 * @param shapes      the shapes to sort, not modified.
+	 * @param comparator  the order to sort in.
+	 * @param parallelism the number of chunks the job may be split into.
+	 * @return a future of the sorted copy; it fails with a RejectedExecutionException if too many
+	 *         jobs are running.
+	 */
+	public CompletableFuture<Shape[]> sort(Shape[] shapes, Comparator<Shape> comparator, int parallelism)
+	{
+		return submit(shapes, comparator, parallelism, chunk -> Sort.mergeSort(chunk, comparator));
+	}
+
+	/**
+	 * Sorts a copy of an array by a double key that is extracted once per element, see
+	 * {@link Sort#sortByDoubleKey(Object[], ToDoubleFunction, boolean)}.
+	 *
+	 * @param <T>         the type of elements in the array.
+	 * @param array       the array to sort, not modified.
+	 * @param key         extracts the key of an element.
+	 * @param descending  true to order larger keys first.
+	 * @param parallelism the number of chunks the job may be split into.
+	 * @return a future of the sorted copy; it fails with a RejectedExecutionException if too many
+	 *         jobs are running.
+	 */
+	public <T> CompletableFuture<T[]> sortByDoubleKey(T[] array, ToDoubleFunction<? super T> key, boolean descending,
+			int parallelism)
+	{
+		Comparator<T> order = (x, y) -> Long.compare(Sort.sortableKey(key.applyAsDouble(x)),
+				Sort.sortableKey(key.applyAsDouble(y)));
+		return submit(array, descending ? order.reversed() : order, parallelism,
+				chunk -> Sort.sortByDoubleKey(chunk, key, descending));
+	}
+
+	/**
+	 * Stops accepting jobs. Jobs that were already accepted still complete.
+	 */
+	@Override
+	public void close()
+	{
+		pool.shutdown();
+	}
+
+	/**
+	 * Sorts a part of an array in place.
+	 */
+	private interface ChunkSort<T>
+	{
+		void sort(T[] chunk);
+	}
+
+	private <T> CompletableFuture<T[]> submit(T[] array, Comparator<? super T> order, int parallelism,
+			ChunkSort<T> chunkSort)
+	{
+		CompletableFuture<T[]> result = new CompletableFuture<>();
+		if (!admissions.tryAcquire())
+		{
+			result.completeExceptionally(new RejectedExecutionException("Too many sort jobs are running."));
+			return result;
+		}
+
+		int chunks = Math.max(1, Math.min(Math.min(parallelism, maxParallelism), Math.min(threads, array.length / MIN_CHUNK)));
+		Job<T> job = new Job<>(array, order, chunks, chunkSort, result);
+		int submitted = 0;
+		try
+		{
+			for (int c = 0; c < chunks; c++)
+			{
+				int chunk = c;
+				pool.execute(() -> job.sortChunk(chunk));
+				submitted++;
+			}
+		}
+		catch (RejectedExecutionException e)
+		{
+			// The sorter was closed: the job fails, the chunks that were submitted are skipped
+			result.completeExceptionally(e);
+			job.finishChunks(chunks - submitted);
+		}
+		return result;
+	}
+
+	/**
+	 * The state of one submitted sort: the chunks of the copied array and the number of chunk
+	 * tasks that have not finished yet.
+	 */
+	private final class Job<T>
+	{
+		private final T[][] chunks;
+		private final Comparator<? super T> order;
+		private final ChunkSort<T> chunkSort;
+		private final CompletableFuture<T[]> result;
+		private final AtomicInteger remaining;
+		private final int length;
+
+		@SuppressWarnings("unchecked")
+		Job(T[] array, Comparator<? super T> order, int chunkCount, ChunkSort<T> chunkSort, CompletableFuture<T[]> result)
+		{
+			this.order = order;
+			this.chunkSort = chunkSort;
+			this.result = result;
+			this.length = array.length;
+			this.remaining = new AtomicInteger(chunkCount);
+			this.chunks = (T[][]) new Object[chunkCount][];
+			for (int c = 0; c < chunkCount; c++)
+			{
+				chunks[c] = Arrays.copyOfRange(array, (int) ((long) c * length / chunkCount),
+						(int) ((long) (c + 1) * length / chunkCount));
+			}
+		}
+
+		void sortChunk(int c)
+		{
+			try
+			{
+				if (!result.isDone())
+				{
+					Sort.setMonitor((done, total) -> {
+						if (result.isDone()) throw new SortCancelledException("The sort job was cancelled.");
+					});
+					chunkSort.sort(chunks[c]);
+				}
+			}
+			catch (SortCancelledException e)
+			{
+				// The future was cancelled or failed, nothing to report
+			}
+			catch (RuntimeException | Error e)
+			{
+				result.completeExceptionally(e);
+			}
+			finally
+			{
+				Sort.setMonitor(null);
+			}
+			finishChunks(1);
+		}
+
+		/**
+		 * Counts finished chunk tasks. The task that finishes last merges the chunks and frees
+		 * the admission of the job.
+		 */
+		void finishChunks(int finished)
+		{
+			if (finished <= 0 || remaining.addAndGet(-finished) != 0) return;
+			try
+			{
+				if (!result.isDone()) result.complete(merge());
+			}
+			catch (RuntimeException | Error e)
+			{
+				result.completeExceptionally(e);
+			}
+			finally
+			{
+				admissions.release();
+			}
+		}
+
+		/**
+		 * Merges the sorted chunks with a heap of chunk heads. Ties are taken from the earlier
+		 * chunk first, which keeps the merge stable.
+		 */
+		private T[] merge()
+		{
+			if (chunks.length == 1) return chunks[0];
+
+			// Copying the first chunk creates an array of the element type, every slot is overwritten
+			T[] merged = Arrays.copyOf(chunks[0], length);
+			int[] positions = new int[chunks.length];
+			int[] heap = new int[chunks.length];
+			int size = 0;
+			for (int c = 0; c < chunks.length; c++)
+			{
+				if (chunks[c].length > 0) heap[size++] = c;
+			}
+			for (int i = size / 2 - 1; i >= 0; i--)
+			{
+				siftDown(heap, size, i, positions);
+			}
+
+			for (int k = 0; k < length; k++)
+			{
+				int c = heap[0];
+				merged[k] = chunks[c][positions[c]++];
+				if (positions[c] == chunks[c].length) heap[0] = heap[--size];
+				siftDown(heap, size, 0, positions);
+			}
+			return merged;
+		}
+
+		private void siftDown(int[] heap, int size, int i, int[] positions)
+		{
+			while (true)
+			{
+				int first = i;
+				int left = 2 * i + 1;
+				int right = left + 1;
+				if (left < size && before(heap[left], heap[first], positions)) first = left;
+				if (right < size && before(heap[right], heap[first], positions)) first = right;
+				if (first == i) return;
+
+				int temp = heap[i];
+				heap[i] = heap[first];
+				heap[first] = temp;
+				i = first;
+			}
+		}
+
+		private boolean before(int a, int b, int[] positions)
+		{
+			int compared = order.compare(chunks[a][positions[a]], chunks[b][positions[b]]);
+			return compared < 0 || (compared == 0 && a < b);
+		}
+	}
+}
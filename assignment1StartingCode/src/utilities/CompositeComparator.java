@@ -0,0 +1,105 @@
+package utilities;
+
+import java.util.Comparator;
+
+import shapes.Shape;
+
+/**
+ * A comparator for ordering shapes by a list of keys, such as volume, then height, then type.
+ * The second key is only consulted when two shapes tie on the first key, and so on.
+ *
+ * <p>The comparator calculates the keys on every comparison, and stops at the first key that
+ * differs. To calculate each key only once per shape, sort {@link KeyedShape} wrappers created
+ * by {@link #decorate(Shape[])} instead.
+ *
+ * @see ShapeKey
+ */
+public class CompositeComparator implements Comparator<Shape>
+{
+	private final ShapeKey[] keys;
+
+	/**
+	 * Creates a comparator for the given keys, in order of priority.
+	 * 
+	 * @param keys the keys to compare by
+	 */
+	public CompositeComparator(ShapeKey... keys)
+	{
+		this.keys = keys.clone();
+	}
+
+	/**
+	 * Compiles a comma separated key list such as "v,h,type" into a comparator.
+	 * 
+	 * @param keyList the key list, every key is "v", "h", "a" or "type"
+	 * @return the comparator, or null if the list contains an unknown key
+	 */
+	public static CompositeComparator parse(String keyList)
+	{
+		String[] options = keyList.split(",", -1);
+		ShapeKey[] keys = new ShapeKey[options.length];
+		for (int i = 0; i < options.length; i++)
+		{
+			keys[i] = ShapeKey.forOption(options[i]);
+			if (keys[i] == null) return null;
+		}
+		return new CompositeComparator(keys);
+	}
+
+	/**
+	 * Returns the keys of this comparator, in order of priority.
+	 * 
+	 * @return a copy of the keys
+	 */
+	public ShapeKey[] getKeys()
+	{
+		return keys.clone();
+	}
+
+	@Override
+	public int compare(Shape shape1, Shape shape2)
+	{
+		for (ShapeKey key : keys)
+		{
+			int result = key.compare(key.valueOf(shape1), key.valueOf(shape2));
+			if (result != 0) return result;
+		}
+		return 0;
+	}
+
+	/**
+	 * Wraps every shape together with its precalculated keys. The wrappers are Comparable
+	 * in the order of this comparator, so they can be sorted with any algorithm in {@link Sort}.
+	 * 
+	 * @param shapes the shapes to wrap
+	 * @return the wrappers, in the same order as the shapes
+	 */
+	public KeyedShape[] decorate(Shape[] shapes)
+	{
+		KeyedShape[] keyed = new KeyedShape[shapes.length];
+		for (int i = 0; i < shapes.length; i++)
+		{
+			double[] values = new double[keys.length];
+			for (int k = 0; k < keys.length; k++)
+			{
+				values[k] = keys[k].valueOf(shapes[i]);
+			}
+			keyed[i] = new KeyedShape(shapes[i], values, keys);
+		}
+		return keyed;
+	}
+
+	/**
+	 * Copies the shapes of sorted wrappers back into the shape array.
+	 * 
+	 * @param keyed  the sorted wrappers
+	 * @param shapes the array to receive the shapes in sorted order
+	 */
+	public static void undecorate(KeyedShape[] keyed, Shape[] shapes)
+	{
+		for (int i = 0; i < keyed.length; i++)
+		{
+			shapes[i] = keyed[i].getShape();
+		}
+	}
+}
@@ -0,0 +1,32 @@
+package utilities;
+
+import java.util.Comparator;
+
+/**
+ * A comparator that orders elements by a single numeric key. Sorting algorithms in {@link Sort}
+ * can extract the key of every element once and compare the primitive keys instead of calling
+ * {@link #compare(Object, Object)} for every comparison.
+ *
+ * <p>{@link #compare(Object, Object)} must agree with the key: it returns zero for equal keys and
+ * orders smaller keys first, or larger keys first if {@link #isDescending()} is true.
+ *
+ * @param <T> the type of elements compared
+ * @see Sort#sortByDoubleKey(Object[], java.util.function.ToDoubleFunction, boolean)
+ */
+public interface KeyComparator<T> extends Comparator<T>
+{
+	/**
+	 * Returns the key of an element.
+	 * 
+	 * @param element the element
+	 * @return its key
+	 */
+	double keyOf(T element);
+
+	/**
+	 * Returns whether larger keys are ordered first.
+	 * 
+	 * @return true for a descending order
+	 */
+	boolean isDescending();
+}
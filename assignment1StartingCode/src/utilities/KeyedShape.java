@@ -0,0 +1,54 @@
+package utilities;
+
+import shapes.Shape;
+
+/**
+ * A shape together with its precalculated sort keys, created by
+ * {@link CompositeComparator#decorate(Shape[])}. Comparing two KeyedShapes only compares
+ * the stored key values, so volumes and base areas are never recalculated while sorting.
+ */
+public class KeyedShape implements Comparable<KeyedShape>
+{
+	private final Shape shape;
+	private final double[] values;
+	private final ShapeKey[] keys;
+
+	KeyedShape(Shape shape, double[] values, ShapeKey[] keys)
+	{
+		this.shape = shape;
+		this.values = values;
+		this.keys = keys;
+	}
+
+	/**
+	 * Returns the wrapped shape.
+	 * 
+	 * @return the shape
+	 */
+	public Shape getShape()
+	{
+		return shape;
+	}
+
+	/**
+	 * Returns the precalculated value of one of the sort keys.
+	 * 
+	 * @param index the position of the key in the key list, 0 for the first key
+	 * @return the value of the key for the wrapped shape
+	 */
+	public double getValue(int index)
+	{
+		return values[index];
+	}
+
+	@Override
+	public int compareTo(KeyedShape other)
+	{
+		for (int k = 0; k < keys.length; k++)
+		{
+			int result = keys[k].compare(values[k], other.values[k]);
+			if (result != 0) return result;
+		}
+		return 0;
+	}
+}
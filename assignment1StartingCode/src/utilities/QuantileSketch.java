@@ -0,0 +1,181 @@
+package utilities;
+
+/**
+ * A streaming sketch that estimates quantiles of a stream of non-negative doubles in a fixed
+ * amount of memory, for data that is too large to hold and sort. Values are counted in buckets
+ * whose bounds grow geometrically, so every estimated quantile is within the relative accuracy
+ * of the true value (the bucketing used by DDSketch). Sketches built from separate parts of a
+ * stream can be merged, which allows the stream to be processed in parallel.
+ *
+ * <p>Values of zero or less are counted together and reported as zero. Infinite values (and NaN)
+ * have no bucket; they are counted together above all buckets and reported as the maximum.
+ */
+public class QuantileSketch
+{
+	private final double relativeAccuracy;
+	private final double logGamma;
+
+	// counts[i] is the number of values in bucket (offset + i)
+	private long[] counts = new long[0];
+	private int offset;
+
+	private long zeroCount;
+	private long overflowCount;
+	private long count;
+	private double min = Double.POSITIVE_INFINITY;
+	private double max = Double.NEGATIVE_INFINITY;
+
+	/**
+	 * Creates an empty sketch.
+	 * 
+	 * @param relativeAccuracy the relative error bound of the estimated quantiles, e.g. 0.01 for 1%
+	 */
+	public QuantileSketch(double relativeAccuracy)
+	{
+		if (relativeAccuracy <= 0 || relativeAccuracy >= 1)
+		{
+			throw new IllegalArgumentException("Relative accuracy must be between 0 and 1: " + relativeAccuracy);
+		}
+		this.relativeAccuracy = relativeAccuracy;
+		this.logGamma = Math.log((1 + relativeAccuracy) / (1 - relativeAccuracy));
+	}
+
+	/**
+	 * Adds a value to the sketch.
+	 * 
+	 * @param value the value to add
+	 */
+	public void add(double value)
+	{
+		count++;
+		if (value < min) min = value;
+		if (value > max) max = value;
+
+		if (value <= 0)
+		{
+			zeroCount++;
+			return;
+		}
+		if (!(value < Double.POSITIVE_INFINITY))
+		{
+			overflowCount++;
+			return;
+		}
+		int index = (int) Math.ceil(Math.log(value) / logGamma);
+		grow(index);
+		counts[index - offset]++;
+	}
+
+	/**
+	 * Adds all values counted by another sketch of the same accuracy to this sketch.
+	 * 
+	 * @param other the sketch to merge into this one
+	 */
+	public void merge(QuantileSketch other)
+	{
+		if (other.relativeAccuracy != relativeAccuracy)
+		{
+			throw new IllegalArgumentException("Cannot merge sketches of different accuracy.");
+		}
+		if (other.count == 0) return;
+
+		count += other.count;
+		zeroCount += other.zeroCount;
+		overflowCount += other.overflowCount;
+		min = Math.min(min, other.min);
+		max = Math.max(max, other.max);
+		for (int i = 0; i < other.counts.length; i++)
+		{
+			if (other.counts[i] == 0) continue;
+			grow(other.offset + i);
+			counts[other.offset + i - offset] += other.counts[i];
+		}
+	}
+
+	// Makes sure that counts covers the given bucket index
+	private void grow(int index)
+	{
+		if (counts.length == 0)
+		{
+			counts = new long[16];
+			offset = index - 8;
+		}
+		if (index < offset)
+		{
+			int shift = Math.max(offset - index, counts.length);
+			long[] grown = new long[counts.length + shift];
+			System.arraycopy(counts, 0, grown, shift, counts.length);
+			counts = grown;
+			offset -= shift;
+		}
+		else if (index - offset >= counts.length)
+		{
+			long[] grown = new long[Math.max(index - offset + 1, counts.length * 2)];
+			System.arraycopy(counts, 0, grown, 0, counts.length);
+			counts = grown;
+		}
+	}
+
+	/**
+	 * Returns the number of values added.
+	 * 
+	 * @return the count
+	 */
+	public long getCount()
+	{
+		return count;
+	}
+
+	/**
+	 * Returns the smallest value added (exact).
+	 * 
+	 * @return the minimum, or positive infinity if the sketch is empty
+	 */
+	public double getMin()
+	{
+		return min;
+	}
+
+	/**
+	 * Returns the largest value added (exact).
+	 * 
+	 * @return the maximum, or negative infinity if the sketch is empty
+	 */
+	public double getMax()
+	{
+		return max;
+	}
+
+	/**
+	 * Estimates the value at the given quantile, using the nearest rank: the smallest value that is
+	 * greater than or equal to at least the fraction q of all values.
+	 * 
+	 * @param q the quantile, between 0 and 1
+	 * @return the estimated value, or NaN if the sketch is empty
+	 */
+	public double quantile(double q)
+	{
+		if (count == 0) return Double.NaN;
+
+		long rank = Math.max(1, (long) Math.ceil(q * count));
+		long seen = zeroCount;
+		if (seen >= rank) return 0;
+
+		for (int i = 0; i < counts.length; i++)
+		{
+			seen += counts[i];
+			if (seen >= rank)
+			{
+				return Math.max(min, Math.min(max, representative(offset + i)));
+			}
+		}
+		// The rank falls among the infinite values
+		return max;
+	}
+
+	// The value within the relative accuracy of every value in the bucket
+	private double representative(int index)
+	{
+		return 2 * Math.exp(index * logGamma) / (1 + Math.exp(logGamma));
+	}
+}
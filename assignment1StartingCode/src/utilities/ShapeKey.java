@@ -0,0 +1,121 @@
+package utilities;
+
+import java.util.Arrays;
+
+import shapes.Shape;
+
+/**
+ * A property of a Shape that shapes can be sorted by. Volume, height and base area sort in
+ * descending order, like {@link VolumeComparator}, the natural ordering of Shape and
+ * {@link BaseAreaComparator}; the type sorts alphabetically by shape name.
+ *
+ * <p>Every key can be extracted as a double once per shape, so that a composite key can be
+ * compared repeatedly without recalculating volumes or base areas.
+ *
+ * @see CompositeComparator
+ */
+public enum ShapeKey
+{
+	VOLUME("v", "Volume", true),
+	HEIGHT("h", "Height", true),
+	BASE_AREA("a", "Base area", true),
+	TYPE("type", "Type", false);
+
+	// Known shape names in alphabetical order, the type key of a shape is its rank in this list
+	private static final String[] TYPE_ORDER = { "Cone", "Cylinder", "OctagonalPrism", "PentagonalPrism",
+			"Pyramid", "SquarePrism", "TriangularPrism" };
+
+	private final String option;
+	private final String label;
+	private final boolean descending;
+
+	private ShapeKey(String option, String label, boolean descending)
+	{
+		this.option = option;
+		this.label = label;
+		this.descending = descending;
+	}
+
+	/**
+	 * Returns the command line name of this key ("v", "h", "a" or "type").
+	 * 
+	 * @return the option name
+	 */
+	public String getOption()
+	{
+		return option;
+	}
+
+	/**
+	 * Returns the label used when printing the value of this key.
+	 * 
+	 * @return the label, e.g. "Volume"
+	 */
+	public String getLabel()
+	{
+		return label;
+	}
+
+	/**
+	 * Returns whether larger values of this key sort first.
+	 * 
+	 * @return true for volume, height and base area
+	 */
+	public boolean isDescending()
+	{
+		return descending;
+	}
+
+	/**
+	 * Extracts the value of this key from a shape. The type key is the rank of the shape name among
+	 * the known shape names; an unknown name ranks between its alphabetical neighbours.
+	 * 
+	 * @param shape the shape
+	 * @return the value of this key for the shape
+	 */
+	public double valueOf(Shape shape)
+	{
+		switch (this)
+		{
+			case VOLUME:
+				return shape.calcVolume();
+			case HEIGHT:
+				return shape.getHeight();
+			case BASE_AREA:
+				return shape.calcBaseArea();
+			default:
+				int rank = Arrays.binarySearch(TYPE_ORDER, shape.getShapeName());
+				return rank >= 0 ? rank : -rank - 1.5;
+		}
+	}
+
+	/**
+	 * Compares two values of this key in sort order.
+	 * 
+	 * @param value1 the first value
+	 * @param value2 the second value
+	 * @return a negative integer, zero, or a positive integer as the first value sorts before,
+	 *         together with, or after the second value
+	 */
+	public int compare(double value1, double value2)
+	{
+		if (value1 == value2) return 0;
+		if (descending) return value1 > value2 ? -1 : 1;
+		return value1 < value2 ? -1 : 1;
+	}
+
+	/**
+	 * Returns the key with the given command line name.
+	 * 
+	 * @param option "v", "h", "a" or "type", case insensitive
+	 * @return the matching key, or null if there is none
+	 */
+	public static ShapeKey forOption(String option)
+	{
+		for (ShapeKey key : values())
+		{
+			if (key.option.equalsIgnoreCase(option.trim())) return key;
+		}
+		return null;
+	}
+}
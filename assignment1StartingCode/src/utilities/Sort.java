@@ -3,6 +3,9 @@ package utilities;
 
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
 
 import shapes.Shape;
 
@@ -25,6 +28,92 @@ import shapes.Shape;
  */
 public class Sort 
 {
+	// Number of progress reports a monitored sort makes at most, keeps the checkpoints cheap
+	private static final int PROGRESS_STEPS = 10000;
+
+	// Monitor of the sorts running on each thread, see setMonitor
+	private static final ThreadLocal<SortMonitor> MONITOR = new ThreadLocal<>();
+
+	/**
+	 * Registers a monitor that receives the progress of every sort started on the current thread
+	 * and can cancel it by throwing a {@link SortCancelledException}. Without a monitor the
+	 * checkpoints cost a single null check.
+	 * 
+	 * @param monitor the monitor, or null to remove the current one
+	 */
+	public static void setMonitor(SortMonitor monitor)
+	{
+		if (monitor == null)
+		{
+			MONITOR.remove();
+		}
+		else
+		{
+			MONITOR.set(monitor);
+		}
+	}
+
+	/**
+	 * Returns the progress tracker of a sort with the given estimated work, or null if no monitor
+	 * is registered for the current thread.
+	 */
+	private static Progress progress(long total)
+	{
+		SortMonitor monitor = MONITOR.get();
+		return monitor == null ? null : new Progress(monitor, total);
+	}
+
+	/**
+	 * Counts the work done by one sort and reports it to the monitor about every
+	 * 1 / PROGRESS_STEPS of the estimated total.
+	 */
+	private static final class Progress
+	{
+		private final SortMonitor monitor;
+		private final long total;
+		private final long step;
+		private long done;
+		private long nextReport;
+
+		Progress(SortMonitor monitor, long total)
+		{
+			this.monitor = monitor;
+			this.total = total;
+			this.step = Math.max(1, total / PROGRESS_STEPS);
+		}
+
+		void advance(long work)
+		{
+			done += work;
+			if (done >= nextReport)
+			{
+				nextReport = done + step;
+				monitor.progress(done, total);
+			}
+		}
+	}
+
+	// Estimated work of the quadratic sorts: one unit per comparison of a full pass
+	private static long pairs(int n)
+	{
+		return (long) n * (n - 1) / 2;
+	}
+
+	// Estimated work of the n log n sorts: one unit per element and level
+	private static long levels(int n)
+	{
+		return (long) n * (32 - Integer.numberOfLeadingZeros(Math.max(n - 1, 1)));
+	}
+
+	// Estimated work of the quick sorts: one unit per element and partition, which averages below
+	// 2 n ln n for distinct keys in random order, plus 2 n for the variation between inputs. The
+	// median-of-three pivots of the three-way quick sort do less. Input on which the two-way quick
+	// sort degrades (presorted or duplicate keys) overruns the estimate.
+	private static long partitions(int n)
+	{
+		return n < 2 ? n : (long) Math.ceil(2 * n * (Math.log(n) + 1));
+	}
+
 	/**
      * Sorts an array using the Bubble Sort algorithm, based on the natural ordering of elements.
      * 
@@ -35,9 +124,11 @@ public class Sort
 	public static void bubbleSort(Comparable[] array)
 	{
 		int n = array.length;
+		Progress progress = progress(pairs(n));
         boolean swapped;
         for (int i = 0; i < n - 1; i++) 
         {
+            if (progress != null) progress.advance(n - 1 - i);
             swapped = false;
             for (int j = 0; j < n - i - 1; j++) 
             {
@@ -63,9 +154,11 @@ public class Sort
 	public static void bubbleSort(Shape[] array, Comparator<Shape> c)
 	{
 		int n = array.length;
+		Progress progress = progress(pairs(n));
         boolean swapped;
         for (int i = 0; i < n - 1; i++) 
         {
+            if (progress != null) progress.advance(n - 1 - i);
             swapped = false;
             for (int j = 0; j < n - i - 1; j++) 
             {
@@ -94,8 +187,10 @@ public class Sort
 	public static void insertionSort(Comparable[] array) 
 	{
 	    int n = array.length;
+	    Progress progress = progress(pairs(n));
 	    for (int i = 1; i < n; i++) 
 	    {
+	        if (progress != null) progress.advance(i - 1);
 	    	Comparable key = array[i];
 	        int j = i - 1;
 	        while (j >= 0 && array[j].compareTo(key) > 0) 
@@ -120,8 +215,10 @@ public class Sort
 	public static void insertionSort(Shape[] array, Comparator<Shape> c) 
 	{
 	    int n = array.length;
+	    Progress progress = progress(pairs(n));
 	    for (int i = 1; i < n; i++) 
 	    {
+	        if (progress != null) progress.advance(i - 1);
 	        Shape key = array[i];
 	        int j = i - 1;
 	        while (j >= 0 && c.compare(array[j], key) > 0) 
@@ -145,8 +242,10 @@ public class Sort
 	public static void selectionSort(Comparable[] array) 
 	{
 	    int n = array.length;
+	    Progress progress = progress(pairs(n));
 	    for (int i = 0; i < n - 1; i++) 
 	    {
+	        if (progress != null) progress.advance(n - 1 - i);
 	        int minIndex = i;
 	        for (int j = i + 1; j < n; j++) 
 	        {
@@ -170,8 +269,10 @@ public class Sort
 	public static void selectionSort(Shape[] array, Comparator<Shape> c) 
 	{
 	    int n = array.length;
+	    Progress progress = progress(pairs(n));
 	    for (int i = 0; i < n - 1; i++) 
 	    {
+	        if (progress != null) progress.advance(n - 1 - i);
 	        int minIndex = i;
 	        for (int j = i + 1; j < n; j++) 
 	        {
@@ -197,14 +298,21 @@ public class Sort
 	 */
 	@SuppressWarnings("rawtypes")
 	public static void mergeSort(Comparable[] array) 
+	{
+	    mergeSort(array, progress(levels(array.length)));
+	}
+
+	@SuppressWarnings("rawtypes")
+	private static void mergeSort(Comparable[] array, Progress progress) 
 	{
 	    if (array.length < 2) return;
 	    int mid = array.length / 2;
 	    Comparable[] left = Arrays.copyOfRange(array, 0, mid);
 	    Comparable[] right = Arrays.copyOfRange(array, mid, array.length);
 
-	    mergeSort(left);
-	    mergeSort(right);
+	    mergeSort(left, progress);
+	    mergeSort(right, progress);
+	    if (progress != null) progress.advance(array.length);
 	    merge(array, left, right);
 	}
 
@@ -240,14 +348,20 @@ public class Sort
 	 * 
 	 */
 	public static void mergeSort(Shape[] array, Comparator<Shape> c) 
+	{
+	    mergeSort(array, c, progress(levels(array.length)));
+	}
+
+	private static void mergeSort(Shape[] array, Comparator<Shape> c, Progress progress) 
 	{
 	    if (array.length < 2) return;
 	    int mid = array.length / 2;
 	    Shape[] left = Arrays.copyOfRange(array, 0, mid);
 	    Shape[] right = Arrays.copyOfRange(array, mid, array.length);
 
-	    mergeSort(left, c);
-	    mergeSort(right, c);
+	    mergeSort(left, c, progress);
+	    mergeSort(right, c, progress);
+	    if (progress != null) progress.advance(array.length);
 	    merge(array, left, right, c);
 	}
 
@@ -269,6 +383,469 @@ public class Sort
 	    while (j < right.length) array[k++] = right[j++];
 	}
 
+	/**
+	 * Sorts an array of elements in ascending order using a stable in-place merge sort.
+	 *
+	 * <p>Unlike {@link #mergeSort(Comparable[])}, which copies every half it splits off, this sort
+	 * needs no auxiliary array: blocks of {@value #IN_PLACE_BLOCK} elements are sorted with insertion
+	 * sort and then merged bottom-up with the SymMerge algorithm, which merges two adjacent sorted
+	 * runs by rotating elements in place. It uses O(1) extra memory besides an O(log n) recursion
+	 * stack and takes O(n log^2 n) time. Equal elements keep their original order.
+	 *
+	 * @param <T>   the type of elements in the array, which must implement {@link Comparable}.
+	 * @param array the array to be sorted.
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public static void inPlaceMergeSort(Comparable[] array)
+	{
+		symMergeSort(array, (x, y) -> ((Comparable) x).compareTo(y));
+	}
+
+	/**
+	 * Sorts an array of elements using a stable in-place merge sort and the specified comparator.
+	 * Needs O(1) extra memory, see {@link #inPlaceMergeSort(Comparable[])}.
+	 *
+	 * @param <T>   the type of elements in the array.
+	 * @param array the array to be sorted.
+	 * @param c     the comparator used to compare the elements.
+	 */
+	public static void inPlaceMergeSort(Shape[] array, Comparator<Shape> c)
+	{
+		symMergeSort(array, (x, y) -> c.compare((Shape) x, (Shape) y));
+	}
+
+	// Length of the runs sorted with insertion sort before merging
+	private static final int IN_PLACE_BLOCK = 20;
+
+	private static void symMergeSort(Object[] array, Comparator<Object> c)
+	{
+		int n = array.length;
+		Progress progress = progress(levels(n));
+
+		int from = 0;
+		while (from < n)
+		{
+			int to = Math.min(n, from + IN_PLACE_BLOCK);
+			insertionSort(array, from, to, c);
+			from = to;
+		}
+
+		for (int width = IN_PLACE_BLOCK; width < n; width *= 2)
+		{
+			for (int low = 0; low + width < n; low += 2 * width)
+			{
+				int high = Math.min(n, low + 2 * width);
+				if (progress != null) progress.advance(high - low);
+				symMerge(array, low, low + width, high, c);
+			}
+		}
+	}
+
+	private static void insertionSort(Object[] array, int from, int to, Comparator<Object> c)
+	{
+		for (int i = from + 1; i < to; i++)
+		{
+			Object key = array[i];
+			int j = i - 1;
+			while (j >= from && c.compare(array[j], key) > 0)
+			{
+				array[j + 1] = array[j];
+				j--;
+			}
+			array[j + 1] = key;
+		}
+	}
+
+	/**
+	 * Merges the sorted runs array[a, m) and array[m, b) in place (Kim and Kutzner's SymMerge).
+	 * The run boundaries are moved so that the middle of [a, b) splits the merged result, the
+	 * elements between them are rotated into place and both sides are merged recursively.
+	 */
+	private static void symMerge(Object[] array, int a, int m, int b, Comparator<Object> c)
+	{
+		if (m - a == 1)
+		{
+			// Insert the single left element behind all right elements that are smaller
+			int i = m;
+			int j = b;
+			while (i < j)
+			{
+				int h = (i + j) >>> 1;
+				if (c.compare(array[h], array[a]) < 0)
+				{
+					i = h + 1;
+				}
+				else
+				{
+					j = h;
+				}
+			}
+			rotate(array, a, m, i);
+			return;
+		}
+		if (b - m == 1)
+		{
+			// Insert the single right element in front of all left elements that are larger
+			int i = a;
+			int j = m;
+			while (i < j)
+			{
+				int h = (i + j) >>> 1;
+				if (c.compare(array[m], array[h]) >= 0)
+				{
+					i = h + 1;
+				}
+				else
+				{
+					j = h;
+				}
+			}
+			rotate(array, i, m, b);
+			return;
+		}
+
+		int mid = (a + b) >>> 1;
+		int n = mid + m;
+		int start;
+		int r;
+		if (m > mid)
+		{
+			start = n - b;
+			r = mid;
+		}
+		else
+		{
+			start = a;
+			r = m;
+		}
+		int p = n - 1;
+		while (start < r)
+		{
+			int h = (start + r) >>> 1;
+			if (c.compare(array[p - h], array[h]) >= 0)
+			{
+				start = h + 1;
+			}
+			else
+			{
+				r = h;
+			}
+		}
+
+		int end = n - start;
+		if (start < m && m < end) rotate(array, start, m, end);
+		if (a < start && start < mid) symMerge(array, a, start, mid, c);
+		if (mid < end && end < b) symMerge(array, mid, end, b, c);
+	}
+
+	/**
+	 * Swaps the blocks array[a, m) and array[m, b) by reversing both and then the whole range.
+	 */
+	private static void rotate(Object[] array, int a, int m, int b)
+	{
+		reverse(array, a, m);
+		reverse(array, m, b);
+		reverse(array, a, b);
+	}
+
+	private static void reverse(Object[] array, int from, int to)
+	{
+		for (int i = from, j = to - 1; i < j; i++, j--)
+		{
+			Object temp = array[i];
+			array[i] = array[j];
+			array[j] = temp;
+		}
+	}
+
+	/**
+	 * Sorts an array in ascending order of a double key, see
+	 * {@link #sortByDoubleKey(Object[], ToDoubleFunction, boolean)}.
+	 *
+	 * @param <T>   the type of elements in the array.
+	 * @param array the array to be sorted.
+	 * @param key   extracts the key of an element, called once per element.
+	 */
+	public static <T> void sortByDoubleKey(T[] array, ToDoubleFunction<? super T> key)
+	{
+		sortByDoubleKey(array, key, false);
+	}
+
+	/**
+	 * Sorts an array by a double key that is extracted once per element.
+	 *
+	 * <p>The keys are converted to longs that order the same way and sorted with a stable LSD radix
+	 * sort that moves the keys together with the positions of their elements, so no comparator is
+	 * called at all; the elements are put in place in a final pass. The order is the one of the
+	 * {@code <} and {@code >} operators, NaN keys count as larger than any other key and elements
+	 * with equal keys keep their original order. Takes O(n) time and O(n) extra memory.
+	 *
+	 * @param <T>        the type of elements in the array.
+	 * @param array      the array to be sorted.
+	 * @param key        extracts the key of an element, called once per element.
+	 * @param descending true to order larger keys first.
+	 */
+	public static <T> void sortByDoubleKey(T[] array, ToDoubleFunction<? super T> key, boolean descending)
+	{
+		long[] keys = new long[array.length];
+		for (int i = 0; i < array.length; i++)
+		{
+			keys[i] = sortableKey(key.applyAsDouble(array[i]));
+		}
+		sortByKeys(array, keys, descending);
+	}
+
+	/**
+	 * Converts a double key to a long that orders the same way as
+	 * {@link #sortByDoubleKey(Object[], ToDoubleFunction, boolean)} orders its keys.
+	 *
+	 * @param key the double key.
+	 * @return a long with the same order.
+	 */
+	static long sortableKey(double key)
+	{
+		// Adding 0.0 turns -0.0 into 0.0, which the comparison operators treat as equal
+		long bits = Double.doubleToLongBits(key + 0.0);
+		return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+	}
+
+	/**
+	 * Sorts an array in ascending order of a long key, see
+	 * {@link #sortByLongKey(Object[], ToLongFunction, boolean)}.
+	 *
+	 * @param <T>   the type of elements in the array.
+	 * @param array the array to be sorted.
+	 * @param key   extracts the key of an element, called once per element.
+	 */
+	public static <T> void sortByLongKey(T[] array, ToLongFunction<? super T> key)
+	{
+		sortByLongKey(array, key, false);
+	}
+
+	/**
+	 * Sorts an array by a long key that is extracted once per element, with the stable radix sort
+	 * described at {@link #sortByDoubleKey(Object[], ToDoubleFunction, boolean)}.
+	 *
+	 * @param <T>        the type of elements in the array.
+	 * @param array      the array to be sorted.
+	 * @param key        extracts the key of an element, called once per element.
+	 * @param descending true to order larger keys first.
+	 */
+	public static <T> void sortByLongKey(T[] array, ToLongFunction<? super T> key, boolean descending)
+	{
+		long[] keys = new long[array.length];
+		for (int i = 0; i < array.length; i++)
+		{
+			keys[i] = key.applyAsLong(array[i]);
+		}
+		sortByKeys(array, keys, descending);
+	}
+
+	// Runs of equal compact keys up to this length are sorted with insertion sort
+	private static final int TIE_INSERTION_LIMIT = 20;
+
+	/**
+	 * Sorts an array by a double key in compact form: every key is rounded to a float and stored as
+	 * a 32-bit int that orders the same way, so the radix sort of
+	 * {@link #sortByDoubleKey(Object[], ToDoubleFunction, boolean)} moves half as many key bytes and
+	 * needs at most four passes instead of eight.
+	 *
+	 * <p>Rounding to a float never reverses the order of two keys, it can only make different keys
+	 * equal. Runs of elements with equal compact keys are therefore sorted again with the exact
+	 * comparator, which only looks at the few elements of a run, and the result is the same as a
+	 * stable sort with that comparator. Elements the comparator considers equal keep their original
+	 * order.
+	 *
+	 * @param <T>        the type of elements in the array.
+	 * @param array      the array to be sorted.
+	 * @param key        extracts the key of an element, called once per element.
+	 * @param descending true to order larger keys first.
+	 * @param exact      the exact order of the elements; it must order elements with a smaller key
+	 *                   before elements with a larger key (after them if descending), and may
+	 *                   compare further keys to break ties.
+	 */
+	public static <T> void sortByCompactKey(T[] array, ToDoubleFunction<? super T> key, boolean descending,
+			Comparator<? super T> exact)
+	{
+		int n = array.length;
+		if (n < 2) return;
+		Progress progress = progress(4L * n + n);
+
+		int[] keys = new int[n];
+		for (int i = 0; i < n; i++)
+		{
+			// Flipping the sign bit orders the keys as unsigned numbers, inverting all bits reverses them
+			int k = compactKey(key.applyAsDouble(array[i]));
+			keys[i] = descending ? ~k ^ Integer.MIN_VALUE : k ^ Integer.MIN_VALUE;
+		}
+
+		int[][] counts = new int[4][257];
+		for (int i = 0; i < n; i++)
+		{
+			int k = keys[i];
+			for (int pass = 0; pass < 4; pass++)
+			{
+				counts[pass][(k >>> (8 * pass) & 0xFF) + 1]++;
+			}
+		}
+
+		int[] order = new int[n];
+		for (int i = 0; i < n; i++)
+		{
+			order[i] = i;
+		}
+		int[] keyBuffer = new int[n];
+		int[] orderBuffer = new int[n];
+
+		for (int pass = 0; pass < 4; pass++)
+		{
+			int[] count = counts[pass];
+			int shift = 8 * pass;
+			if (count[(keys[0] >>> shift & 0xFF) + 1] == n) continue;
+			if (progress != null) progress.advance(n);
+
+			for (int b = 0; b < 256; b++)
+			{
+				count[b + 1] += count[b];
+			}
+			for (int i = 0; i < n; i++)
+			{
+				int target = count[keys[i] >>> shift & 0xFF]++;
+				keyBuffer[target] = keys[i];
+				orderBuffer[target] = order[i];
+			}
+
+			int[] swapKeys = keys;
+			keys = keyBuffer;
+			keyBuffer = swapKeys;
+			int[] swapOrder = order;
+			order = orderBuffer;
+			orderBuffer = swapOrder;
+		}
+
+		T[] original = array.clone();
+		for (int i = 0; i < n; i++)
+		{
+			array[i] = original[order[i]];
+		}
+
+		// Break the ties of the compact keys with the exact order
+		int runStart = 0;
+		for (int i = 1; i <= n; i++)
+		{
+			if (i < n && keys[i] == keys[runStart]) continue;
+			if (i - runStart > 1) sortRun(array, runStart, i, exact);
+			runStart = i;
+		}
+		if (progress != null) progress.advance(n);
+	}
+
+	/**
+	 * Converts a double key to an int that orders like the key rounded to a float, see
+	 * {@link #sortByCompactKey(Object[], ToDoubleFunction, boolean, Comparator)}.
+	 *
+	 * @param key the double key.
+	 * @return an int whose order is the order of the key, except that close keys may be equal.
+	 */
+	static int compactKey(double key)
+	{
+		// Adding 0.0f turns -0.0f into 0.0f, keys too large for a float become infinite
+		int bits = Float.floatToIntBits((float) key + 0.0f);
+		return bits ^ ((bits >> 31) & Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Sorts the run [from, to) stably with the comparator. Runs of equal compact keys are usually
+	 * short or already in order, which insertion sort handles in linear time.
+	 */
+	private static <T> void sortRun(T[] array, int from, int to, Comparator<? super T> c)
+	{
+		if (to - from > TIE_INSERTION_LIMIT)
+		{
+			Arrays.sort(array, from, to, c);
+			return;
+		}
+		for (int i = from + 1; i < to; i++)
+		{
+			T current = array[i];
+			int j = i - 1;
+			while (j >= from && c.compare(array[j], current) > 0)
+			{
+				array[j + 1] = array[j];
+				j--;
+			}
+			array[j + 1] = current;
+		}
+	}
+
+	/**
+	 * Sorts the array by the given signed keys with an LSD radix sort over the eight key bytes.
+	 * The histograms of all bytes are counted in one pass and bytes that are equal for every key
+	 * are skipped.
+	 */
+	private static <T> void sortByKeys(T[] array, long[] keys, boolean descending)
+	{
+		int n = array.length;
+		if (n < 2) return;
+		Progress progress = progress(8L * n);
+
+		for (int i = 0; i < n; i++)
+		{
+			// Flipping the sign bit orders the keys as unsigned numbers, inverting all bits reverses them
+			keys[i] = descending ? ~keys[i] ^ Long.MIN_VALUE : keys[i] ^ Long.MIN_VALUE;
+		}
+
+		int[][] counts = new int[8][257];
+		for (int i = 0; i < n; i++)
+		{
+			long k = keys[i];
+			for (int pass = 0; pass < 8; pass++)
+			{
+				counts[pass][(int) (k >>> (8 * pass) & 0xFF) + 1]++;
+			}
+		}
+
+		int[] order = new int[n];
+		for (int i = 0; i < n; i++)
+		{
+			order[i] = i;
+		}
+		long[] keyBuffer = new long[n];
+		int[] orderBuffer = new int[n];
+
+		for (int pass = 0; pass < 8; pass++)
+		{
+			int[] count = counts[pass];
+			int shift = 8 * pass;
+			if (count[(int) (keys[0] >>> shift & 0xFF) + 1] == n) continue;
+			if (progress != null) progress.advance(n);
+
+			for (int b = 0; b < 256; b++)
+			{
+				count[b + 1] += count[b];
+			}
+			for (int i = 0; i < n; i++)
+			{
+				int target = count[(int) (keys[i] >>> shift & 0xFF)]++;
+				keyBuffer[target] = keys[i];
+				orderBuffer[target] = order[i];
+			}
+
+			long[] swapKeys = keys;
+			keys = keyBuffer;
+			keyBuffer = swapKeys;
+			int[] swapOrder = order;
+			order = orderBuffer;
+			orderBuffer = swapOrder;
+		}
+
+		T[] original = array.clone();
+		for (int i = 0; i < n; i++)
+		{
+			array[i] = original[order[i]];
+		}
+	}
+
 	/**
 	 * Sorts an array of elements using the quick sort algorithm.
 	 *
@@ -282,17 +859,18 @@ public class Sort
 	@SuppressWarnings({ "rawtypes" })
 	public static void quickSort(Comparable[] array) 
 	{
-	    quickSort(array, 0, array.length - 1);
+	    quickSort(array, 0, array.length - 1, progress(partitions(array.length)));
 	}
 
 	@SuppressWarnings("rawtypes")
-	private static void quickSort(Comparable[] array, int low, int high) 
+	private static void quickSort(Comparable[] array, int low, int high, Progress progress) 
 	{
 	    if (low < high) 
 	    {
+	        if (progress != null) progress.advance(high - low + 1);
 	        int pivotIndex = partition(array, low, high);
-	        quickSort(array, low, pivotIndex - 1);
-	        quickSort(array, pivotIndex + 1, high);
+	        quickSort(array, low, pivotIndex - 1, progress);
+	        quickSort(array, pivotIndex + 1, high, progress);
 	    }
 	}
 
@@ -327,16 +905,17 @@ public class Sort
 	 */
 	public static void quickSort(Shape[] array, Comparator<Shape> c) 
 	{
-	    quickSort(array, 0, array.length - 1, c);
+	    quickSort(array, 0, array.length - 1, c, progress(partitions(array.length)));
 	}
 
-	private static void quickSort(Shape[] array, int low, int high, Comparator<Shape> c) 
+	private static void quickSort(Shape[] array, int low, int high, Comparator<Shape> c, Progress progress) 
 	{
 	    if (low < high) 
 	    {
+	        if (progress != null) progress.advance(high - low + 1);
 	        int pivotIndex = partition(array, low, high, c);
-	        quickSort(array, low, pivotIndex - 1, c);
-	        quickSort(array, pivotIndex + 1, high, c);
+	        quickSort(array, low, pivotIndex - 1, c, progress);
+	        quickSort(array, pivotIndex + 1, high, c, progress);
 	    }
 	}
 
@@ -356,6 +935,98 @@ public class Sort
 	    return i + 1;
 	}
 
+	/**
+	 * Sorts an array of elements using quick sort with a three-way partition.
+	 *
+	 * <p>Every partition step splits the range into the elements less than, equal to and greater
+	 * than the pivot in a single pass (Dijkstra's Dutch national flag partition), and only the
+	 * smaller and greater parts are sorted further. Runs of equal keys are therefore finished in
+	 * the first partition that picks one of them as pivot: with k distinct keys the sort takes
+	 * O(n log k) time, linear when there are only a few distinct keys, where the two-way
+	 * {@link #quickSort(Comparable[])} degrades to quadratic time. The pivot is the median of the
+	 * first, middle and last element.
+	 *
+	 * @param <T>   the type of elements in the array, which must implement Comparable.
+	 * @param array the array to be sorted.
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public static void threeWayQuickSort(Comparable[] array)
+	{
+		threeWayQuickSort(array, 0, array.length - 1, (x, y) -> ((Comparable) x).compareTo(y),
+				progress(partitions(array.length)));
+	}
+
+	/**
+	 * Sorts an array of elements using quick sort with a three-way partition and the specified
+	 * comparator, see {@link #threeWayQuickSort(Comparable[])}.
+	 *
+	 * @param <T>   the type of elements in the array.
+	 * @param array the array to be sorted.
+	 * @param c     the comparator used to compare the elements.
+	 */
+	public static void threeWayQuickSort(Shape[] array, Comparator<Shape> c)
+	{
+		threeWayQuickSort(array, 0, array.length - 1, (x, y) -> c.compare((Shape) x, (Shape) y),
+				progress(partitions(array.length)));
+	}
+
+	private static void threeWayQuickSort(Object[] array, int low, int high, Comparator<Object> c, Progress progress)
+	{
+		while (high - low >= IN_PLACE_BLOCK)
+		{
+			if (progress != null) progress.advance(high - low + 1);
+
+			// Move the median of three to the front and use it as pivot
+			int mid = (low + high) >>> 1;
+			if (c.compare(array[mid], array[low]) < 0) swap(array, mid, low);
+			if (c.compare(array[high], array[low]) < 0) swap(array, high, low);
+			if (c.compare(array[high], array[mid]) < 0) swap(array, high, mid);
+			swap(array, low, mid);
+			Object pivot = array[low];
+
+			// [low, lt) < pivot, [lt, i) == pivot, (gt, high] > pivot
+			int lt = low;
+			int gt = high;
+			int i = low + 1;
+			while (i <= gt)
+			{
+				int compared = c.compare(array[i], pivot);
+				if (compared < 0)
+				{
+					swap(array, lt++, i++);
+				}
+				else if (compared > 0)
+				{
+					swap(array, i, gt--);
+				}
+				else
+				{
+					i++;
+				}
+			}
+
+			// Recurse into the smaller part and loop on the larger one to bound the stack depth
+			if (lt - low < high - gt)
+			{
+				threeWayQuickSort(array, low, lt - 1, c, progress);
+				low = gt + 1;
+			}
+			else
+			{
+				threeWayQuickSort(array, gt + 1, high, c, progress);
+				high = lt - 1;
+			}
+		}
+		insertionSort(array, low, high + 1, c);
+	}
+
+	private static void swap(Object[] array, int i, int j)
+	{
+		Object temp = array[i];
+		array[i] = array[j];
+		array[j] = temp;
+	}
+
 	/**
 	 * Sorts an array of elements using the binary insertion sort algorithm.
 	 *
@@ -370,6 +1041,7 @@ public class Sort
 	public static void heapSort(Comparable[] array) 
 	{
 		int n = array.length;
+		Progress progress = progress(n);
 
         // Build a max heap
         for (int i = n / 2 - 1; i >= 0; i--) 
@@ -380,6 +1052,8 @@ public class Sort
         // Extract elements from heap one by one
         for (int i = n - 1; i > 0; i--) 
         {
+            if (progress != null) progress.advance(1);
+
             // Move current root to end
         	swapComparable(array, 0, i);
 
@@ -456,6 +1130,7 @@ public class Sort
      */
     public static void heapSort(Shape[] array, Comparator<Shape> comparator) {
         int n = array.length;
+        Progress progress = progress(n);
 
         // Build a heap using the comparator
         for (int i = n / 2 - 1; i >= 0; i--) 
@@ -466,6 +1141,8 @@ public class Sort
         // Extract elements from the heap one by one
         for (int i = n - 1; i > 0; i--) 
         {
+            if (progress != null) progress.advance(1);
+
             // Move current root to end
             swap(array, 0, i);
 
@@ -508,6 +1185,79 @@ public class Sort
         }
     }
 
+	/**
+	 * Finds the k-th smallest value of array[from, to) in linear expected time with the quickselect
+	 * algorithm, without sorting the whole range. Values are ordered by {@link Double#compare}, as in
+	 * {@link #sortByDoubleKey(Object[], ToDoubleFunction)}: -0.0 before 0.0 and NaN after every
+	 * other value.
+	 *
+	 * <p>The range is partially reordered: afterwards array[k] holds the k-th smallest value, every
+	 * value in array[from, k) is less than or equal to it and every value in array(k, to) is greater
+	 * than or equal to it. Selecting several ranks in increasing order can therefore continue in the
+	 * range to the right of the previous rank.
+	 *
+	 * @param array the values to select from.
+	 * @param from  the first index of the range (inclusive).
+	 * @param to    the last index of the range (exclusive).
+	 * @param k     the index of the value to find, from &lt;= k &lt; to.
+	 * @return the k-th smallest value of the range.
+	 */
+	public static double quickSelect(double[] array, int from, int to, int k)
+	{
+		if (k < from || k >= to)
+		{
+			throw new IndexOutOfBoundsException("Index " + k + " is outside of [" + from + ", " + to + ")");
+		}
+
+		int low = from;
+		int high = to - 1;
+		while (low < high)
+		{
+			// A random pivot avoids quadratic time on presorted input
+			double pivot = array[low + ThreadLocalRandom.current().nextInt(high - low + 1)];
+
+			// Three-way partition: [low, lt) < pivot, [lt, gt] == pivot, (gt, high] > pivot,
+			// so that runs of equal values do not slow the selection down
+			int lt = low;
+			int gt = high;
+			int i = low;
+			while (i <= gt)
+			{
+				int order = Double.compare(array[i], pivot);
+				if (order < 0)
+				{
+					swap(array, lt++, i++);
+				}
+				else if (order > 0)
+				{
+					swap(array, i, gt--);
+				}
+				else
+				{
+					i++;
+				}
+			}
 
+			if (k < lt)
+			{
+				high = lt - 1;
+			}
+			else if (k > gt)
+			{
+				low = gt + 1;
+			}
+			else
+			{
+				return array[k];
+			}
+		}
+		return array[k];
+	}
 
+	private static void swap(double[] array, int i, int j)
+	{
+		double temp = array[i];
+		array[i] = array[j];
+		array[j] = temp;
+	}
 }
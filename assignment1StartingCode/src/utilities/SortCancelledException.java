@@ -0,0 +1,15 @@
+package utilities;
+
+/**
+ * Thrown by a {@link SortMonitor} to abandon a running sort. The array that was being sorted
+ * holds a permutation of its original elements, but is not necessarily sorted.
+ */
+public class SortCancelledException extends RuntimeException
+{
+	private static final long serialVersionUID = 1L;
+
+	public SortCancelledException(String message)
+	{
+		super(message);
+	}
+}
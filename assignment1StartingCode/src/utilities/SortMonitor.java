@@ -0,0 +1,24 @@
+package utilities;
+
+/**
+ * Receives the progress of the sorting algorithms in {@link Sort} and can cancel them.
+ * 
+ * <p>A monitor is registered for the current thread with {@link Sort#setMonitor(SortMonitor)}.
+ * The algorithms report their progress at checkpoints between steps (after a pass of the outer
+ * loop, before a merge, before a partition, after a heap extraction), at most a few thousand times
+ * per sort. At every checkpoint the array holds a permutation of its original elements, so a
+ * cancelled sort never loses or duplicates an element and the array can be sorted again.
+ */
+public interface SortMonitor
+{
+	/**
+	 * Called at a checkpoint of a running sort.
+	 * 
+	 * @param done  the units of work done so far, e.g. comparisons for bubble sort or elements
+	 *              merged for merge sort
+	 * @param total the estimated units of work of the whole sort; done exceeds it when the sort
+	 *              takes longer than estimated, e.g. a quick sort that degrades to quadratic time
+	 * @throws SortCancelledException to abandon the sort
+	 */
+	void progress(long done, long total);
+}
@@ -1,7 +1,5 @@
 package utilities;
 
-import java.util.Comparator;
-
 import shapes.Shape;
 
 /**
@@ -15,7 +13,7 @@ import shapes.Shape;
  * @author Dan Chen
  * @version Sep. 28, 2024
  */
-public class VolumeComparator implements Comparator<Shape>
+public class VolumeComparator implements KeyComparator<Shape>
 {
 
 	@Override
@@ -26,4 +24,16 @@ public class VolumeComparator implements Comparator<Shape>
 		return 0;
 	}
 
+	@Override
+	public double keyOf(Shape shape)
+	{
+		return shape.calcVolume();
+	}
+
+	@Override
+	public boolean isDescending()
+	{
+		return true;
+	}
+
 }
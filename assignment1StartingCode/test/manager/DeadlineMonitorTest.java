@@ -0,0 +1,163 @@
+package manager;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import shapes.Cylinder;
+import shapes.Shape;
+import utilities.Sort;
+import utilities.SortCancelledException;
+import utilities.VolumeComparator;
+
+/**
+ * Test for the deadline monitor of the --deadline option, which cancels sorts whose projected
+ * finish exceeds the deadline but must let sorts that finish in time complete.
+ */
+
+public class DeadlineMonitorTest
+{
+	// Attributes
+	private DeadlineMonitor monitor;
+
+	/**
+	 * Registers a monitor with a deadline of 60 seconds before each test.
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		monitor = new DeadlineMonitor( 60, null );
+		monitor.start();
+		Sort.setMonitor( monitor );
+	}
+
+	/**
+	 * Removes the monitor after each test.
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		Sort.setMonitor( null );
+		monitor = null;
+	}
+
+	/**
+	 * Test method for {@link utilities.Sort#threeWayQuickSort(Shape[], java.util.Comparator)}
+	 * to finish a large random array well inside the deadline without being cancelled, although
+	 * its partitions do more work than one pass per level.
+	 */
+	@Test
+	public void testThreeWayQuickSort_LargeRandomNotCancelled()
+	{
+		Shape[] shapes = randomShapes( 1 << 22 );
+		VolumeComparator comparator = new VolumeComparator();
+
+		Sort.threeWayQuickSort( shapes, comparator );
+
+		for( int i = 1; i < shapes.length; i++ )
+		{
+			assertTrue( "Failed to sort the array.", comparator.compare( shapes[i - 1], shapes[i] ) <= 0 );
+		}
+	}
+
+	/**
+	 * Test method for {@link utilities.Sort#threeWayQuickSort(Shape[], java.util.Comparator)}
+	 * to report work that stays clearly within its estimate on random input, so that the monitor
+	 * does not take a healthy sort for a degrading one.
+	 */
+	@Test
+	public void testThreeWayQuickSort_WorkWithinEstimate()
+	{
+		Shape[] shapes = randomShapes( 1 << 20 );
+		final double[] largest = new double[1];
+		Sort.setMonitor( ( done, total ) -> largest[0] = Math.max( largest[0], (double) done / total ) );
+
+		Sort.threeWayQuickSort( shapes, new VolumeComparator() );
+
+		assertTrue( "Failed to stay within the estimated work: " + largest[0], largest[0] < 0.9 );
+	}
+
+	/**
+	 * Test method for {@link manager.DeadlineMonitor#progress(long, long)}
+	 * to let a sort that does a little more than its estimated work go on while its projected
+	 * finish is inside the deadline.
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void testProgress_SmallOverrunNotCancelled() throws InterruptedException
+	{
+		DeadlineMonitor shortDeadline = new DeadlineMonitor( 1, null );
+		shortDeadline.start();
+		Thread.sleep( 100 );
+
+		shortDeadline.progress( 1_010, 1_000 );
+		shortDeadline.progress( 1_500, 1_000 );
+	}
+
+	/**
+	 * Test method for {@link manager.DeadlineMonitor#progress(long, long)}
+	 * to cancel a sort whose overrun projects a finish after the deadline.
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void testProgress_LargeOverrunCancelled() throws InterruptedException
+	{
+		DeadlineMonitor shortDeadline = new DeadlineMonitor( 1, null );
+		shortDeadline.start();
+		Thread.sleep( 100 );
+
+		try
+		{
+			shortDeadline.progress( 20_000, 1_000 );
+			fail( "Failed to throw SortCancelledException." );
+		}
+		catch( SortCancelledException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for {@link utilities.Sort#quickSort(Comparable[])}
+	 * to cancel a quick sort that degrades to quadratic time on equal keys long before the
+	 * deadline passes.
+	 */
+	@Test
+	public void testQuickSort_QuadraticCancelledEarly()
+	{
+		DeadlineMonitor deadline = new DeadlineMonitor( 30, null );
+		Integer[] equal = new Integer[200_000];
+		Arrays.fill( equal, 304 );
+		deadline.start();
+		Sort.setMonitor( deadline );
+
+		long start = System.nanoTime();
+		try
+		{
+			Sort.quickSort( equal );
+			fail( "Failed to throw SortCancelledException." );
+		}
+		catch( SortCancelledException e )
+		{
+			assertTrue( "Failed to cancel before the deadline.", System.nanoTime() - start < 10_000_000_000L );
+		}
+	}
+
+	private static Shape[] randomShapes( int n )
+	{
+		Random random = new Random( 304 );
+		Shape[] shapes = new Shape[n];
+		for( int i = 0; i < n; i++ )
+		{
+			shapes[i] = new Cylinder( 1 + random.nextDouble() * 1000, 1 + random.nextDouble() * 1000 );
+		}
+		return shapes;
+	}
+}
@@ -0,0 +1,132 @@
+package manager;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test for the exact mode of the -stats option, whose percentiles must be the values at their rank
+ * in the order of {@link Double#compare}.
+ */
+
+public class ShapeStatisticsTest
+{
+	// Attributes
+	private File data;
+	private PrintStream console;
+	private ByteArrayOutputStream printed;
+
+	/**
+	 * Creates a temporary data file and captures the console output before each test.
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		data = File.createTempFile( "shapes", ".txt" );
+		console = System.out;
+		printed = new ByteArrayOutputStream();
+		System.setOut( new PrintStream( printed, true, "UTF-8" ) );
+	}
+
+	/**
+	 * Restores the console output and deletes the data file after each test.
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		System.setOut( console );
+		data.delete();
+		data = null;
+		printed = null;
+	}
+
+	/**
+	 * Test method for {@link manager.ShapeStatistics#report(String, String)}
+	 * to select the exact percentiles of heights 1 to 100 in any order.
+	 * @throws Exception
+	 */
+	@Test
+	public void testReport_ExactPercentiles() throws Exception
+	{
+		List<String> heights = new ArrayList<>();
+		for( int h = 1; h <= 100; h++ )
+		{
+			heights.add( h + ".0" );
+		}
+		writeCylinders( heights );
+
+		ShapeStatistics.report( data.getPath(), "exact" );
+
+		assertTrue( "Failed to select the percentiles: " + heightLine(),
+				heightLine().contains( "p50=50.0, p90=90.0, p99=99.0" ) );
+	}
+
+	/**
+	 * Test method for {@link manager.ShapeStatistics#report(String, String)}
+	 * to order NaN heights after every other height, as the sorts by key do, whichever values the
+	 * selection picks as pivots.
+	 * @throws Exception
+	 */
+	@Test
+	public void testReport_ExactPercentilesWithNaN() throws Exception
+	{
+		List<String> heights = new ArrayList<>();
+		for( int h = 1; h <= 90; h++ )
+		{
+			heights.add( h + ".0" );
+		}
+		for( int i = 0; i < 10; i++ )
+		{
+			heights.add( "NaN" );
+		}
+
+		Random random = new Random( 304 );
+		for( int round = 0; round < 20; round++ )
+		{
+			Collections.shuffle( heights, random );
+			writeCylinders( heights );
+			printed.reset();
+
+			ShapeStatistics.report( data.getPath(), "exact" );
+
+			assertTrue( "Failed to order NaN last: " + heightLine(),
+					heightLine().contains( "p50=50.0, p90=90.0, p99=NaN" ) );
+		}
+	}
+
+	private void writeCylinders( List<String> heights ) throws Exception
+	{
+		StringBuilder text = new StringBuilder().append( heights.size() ).append( '\n' );
+		for( String height : heights )
+		{
+			text.append( "Cylinder " ).append( height ).append( " 1.0\n" );
+		}
+		Files.write( data.toPath(), text.toString().getBytes( StandardCharsets.US_ASCII ) );
+	}
+
+	private String heightLine() throws Exception
+	{
+		for( String line : printed.toString( "UTF-8" ).split( "\\R" ) )
+		{
+			if( line.startsWith( "Height:" ) )
+			{
+				return line;
+			}
+		}
+		return "";
+	}
+}
@@ -0,0 +1,104 @@
+package manager;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import shapes.Cone;
+import shapes.Cylinder;
+import shapes.OctagonalPrism;
+import shapes.Pyramid;
+import shapes.Shape;
+import shapes.SquarePrism;
+
+/**
+ * Test for the writer of the -o option, whose rows must be the rows the shapes print.
+ */
+
+public class SortedResultWriterTest
+{
+	// Attributes
+	private File output;
+	private Shape[] shapes;
+
+	/**
+	 * Creates a temporary output file and shapes with small, ordinary and very large keys before
+	 * each test.
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		output = File.createTempFile( "sorted", ".txt" );
+		Random random = new Random( 304 );
+		shapes = new Shape[40_000];
+		shapes[0] = new Cylinder( 1e-7, 3e-5 );
+		shapes[1] = new Cone( 1.0585861999549447E14, 1e7 );
+		shapes[2] = new SquarePrism( 1234.5, 0.1 );
+		shapes[3] = new Pyramid( 1e300, 1e300 );
+		for( int i = 4; i < shapes.length; i++ )
+		{
+			double height = random.nextDouble() * 10_000;
+			double side = random.nextDouble() * 100;
+			shapes[i] = i % 2 == 0 ? new OctagonalPrism( height, side ) : new Cylinder( height, side );
+		}
+	}
+
+	/**
+	 * Deletes the output file after each test.
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		output.delete();
+		output = null;
+		shapes = null;
+	}
+
+	/**
+	 * Test method for
+	 * {@link manager.SortedResultWriter#write(String, int, java.util.function.IntFunction)}
+	 * to write every row as {@link shapes.Shape#toString(String)} prints it for a single key.
+	 * @throws Exception
+	 */
+	@Test
+	public void testWrite_SameAsToString() throws Exception
+	{
+		assertRowsEqualToString( "v" );
+		assertRowsEqualToString( "a" );
+		assertRowsEqualToString( "h" );
+	}
+
+	/**
+	 * Test method for
+	 * {@link manager.SortedResultWriter#write(String, int, java.util.function.IntFunction)}
+	 * to write every row as {@link shapes.Shape#toString(String)} prints it for a key list.
+	 * @throws Exception
+	 */
+	@Test
+	public void testWrite_KeyListSameAsToString() throws Exception
+	{
+		assertRowsEqualToString( "v,h,type" );
+	}
+
+	private void assertRowsEqualToString( String compareType ) throws Exception
+	{
+		new SortedResultWriter( compareType ).write( output.getPath(), shapes.length, i -> shapes[i] );
+
+		List<String> rows = Files.readAllLines( output.toPath(), StandardCharsets.US_ASCII );
+		assertEquals( "Failed to write a row per shape.", shapes.length, rows.size() );
+		for( int i = 0; i < shapes.length; i++ )
+		{
+			assertEquals( "Failed to write the printed row.", shapes[i].toString( compareType ), rows.get( i ) );
+		}
+	}
+}
@@ -0,0 +1,159 @@
+package manager;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test for the persistent index of the -index option, which must merge only appended lines and be
+ * rebuilt when the data file it covers has changed.
+ */
+
+public class SortedShapeIndexTest
+{
+	// Attributes
+	private File data;
+	private File index;
+
+	/**
+	 * Creates a data file with a count line and three shapes before each test.
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		data = File.createTempFile( "shapes", ".txt" );
+		index = new File( data.getPath() + ".idx" );
+		write( "3\nCone 10.0 20.0\nCylinder 30.0 40.0\nPyramid 50.0 60.0\n", StandardOpenOption.TRUNCATE_EXISTING );
+	}
+
+	/**
+	 * Deletes the data and index files after each test.
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		data.delete();
+		index.delete();
+		data = null;
+		index = null;
+	}
+
+	/**
+	 * Test method for {@link manager.SortedShapeIndex#update(String)}
+	 * to merge only the lines appended since the last update.
+	 * @throws Exception
+	 */
+	@Test
+	public void testUpdate_AppendedLinesOnly() throws Exception
+	{
+		assertEquals( "Failed to index the whole file.", 3, newIndex().update( "m" ) );
+		assertEquals( "Failed to leave an unchanged file alone.", 0, newIndex().update( "m" ) );
+
+		write( "Cone 70.0 80.0\nCylinder 90.0 10.0\n", StandardOpenOption.APPEND );
+		SortedShapeIndex updated = newIndex();
+
+		assertEquals( "Failed to merge only the appended lines.", 2, updated.update( "m" ) );
+		assertEquals( "Failed to count every shape.", 5, updated.size() );
+	}
+
+	/**
+	 * Test method for {@link manager.SortedShapeIndex#update(String)}
+	 * to rebuild the index when a line was edited in place without changing the file length.
+	 * @throws Exception
+	 */
+	@Test
+	public void testUpdate_InPlaceEditRebuilds() throws Exception
+	{
+		newIndex().update( "m" );
+		long modified = data.lastModified();
+
+		overwrite( "Cylinder 30.0 40.0", "Cylinder 99.0 40.0" );
+		data.setLastModified( modified + 2_000 );
+
+		assertEquals( "Failed to rebuild the index.", 3, newIndex().update( "m" ) );
+	}
+
+	/**
+	 * Test method for {@link manager.SortedShapeIndex#update(String)}
+	 * to rebuild the index when a line was edited in place and lines were appended after it.
+	 * @throws Exception
+	 */
+	@Test
+	public void testUpdate_EditAndAppendRebuilds() throws Exception
+	{
+		newIndex().update( "m" );
+
+		overwrite( "Pyramid 50.0 60.0", "Pyramid 55.0 60.0" );
+		write( "Cone 70.0 80.0\n", StandardOpenOption.APPEND );
+		SortedShapeIndex updated = newIndex();
+
+		assertEquals( "Failed to rebuild the index.", 4, updated.update( "m" ) );
+		assertEquals( "Failed to count every shape once.", 4, updated.size() );
+	}
+
+	/**
+	 * Test method for {@link manager.SortedShapeIndex#update(String)}
+	 * to let the count line be rewritten when lines are appended.
+	 * @throws Exception
+	 */
+	@Test
+	public void testUpdate_CountLineRewritten() throws Exception
+	{
+		newIndex().update( "m" );
+
+		overwrite( "3\n", "4\n" );
+		write( "Cone 70.0 80.0\n", StandardOpenOption.APPEND );
+
+		assertEquals( "Failed to merge only the appended line.", 1, newIndex().update( "m" ) );
+	}
+
+	/**
+	 * Test method for {@link manager.SortedShapeIndex#update(String)}
+	 * to rebuild an index whose last merge did not finish, which has no magic number.
+	 * @throws Exception
+	 */
+	@Test
+	public void testUpdate_InterruptedMergeRebuilds() throws Exception
+	{
+		newIndex().update( "m" );
+		try( RandomAccessFile file = new RandomAccessFile( index, "rw" ) )
+		{
+			file.writeInt( 0 );
+		}
+
+		assertEquals( "Failed to rebuild the index.", 3, newIndex().update( "m" ) );
+	}
+
+	private SortedShapeIndex newIndex()
+	{
+		return new SortedShapeIndex( data.getPath(), "v" );
+	}
+
+	private void write( String text, StandardOpenOption option ) throws Exception
+	{
+		Files.write( data.toPath(), text.getBytes( StandardCharsets.US_ASCII ), StandardOpenOption.WRITE, option );
+	}
+
+	/**
+	 * Replaces text in the data file with text of the same length, in place.
+	 */
+	private void overwrite( String from, String to ) throws Exception
+	{
+		String text = new String( Files.readAllBytes( data.toPath() ), StandardCharsets.US_ASCII );
+		try( RandomAccessFile file = new RandomAccessFile( data, "rw" ) )
+		{
+			file.seek( text.indexOf( from ) );
+			file.write( to.getBytes( StandardCharsets.US_ASCII ) );
+		}
+	}
+}
@@ -7,6 +7,7 @@ import java.util.Scanner;
 import exceptions.EmptyQueueException;
 import implementations.MyQueue;
 import implementations.MyStack;
+import utilities.QueueADT;
 
 /**
  * The XMLParser class provides functionality to parse XML documents, check for syntax errors,
@@ -31,8 +32,15 @@ import implementations.MyStack;
  *     parser.parse("sample.xml");
  * </pre>
  * 
+ * The error queue can be replaced through the constructor, e.g. by an array-backed queue that
+ * does not allocate a node per error message:
+ * <pre>
+ *     XMLParser parser = new XMLParser(new MyArrayQueue&lt;&gt;());
+ * </pre>
+ * 
  * @see implementations.MyStack
  * @see implementations.MyQueue
+ * @see implementations.MyArrayQueue
  * @see exceptions.EmptyQueueException
  */
 public class XMLParser {
@@ -41,7 +49,23 @@ public class XMLParser {
     private MyStack<String> tagStack = new MyStack<>();
     
     // Queue to store error messages
-    private MyQueue<String> errorQueue = new MyQueue<>(); 
+    private QueueADT<String> errorQueue; 
+
+    /**
+     * Creates a parser that collects the error messages in a {@link MyQueue}.
+     */
+    public XMLParser() {
+        this(new MyQueue<>());
+    }
+
+    /**
+     * Creates a parser that collects the error messages in the given queue.
+     * 
+     * @param errorQueue The empty queue to store error messages in.
+     */
+    public XMLParser(QueueADT<String> errorQueue) {
+        this.errorQueue = errorQueue;
+    }
 
 	/**
      * Parses an XML document from the given file and identifies any syntax errors.
@@ -1,5 +1,6 @@
 package implementations;
 
+import java.util.Arrays;
 import java.util.NoSuchElementException;
 
 import utilities.Iterator;
@@ -11,6 +12,11 @@ import utilities.ListADT;
  * adding, removing, and accessing elements. This list has a dynamic resizing capacity
  * and uses an array to store elements internally.
  *
+ * <p>Besides the {@code ListADT} operations it offers bulk operations ({@link #ensureCapacity(int)},
+ * {@link #trimToSize()}, {@link #addAll(int, ListADT)}, {@link #addAllFromArray(Object[])} and
+ * {@link #removeRange(int, int)}) that grow the array at most once and move the elements with
+ * {@code System.arraycopy} instead of one slot at a time.
+ *
  * @param <E> the type of elements held in this list
  */
 public class MyArrayList<E> implements ListADT<E> {
@@ -20,6 +26,7 @@ public class MyArrayList<E> implements ListADT<E> {
 	// constant
 	private final int CAPACITY = 10;
 	private static final int MULTIPLIER = 2;
+	private static final int MAXIMUM_CAPACITY = Integer.MAX_VALUE - 8;
 	
 	// attributes
 	private E[] array;
@@ -46,10 +53,12 @@ public class MyArrayList<E> implements ListADT<E> {
 	}
 	
 	/**
-     * Clears the list, removing all elements.
+     * Clears the list, removing all elements. The references to the elements are cleared
+     * so that they can be garbage collected; the capacity is kept.
      */
 	@Override
 	public void clear() {
+		Arrays.fill(array, 0, size, null);
 		size = 0;
 	}
 	
@@ -83,10 +92,7 @@ public class MyArrayList<E> implements ListADT<E> {
 	}
 
 	private void shiftToRight(int index) {
-		for(int i = size; i > index; i--) {
-			array[i] = array[i-1];
-		}
-		
+		System.arraycopy(array, index, array, index + 1, size - index);
 	}
 	
 	/**
@@ -107,22 +113,45 @@ public class MyArrayList<E> implements ListADT<E> {
 		return true;
 	}
 	
-	@SuppressWarnings("unchecked")
 	private void checkCapacity() {
 		if(size == array.length) {
-			E[] newArray = (E[]) new Object[array.length * MULTIPLIER];
-			for(int i = 0; i< array.length; i++) {
-				newArray[i] = array[i];
-			}
-			array = newArray;
-					
+			ensureCapacity(size + 1);
 		}
 		
 	}
 	
+	/**
+     * Increases the capacity of this list, if necessary, so that it can hold at least the
+     * specified number of elements without growing again. The array grows at least by the
+     * usual multiplier, so repeated calls with slowly increasing sizes stay cheap.
+     *
+     * @param minCapacity the desired minimum capacity
+     * @throws OutOfMemoryError if the capacity is larger than an array can be
+     */
+	public void ensureCapacity(int minCapacity) {
+		if (minCapacity <= array.length)
+			return;
+		if (minCapacity < 0 || minCapacity > MAXIMUM_CAPACITY)
+			throw new OutOfMemoryError("Required list capacity is too large: " + minCapacity);
+		
+		long grown = Math.max((long) array.length * MULTIPLIER, CAPACITY);
+		int newCapacity = (int) Math.min(MAXIMUM_CAPACITY, Math.max(grown, minCapacity));
+		array = Arrays.copyOf(array, newCapacity);
+	}
+	
+	/**
+     * Shrinks the capacity of this list to its current size, releasing the unused part of
+     * the array.
+     */
+	public void trimToSize() {
+		if (size < array.length) {
+			array = Arrays.copyOf(array, size);
+		}
+	}
 	
 	/**
      * Adds all elements from the specified list to the end of this list.
+     * The array grows at most once.
      *
      * @param toAdd the list containing elements to be added to this list
      * @return true if the elements were added successfully
@@ -133,13 +162,91 @@ public class MyArrayList<E> implements ListADT<E> {
 		if (toAdd == null) 
 	        throw new NullPointerException("The list to add cannot be null");
 	    
-	    
-	    Iterator<? extends E> iterator = toAdd.iterator();
-	    while (iterator.hasNext()) {
-	        add(iterator.next());
-	    }
-	    
-	    return true;
+	    return addAll(size, toAdd);
+	}
+	
+	/**
+     * Inserts all elements from the specified list at the specified position in this list.
+     * Shifts the element currently at that position and any subsequent elements to the right,
+     * once, by the number of inserted elements. The array grows at most once.
+     *
+     * @param index the index at which the first element of the specified list is inserted
+     * @param toAdd the list containing elements to be added to this list
+     * @return true if the elements were added successfully
+     * @throws NullPointerException if the specified list is null or contains a null element
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+	public boolean addAll(int index, ListADT<? extends E> toAdd) throws NullPointerException, IndexOutOfBoundsException {
+		if (toAdd == null) 
+	        throw new NullPointerException("The list to add cannot be null");
+		
+		if (toAdd instanceof MyArrayList && toAdd != this) {
+			// Copy straight from the other array, its elements are never null
+			MyArrayList<? extends E> other = (MyArrayList<? extends E>) toAdd;
+			return insert(index, other.array, other.size);
+		}
+		
+		// Other lists (and this list itself) are copied out first
+		Object[] elements = toAdd.toArray();
+		for (Object element : elements) {
+			if (element == null)
+				throw new NullPointerException("Cannot add null element");
+		}
+		return insert(index, elements, elements.length);
+	}
+	
+	/**
+     * Adds all elements of the specified array to the end of this list, in array order.
+     * The array grows at most once.
+     *
+     * @param toAdd the array containing elements to be added to this list
+     * @return true if the elements were added successfully
+     * @throws NullPointerException if the specified array is null or contains a null element;
+     *                              the list is not changed then
+     */
+	public boolean addAllFromArray(E[] toAdd) throws NullPointerException {
+		if (toAdd == null) 
+	        throw new NullPointerException("The array to add cannot be null");
+		
+		for (E element : toAdd) {
+			if (element == null)
+				throw new NullPointerException("Cannot add null element");
+		}
+		return insert(size, toAdd, toAdd.length);
+	}
+	
+	/**
+	 * Inserts the first count elements of the source array at the index, which is checked here.
+	 */
+	private boolean insert(int index, Object[] source, int count) {
+		if (index < 0 || index > size)
+			throw new IndexOutOfBoundsException("Index " + index + " out of bounds");
+		
+		ensureCapacity(size + count);
+		System.arraycopy(array, index, array, index + count, size - index);
+		System.arraycopy(source, 0, array, index, count);
+		size += count;
+		return true;
+	}
+	
+	/**
+     * Removes the elements from index {@code fromIndex}, inclusive, to index {@code toIndex},
+     * exclusive. Shifts the subsequent elements to the left once and clears the references
+     * that are no longer used.
+     *
+     * @param fromIndex the index of the first element to be removed
+     * @param toIndex   the index after the last element to be removed
+     * @throws IndexOutOfBoundsException if fromIndex or toIndex is out of range or
+     *                                   fromIndex is greater than toIndex
+     */
+	public void removeRange(int fromIndex, int toIndex) throws IndexOutOfBoundsException {
+		if (fromIndex < 0 || toIndex > size || fromIndex > toIndex)
+			throw new IndexOutOfBoundsException("Range " + fromIndex + " to " + toIndex + " out of bounds");
+		
+		System.arraycopy(array, toIndex, array, fromIndex, size - toIndex);
+		int newSize = size - (toIndex - fromIndex);
+		Arrays.fill(array, newSize, size, null); // Clear references to help GC
+		size = newSize;
 	}
 	
 	/**
@@ -173,9 +280,7 @@ public class MyArrayList<E> implements ListADT<E> {
 	    E removedElement = array[index];
 	    
 	    // Shift elements to the left
-	    for (int i = index; i < size - 1; i++) {
-	        array[i] = array[i + 1];
-	    }
+	    System.arraycopy(array, index + 1, array, index, size - index - 1);
 	    
 	    array[size - 1] = null; // Clear reference to help GC
 	    size--;
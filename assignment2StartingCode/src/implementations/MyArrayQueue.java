@@ -0,0 +1,318 @@
+package implementations;
+
+import java.util.NoSuchElementException;
+
+import exceptions.EmptyQueueException;
+import utilities.Iterator;
+import utilities.QueueADT;
+
+/**
+ * A queue implementation using a circular array as the underlying data structure.
+ * The length of the array is always a power of two, so a position wraps around with a bit mask
+ * instead of a division, and enqueue and dequeue only write one slot of the array: no node is
+ * allocated per element as in {@link MyQueue}.
+ *
+ * <p>The queue is either growable, doubling its array when it is full, or has a fixed capacity.
+ * A fixed-capacity queue never allocates after it is created, {@link #isFull()} reports when it
+ * holds as many elements as its capacity and enqueueing into a full queue throws an
+ * {@link IllegalStateException}.
+ *
+ * @param <E> the type of elements held in this queue
+ */
+public class MyArrayQueue<E> implements QueueADT<E> {
+
+	private static final long serialVersionUID = 5368046718927036584L;
+	// constant
+	private static final int DEFAULT_CAPACITY = 16;
+	private static final int MAXIMUM_ARRAY_LENGTH = 1 << 30;
+
+	// attributes
+	private E[] array;
+	private int mask;
+	private int head;
+	private int size;
+	private final int capacity;
+	private final boolean growable;
+
+	/**
+     * Constructs an empty growable queue.
+     */
+	public MyArrayQueue() {
+		this(DEFAULT_CAPACITY, true);
+	}
+
+	/**
+     * Constructs an empty queue with the given capacity.
+     *
+     * @param capacity the number of elements the queue holds before it grows, or at most if it is
+     *                 not growable
+     * @param growable true to grow the queue when it is full, false for a fixed capacity
+     * @throws IllegalArgumentException if the capacity is less than 1 or too large for an array
+     */
+	@SuppressWarnings("unchecked")
+	public MyArrayQueue(int capacity, boolean growable) {
+		if (capacity < 1 || capacity > MAXIMUM_ARRAY_LENGTH)
+			throw new IllegalArgumentException("Invalid capacity: " + capacity);
+
+		int length = Integer.highestOneBit(capacity);
+		if (length < capacity)
+			length <<= 1;
+
+		this.array = (E[]) new Object[length];
+		this.mask = length - 1;
+		this.capacity = capacity;
+		this.growable = growable;
+	}
+
+	/**
+     * Adds an element to the end of the queue.
+     *
+     * @param toAdd the element to add
+     * @throws NullPointerException if the element to add is null
+     * @throws IllegalStateException if the queue has a fixed capacity and is full
+     */
+	@Override
+	public void enqueue(E toAdd) throws NullPointerException {
+		if (toAdd == null)
+			throw new NullPointerException("Cannot enqueue null values.");
+
+		if (!growable && size == capacity)
+			throw new IllegalStateException("Queue is full.");
+
+		if (size == array.length)
+			grow();
+
+		array[(head + size) & mask] = toAdd;
+		size++;
+	}
+
+	/**
+	 * Doubles the array and moves the elements to its start, in queue order.
+	 */
+	@SuppressWarnings("unchecked")
+	private void grow() {
+		if (array.length == MAXIMUM_ARRAY_LENGTH)
+			throw new IllegalStateException("Queue is too large.");
+
+		E[] newArray = (E[]) new Object[array.length * 2];
+		int firstPart = array.length - head;
+		System.arraycopy(array, head, newArray, 0, firstPart);
+		System.arraycopy(array, 0, newArray, firstPart, head);
+		array = newArray;
+		mask = newArray.length - 1;
+		head = 0;
+	}
+
+	/**
+     * Removes and returns the element at the front of the queue.
+     *
+     * @return the element at the front of the queue
+     * @throws EmptyQueueException if the queue is empty
+     */
+	@Override
+	public E dequeue() throws EmptyQueueException {
+		if (size == 0)
+			throw new EmptyQueueException("Queue is empty.");
+
+		E element = array[head];
+		array[head] = null; // Clear reference to help GC
+		head = (head + 1) & mask;
+		size--;
+		return element;
+	}
+
+	/**
+     * Retrieves, but does not remove, the element at the front of the queue.
+     *
+     * @return the element at the front of the queue
+     * @throws EmptyQueueException if the queue is empty
+     */
+	@Override
+	public E peek() throws EmptyQueueException {
+		if (size == 0)
+			throw new EmptyQueueException("Queue is empty.");
+
+		return array[head];
+	}
+
+	/**
+     * Removes all elements from the queue. The capacity is kept.
+     */
+	@Override
+	public void dequeueAll() {
+		for (int i = 0; i < size; i++) {
+			array[(head + i) & mask] = null;
+		}
+		head = 0;
+		size = 0;
+	}
+
+	/**
+     * Checks if the queue is empty.
+     *
+     * @return true if the queue is empty, false otherwise
+     */
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+     * Checks if the queue contains a specified element.
+     *
+     * @param toFind the element to check for
+     * @return true if the element is found, false otherwise
+     * @throws NullPointerException if the element to find is null
+     */
+	@Override
+	public boolean contains(E toFind) throws NullPointerException {
+		if (toFind == null)
+			throw new NullPointerException("Element to find cannot be null.");
+
+		return search(toFind) != -1;
+	}
+
+	/**
+     * Returns the 1-based position of the first occurrence of the specified element, counted from
+     * the front of the queue.
+     *
+     * @param toFind the element to search for
+     * @return the position of the element if found, -1 otherwise
+     * @throws NullPointerException if the element to find is null
+     */
+	@Override
+	public int search(E toFind) {
+		if (toFind == null)
+			throw new NullPointerException("Element to find cannot be null.");
+
+		for (int i = 0; i < size; i++) {
+			if (array[(head + i) & mask].equals(toFind)) {
+				return i + 1;
+			}
+		}
+		return -1;
+	}
+
+	/**
+     * Returns an iterator over the elements in this queue in proper sequence.
+     *
+     * @return an iterator over the elements in this queue
+     */
+	@Override
+	public Iterator<E> iterator() {
+		return new Iterator<E>() {
+			private int index = 0;
+
+			@Override
+			public boolean hasNext() {
+				return index < size;
+			}
+
+			@Override
+			public E next() {
+				if (!hasNext())
+					throw new NoSuchElementException("No more elements in the queue.");
+
+				return array[(head + index++) & mask];
+			}
+		};
+	}
+
+	/**
+     * Compares this queue to another queue for equality.
+     *
+     * @param that the queue to compare with
+     * @return true if the two queues contain the same elements in the same order, false otherwise
+     */
+	@Override
+	public boolean equals(QueueADT<E> that) {
+		if (that == null) return false;
+		if (this.size() != that.size()) return false;
+
+		Iterator<E> thisIterator = this.iterator();
+		Iterator<E> thatIterator = that.iterator();
+
+		while (thisIterator.hasNext() && thatIterator.hasNext()) {
+			if (!thisIterator.next().equals(thatIterator.next())) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+     * Returns an array containing all elements in this queue in proper sequence.
+     *
+     * @return an array containing all elements in this queue
+     */
+	@Override
+	public Object[] toArray() {
+		Object[] newArray = new Object[size];
+		copyTo(newArray);
+		return newArray;
+	}
+
+	/**
+     * Returns an array containing all elements in this queue in proper sequence;
+     * the runtime type of the returned array is that of the specified array.
+     *
+     * @param holder the array into which the elements of the queue are to be stored
+     * @return an array containing all elements in this queue
+     * @throws NullPointerException if the specified array is null
+     */
+	@SuppressWarnings("unchecked")
+	@Override
+	public E[] toArray(E[] holder) throws NullPointerException {
+		if (holder == null)
+			throw new NullPointerException("Array to hold elements cannot be null.");
+
+		if (holder.length < size) {
+			holder = (E[]) java.lang.reflect.Array.newInstance(holder.getClass().getComponentType(), size);
+		}
+		copyTo(holder);
+		if (holder.length > size) {
+			holder[size] = null;
+		}
+		return holder;
+	}
+
+	/**
+	 * Copies the elements in queue order to the start of the given array, in at most two parts.
+	 */
+	private void copyTo(Object[] target) {
+		int firstPart = Math.min(size, array.length - head);
+		System.arraycopy(array, head, target, 0, firstPart);
+		System.arraycopy(array, 0, target, firstPart, size - firstPart);
+	}
+
+	/**
+     * Checks if the queue is full. A growable queue is never full.
+     *
+     * @return true if the queue has a fixed capacity and holds that many elements
+     */
+	@Override
+	public boolean isFull() {
+		return !growable && size == capacity;
+	}
+
+	/**
+     * Returns the number of elements in the queue.
+     *
+     * @return the size of the queue
+     */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the number of elements the queue holds before it grows, or at most if it has a fixed
+	 * capacity.
+	 *
+	 * @return the capacity of the queue
+	 */
+	public int capacity() {
+		return growable ? array.length : capacity;
+	}
+}
@@ -0,0 +1,622 @@
+package implementations;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import exceptions.EmptyQueueException;
+import utilities.Iterator;
+import utilities.QueueADT;
+
+/**
+ * A thread-safe queue with a fixed capacity, for passing elements between the stages of a
+ * pipeline. A producer that is faster than its consumers is slowed down instead of filling the
+ * memory: {@link #put(Object)} waits while the queue is full, {@link #offer(Object, long, TimeUnit)}
+ * waits at most a given time and {@link #offer(Object)} returns at once. The consumer side has the
+ * matching {@link #take()}, {@link #poll(long, TimeUnit)} and {@link #poll()}, and
+ * {@link #drainTo(QueueADT, int)} moves many elements under a single lock.
+ *
+ * <p>The elements are kept in a circular array that is allocated once. Producers and consumers use
+ * two different locks, one for the tail and one for the head, so that an enqueue and a dequeue
+ * can run at the same time; the number of elements is an atomic counter shared by both sides. A
+ * thread only signals the other side when the queue goes from empty to not empty or from full to
+ * not full, and wakes the next waiter of its own side if there is still room or an element left.
+ *
+ * <p>The {@code QueueADT} operations do not wait: {@link #enqueue(Object)} throws an
+ * {@link IllegalStateException} when the queue is full, {@link #dequeue()} throws an
+ * {@link EmptyQueueException} when it is empty and {@link #isFull()} reports whether the capacity
+ * is reached. Iterators, {@link #contains(Object)}, {@link #search(Object)}, the toArray methods
+ * and {@link #equals(QueueADT)} work on a copy of the elements taken under both locks.
+ *
+ * @param <E> the type of elements held in this queue
+ */
+public class MyBlockingQueue<E> implements QueueADT<E> {
+
+	private static final long serialVersionUID = 7618524003719850215L;
+
+	// attributes
+	private final E[] items;
+	private final AtomicInteger count = new AtomicInteger();
+
+	// The consumer side: the position of the front element, guarded by takeLock
+	private int takeIndex;
+	private final ReentrantLock takeLock = new ReentrantLock();
+	private final Condition notEmpty = takeLock.newCondition();
+
+	// The producer side: the position for the next element, guarded by putLock
+	private int putIndex;
+	private final ReentrantLock putLock = new ReentrantLock();
+	private final Condition notFull = putLock.newCondition();
+
+	/**
+     * Constructs an empty queue with the given capacity.
+     *
+     * @param capacity the maximum number of elements the queue holds
+     * @throws IllegalArgumentException if the capacity is less than 1
+     */
+	@SuppressWarnings("unchecked")
+	public MyBlockingQueue(int capacity) {
+		if (capacity < 1)
+			throw new IllegalArgumentException("Invalid capacity: " + capacity);
+
+		this.items = (E[]) new Object[capacity];
+	}
+
+	/**
+     * Returns the maximum number of elements this queue holds.
+     *
+     * @return the capacity of the queue
+     */
+	public int capacity() {
+		return items.length;
+	}
+
+	/**
+     * Returns the number of elements that can be added before the queue is full.
+     *
+     * @return the remaining capacity of the queue
+     */
+	public int remainingCapacity() {
+		return items.length - count.get();
+	}
+
+	/**
+     * Adds an element to the end of the queue, waiting for space to become available if the queue
+     * is full.
+     *
+     * @param toAdd the element to add
+     * @throws NullPointerException if the element to add is null
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+	public void put(E toAdd) throws InterruptedException {
+		checkNotNull(toAdd);
+
+		int before;
+		putLock.lockInterruptibly();
+		try {
+			while (count.get() == items.length) {
+				notFull.await();
+			}
+			before = insert(toAdd);
+		} finally {
+			putLock.unlock();
+		}
+		if (before == 0)
+			signalNotEmpty();
+	}
+
+	/**
+     * Adds an element to the end of the queue if there is space, without waiting.
+     *
+     * @param toAdd the element to add
+     * @return true if the element was added, false if the queue is full
+     * @throws NullPointerException if the element to add is null
+     */
+	public boolean offer(E toAdd) {
+		checkNotNull(toAdd);
+
+		if (count.get() == items.length)
+			return false;
+
+		int before = -1;
+		putLock.lock();
+		try {
+			if (count.get() < items.length)
+				before = insert(toAdd);
+		} finally {
+			putLock.unlock();
+		}
+		if (before == 0)
+			signalNotEmpty();
+		return before >= 0;
+	}
+
+	/**
+     * Adds an element to the end of the queue, waiting up to the given time for space to become
+     * available if the queue is full.
+     *
+     * @param toAdd   the element to add
+     * @param timeout how long to wait, in units of unit
+     * @param unit    the unit of the timeout
+     * @return true if the element was added, false if the time elapsed first
+     * @throws NullPointerException if the element to add or the unit is null
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+	public boolean offer(E toAdd, long timeout, TimeUnit unit) throws InterruptedException {
+		checkNotNull(toAdd);
+
+		long nanos = unit.toNanos(timeout);
+		int before;
+		putLock.lockInterruptibly();
+		try {
+			while (count.get() == items.length) {
+				if (nanos <= 0)
+					return false;
+				nanos = notFull.awaitNanos(nanos);
+			}
+			before = insert(toAdd);
+		} finally {
+			putLock.unlock();
+		}
+		if (before == 0)
+			signalNotEmpty();
+		return true;
+	}
+
+	/**
+     * Adds an element to the end of the queue without waiting.
+     *
+     * @param toAdd the element to add
+     * @throws NullPointerException if the element to add is null
+     * @throws IllegalStateException if the queue is full
+     */
+	@Override
+	public void enqueue(E toAdd) throws NullPointerException {
+		if (!offer(toAdd))
+			throw new IllegalStateException("Queue is full.");
+	}
+
+	/**
+     * Removes and returns the element at the front of the queue, waiting for an element to become
+     * available if the queue is empty.
+     *
+     * @return the element at the front of the queue
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+	public E take() throws InterruptedException {
+		E element;
+		int before;
+		takeLock.lockInterruptibly();
+		try {
+			while (count.get() == 0) {
+				notEmpty.await();
+			}
+			element = extract();
+			before = count.getAndDecrement();
+			if (before > 1)
+				notEmpty.signal();
+		} finally {
+			takeLock.unlock();
+		}
+		if (before == items.length)
+			signalNotFull();
+		return element;
+	}
+
+	/**
+     * Removes and returns the element at the front of the queue, or returns null if the queue is
+     * empty, without waiting.
+     *
+     * @return the element at the front of the queue, or null if the queue is empty
+     */
+	public E poll() {
+		if (count.get() == 0)
+			return null;
+
+		E element = null;
+		int before = -1;
+		takeLock.lock();
+		try {
+			if (count.get() > 0) {
+				element = extract();
+				before = count.getAndDecrement();
+				if (before > 1)
+					notEmpty.signal();
+			}
+		} finally {
+			takeLock.unlock();
+		}
+		if (before == items.length)
+			signalNotFull();
+		return element;
+	}
+
+	/**
+     * Removes and returns the element at the front of the queue, waiting up to the given time for
+     * an element to become available if the queue is empty.
+     *
+     * @param timeout how long to wait, in units of unit
+     * @param unit    the unit of the timeout
+     * @return the element at the front of the queue, or null if the time elapsed first
+     * @throws NullPointerException if the unit is null
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+	public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+		long nanos = unit.toNanos(timeout);
+		E element;
+		int before;
+		takeLock.lockInterruptibly();
+		try {
+			while (count.get() == 0) {
+				if (nanos <= 0)
+					return null;
+				nanos = notEmpty.awaitNanos(nanos);
+			}
+			element = extract();
+			before = count.getAndDecrement();
+			if (before > 1)
+				notEmpty.signal();
+		} finally {
+			takeLock.unlock();
+		}
+		if (before == items.length)
+			signalNotFull();
+		return element;
+	}
+
+	/**
+     * Removes and returns the element at the front of the queue without waiting.
+     *
+     * @return the element at the front of the queue
+     * @throws EmptyQueueException if the queue is empty
+     */
+	@Override
+	public E dequeue() throws EmptyQueueException {
+		E element = poll();
+		if (element == null)
+			throw new EmptyQueueException("Queue is empty.");
+
+		return element;
+	}
+
+	/**
+     * Removes all available elements from this queue and adds them to the given queue, in order.
+     *
+     * @param target the queue to move the elements to
+     * @return the number of elements moved
+     * @throws NullPointerException if the target is null
+     * @throws IllegalArgumentException if the target is this queue
+     */
+	public int drainTo(QueueADT<? super E> target) {
+		return drainTo(target, Integer.MAX_VALUE);
+	}
+
+	/**
+     * Removes at most the given number of elements from this queue and adds them to the given
+     * queue, in order. The elements are taken under a single lock, and producers waiting for space
+     * are woken once at the end.
+     *
+     * @param target      the queue to move the elements to
+     * @param maxElements the maximum number of elements to move
+     * @return the number of elements moved
+     * @throws NullPointerException if the target is null
+     * @throws IllegalArgumentException if the target is this queue
+     */
+	public int drainTo(QueueADT<? super E> target, int maxElements) {
+		if (target == null)
+			throw new NullPointerException("Target queue cannot be null.");
+		if (target == this)
+			throw new IllegalArgumentException("Cannot drain a queue into itself.");
+		if (maxElements <= 0)
+			return 0;
+
+		int moved = 0;
+		int before = 0;
+		try {
+			takeLock.lock();
+			try {
+				int n = Math.min(maxElements, count.get());
+				try {
+					while (moved < n) {
+						E element = items[takeIndex];
+						target.enqueue(element);
+						items[takeIndex] = null;
+						if (++takeIndex == items.length)
+							takeIndex = 0;
+						moved++;
+					}
+				} finally {
+					// Account for the elements moved even if the target refused one
+					if (moved > 0) {
+						before = count.getAndAdd(-moved);
+						if (before > moved)
+							notEmpty.signal();
+					}
+				}
+			} finally {
+				takeLock.unlock();
+			}
+		} finally {
+			// Producers waiting for space are woken also when the target refused an element
+			if (before == items.length)
+				signalNotFull();
+		}
+		return moved;
+	}
+
+	/**
+     * Retrieves, but does not remove, the element at the front of the queue.
+     *
+     * @return the element at the front of the queue
+     * @throws EmptyQueueException if the queue is empty
+     */
+	@Override
+	public E peek() throws EmptyQueueException {
+		takeLock.lock();
+		try {
+			if (count.get() == 0)
+				throw new EmptyQueueException("Queue is empty.");
+
+			return items[takeIndex];
+		} finally {
+			takeLock.unlock();
+		}
+	}
+
+	/**
+     * Removes all elements from the queue.
+     */
+	@Override
+	public void dequeueAll() {
+		fullyLock();
+		try {
+			for (int i = count.get(); i > 0; i--) {
+				items[takeIndex] = null; // Clear reference to help GC
+				if (++takeIndex == items.length)
+					takeIndex = 0;
+			}
+			if (count.getAndSet(0) == items.length)
+				notFull.signal();
+		} finally {
+			fullyUnlock();
+		}
+	}
+
+	/**
+     * Checks if the queue is empty.
+     *
+     * @return true if the queue is empty, false otherwise
+     */
+	@Override
+	public boolean isEmpty() {
+		return count.get() == 0;
+	}
+
+	/**
+     * Checks if the queue holds as many elements as its capacity.
+     *
+     * @return true if the queue is full, false otherwise
+     */
+	@Override
+	public boolean isFull() {
+		return count.get() == items.length;
+	}
+
+	/**
+     * Returns the number of elements in the queue.
+     *
+     * @return the size of the queue
+     */
+	@Override
+	public int size() {
+		return count.get();
+	}
+
+	/**
+     * Checks if the queue contains a specified element.
+     *
+     * @param toFind the element to check for
+     * @return true if the element is found, false otherwise
+     * @throws NullPointerException if the element to find is null
+     */
+	@Override
+	public boolean contains(E toFind) throws NullPointerException {
+		return search(toFind) != -1;
+	}
+
+	/**
+     * Returns the 1-based position of the first occurrence of the specified element, counted from
+     * the front of the queue.
+     *
+     * @param toFind the element to search for
+     * @return the position of the element if found, -1 otherwise
+     * @throws NullPointerException if the element to find is null
+     */
+	@Override
+	public int search(E toFind) {
+		if (toFind == null)
+			throw new NullPointerException("Element to find cannot be null.");
+
+		Object[] elements = toArray();
+		for (int i = 0; i < elements.length; i++) {
+			if (toFind.equals(elements[i]))
+				return i + 1;
+		}
+		return -1;
+	}
+
+	/**
+     * Returns an iterator over a copy of the elements in this queue, from front to back. Changes
+     * made after the iterator is created are not reflected.
+     *
+     * @return an iterator over the elements in this queue
+     */
+	@Override
+	public Iterator<E> iterator() {
+		final Object[] elements = toArray();
+		return new Iterator<E>() {
+			private int index = 0;
+
+			@Override
+			public boolean hasNext() {
+				return index < elements.length;
+			}
+
+			@Override
+			@SuppressWarnings("unchecked")
+			public E next() {
+				if (!hasNext())
+					throw new NoSuchElementException("No more elements in the queue.");
+
+				return (E) elements[index++];
+			}
+		};
+	}
+
+	/**
+     * Compares this queue to another queue for equality.
+     *
+     * @param that the queue to compare with
+     * @return true if the two queues contain the same elements in the same order, false otherwise
+     */
+	@Override
+	public boolean equals(QueueADT<E> that) {
+		if (that == null) return false;
+
+		Iterator<E> thisIterator = this.iterator();
+		Iterator<E> thatIterator = that.iterator();
+
+		while (thisIterator.hasNext() && thatIterator.hasNext()) {
+			if (!thisIterator.next().equals(thatIterator.next())) {
+				return false;
+			}
+		}
+
+		return !thisIterator.hasNext() && !thatIterator.hasNext();
+	}
+
+	/**
+     * Returns an array containing all elements in this queue in proper sequence.
+     *
+     * @return an array containing all elements in this queue
+     */
+	@Override
+	public Object[] toArray() {
+		fullyLock();
+		try {
+			Object[] result = new Object[count.get()];
+			copyTo(result);
+			return result;
+		} finally {
+			fullyUnlock();
+		}
+	}
+
+	/**
+     * Returns an array containing all elements in this queue in proper sequence;
+     * the runtime type of the returned array is that of the specified array.
+     *
+     * @param holder the array into which the elements of the queue are to be stored
+     * @return an array containing all elements in this queue
+     * @throws NullPointerException if the specified array is null
+     */
+	@Override
+	@SuppressWarnings("unchecked")
+	public E[] toArray(E[] holder) throws NullPointerException {
+		if (holder == null)
+			throw new NullPointerException("Array to hold elements cannot be null.");
+
+		fullyLock();
+		try {
+			int size = count.get();
+			if (holder.length < size) {
+				holder = (E[]) java.lang.reflect.Array.newInstance(holder.getClass().getComponentType(), size);
+			}
+			copyTo(holder);
+			if (holder.length > size) {
+				holder[size] = null;
+			}
+			return holder;
+		} finally {
+			fullyUnlock();
+		}
+	}
+
+	/**
+	 * Copies the elements in queue order to the start of the destination. Both locks are held.
+	 */
+	private void copyTo(Object[] destination) {
+		int size = count.get();
+		int firstPart = Math.min(size, items.length - takeIndex);
+		System.arraycopy(items, takeIndex, destination, 0, firstPart);
+		System.arraycopy(items, 0, destination, firstPart, size - firstPart);
+	}
+
+	/**
+	 * Stores the element at the tail and returns the count before it. The put lock is held and the
+	 * queue is not full. Wakes the next waiting producer if there is still space.
+	 */
+	private int insert(E toAdd) {
+		items[putIndex] = toAdd;
+		if (++putIndex == items.length)
+			putIndex = 0;
+		// Incrementing the counter publishes the element to the consumers
+		int before = count.getAndIncrement();
+		if (before + 1 < items.length)
+			notFull.signal();
+		return before;
+	}
+
+	/**
+	 * Removes the element at the head. The take lock is held and the queue is not empty; the caller
+	 * decrements the counter.
+	 */
+	private E extract() {
+		E element = items[takeIndex];
+		items[takeIndex] = null; // Clear reference to help GC
+		if (++takeIndex == items.length)
+			takeIndex = 0;
+		return element;
+	}
+
+	/**
+	 * Wakes a waiting consumer after the queue went from empty to not empty.
+	 */
+	private void signalNotEmpty() {
+		takeLock.lock();
+		try {
+			notEmpty.signal();
+		} finally {
+			takeLock.unlock();
+		}
+	}
+
+	/**
+	 * Wakes a waiting producer after the queue went from full to not full.
+	 */
+	private void signalNotFull() {
+		putLock.lock();
+		try {
+			notFull.signal();
+		} finally {
+			putLock.unlock();
+		}
+	}
+
+	private void fullyLock() {
+		putLock.lock();
+		takeLock.lock();
+	}
+
+	private void fullyUnlock() {
+		takeLock.unlock();
+		putLock.unlock();
+	}
+
+	private static void checkNotNull(Object toAdd) {
+		if (toAdd == null)
+			throw new NullPointerException("Cannot enqueue null values.");
+	}
+}
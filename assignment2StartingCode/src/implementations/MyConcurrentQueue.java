@@ -0,0 +1,393 @@
+package implementations;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import exceptions.EmptyQueueException;
+import utilities.Iterator;
+import utilities.QueueADT;
+
+/**
+ * A thread-safe, lock-free queue implementation after Michael and Scott ("Simple, Fast, and
+ * Practical Non-Blocking and Blocking Concurrent Queue Algorithms", 1996). Any number of threads
+ * may enqueue and dequeue at the same time without locking: every operation completes with a
+ * compare-and-set on the head or the tail, and a thread that finds the tail lagging behind helps
+ * to advance it instead of waiting for the thread that is appending.
+ *
+ * <p>The list always starts with a dummy node; the first element is in the node after it. A
+ * dequeue moves the head to that node, which becomes the new dummy. The compare-and-set
+ * operations use field updaters on volatile fields.
+ *
+ * <p>Iterators, {@link #contains(Object)}, {@link #search(Object)}, {@link #size()} and the
+ * toArray methods are weakly consistent: they never throw because of concurrent changes and see
+ * every element that stays in the queue while they run, but may or may not see elements that are
+ * enqueued or dequeued meanwhile. {@link #size()} walks the queue and takes linear time.
+ *
+ * <p>The nodes are not serialized; the elements are written in order and the list is rebuilt
+ * behind a new dummy node when the queue is read back.
+ *
+ * @param <E> the type of elements held in this queue
+ */
+public class MyConcurrentQueue<E> implements QueueADT<E> {
+
+	private static final long serialVersionUID = -4206452011394587196L;
+
+	/**
+	 * A node of the linked list. The item is cleared when the node becomes the dummy node.
+	 */
+	private static final class Node<E> {
+		volatile E item;
+		volatile Node<E> next;
+
+		Node(E item) {
+			this.item = item;
+		}
+	}
+
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<Node, Node> NEXT =
+			AtomicReferenceFieldUpdater.newUpdater(Node.class, Node.class, "next");
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<MyConcurrentQueue, Node> HEAD =
+			AtomicReferenceFieldUpdater.newUpdater(MyConcurrentQueue.class, Node.class, "head");
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<MyConcurrentQueue, Node> TAIL =
+			AtomicReferenceFieldUpdater.newUpdater(MyConcurrentQueue.class, Node.class, "tail");
+
+	// The dummy node before the first element, and the last node or one shortly before it
+	private transient volatile Node<E> head;
+	private transient volatile Node<E> tail;
+
+	/**
+     * Constructs an empty queue.
+     */
+	public MyConcurrentQueue() {
+		head = tail = new Node<>(null);
+	}
+
+	/**
+     * Adds an element to the end of the queue. Never blocks.
+     *
+     * @param toAdd the element to add
+     * @throws NullPointerException if the element to add is null
+     */
+	@Override
+	public void enqueue(E toAdd) throws NullPointerException {
+		if (toAdd == null)
+			throw new NullPointerException("Cannot enqueue null values.");
+
+		Node<E> node = new Node<>(toAdd);
+		while (true) {
+			Node<E> last = tail;
+			Node<E> next = last.next;
+			if (last != tail)
+				continue;
+
+			if (next == null) {
+				if (NEXT.compareAndSet(last, null, node)) {
+					// Failing is fine: another thread has already advanced the tail
+					TAIL.compareAndSet(this, last, node);
+					return;
+				}
+			} else {
+				// The tail lags behind an append of another thread, help to advance it
+				TAIL.compareAndSet(this, last, next);
+			}
+		}
+	}
+
+	/**
+     * Removes and returns the element at the front of the queue. Never blocks.
+     *
+     * @return the element at the front of the queue
+     * @throws EmptyQueueException if the queue is empty
+     */
+	@Override
+	public E dequeue() throws EmptyQueueException {
+		E element = poll();
+		if (element == null)
+			throw new EmptyQueueException("Queue is empty.");
+
+		return element;
+	}
+
+	/**
+     * Removes and returns the element at the front of the queue, or returns null if the queue is
+     * empty. Never blocks; unlike {@link #dequeue()} an empty queue is not an exception, which
+     * suits consumers that poll the queue in a loop.
+     *
+     * @return the element at the front of the queue, or null if the queue is empty
+     */
+	public E poll() {
+		while (true) {
+			Node<E> first = head;
+			Node<E> last = tail;
+			Node<E> next = first.next;
+			if (first != head)
+				continue;
+
+			if (next == null)
+				return null;
+
+			if (first == last) {
+				// The tail still points at the dummy node, advance it before moving the head past it
+				TAIL.compareAndSet(this, last, next);
+				continue;
+			}
+
+			E element = next.item;
+			if (HEAD.compareAndSet(this, first, next)) {
+				next.item = null; // The node is the new dummy, clear reference to help GC
+				return element;
+			}
+		}
+	}
+
+	/**
+     * Retrieves, but does not remove, the element at the front of the queue.
+     *
+     * @return the element at the front of the queue
+     * @throws EmptyQueueException if the queue is empty
+     */
+	@Override
+	public E peek() throws EmptyQueueException {
+		while (true) {
+			Node<E> first = head;
+			Node<E> next = first.next;
+			if (next == null)
+				throw new EmptyQueueException("Queue is empty.");
+
+			E element = next.item;
+			// A null item means the node was dequeued meanwhile, look again from the new head
+			if (element != null && first == head)
+				return element;
+		}
+	}
+
+	/**
+     * Removes all elements from the queue. Elements enqueued by other threads while this method
+     * runs may or may not be removed.
+     */
+	@Override
+	public void dequeueAll() {
+		while (poll() != null) {
+			// Keep removing until the queue is empty
+		}
+	}
+
+	/**
+     * Checks if the queue is empty.
+     *
+     * @return true if the queue is empty, false otherwise
+     */
+	@Override
+	public boolean isEmpty() {
+		return head.next == null;
+	}
+
+	/**
+     * Checks if the queue contains a specified element.
+     *
+     * @param toFind the element to check for
+     * @return true if the element is found, false otherwise
+     * @throws NullPointerException if the element to find is null
+     */
+	@Override
+	public boolean contains(E toFind) throws NullPointerException {
+		if (toFind == null)
+			throw new NullPointerException("Element to find cannot be null.");
+
+		return search(toFind) != -1;
+	}
+
+	/**
+     * Returns the 1-based position of the first occurrence of the specified element, counted from
+     * the front of the queue.
+     *
+     * @param toFind the element to search for
+     * @return the position of the element if found, -1 otherwise
+     * @throws NullPointerException if the element to find is null
+     */
+	@Override
+	public int search(E toFind) {
+		if (toFind == null)
+			throw new NullPointerException("Element to find cannot be null.");
+
+		int position = 1;
+		Iterator<E> iterator = iterator();
+		while (iterator.hasNext()) {
+			if (iterator.next().equals(toFind))
+				return position;
+			position++;
+		}
+		return -1;
+	}
+
+	/**
+     * Returns a weakly consistent iterator over the elements in this queue in proper sequence.
+     *
+     * @return an iterator over the elements in this queue
+     */
+	@Override
+	public Iterator<E> iterator() {
+		return new Iterator<E>() {
+			// The node of the element returned next and that element, read together so that
+			// hasNext() and next() agree even if the element is dequeued in between
+			private Node<E> node = head;
+			private E nextElement = advance();
+
+			private E advance() {
+				while (true) {
+					node = node.next;
+					if (node == null)
+						return null;
+
+					E element = node.item;
+					if (element != null)
+						return element;
+				}
+			}
+
+			@Override
+			public boolean hasNext() {
+				return nextElement != null;
+			}
+
+			@Override
+			public E next() {
+				if (nextElement == null)
+					throw new NoSuchElementException("No more elements in the queue.");
+
+				E element = nextElement;
+				nextElement = advance();
+				return element;
+			}
+		};
+	}
+
+	/**
+     * Compares this queue to another queue for equality.
+     *
+     * @param that the queue to compare with
+     * @return true if the two queues contain the same elements in the same order, false otherwise
+     */
+	@Override
+	public boolean equals(QueueADT<E> that) {
+		if (that == null) return false;
+
+		Iterator<E> thisIterator = this.iterator();
+		Iterator<E> thatIterator = that.iterator();
+
+		while (thisIterator.hasNext() && thatIterator.hasNext()) {
+			if (!thisIterator.next().equals(thatIterator.next())) {
+				return false;
+			}
+		}
+
+		return !thisIterator.hasNext() && !thatIterator.hasNext();
+	}
+
+	/**
+     * Returns an array containing all elements in this queue in proper sequence.
+     *
+     * @return an array containing all elements in this queue
+     */
+	@Override
+	public Object[] toArray() {
+		MyArrayList<E> elements = snapshot();
+		return elements.toArray();
+	}
+
+	/**
+     * Returns an array containing all elements in this queue in proper sequence;
+     * the runtime type of the returned array is that of the specified array.
+     *
+     * @param holder the array into which the elements of the queue are to be stored
+     * @return an array containing all elements in this queue
+     * @throws NullPointerException if the specified array is null
+     */
+	@Override
+	public E[] toArray(E[] holder) throws NullPointerException {
+		if (holder == null)
+			throw new NullPointerException("Array to hold elements cannot be null.");
+
+		MyArrayList<E> elements = snapshot();
+		E[] result = elements.toArray(holder);
+		if (result.length > elements.size()) {
+			result[elements.size()] = null;
+		}
+		return result;
+	}
+
+	/**
+	 * Collects the elements in one pass, so that the array is sized for what was actually seen.
+	 */
+	private MyArrayList<E> snapshot() {
+		MyArrayList<E> elements = new MyArrayList<>();
+		Iterator<E> iterator = iterator();
+		while (iterator.hasNext()) {
+			elements.add(iterator.next());
+		}
+		return elements;
+	}
+
+	/**
+     * Checks if the queue is full. Since this is an unbounded queue, it is never full.
+     *
+     * @return false always
+     */
+	@Override
+	public boolean isFull() {
+		return false;
+	}
+
+	/**
+     * Returns the number of elements in the queue. The queue is walked to count them, so this
+     * takes linear time and the result may be outdated by concurrent operations.
+     *
+     * @return the size of the queue
+     */
+	@Override
+	public int size() {
+		int count = 0;
+		Iterator<E> iterator = iterator();
+		while (iterator.hasNext() && count < Integer.MAX_VALUE) {
+			iterator.next();
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Writes the elements in order, followed by null.
+	 *
+	 * @serialData the elements from front to end, then null
+	 */
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		out.defaultWriteObject();
+		Iterator<E> iterator = iterator();
+		while (iterator.hasNext()) {
+			out.writeObject(iterator.next());
+		}
+		out.writeObject(null);
+	}
+
+	/**
+	 * Rebuilds the dummy node and links the elements behind it in the order they were written.
+	 */
+	@SuppressWarnings("unchecked")
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		Node<E> last = new Node<>(null);
+		head = last;
+		for (Object element; (element = in.readObject()) != null; ) {
+			Node<E> node = new Node<>((E) element);
+			last.next = node;
+			last = node;
+		}
+		tail = last;
+	}
+}
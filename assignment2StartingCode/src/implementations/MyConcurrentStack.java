@@ -0,0 +1,460 @@
+package implementations;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.EmptyStackException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import utilities.Iterator;
+import utilities.StackADT;
+
+/**
+ * A thread-safe, lock-free stack after Treiber ("Systems Programming: Coping with Parallelism",
+ * 1986). The elements form a linked list from the top, and push and pop replace the top node with
+ * a single compare-and-set; a thread whose compare-and-set fails because another thread changed
+ * the top reads the new top and tries again.
+ *
+ * <p>A node never changes once it is on the stack, and records the depth of the stack below and
+ * including it. The size is therefore the depth of the top node, and a bounded stack checks its
+ * capacity with the same compare-and-set that pushes: {@link #stackOverflow()} reports whether
+ * the capacity is reached, {@link #tryPush(Object)} returns false and {@link #push(Object)} throws
+ * an {@link IllegalStateException} when the stack is full. Iterators, search and the toArray
+ * methods read the top once and see the stack as it was at that moment.
+ *
+ * <p>Under high contention many compare-and-sets on the top fail. An unbounded stack can be
+ * created with an elimination array: a push or a pop whose compare-and-set failed visits a random
+ * slot of the array instead of retrying at once. A push leaves its element there for a short
+ * time, and a pop that finds it takes it, so the two complete without touching the top at all, as
+ * if the element had been pushed and popped right away. A bounded stack does not use
+ * elimination, since its pushes must see the room they take at the top.
+ *
+ * <p>The nodes and the elimination array are not serialized; the elements are written from the
+ * bottom up and linked again, and the elimination array is recreated, when the stack is read back.
+ *
+ * @param <E> the type of elements held in this stack
+ */
+public class MyConcurrentStack<E> implements StackADT<E> {
+
+	private static final long serialVersionUID = 8235690581134706413L;
+	// constant
+	private static final int MAXIMUM_ELIMINATION_SLOTS = 16;
+	// How many times a push looks whether its element was taken from the elimination slot
+	private static final int ELIMINATION_SPINS = 64;
+
+	/**
+	 * A node of the linked list. The next node and the depth are set before the node is pushed and
+	 * never change afterwards.
+	 */
+	private static final class Node<E> {
+		final E item;
+		Node<E> next;
+		int depth;
+
+		Node(E item) {
+			this.item = item;
+		}
+	}
+
+	// Marks an elimination slot whose element was taken by a pop, until the push clears it
+	private static final Node<Object> TAKEN = new Node<>(null);
+
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<MyConcurrentStack, Node> TOP =
+			AtomicReferenceFieldUpdater.newUpdater(MyConcurrentStack.class, Node.class, "top");
+
+	// attributes
+	private transient volatile Node<E> top;
+	private final int capacity;
+	private final boolean bounded;
+	// Not final, since readObject recreates it
+	private transient AtomicReferenceArray<Node<?>> eliminationSlots;
+
+	/**
+     * Constructs an empty unbounded stack without elimination.
+     */
+	public MyConcurrentStack() {
+		this(false);
+	}
+
+	/**
+     * Constructs an empty unbounded stack, optionally with an elimination array with a slot per
+     * processor, up to 16 slots.
+     *
+     * @param elimination true to use an elimination array under contention
+     */
+	public MyConcurrentStack(boolean elimination) {
+		this.capacity = Integer.MAX_VALUE;
+		this.bounded = false;
+		this.eliminationSlots = elimination ? newEliminationSlots() : null;
+	}
+
+	/**
+	 * Returns an elimination array with a slot per processor, up to 16 slots.
+	 */
+	private static AtomicReferenceArray<Node<?>> newEliminationSlots() {
+		return new AtomicReferenceArray<>(Math.min(MAXIMUM_ELIMINATION_SLOTS, Runtime.getRuntime().availableProcessors()));
+	}
+
+	/**
+     * Constructs an empty stack that holds at most the given number of elements.
+     *
+     * @param capacity the maximum number of elements
+     * @throws IllegalArgumentException if the capacity is less than 1
+     */
+	public MyConcurrentStack(int capacity) {
+		if (capacity < 1)
+			throw new IllegalArgumentException("Invalid capacity: " + capacity);
+
+		this.capacity = capacity;
+		this.bounded = true;
+		this.eliminationSlots = null;
+	}
+
+	/**
+     * Returns the maximum number of elements this stack holds.
+     *
+     * @return the capacity, or Integer.MAX_VALUE for an unbounded stack
+     */
+	public int capacity() {
+		return capacity;
+	}
+
+	/**
+     * Pushes an element onto the top of the stack.
+     *
+     * @param toAdd the element to add
+     * @throws NullPointerException if the element to add is null
+     * @throws IllegalStateException if the stack is bounded and full
+     */
+	@Override
+	public void push(E toAdd) throws NullPointerException {
+		if (!tryPush(toAdd))
+			throw new IllegalStateException("Stack is full.");
+	}
+
+	/**
+     * Pushes an element onto the top of the stack if it is not full.
+     *
+     * @param toAdd the element to add
+     * @return true if the element was pushed, false if the stack is full
+     * @throws NullPointerException if the element to add is null
+     */
+	public boolean tryPush(E toAdd) {
+		if (toAdd == null)
+			throw new NullPointerException("Cannot add null to the stack");
+
+		Node<E> node = new Node<>(toAdd);
+		while (true) {
+			Node<E> current = top;
+			int depth = current == null ? 1 : current.depth + 1;
+			// An unbounded stack stops at the largest depth an int holds
+			if (depth > capacity || depth < 0)
+				return false;
+
+			node.next = current;
+			node.depth = depth;
+			if (TOP.compareAndSet(this, current, node))
+				return true;
+			if (eliminationSlots != null && eliminatePush(node))
+				return true;
+		}
+	}
+
+	/**
+     * Removes and returns the element at the top of the stack.
+     *
+     * @return the element at the top of the stack
+     * @throws EmptyStackException if the stack is empty
+     */
+	@Override
+	public E pop() throws EmptyStackException {
+		E element = tryPop();
+		if (element == null)
+			throw new EmptyStackException();
+
+		return element;
+	}
+
+	/**
+     * Removes and returns the element at the top of the stack, or returns null if the stack is
+     * empty.
+     *
+     * @return the element at the top of the stack, or null if the stack is empty
+     */
+	public E tryPop() {
+		while (true) {
+			Node<E> current = top;
+			if (current == null)
+				return null;
+
+			if (TOP.compareAndSet(this, current, current.next))
+				return current.item;
+			if (eliminationSlots != null) {
+				E element = eliminatePop();
+				if (element != null)
+					return element;
+			}
+		}
+	}
+
+	/**
+	 * Offers the node in a random free slot for a short time. Returns true if a pop took it, false
+	 * if the slot was busy or no pop came, in which case the push goes back to the top.
+	 */
+	private boolean eliminatePush(Node<E> node) {
+		int index = ThreadLocalRandom.current().nextInt(eliminationSlots.length());
+		if (!eliminationSlots.compareAndSet(index, null, node))
+			return false;
+
+		for (int i = 0; i < ELIMINATION_SPINS; i++) {
+			if (eliminationSlots.get(index) != node)
+				break;
+		}
+		if (eliminationSlots.compareAndSet(index, node, null))
+			return false; // Withdrawn, nobody took it
+
+		// Only a pop replaces the node, with TAKEN; free the slot for the next push
+		eliminationSlots.set(index, null);
+		return true;
+	}
+
+	/**
+	 * Takes the element a push left in a random slot, or returns null if there is none.
+	 */
+	@SuppressWarnings("unchecked")
+	private E eliminatePop() {
+		int index = ThreadLocalRandom.current().nextInt(eliminationSlots.length());
+		Node<?> offered = eliminationSlots.get(index);
+		if (offered == null || offered == TAKEN || !eliminationSlots.compareAndSet(index, offered, TAKEN))
+			return null;
+
+		return (E) offered.item;
+	}
+
+	/**
+     * Retrieves, but does not remove, the element at the top of the stack.
+     *
+     * @return the element at the top of the stack
+     * @throws EmptyStackException if the stack is empty
+     */
+	@Override
+	public E peek() throws EmptyStackException {
+		Node<E> current = top;
+		if (current == null)
+			throw new EmptyStackException();
+
+		return current.item;
+	}
+
+	/**
+     * Removes all elements from the stack at once.
+     */
+	@Override
+	public void clear() {
+		top = null;
+	}
+
+	/**
+     * Checks if the stack is empty.
+     *
+     * @return true if the stack is empty, false otherwise
+     */
+	@Override
+	public boolean isEmpty() {
+		return top == null;
+	}
+
+	/**
+     * Returns the number of elements in the stack.
+     *
+     * @return the size of the stack
+     */
+	@Override
+	public int size() {
+		Node<E> current = top;
+		return current == null ? 0 : current.depth;
+	}
+
+	/**
+     * Checks if the stack is bounded and holds as many elements as its capacity.
+     *
+     * @return true if the stack is at capacity, false otherwise
+     */
+	@Override
+	public boolean stackOverflow() {
+		return bounded && size() == capacity;
+	}
+
+	/**
+     * Returns an array containing all elements in this stack in LIFO order.
+     *
+     * @return an array containing all elements in this stack
+     */
+	@Override
+	public Object[] toArray() {
+		Node<E> current = top;
+		Object[] array = new Object[current == null ? 0 : current.depth];
+		copyTo(current, array);
+		return array;
+	}
+
+	/**
+     * Returns an array containing all elements in this stack in LIFO order;
+     * the runtime type of the returned array is that of the specified array.
+     *
+     * @param holder the array into which the elements of the stack are to be stored
+     * @return an array containing all elements in this stack
+     * @throws NullPointerException if the specified array is null
+     */
+	@SuppressWarnings("unchecked")
+	@Override
+	public E[] toArray(E[] holder) throws NullPointerException {
+		if (holder == null)
+			throw new NullPointerException("The provided array is null");
+
+		Node<E> current = top;
+		int size = current == null ? 0 : current.depth;
+		if (holder.length < size) {
+			holder = (E[]) java.lang.reflect.Array.newInstance(holder.getClass().getComponentType(), size);
+		}
+		copyTo(current, holder);
+		if (holder.length > size) {
+			holder[size] = null;
+		}
+		return holder;
+	}
+
+	/**
+	 * Copies the elements from the given node down to the start of the array, which is large enough.
+	 */
+	private static void copyTo(Node<?> node, Object[] array) {
+		for (int i = 0; node != null; i++, node = node.next) {
+			array[i] = node.item;
+		}
+	}
+
+	/**
+     * Checks if the stack contains a specified element.
+     *
+     * @param toFind the element to check for
+     * @return true if the element is found, false otherwise
+     * @throws NullPointerException if the element to find is null
+     */
+	@Override
+	public boolean contains(E toFind) throws NullPointerException {
+		return search(toFind) != -1;
+	}
+
+	/**
+     * Searches for the specified element and returns its position in the stack.
+     * The position is 1-based, with 1 being the top of the stack.
+     *
+     * @param toFind the element to search for
+     * @return the 1-based position of the element if found, -1 otherwise
+     * @throws NullPointerException if the element to find is null
+     */
+	@Override
+	public int search(E toFind) {
+		if (toFind == null)
+			throw new NullPointerException("Cannot search for null element");
+
+		int position = 1;
+		for (Node<E> node = top; node != null; node = node.next, position++) {
+			if (node.item.equals(toFind))
+				return position;
+		}
+		return -1;
+	}
+
+	/**
+     * Returns an iterator over the elements in this stack in LIFO order, as they were when the
+     * iterator was created.
+     *
+     * @return an iterator over the elements in this stack
+     */
+	@Override
+	public Iterator<E> iterator() {
+		return new Iterator<E>() {
+			private Node<E> current = top;
+
+			@Override
+			public boolean hasNext() {
+				return current != null;
+			}
+
+			@Override
+			public E next() {
+				if (!hasNext())
+					throw new NoSuchElementException("No elements left in the stack");
+
+				E element = current.item;
+				current = current.next;
+				return element;
+			}
+		};
+	}
+
+	/**
+     * Compares this stack to another stack for equality.
+     *
+     * @param that the stack to compare with
+     * @return true if the two stacks contain the same elements in the same order, false otherwise
+     */
+	@Override
+	public boolean equals(StackADT<E> that) {
+		if (that == null)
+			return false;
+
+		Iterator<E> thisIterator = this.iterator();
+		Iterator<E> thatIterator = that.iterator();
+		while (thisIterator.hasNext() && thatIterator.hasNext()) {
+			if (!thisIterator.next().equals(thatIterator.next())) {
+				return false;
+			}
+		}
+		return !thisIterator.hasNext() && !thatIterator.hasNext();
+	}
+
+	/**
+	 * Writes whether the stack uses elimination and the elements as they were at one moment.
+	 *
+	 * @serialData true if the stack uses an elimination array, the number of elements, then the
+	 *             elements from the bottom to the top
+	 */
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		out.defaultWriteObject();
+		out.writeBoolean(eliminationSlots != null);
+		Object[] elements = toArray();
+		out.writeInt(elements.length);
+		for (int i = elements.length - 1; i >= 0; i--) {
+			out.writeObject(elements[i]);
+		}
+	}
+
+	/**
+	 * Recreates the elimination array and links the elements again from the bottom up, so that
+	 * every node records its depth.
+	 */
+	@SuppressWarnings("unchecked")
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		eliminationSlots = in.readBoolean() ? newEliminationSlots() : null;
+		int size = in.readInt();
+		if (size < 0 || size > capacity)
+			throw new InvalidObjectException("Invalid size: " + size);
+
+		Node<E> current = null;
+		for (int depth = 1; depth <= size; depth++) {
+			Node<E> node = new Node<>((E) in.readObject());
+			node.next = current;
+			node.depth = depth;
+			current = node;
+		}
+		top = current;
+	}
+}
@@ -8,6 +8,12 @@ import utilities.ListADT;
 /**
  * A doubly linked list implementation of the ListADT interface.
  * 
+ * <p>A list can be created with node recycling, for workloads that add and remove many elements,
+ * such as a {@link MyQueue}: a removed node is cleared and kept on a free list of bounded length,
+ * and the next add takes its node from there instead of allocating one. This keeps short-lived
+ * nodes from driving the garbage collector, at the cost of holding up to the given number of
+ * empty nodes.
+ * 
  * @param <E> The type of elements in this list.
  */
 public class MyDLL<E> implements ListADT<E> {
@@ -16,12 +22,66 @@ public class MyDLL<E> implements ListADT<E> {
 	// Attributes
 	private MyDLLNode<E> head, tail;
 	private int size;
+	// Recycled nodes linked through their next node, at most poolCapacity of them
+	private final int poolCapacity;
+	private transient MyDLLNode<E> freeNodes;
+	private transient int freeCount;
 	
 	/**
      * Constructs an empty doubly linked list.
      */
 	public MyDLL() {
 		this.head = this.tail = null;
+		this.poolCapacity = 0;
+	}
+	
+	/**
+     * Constructs an empty doubly linked list that recycles the nodes of removed elements.
+     * 
+     * @param poolCapacity The maximum number of removed nodes kept for reuse, 0 for none.
+     * @throws IllegalArgumentException if the pool capacity is negative.
+     */
+	public MyDLL(int poolCapacity) {
+		if (poolCapacity < 0) {
+			throw new IllegalArgumentException("Invalid pool capacity: " + poolCapacity);
+		}
+		this.head = this.tail = null;
+		this.poolCapacity = poolCapacity;
+	}
+	
+	/**
+     * Returns the number of removed nodes currently kept for reuse.
+     * 
+     * @return The number of recycled nodes.
+     */
+	public int pooledNodes() {
+		return freeCount;
+	}
+	
+	private MyDLLNode<E> newNode(E element) {
+		MyDLLNode<E> node = freeNodes;
+		if (node == null) {
+			return new MyDLLNode<>(element);
+		}
+		freeNodes = node.getNext();
+		freeCount--;
+		node.setNext(null);
+		node.setElement(element);
+		return node;
+	}
+	
+	/**
+	 * Clears a node that has been unlinked and keeps it for reuse if the pool has room.
+	 */
+	private void recycle(MyDLLNode<E> node) {
+		if (freeCount == poolCapacity) {
+			return;
+		}
+		node.setElement(null);
+		node.setPrev(null);
+		node.setNext(freeNodes);
+		freeNodes = node;
+		freeCount++;
 	}
 	
 	/**
@@ -35,10 +95,17 @@ public class MyDLL<E> implements ListADT<E> {
 	}
 	
 	/**
-     * Removes all elements from this list.
+     * Removes all elements from this list. With node recycling, nodes are taken from the list
+     * into the pool until it is full.
      */
 	@Override
 	public void clear() {
+		MyDLLNode<E> current = head;
+		while (current != null && freeCount < poolCapacity) {
+			MyDLLNode<E> next = current.getNext();
+			recycle(current);
+			current = next;
+		}
 		this.head = null;
 		this.tail = null;
 		size = 0;
@@ -62,7 +129,7 @@ public class MyDLL<E> implements ListADT<E> {
 		if (index < 0 || index > size) {
 			throw new IndexOutOfBoundsException("Invalid index.");
 		}
-		MyDLLNode<E> newNode = new MyDLLNode<>(toAdd);
+		MyDLLNode<E> newNode = newNode(toAdd);
 
 		if (index == 0) {
 			if (isEmpty()) {
@@ -120,7 +187,7 @@ public class MyDLL<E> implements ListADT<E> {
 		if (toAdd == null) {
 	        throw new NullPointerException("Element to add cannot be null.");
 	    }
-	    MyDLLNode<E> newNode = new MyDLLNode<>(toAdd);
+	    MyDLLNode<E> newNode = newNode(toAdd);
 	    if (isEmpty()) {
 	        head = tail = newNode;
 	    } else {
@@ -200,7 +267,9 @@ public class MyDLL<E> implements ListADT<E> {
 		}
 
 		size--;
-		return toRemove.getElement();
+		E element = toRemove.getElement();
+		recycle(toRemove);
+		return element;
 	}
 	
 	/**
@@ -233,7 +302,9 @@ public class MyDLL<E> implements ListADT<E> {
 				}
 
 				size--;
-				return current.getElement();
+				E element = current.getElement();
+				recycle(current);
+				return element;
 			}
 			current = current.getNext();
 		}
@@ -0,0 +1,358 @@
+package implementations;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import utilities.IntIterator;
+
+/**
+ * The {@code MyIntArrayList} class is a resizable array-backed list of primitive {@code int}
+ * values. It mirrors the operations of {@code ListADT} and {@link MyArrayList}, but stores the
+ * values in a primitive {@code int[]} instead of boxing every value in an object, which takes 4 bytes per
+ * element instead of a reference plus a boxed {@code Integer} and keeps the values next to each other
+ * in memory.
+ *
+ * <p>Operations that take an element in {@code ListADT} take an {@code int}; the ones that would
+ * clash with an index are named after the value ({@link #removeValue(int)}). Bulk operations
+ * grow the array at most once and move the values with {@code System.arraycopy}.
+ */
+public class MyIntArrayList implements Serializable {
+
+	private static final long serialVersionUID = 2943722520419620958L;
+	// constant
+	private static final int CAPACITY = 10;
+	private static final int MULTIPLIER = 2;
+	private static final int MAXIMUM_CAPACITY = Integer.MAX_VALUE - 8;
+
+	// attributes
+	private int[] array;
+	private int size;
+
+	/**
+     * Constructs an empty list with an initial capacity.
+     */
+	public MyIntArrayList() {
+		array = new int[CAPACITY];
+	}
+
+	/**
+     * Constructs an empty list that holds the given number of values before it grows.
+     *
+     * @param initialCapacity the initial capacity
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+	public MyIntArrayList(int initialCapacity) {
+		if (initialCapacity < 0)
+			throw new IllegalArgumentException("Invalid capacity: " + initialCapacity);
+		array = new int[initialCapacity];
+	}
+
+	/**
+     * Returns the number of values in this list.
+     *
+     * @return the number of values in this list
+     */
+	public int size() {
+		return size;
+	}
+
+	/**
+     * Clears the list, removing all values. The capacity is kept.
+     */
+	public void clear() {
+		size = 0;
+	}
+
+	/**
+     * Inserts the specified value at the specified position in this list.
+     * Shifts the value currently at that position and any subsequent values to the right.
+     *
+     * @param index the index at which the specified value is to be inserted
+     * @param toAdd the value to be inserted
+     * @return true if the value was added successfully
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+	public boolean add(int index, int toAdd) throws IndexOutOfBoundsException {
+		if (index < 0 || index > size)
+			throw new IndexOutOfBoundsException("Index " + index + " out of bounds");
+
+		ensureCapacity(size + 1);
+		System.arraycopy(array, index, array, index + 1, size - index);
+		array[index] = toAdd;
+		size++;
+		return true;
+	}
+
+	/**
+     * Adds the specified value to the end of this list.
+     *
+     * @param toAdd the value to be appended
+     * @return true if the value was added successfully
+     */
+	public boolean add(int toAdd) {
+		if (size == array.length)
+			ensureCapacity(size + 1);
+		array[size++] = toAdd;
+		return true;
+	}
+
+	/**
+     * Increases the capacity of this list, if necessary, so that it can hold at least the
+     * specified number of values without growing again.
+     *
+     * @param minCapacity the desired minimum capacity
+     * @throws OutOfMemoryError if the capacity is larger than an array can be
+     */
+	public void ensureCapacity(int minCapacity) {
+		if (minCapacity <= array.length)
+			return;
+		if (minCapacity < 0 || minCapacity > MAXIMUM_CAPACITY)
+			throw new OutOfMemoryError("Required list capacity is too large: " + minCapacity);
+
+		long grown = Math.max((long) array.length * MULTIPLIER, CAPACITY);
+		int newCapacity = (int) Math.min(MAXIMUM_CAPACITY, Math.max(grown, minCapacity));
+		array = Arrays.copyOf(array, newCapacity);
+	}
+
+	/**
+     * Shrinks the capacity of this list to its current size.
+     */
+	public void trimToSize() {
+		if (size < array.length) {
+			array = Arrays.copyOf(array, size);
+		}
+	}
+
+	/**
+     * Adds all values from the specified list to the end of this list.
+     *
+     * @param toAdd the list containing values to be added to this list
+     * @return true if the values were added successfully
+     * @throws NullPointerException if the specified list is null
+     */
+	public boolean addAll(MyIntArrayList toAdd) throws NullPointerException {
+		return addAll(size, toAdd);
+	}
+
+	/**
+     * Inserts all values from the specified list at the specified position in this list.
+     *
+     * @param index the index at which the first value of the specified list is inserted
+     * @param toAdd the list containing values to be added to this list
+     * @return true if the values were added successfully
+     * @throws NullPointerException if the specified list is null
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+	public boolean addAll(int index, MyIntArrayList toAdd) throws NullPointerException, IndexOutOfBoundsException {
+		if (toAdd == null)
+			throw new NullPointerException("The list to add cannot be null");
+
+		return insert(index, toAdd.array, toAdd.size);
+	}
+
+	/**
+     * Adds all values of the specified array to the end of this list, in array order.
+     *
+     * @param toAdd the array containing values to be added to this list
+     * @return true if the values were added successfully
+     * @throws NullPointerException if the specified array is null
+     */
+	public boolean addAll(int[] toAdd) throws NullPointerException {
+		if (toAdd == null)
+			throw new NullPointerException("The array to add cannot be null");
+
+		return insert(size, toAdd, toAdd.length);
+	}
+
+	/**
+	 * Inserts the first count values of the source array at the index, which is checked here.
+	 */
+	private boolean insert(int index, int[] source, int count) {
+		if (index < 0 || index > size)
+			throw new IndexOutOfBoundsException("Index " + index + " out of bounds");
+
+		if (source == array) {
+			// A list inserted into itself is copied out before its values move
+			source = Arrays.copyOf(source, count);
+		}
+		ensureCapacity(size + count);
+		System.arraycopy(array, index, array, index + count, size - index);
+		System.arraycopy(source, 0, array, index, count);
+		size += count;
+		return true;
+	}
+
+	/**
+     * Returns the value at the specified position in this list.
+     *
+     * @param index the index of the value to return
+     * @return the value at the specified position in this list
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+	public int get(int index) throws IndexOutOfBoundsException {
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException("Index " + index + " out of bounds");
+
+		return array[index];
+	}
+
+	/**
+     * Removes the value at the specified position in this list.
+     *
+     * @param index the index of the value to be removed
+     * @return the removed value
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+	public int remove(int index) throws IndexOutOfBoundsException {
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException("Index " + index + " out of bounds");
+
+		int removedValue = array[index];
+		System.arraycopy(array, index + 1, array, index, size - index - 1);
+		size--;
+		return removedValue;
+	}
+
+	/**
+     * Removes the first occurrence of the specified value from this list, if it is present.
+     *
+     * @param toRemove the value to be removed from this list
+     * @return true if the value was found and removed
+     */
+	public boolean removeValue(int toRemove) {
+		int index = indexOf(toRemove);
+		if (index < 0)
+			return false;
+
+		remove(index);
+		return true;
+	}
+
+	/**
+     * Removes the values from index {@code fromIndex}, inclusive, to index {@code toIndex},
+     * exclusive, and shifts the subsequent values to the left once.
+     *
+     * @param fromIndex the index of the first value to be removed
+     * @param toIndex   the index after the last value to be removed
+     * @throws IndexOutOfBoundsException if fromIndex or toIndex is out of range or
+     *                                   fromIndex is greater than toIndex
+     */
+	public void removeRange(int fromIndex, int toIndex) throws IndexOutOfBoundsException {
+		if (fromIndex < 0 || toIndex > size || fromIndex > toIndex)
+			throw new IndexOutOfBoundsException("Range " + fromIndex + " to " + toIndex + " out of bounds");
+
+		System.arraycopy(array, toIndex, array, fromIndex, size - toIndex);
+		size -= toIndex - fromIndex;
+	}
+
+	/**
+     * Replaces the value at the specified position with the specified value.
+     *
+     * @param index    the index of the value to replace
+     * @param toChange the value to be stored at the specified position
+     * @return the value previously at the specified position
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+	public int set(int index, int toChange) throws IndexOutOfBoundsException {
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException("Index " + index + " out of bounds");
+
+		int oldValue = array[index];
+		array[index] = toChange;
+		return oldValue;
+	}
+
+	/**
+     * Checks if the list is empty.
+     *
+     * @return true if the list is empty, false otherwise
+     */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+     * Returns true if this list contains the specified value.
+     *
+     * @param toFind the value to find
+     * @return true if the value is found, false otherwise
+     */
+	public boolean contains(int toFind) {
+		return indexOf(toFind) >= 0;
+	}
+
+	/**
+     * Returns the index of the first occurrence of the specified value.
+     *
+     * @param toFind the value to find
+     * @return the index of the value, or -1 if it is not in the list
+     */
+	public int indexOf(int toFind) {
+		for (int i = 0; i < size; i++) {
+			if (array[i] == toFind) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+     * Sorts the values of this list in ascending order.
+     */
+	public void sort() {
+		Arrays.sort(array, 0, size);
+	}
+
+	/**
+     * Returns an array containing all values in this list in the correct order;
+     * the specified array is used if it is big enough.
+     *
+     * @param toHold the array into which the values of this list are to be stored
+     * @return an array containing the values of this list
+     * @throws NullPointerException if the specified array is null
+     */
+	public int[] toArray(int[] toHold) throws NullPointerException {
+		if (toHold == null)
+			throw new NullPointerException("Array to hold values cannot be null");
+
+		if (toHold.length < size) {
+			toHold = new int[size];
+		}
+		System.arraycopy(array, 0, toHold, 0, size);
+		return toHold;
+	}
+
+	/**
+     * Returns an array containing all values in this list in the correct order.
+     *
+     * @return an array containing all values in this list
+     */
+	public int[] toArray() {
+		return Arrays.copyOf(array, size);
+	}
+
+	/**
+     * Returns an iterator over the values in this list in proper sequence.
+     *
+     * @return an iterator over the values in this list
+     */
+	public IntIterator iterator() {
+		return new IntIterator() {
+			private int index = 0;
+
+			@Override
+			public boolean hasNext() {
+				return index < size;
+			}
+
+			@Override
+			public int next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+
+				return array[index++];
+			}
+		};
+	}
+}
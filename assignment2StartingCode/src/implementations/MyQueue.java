@@ -26,6 +26,18 @@ public class MyQueue<E> implements QueueADT<E>
 		q = new MyDLL<>();
 	}
 	
+	/**
+     * Constructs an empty queue that recycles the nodes of dequeued elements, so that a queue
+     * whose elements come and go does not allocate a node per enqueue.
+     * 
+     * @param poolCapacity the maximum number of nodes kept for reuse
+     * @throws IllegalArgumentException if the pool capacity is negative
+     */
+	public MyQueue(int poolCapacity) 
+	{
+		q = new MyDLL<>(poolCapacity);
+	}
+	
 	/**
      * Adds an element to the end of the queue.
      * 
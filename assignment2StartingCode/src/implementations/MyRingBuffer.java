@@ -0,0 +1,491 @@
+package implementations;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.Consumer;
+
+import exceptions.EmptyQueueException;
+import utilities.Iterator;
+import utilities.QueueADT;
+
+/**
+ * A bounded queue for handing elements from exactly one producer thread to exactly one consumer
+ * thread, such as from one stage of a pipeline to the next. With a single thread on each side no
+ * lock and no compare-and-set is needed: every operation finishes in a fixed number of steps
+ * (it is wait-free), whatever the other thread does.
+ *
+ * <p>The elements are kept in a circular array whose length is a power of two. The producer owns
+ * the tail sequence, the number of elements ever added, and the consumer owns the head sequence,
+ * the number of elements ever removed; each side only writes its own sequence and reads the
+ * other. A sequence is written with a lazy (ordered) store, which publishes the slots written
+ * before it without the cost of a full memory fence. Each side also keeps the last value it read
+ * of the other sequence and only reads it again when that cached value says the queue is full
+ * or empty. The two sequences are padded so that they lie on different cache lines, and the
+ * producer and the consumer do not slow each other down by writing to the same line.
+ *
+ * <p>The batch methods {@link #offer(Object[], int, int)}, {@link #drainTo(Object[], int, int)}
+ * and {@link #drain(Consumer, int)} move many elements but publish the sequence only once, and
+ * allocate nothing.
+ *
+ * <p>The {@code QueueADT} methods make the ring buffer usable wherever a queue is expected:
+ * {@link #enqueue(Object)} may only be called by the producer and throws an
+ * {@link IllegalStateException} when the ring buffer is full, and {@link #dequeue()},
+ * {@link #peek()} and {@link #dequeueAll()} may only be called by the consumer. The methods
+ * that read the elements (iteration, search, toArray and equals) must also be called by the
+ * consumer, so that no element is removed while they run; they see the elements published up to
+ * the moment they start. {@link #size()}, {@link #isEmpty()} and {@link #isFull()} may be called
+ * by any thread.
+ *
+ * @param <E> the type of elements held in this ring buffer
+ */
+public class MyRingBuffer<E> implements QueueADT<E> {
+
+	private static final long serialVersionUID = -6250953102467432881L;
+	// constant
+	private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+	/**
+	 * Fills the cache line before the sequence, so that no field written by another thread shares it.
+	 */
+	@SuppressWarnings("unused")
+	private static class LeftPadding implements Serializable {
+		private static final long serialVersionUID = 1L;
+		long p01, p02, p03, p04, p05, p06, p07;
+	}
+
+	/**
+	 * The sequence written by its owner and read by the other side, and the owner's cached copy of
+	 * the other side's sequence. Fields of a superclass are laid out before those of a subclass,
+	 * so the padding classes surround these two fields.
+	 */
+	private static class SequenceFields extends LeftPadding {
+		private static final long serialVersionUID = 1L;
+		volatile long value;
+		long cached;
+	}
+
+	/**
+	 * Fills the cache line after the sequence.
+	 */
+	@SuppressWarnings("unused")
+	private static final class Sequence extends SequenceFields {
+		private static final long serialVersionUID = 1L;
+		long p11, p12, p13, p14, p15, p16, p17;
+	}
+
+	private static final AtomicLongFieldUpdater<SequenceFields> VALUE =
+			AtomicLongFieldUpdater.newUpdater(SequenceFields.class, "value");
+
+	// attributes
+	private final E[] array;
+	private final int mask;
+	// Owned by the producer; its cached value is the head last read
+	private final Sequence tail = new Sequence();
+	// Owned by the consumer; its cached value is the tail last read
+	private final Sequence head = new Sequence();
+
+	/**
+     * Constructs an empty ring buffer that holds at least the given number of elements. The
+     * capacity is rounded up to a power of two.
+     *
+     * @param capacity the minimum number of elements the ring buffer holds
+     * @throws IllegalArgumentException if the capacity is less than 1 or greater than 2^30
+     */
+	@SuppressWarnings("unchecked")
+	public MyRingBuffer(int capacity) {
+		if (capacity < 1 || capacity > MAXIMUM_CAPACITY)
+			throw new IllegalArgumentException("Invalid capacity: " + capacity);
+
+		int length = Integer.highestOneBit(capacity);
+		if (length < capacity)
+			length <<= 1;
+
+		this.array = (E[]) new Object[length];
+		this.mask = length - 1;
+	}
+
+	/**
+     * Returns the maximum number of elements this ring buffer holds.
+     *
+     * @return the capacity, a power of two
+     */
+	public int capacity() {
+		return array.length;
+	}
+
+	/**
+     * Adds an element to the end of the ring buffer if there is space. Producer only.
+     *
+     * @param toAdd the element to add
+     * @return true if the element was added, false if the ring buffer is full
+     * @throws NullPointerException if the element to add is null
+     */
+	public boolean offer(E toAdd) {
+		if (toAdd == null)
+			throw new NullPointerException("Cannot enqueue null values.");
+
+		long next = tail.value;
+		if (next - tail.cached == array.length) {
+			tail.cached = head.value;
+			if (next - tail.cached == array.length)
+				return false;
+		}
+
+		array[(int) next & mask] = toAdd;
+		VALUE.lazySet(tail, next + 1);
+		return true;
+	}
+
+	/**
+     * Adds as many elements of the given range as there is space for, in order, and publishes
+     * them at once. Producer only.
+     *
+     * @param elements the array holding the elements to add
+     * @param offset   the index of the first element to add
+     * @param length   the number of elements to add
+     * @return the number of elements added, from 0 to length
+     * @throws NullPointerException if the array or one of the elements in the range is null
+     * @throws IndexOutOfBoundsException if the range is not within the array
+     */
+	public int offer(E[] elements, int offset, int length) {
+		checkRange(elements, offset, length);
+		for (int i = offset; i < offset + length; i++) {
+			if (elements[i] == null)
+				throw new NullPointerException("Cannot enqueue null values.");
+		}
+
+		long next = tail.value;
+		if (array.length - (next - tail.cached) < length)
+			tail.cached = head.value;
+		int count = (int) Math.min(length, array.length - (next - tail.cached));
+		if (count == 0)
+			return 0;
+
+		int start = (int) next & mask;
+		int firstPart = Math.min(count, array.length - start);
+		System.arraycopy(elements, offset, array, start, firstPart);
+		System.arraycopy(elements, offset + firstPart, array, 0, count - firstPart);
+		VALUE.lazySet(tail, next + count);
+		return count;
+	}
+
+	/**
+     * Adds an element to the end of the ring buffer. Producer only.
+     *
+     * @param toAdd the element to add
+     * @throws NullPointerException if the element to add is null
+     * @throws IllegalStateException if the ring buffer is full
+     */
+	@Override
+	public void enqueue(E toAdd) throws NullPointerException {
+		if (!offer(toAdd))
+			throw new IllegalStateException("Queue is full.");
+	}
+
+	/**
+     * Removes and returns the element at the front of the ring buffer. Consumer only.
+     *
+     * @return the element at the front, or null if the ring buffer is empty
+     */
+	public E poll() {
+		long first = head.value;
+		if (first == head.cached) {
+			head.cached = tail.value;
+			if (first == head.cached)
+				return null;
+		}
+
+		int index = (int) first & mask;
+		E element = array[index];
+		array[index] = null; // Clear reference to help GC
+		VALUE.lazySet(head, first + 1);
+		return element;
+	}
+
+	/**
+     * Removes up to the given number of elements into the given range of an array, in order, and
+     * releases their slots at once. Consumer only.
+     *
+     * @param target the array to store the elements in
+     * @param offset the index to store the first element at
+     * @param length the maximum number of elements to remove
+     * @return the number of elements removed, from 0 to length
+     * @throws NullPointerException if the array is null
+     * @throws IndexOutOfBoundsException if the range is not within the array
+     */
+	public int drainTo(E[] target, int offset, int length) {
+		checkRange(target, offset, length);
+
+		long first = head.value;
+		int count = available(first, length);
+		if (count == 0)
+			return 0;
+
+		int start = (int) first & mask;
+		int firstPart = Math.min(count, array.length - start);
+		System.arraycopy(array, start, target, offset, firstPart);
+		System.arraycopy(array, 0, target, offset + firstPart, count - firstPart);
+		Arrays.fill(array, start, start + firstPart, null);
+		Arrays.fill(array, 0, count - firstPart, null);
+		VALUE.lazySet(head, first + count);
+		return count;
+	}
+
+	/**
+     * Removes up to the given number of elements and passes each to the handler, in order. The
+     * slots are released at once after the last element, or after the handler throws. Consumer
+     * only.
+     *
+     * @param handler  the action to perform on every element
+     * @param maxCount the maximum number of elements to remove
+     * @return the number of elements removed
+     * @throws NullPointerException if the handler is null
+     */
+	public int drain(Consumer<? super E> handler, int maxCount) {
+		if (handler == null)
+			throw new NullPointerException("Handler cannot be null.");
+
+		long first = head.value;
+		int count = available(first, maxCount);
+		int done = 0;
+		try {
+			while (done < count) {
+				int index = (int) (first + done) & mask;
+				E element = array[index];
+				array[index] = null; // Clear reference to help GC
+				done++;
+				handler.accept(element);
+			}
+		} finally {
+			if (done > 0)
+				VALUE.lazySet(head, first + done);
+		}
+		return done;
+	}
+
+	/**
+	 * Returns how many of at most max elements the consumer can take from the given head, reading
+	 * the tail again only if the cached one shows fewer.
+	 */
+	private int available(long first, int max) {
+		if (head.cached - first < max)
+			head.cached = tail.value;
+		return (int) Math.min(Math.max(max, 0), head.cached - first);
+	}
+
+	private static void checkRange(Object[] elements, int offset, int length) {
+		if (elements == null)
+			throw new NullPointerException("Array cannot be null.");
+		if (offset < 0 || length < 0 || offset > elements.length - length)
+			throw new IndexOutOfBoundsException("Range " + offset + " to " + (offset + length) + " out of bounds");
+	}
+
+	/**
+     * Removes and returns the element at the front of the ring buffer. Consumer only.
+     *
+     * @return the element at the front of the ring buffer
+     * @throws EmptyQueueException if the ring buffer is empty
+     */
+	@Override
+	public E dequeue() throws EmptyQueueException {
+		E element = poll();
+		if (element == null)
+			throw new EmptyQueueException("Queue is empty.");
+
+		return element;
+	}
+
+	/**
+     * Retrieves, but does not remove, the element at the front of the ring buffer. Consumer only.
+     *
+     * @return the element at the front of the ring buffer
+     * @throws EmptyQueueException if the ring buffer is empty
+     */
+	@Override
+	public E peek() throws EmptyQueueException {
+		long first = head.value;
+		if (available(first, 1) == 0)
+			throw new EmptyQueueException("Queue is empty.");
+
+		return array[(int) first & mask];
+	}
+
+	/**
+     * Removes all published elements from the ring buffer. Consumer only.
+     */
+	@Override
+	public void dequeueAll() {
+		while (poll() != null) {
+			// Keep removing until the ring buffer is empty
+		}
+	}
+
+	/**
+     * Checks if the ring buffer is empty.
+     *
+     * @return true if the ring buffer is empty, false otherwise
+     */
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	/**
+     * Checks if the ring buffer holds as many elements as its capacity.
+     *
+     * @return true if the ring buffer is full, false otherwise
+     */
+	@Override
+	public boolean isFull() {
+		return size() == array.length;
+	}
+
+	/**
+     * Returns the number of elements in the ring buffer. Called by a thread other than the
+     * producer or the consumer, the result may be outdated.
+     *
+     * @return the size of the ring buffer
+     */
+	@Override
+	public int size() {
+		// Read the head first: it never passes the tail read after it
+		long first = head.value;
+		long last = tail.value;
+		return (int) Math.min(array.length, Math.max(0, last - first));
+	}
+
+	/**
+     * Checks if the ring buffer contains a specified element. Consumer only.
+     *
+     * @param toFind the element to check for
+     * @return true if the element is found, false otherwise
+     * @throws NullPointerException if the element to find is null
+     */
+	@Override
+	public boolean contains(E toFind) throws NullPointerException {
+		return search(toFind) != -1;
+	}
+
+	/**
+     * Returns the 1-based position of the first occurrence of the specified element, counted from
+     * the front of the ring buffer. Consumer only.
+     *
+     * @param toFind the element to search for
+     * @return the position of the element if found, -1 otherwise
+     * @throws NullPointerException if the element to find is null
+     */
+	@Override
+	public int search(E toFind) {
+		if (toFind == null)
+			throw new NullPointerException("Element to find cannot be null.");
+
+		long first = head.value;
+		long last = tail.value;
+		for (long i = first; i < last; i++) {
+			if (toFind.equals(array[(int) i & mask]))
+				return (int) (i - first) + 1;
+		}
+		return -1;
+	}
+
+	/**
+     * Returns an iterator over the elements published when it is created, from front to back.
+     * Consumer only, and the ring buffer must not be dequeued while the iterator is used.
+     *
+     * @return an iterator over the elements in this ring buffer
+     */
+	@Override
+	public Iterator<E> iterator() {
+		final long last = tail.value;
+		return new Iterator<E>() {
+			private long position = head.value;
+
+			@Override
+			public boolean hasNext() {
+				return position < last;
+			}
+
+			@Override
+			public E next() {
+				if (!hasNext())
+					throw new NoSuchElementException("No more elements in the queue.");
+
+				return array[(int) position++ & mask];
+			}
+		};
+	}
+
+	/**
+     * Compares this ring buffer to another queue for equality. Consumer only.
+     *
+     * @param that the queue to compare with
+     * @return true if the two queues contain the same elements in the same order, false otherwise
+     */
+	@Override
+	public boolean equals(QueueADT<E> that) {
+		if (that == null) return false;
+
+		Iterator<E> thisIterator = this.iterator();
+		Iterator<E> thatIterator = that.iterator();
+
+		while (thisIterator.hasNext() && thatIterator.hasNext()) {
+			if (!thisIterator.next().equals(thatIterator.next())) {
+				return false;
+			}
+		}
+
+		return !thisIterator.hasNext() && !thatIterator.hasNext();
+	}
+
+	/**
+     * Returns an array containing all elements in this ring buffer in proper sequence. Consumer
+     * only.
+     *
+     * @return an array containing all elements in this ring buffer
+     */
+	@Override
+	public Object[] toArray() {
+		long first = head.value;
+		Object[] result = new Object[(int) (tail.value - first)];
+		copyTo(first, result.length, result);
+		return result;
+	}
+
+	/**
+     * Returns an array containing all elements in this ring buffer in proper sequence;
+     * the runtime type of the returned array is that of the specified array. Consumer only.
+     *
+     * @param holder the array into which the elements of the ring buffer are to be stored
+     * @return an array containing all elements in this ring buffer
+     * @throws NullPointerException if the specified array is null
+     */
+	@Override
+	@SuppressWarnings("unchecked")
+	public E[] toArray(E[] holder) throws NullPointerException {
+		if (holder == null)
+			throw new NullPointerException("Array to hold elements cannot be null.");
+
+		long first = head.value;
+		int size = (int) (tail.value - first);
+		if (holder.length < size) {
+			holder = (E[]) java.lang.reflect.Array.newInstance(holder.getClass().getComponentType(), size);
+		}
+		copyTo(first, size, holder);
+		if (holder.length > size) {
+			holder[size] = null;
+		}
+		return holder;
+	}
+
+	/**
+	 * Copies the given number of elements from the given head to the start of the target.
+	 */
+	private void copyTo(long first, int size, Object[] target) {
+		int start = (int) first & mask;
+		int firstPart = Math.min(size, array.length - start);
+		System.arraycopy(array, start, target, 0, firstPart);
+		System.arraycopy(array, 0, target, firstPart, size - firstPart);
+	}
+}
@@ -0,0 +1,444 @@
+package implementations;
+
+import java.util.NoSuchElementException;
+
+import utilities.Iterator;
+import utilities.ListADT;
+
+/**
+ * A list implementation of the ListADT interface on a balanced binary tree, for lists that are
+ * edited at arbitrary positions. The elements are stored in the in-order sequence of an AVL tree
+ * whose nodes also record the size of their subtree. The index of an element is the number of
+ * elements before it in that order, so an index is found by descending from the root and
+ * comparing it with the size of the left subtree.
+ *
+ * <p>{@link #get(int)}, {@link #set(int, Object)}, {@link #add(int, Object)} and
+ * {@link #remove(int)} take O(log n) time at any index, where {@link MyArrayList} shifts O(n)
+ * elements to add or remove and {@link MyDLL} walks O(n) nodes to reach an index. After an
+ * insertion or removal the heights of the two subtrees of every node on the path differ by at
+ * most one again, restored with rotations that keep the in-order sequence. The iterator visits
+ * all elements in O(n) time with a stack of the nodes on the path to the next element.
+ *
+ * @param <E> the type of elements held in this list
+ */
+public class MyTreeList<E> implements ListADT<E> {
+
+	private static final long serialVersionUID = 4730916045288237751L;
+
+	/**
+	 * A node of the tree with the height and the number of nodes of its subtree.
+	 */
+	private static final class Node {
+		Object element;
+		Node left, right;
+		int height = 1;
+		int size = 1;
+
+		Node(Object element) {
+			this.element = element;
+		}
+	}
+
+	// attributes
+	private Node root;
+
+	/**
+     * Constructs an empty list.
+     */
+	public MyTreeList() {
+		this.root = null;
+	}
+
+	/**
+     * Returns the number of elements in this list.
+     *
+     * @return the number of elements in this list
+     */
+	@Override
+	public int size() {
+		return size(root);
+	}
+
+	/**
+     * Removes all elements from this list.
+     */
+	@Override
+	public void clear() {
+		root = null;
+	}
+
+	/**
+     * Inserts the specified element at the specified position in this list.
+     * Shifts the element currently at that position and any subsequent elements to the right.
+     *
+     * @param index the index at which the specified element is to be inserted
+     * @param toAdd the element to be inserted
+     * @return true if the element was added successfully
+     * @throws NullPointerException if the specified element is null
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+	@Override
+	public boolean add(int index, E toAdd) throws NullPointerException, IndexOutOfBoundsException {
+		if (index < 0 || index > size())
+			throw new IndexOutOfBoundsException("Index " + index + " out of bounds");
+		if (toAdd == null)
+			throw new NullPointerException("Cannot add null element");
+
+		root = insert(root, index, toAdd);
+		return true;
+	}
+
+	/**
+     * Adds the specified element to the end of this list.
+     *
+     * @param toAdd the element to be appended
+     * @return true if the element was added successfully
+     * @throws NullPointerException if the specified element is null
+     */
+	@Override
+	public boolean add(E toAdd) throws NullPointerException {
+		return add(size(), toAdd);
+	}
+
+	/**
+     * Adds all elements from the specified list to the end of this list.
+     *
+     * @param toAdd the list containing elements to be added to this list
+     * @return true if the elements were added successfully
+     * @throws NullPointerException if the specified list is null or contains a null element;
+     *                              the list is not changed then
+     */
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean addAll(ListADT<? extends E> toAdd) throws NullPointerException {
+		if (toAdd == null)
+			throw new NullPointerException("The list to add cannot be null");
+
+		// Copied out first, so that the list can be added to itself
+		Object[] elements = toAdd.toArray();
+		for (Object element : elements) {
+			if (element == null)
+				throw new NullPointerException("Cannot add null element");
+		}
+		for (Object element : elements) {
+			add((E) element);
+		}
+		return true;
+	}
+
+	/**
+     * Returns the element at the specified position in this list.
+     *
+     * @param index the index of the element to return
+     * @return the element at the specified position in this list
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+	@Override
+	@SuppressWarnings("unchecked")
+	public E get(int index) throws IndexOutOfBoundsException {
+		if (index < 0 || index >= size())
+			throw new IndexOutOfBoundsException("Index " + index + " out of bounds");
+
+		return (E) nodeAt(index).element;
+	}
+
+	/**
+     * Removes the element at the specified position in this list.
+     *
+     * @param index the index of the element to be removed
+     * @return the removed element
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+	@Override
+	public E remove(int index) throws IndexOutOfBoundsException {
+		E removed = get(index);
+		root = delete(root, index);
+		return removed;
+	}
+
+	/**
+     * Removes the first occurrence of the specified element from this list, if it is present.
+     *
+     * @param toRemove the element to be removed from this list
+     * @return the removed element, or null if it was not found
+     * @throws NullPointerException if the specified element is null
+     */
+	@Override
+	public E remove(E toRemove) throws NullPointerException {
+		if (toRemove == null)
+			throw new NullPointerException("Cannot remove null element");
+
+		int index = indexOf(toRemove);
+		return index < 0 ? null : remove(index);
+	}
+
+	/**
+     * Replaces the element at the specified position with the specified element.
+     *
+     * @param index the index of the element to replace
+     * @param toChange the element to be stored at the specified position
+     * @return the element previously at the specified position
+     * @throws NullPointerException if the specified element is null
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+	@Override
+	@SuppressWarnings("unchecked")
+	public E set(int index, E toChange) throws NullPointerException, IndexOutOfBoundsException {
+		if (index < 0 || index >= size())
+			throw new IndexOutOfBoundsException("Index " + index + " out of bounds");
+		if (toChange == null)
+			throw new NullPointerException("Cannot set null element");
+
+		Node node = nodeAt(index);
+		E oldValue = (E) node.element;
+		node.element = toChange;
+		return oldValue;
+	}
+
+	/**
+     * Checks if the list is empty.
+     *
+     * @return true if the list is empty, false otherwise
+     */
+	@Override
+	public boolean isEmpty() {
+		return root == null;
+	}
+
+	/**
+     * Returns true if this list contains the specified element.
+     *
+     * @param toFind the element to find
+     * @return true if the element is found, false otherwise
+     * @throws NullPointerException if the specified element is null
+     */
+	@Override
+	public boolean contains(E toFind) throws NullPointerException {
+		if (toFind == null)
+			throw new NullPointerException("Element cannot be null");
+
+		return indexOf(toFind) >= 0;
+	}
+
+	/**
+	 * Returns the index of the first occurrence of the element in order, or -1.
+	 */
+	private int indexOf(E toFind) {
+		int index = 0;
+		Iterator<E> it = iterator();
+		while (it.hasNext()) {
+			if (it.next().equals(toFind))
+				return index;
+			index++;
+		}
+		return -1;
+	}
+
+	/**
+     * Returns an array containing all elements in this list in the correct order;
+     * the runtime type of the returned array is that of the specified array.
+     *
+     * @param toHold the array into which the elements of this list are to be stored
+     * @return an array containing the elements of this list
+     * @throws NullPointerException if the specified array is null
+     */
+	@Override
+	@SuppressWarnings("unchecked")
+	public E[] toArray(E[] toHold) throws NullPointerException {
+		if (toHold == null)
+			throw new NullPointerException("Array to hold elements cannot be null");
+
+		int size = size();
+		if (toHold.length < size) {
+			toHold = (E[]) java.lang.reflect.Array.newInstance(toHold.getClass().getComponentType(), size);
+		}
+		copyTo(toHold);
+		if (toHold.length > size) {
+			toHold[size] = null;
+		}
+		return toHold;
+	}
+
+	/**
+     * Returns an array containing all elements in this list in the correct order.
+     *
+     * @return an array containing all elements in this list
+     */
+	@Override
+	public Object[] toArray() {
+		Object[] array = new Object[size()];
+		copyTo(array);
+		return array;
+	}
+
+	private void copyTo(Object[] array) {
+		int i = 0;
+		Iterator<E> it = iterator();
+		while (it.hasNext()) {
+			array[i++] = it.next();
+		}
+	}
+
+	/**
+     * Returns an iterator over the elements in this list in proper sequence.
+     *
+     * @return an iterator over the elements in this list
+     */
+	@Override
+	public Iterator<E> iterator() {
+		return new InOrderIterator();
+	}
+
+	/**
+	 * Visits the elements in order, keeping the nodes whose element and right subtree are still to
+	 * be visited on a stack, the next one on top. Every node is pushed and popped once.
+	 */
+	private final class InOrderIterator implements Iterator<E> {
+		private final Node[] path = new Node[height(root)];
+		private int depth = 0;
+
+		InOrderIterator() {
+			pushLeftPath(root);
+		}
+
+		private void pushLeftPath(Node node) {
+			for (; node != null; node = node.left) {
+				path[depth++] = node;
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return depth > 0;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public E next() {
+			if (!hasNext())
+				throw new NoSuchElementException();
+
+			Node node = path[--depth];
+			pushLeftPath(node.right);
+			return (E) node.element;
+		}
+	}
+
+	/**
+	 * Returns the node at the index, which is in range.
+	 */
+	private Node nodeAt(int index) {
+		Node node = root;
+		while (true) {
+			int leftSize = size(node.left);
+			if (index < leftSize) {
+				node = node.left;
+			} else if (index > leftSize) {
+				index -= leftSize + 1;
+				node = node.right;
+			} else {
+				return node;
+			}
+		}
+	}
+
+	/**
+	 * Inserts the element at the index of the subtree and returns the balanced subtree.
+	 */
+	private static Node insert(Node node, int index, Object element) {
+		if (node == null)
+			return new Node(element);
+
+		int leftSize = size(node.left);
+		if (index <= leftSize) {
+			node.left = insert(node.left, index, element);
+		} else {
+			node.right = insert(node.right, index - leftSize - 1, element);
+		}
+		return balance(node);
+	}
+
+	/**
+	 * Deletes the element at the index of the subtree and returns the balanced subtree.
+	 */
+	private static Node delete(Node node, int index) {
+		int leftSize = size(node.left);
+		if (index < leftSize) {
+			node.left = delete(node.left, index);
+		} else if (index > leftSize) {
+			node.right = delete(node.right, index - leftSize - 1);
+		} else {
+			if (node.left == null)
+				return node.right;
+			if (node.right == null)
+				return node.left;
+
+			// Replace the element with the next one in order, taken out of the right subtree
+			Node next = node.right;
+			while (next.left != null) {
+				next = next.left;
+			}
+			node.element = next.element;
+			node.right = deleteFirst(node.right);
+		}
+		return balance(node);
+	}
+
+	private static Node deleteFirst(Node node) {
+		if (node.left == null)
+			return node.right;
+
+		node.left = deleteFirst(node.left);
+		return balance(node);
+	}
+
+	/**
+	 * Updates the height and size of the node and rotates if its subtrees differ in height by two.
+	 */
+	private static Node balance(Node node) {
+		update(node);
+		int difference = height(node.left) - height(node.right);
+		if (difference > 1) {
+			if (height(node.left.left) < height(node.left.right))
+				node.left = rotateLeft(node.left);
+			return rotateRight(node);
+		}
+		if (difference < -1) {
+			if (height(node.right.right) < height(node.right.left))
+				node.right = rotateRight(node.right);
+			return rotateLeft(node);
+		}
+		return node;
+	}
+
+	private static Node rotateRight(Node node) {
+		Node top = node.left;
+		node.left = top.right;
+		top.right = node;
+		update(node);
+		update(top);
+		return top;
+	}
+
+	private static Node rotateLeft(Node node) {
+		Node top = node.right;
+		node.right = top.left;
+		top.left = node;
+		update(node);
+		update(top);
+		return top;
+	}
+
+	private static void update(Node node) {
+		node.height = 1 + Math.max(height(node.left), height(node.right));
+		node.size = 1 + size(node.left) + size(node.right);
+	}
+
+	private static int height(Node node) {
+		return node == null ? 0 : node.height;
+	}
+
+	private static int size(Node node) {
+		return node == null ? 0 : node.size;
+	}
+}
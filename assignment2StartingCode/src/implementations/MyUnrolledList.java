@@ -0,0 +1,506 @@
+package implementations;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import utilities.Iterator;
+import utilities.ListADT;
+
+/**
+ * An unrolled linked list implementation of the ListADT interface. Like {@link MyDLL} it is a
+ * doubly linked list, but every node holds a small array of up to 64 elements instead of a single
+ * element. Walking to an index therefore skips a whole node per step, iteration reads elements
+ * that lie next to each other in memory, and a list of n elements needs about n / 32 to n / 64
+ * node objects instead of n.
+ *
+ * <p>Inserting into a full node splits it into two half-full nodes, and appending to a full last
+ * node starts a new node, so that a list built by appending has full nodes. When a removal leaves
+ * a node less than half full, the node takes elements from the next node, or merges with it if
+ * both fit into one node. Every node except the last is thus at least half full.
+ *
+ * <p>The nodes are not serialized; the elements are written in order and appended again, into
+ * full nodes, when the list is read back.
+ *
+ * @param <E> the type of elements held in this list
+ */
+public class MyUnrolledList<E> implements ListADT<E> {
+
+	private static final long serialVersionUID = -3170386226873059542L;
+	// constant
+	private static final int DEFAULT_NODE_CAPACITY = 64;
+
+	/**
+	 * A node of the list, holding its elements at the start of its array.
+	 */
+	private static final class Node {
+		final Object[] elements;
+		int count;
+		Node prev, next;
+
+		Node(int capacity) {
+			elements = new Object[capacity];
+		}
+	}
+
+	/**
+	 * The node holding an element and the position of the element within the node.
+	 */
+	private static final class Position {
+		final Node node;
+		final int offset;
+
+		Position(Node node, int offset) {
+			this.node = node;
+			this.offset = offset;
+		}
+	}
+
+	// attributes
+	private final int nodeCapacity;
+	private transient Node head, tail;
+	private transient int size;
+
+	/**
+     * Constructs an empty list with nodes of 64 elements.
+     */
+	public MyUnrolledList() {
+		this(DEFAULT_NODE_CAPACITY);
+	}
+
+	/**
+     * Constructs an empty list with nodes of the given number of elements.
+     *
+     * @param nodeCapacity the number of elements a node holds
+     * @throws IllegalArgumentException if the node capacity is less than 4
+     */
+	public MyUnrolledList(int nodeCapacity) {
+		if (nodeCapacity < 4)
+			throw new IllegalArgumentException("Invalid node capacity: " + nodeCapacity);
+
+		this.nodeCapacity = nodeCapacity;
+	}
+
+	/**
+     * Returns the number of elements in this list.
+     *
+     * @return the number of elements in this list
+     */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+     * Removes all elements from this list.
+     */
+	@Override
+	public void clear() {
+		head = tail = null;
+		size = 0;
+	}
+
+	/**
+     * Inserts the specified element at the specified position in this list.
+     * Shifts the element currently at that position and any subsequent elements to the right.
+     *
+     * @param index the index at which the specified element is to be inserted
+     * @param toAdd the element to be inserted
+     * @return true if the element was added successfully
+     * @throws NullPointerException if the specified element is null
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+	@Override
+	public boolean add(int index, E toAdd) throws NullPointerException, IndexOutOfBoundsException {
+		if (index < 0 || index > size)
+			throw new IndexOutOfBoundsException("Index " + index + " out of bounds");
+		if (toAdd == null)
+			throw new NullPointerException("Cannot add null element");
+
+		if (index == size)
+			return add(toAdd);
+
+		Position position = positionOf(index);
+		Node node = position.node;
+		int offset = position.offset;
+		if (node.count == nodeCapacity) {
+			Node upper = split(node);
+			if (offset > node.count) {
+				offset -= node.count;
+				node = upper;
+			}
+		}
+		System.arraycopy(node.elements, offset, node.elements, offset + 1, node.count - offset);
+		node.elements[offset] = toAdd;
+		node.count++;
+		size++;
+		return true;
+	}
+
+	/**
+     * Adds the specified element to the end of this list.
+     *
+     * @param toAdd the element to be appended
+     * @return true if the element was added successfully
+     * @throws NullPointerException if the specified element is null
+     */
+	@Override
+	public boolean add(E toAdd) throws NullPointerException {
+		if (toAdd == null)
+			throw new NullPointerException("Cannot add null element");
+
+		if (tail == null || tail.count == nodeCapacity)
+			linkAfter(tail, new Node(nodeCapacity));
+
+		tail.elements[tail.count++] = toAdd;
+		size++;
+		return true;
+	}
+
+	/**
+     * Adds all elements from the specified list to the end of this list.
+     *
+     * @param toAdd the list containing elements to be added to this list
+     * @return true if the elements were added successfully
+     * @throws NullPointerException if the specified list is null or contains a null element;
+     *                              the list is not changed then
+     */
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean addAll(ListADT<? extends E> toAdd) throws NullPointerException {
+		if (toAdd == null)
+			throw new NullPointerException("The list to add cannot be null");
+
+		// Copied out first, so that the list can be added to itself
+		Object[] elements = toAdd.toArray();
+		for (Object element : elements) {
+			if (element == null)
+				throw new NullPointerException("Cannot add null element");
+		}
+		for (Object element : elements) {
+			add((E) element);
+		}
+		return true;
+	}
+
+	/**
+     * Returns the element at the specified position in this list.
+     *
+     * @param index the index of the element to return
+     * @return the element at the specified position in this list
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+	@Override
+	@SuppressWarnings("unchecked")
+	public E get(int index) throws IndexOutOfBoundsException {
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException("Index " + index + " out of bounds");
+
+		Position position = positionOf(index);
+		return (E) position.node.elements[position.offset];
+	}
+
+	/**
+     * Removes the element at the specified position in this list.
+     *
+     * @param index the index of the element to be removed
+     * @return the removed element
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+	@Override
+	public E remove(int index) throws IndexOutOfBoundsException {
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException("Index " + index + " out of bounds");
+
+		Position position = positionOf(index);
+		return removeAt(position.node, position.offset);
+	}
+
+	/**
+     * Removes the first occurrence of the specified element from this list, if it is present.
+     *
+     * @param toRemove the element to be removed from this list
+     * @return the removed element, or null if it was not found
+     * @throws NullPointerException if the specified element is null
+     */
+	@Override
+	public E remove(E toRemove) throws NullPointerException {
+		if (toRemove == null)
+			throw new NullPointerException("Cannot remove null element");
+
+		for (Node node = head; node != null; node = node.next) {
+			for (int i = 0; i < node.count; i++) {
+				if (node.elements[i].equals(toRemove))
+					return removeAt(node, i);
+			}
+		}
+		return null;
+	}
+
+	/**
+     * Replaces the element at the specified position with the specified element.
+     *
+     * @param index the index of the element to replace
+     * @param toChange the element to be stored at the specified position
+     * @return the element previously at the specified position
+     * @throws NullPointerException if the specified element is null
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+	@Override
+	@SuppressWarnings("unchecked")
+	public E set(int index, E toChange) throws NullPointerException, IndexOutOfBoundsException {
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException("Index " + index + " out of bounds");
+		if (toChange == null)
+			throw new NullPointerException("Cannot set null element");
+
+		Position position = positionOf(index);
+		E oldValue = (E) position.node.elements[position.offset];
+		position.node.elements[position.offset] = toChange;
+		return oldValue;
+	}
+
+	/**
+     * Checks if the list is empty.
+     *
+     * @return true if the list is empty, false otherwise
+     */
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+     * Returns true if this list contains the specified element.
+     *
+     * @param toFind the element to find
+     * @return true if the element is found, false otherwise
+     * @throws NullPointerException if the specified element is null
+     */
+	@Override
+	public boolean contains(E toFind) throws NullPointerException {
+		if (toFind == null)
+			throw new NullPointerException("Element cannot be null");
+
+		for (Node node = head; node != null; node = node.next) {
+			for (int i = 0; i < node.count; i++) {
+				if (node.elements[i].equals(toFind))
+					return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+     * Returns an array containing all elements in this list in the correct order;
+     * the runtime type of the returned array is that of the specified array.
+     *
+     * @param toHold the array into which the elements of this list are to be stored
+     * @return an array containing the elements of this list
+     * @throws NullPointerException if the specified array is null
+     */
+	@Override
+	@SuppressWarnings("unchecked")
+	public E[] toArray(E[] toHold) throws NullPointerException {
+		if (toHold == null)
+			throw new NullPointerException("Array to hold elements cannot be null");
+
+		if (toHold.length < size) {
+			toHold = (E[]) java.lang.reflect.Array.newInstance(toHold.getClass().getComponentType(), size);
+		}
+		copyTo(toHold);
+		if (toHold.length > size) {
+			toHold[size] = null;
+		}
+		return toHold;
+	}
+
+	/**
+     * Returns an array containing all elements in this list in the correct order.
+     *
+     * @return an array containing all elements in this list
+     */
+	@Override
+	public Object[] toArray() {
+		Object[] array = new Object[size];
+		copyTo(array);
+		return array;
+	}
+
+	private void copyTo(Object[] array) {
+		int i = 0;
+		for (Node node = head; node != null; node = node.next) {
+			System.arraycopy(node.elements, 0, array, i, node.count);
+			i += node.count;
+		}
+	}
+
+	/**
+     * Returns an iterator over the elements in this list in proper sequence.
+     *
+     * @return an iterator over the elements in this list
+     */
+	@Override
+	public Iterator<E> iterator() {
+		return new Iterator<E>() {
+			private Node node = head;
+			private int offset = 0;
+
+			@Override
+			public boolean hasNext() {
+				return node != null;
+			}
+
+			@Override
+			@SuppressWarnings("unchecked")
+			public E next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+
+				E element = (E) node.elements[offset++];
+				if (offset == node.count) {
+					node = node.next;
+					offset = 0;
+				}
+				return element;
+			}
+		};
+	}
+
+	/**
+	 * Returns the node holding the element at the index, which is in range, and the position of
+	 * the element within the node. Walks from the closer end of the list, a whole node per step.
+	 */
+	private Position positionOf(int index) {
+		Node node;
+		if (index < size / 2) {
+			node = head;
+			while (index >= node.count) {
+				index -= node.count;
+				node = node.next;
+			}
+		} else {
+			node = tail;
+			int start = size - node.count;
+			while (index < start) {
+				node = node.prev;
+				start -= node.count;
+			}
+			index -= start;
+		}
+		return new Position(node, index);
+	}
+
+	/**
+	 * Moves the upper half of a full node to a new node after it and returns the new node.
+	 */
+	private Node split(Node node) {
+		Node upper = new Node(nodeCapacity);
+		int keep = node.count / 2;
+		int moved = node.count - keep;
+		System.arraycopy(node.elements, keep, upper.elements, 0, moved);
+		Arrays.fill(node.elements, keep, node.count, null);
+		node.count = keep;
+		upper.count = moved;
+		linkAfter(node, upper);
+		return upper;
+	}
+
+	/**
+	 * Removes the element at the offset of the node, then refills the node from the next node or
+	 * merges the two if the node has become less than half full.
+	 */
+	@SuppressWarnings("unchecked")
+	private E removeAt(Node node, int offset) {
+		E removed = (E) node.elements[offset];
+		System.arraycopy(node.elements, offset + 1, node.elements, offset, node.count - offset - 1);
+		node.elements[--node.count] = null; // Clear reference to help GC
+		size--;
+
+		int half = nodeCapacity / 2;
+		Node next = node.next;
+		if (node.count == 0) {
+			unlink(node);
+		} else if (node.count < half && next != null) {
+			if (node.count + next.count <= nodeCapacity) {
+				// Merge the next node into this one
+				System.arraycopy(next.elements, 0, node.elements, node.count, next.count);
+				node.count += next.count;
+				unlink(next);
+			} else {
+				// Take enough from the next node to be half full; it keeps more than half
+				int take = half - node.count;
+				System.arraycopy(next.elements, 0, node.elements, node.count, take);
+				System.arraycopy(next.elements, take, next.elements, 0, next.count - take);
+				Arrays.fill(next.elements, next.count - take, next.count, null);
+				node.count += take;
+				next.count -= take;
+			}
+		}
+		return removed;
+	}
+
+	private void linkAfter(Node node, Node toLink) {
+		toLink.prev = node;
+		if (node == null) {
+			toLink.next = head;
+			head = toLink;
+		} else {
+			toLink.next = node.next;
+			node.next = toLink;
+		}
+		if (toLink.next == null) {
+			tail = toLink;
+		} else {
+			toLink.next.prev = toLink;
+		}
+	}
+
+	private void unlink(Node node) {
+		if (node.prev == null) {
+			head = node.next;
+		} else {
+			node.prev.next = node.next;
+		}
+		if (node.next == null) {
+			tail = node.prev;
+		} else {
+			node.next.prev = node.prev;
+		}
+	}
+
+	/**
+	 * Writes the number of elements and the elements in order.
+	 *
+	 * @serialData the size, then the elements from first to last
+	 */
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		out.defaultWriteObject();
+		out.writeInt(size);
+		for (Node node = head; node != null; node = node.next) {
+			for (int i = 0; i < node.count; i++) {
+				out.writeObject(node.elements[i]);
+			}
+		}
+	}
+
+	/**
+	 * Appends the elements again in the order they were written.
+	 */
+	@SuppressWarnings("unchecked")
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		int count = in.readInt();
+		if (nodeCapacity < 4)
+			throw new InvalidObjectException("Invalid node capacity: " + nodeCapacity);
+		if (count < 0)
+			throw new InvalidObjectException("Invalid size: " + count);
+
+		for (int i = 0; i < count; i++) {
+			add((E) in.readObject());
+		}
+	}
+}
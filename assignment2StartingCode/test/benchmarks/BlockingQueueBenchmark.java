@@ -0,0 +1,191 @@
+package benchmarks;
+
+import java.util.concurrent.CountDownLatch;
+
+import exceptions.EmptyQueueException;
+import implementations.MyArrayQueue;
+import implementations.MyBlockingQueue;
+
+/**
+ * Compares the throughput of {@code MyBlockingQueue}, which uses separate locks for producers and
+ * consumers, with a fixed-capacity {@code MyArrayQueue} guarded by one monitor, where producers
+ * and consumers wait and notify each other on the same lock.
+ *
+ * <p>Run with {@code java benchmarks.BlockingQueueBenchmark [elements] [capacity]}, 2,000,000
+ * elements and a capacity of 1,024 by default. For 1, 2, 4, 8, 16 and 32 threads on each side, the
+ * producers put the elements while the consumers take them, both waiting when the queue is full or
+ * empty, and the time until every element is taken is measured. Every measurement is repeated and
+ * the fastest round is reported.
+ */
+public class BlockingQueueBenchmark
+{
+	private static final int ROUNDS = 3;
+	private static final int[] THREADS = { 1, 2, 4, 8, 16, 32 };
+
+	public static void main( String[] args ) throws InterruptedException
+	{
+		int elements = args.length > 0 ? Integer.parseInt( args[0] ) : 2_000_000;
+		int capacity = args.length > 1 ? Integer.parseInt( args[1] ) : 1_024;
+		System.out.println( "Elements: " + elements + ", capacity: " + capacity + ", available processors: "
+				+ Runtime.getRuntime().availableProcessors() );
+		System.out.printf( "%-18s %24s %20s%n", "Threads per side", "One lock (ops/ms)", "MyBlockingQueue" );
+
+		for ( int threads : THREADS )
+		{
+			// Every thread moves the same number of elements
+			int perThread = elements / threads;
+			double locked = best( new Locked( capacity ), threads, perThread );
+			double twoLocks = best( new TwoLocks( capacity ), threads, perThread );
+			System.out.printf( "%-18d %24.0f %20.0f%n", threads, locked, twoLocks );
+		}
+	}
+
+	/**
+	 * The two waiting operations measured, on a fresh queue for every round.
+	 */
+	private interface BoundedQueue
+	{
+		void reset();
+
+		void put( Integer element ) throws InterruptedException;
+
+		Integer take() throws InterruptedException;
+	}
+
+	private static double best( BoundedQueue queue, int threads, int perThread ) throws InterruptedException
+	{
+		long fastest = Long.MAX_VALUE;
+		for ( int round = 0; round < ROUNDS; round++ )
+		{
+			queue.reset();
+			fastest = Math.min( fastest, run( queue, threads, perThread ) );
+		}
+		// Every element is put once and taken once
+		return 2.0 * threads * perThread / ( fastest / 1e6 );
+	}
+
+	private static long run( final BoundedQueue queue, int threads, final int perThread ) throws InterruptedException
+	{
+		final CountDownLatch start = new CountDownLatch( 1 );
+		Thread[] workers = new Thread[threads * 2];
+		for ( int t = 0; t < threads; t++ )
+		{
+			workers[t] = new Thread( () -> {
+				try
+				{
+					start.await();
+					for ( int i = 0; i < perThread; i++ )
+					{
+						queue.put( i );
+					}
+				}
+				catch ( InterruptedException e )
+				{
+					Thread.currentThread().interrupt();
+				}
+			} );
+			workers[threads + t] = new Thread( () -> {
+				try
+				{
+					start.await();
+					for ( int i = 0; i < perThread; i++ )
+					{
+						queue.take();
+					}
+				}
+				catch ( InterruptedException e )
+				{
+					Thread.currentThread().interrupt();
+				}
+			} );
+		}
+
+		for ( Thread worker : workers )
+		{
+			worker.start();
+		}
+		long begin = System.nanoTime();
+		start.countDown();
+		for ( Thread worker : workers )
+		{
+			worker.join();
+		}
+		return System.nanoTime() - begin;
+	}
+
+	private static final class Locked implements BoundedQueue
+	{
+		private final int capacity;
+		private MyArrayQueue<Integer> queue;
+
+		Locked( int capacity )
+		{
+			this.capacity = capacity;
+		}
+
+		@Override
+		public void reset()
+		{
+			queue = new MyArrayQueue<>( capacity, false );
+		}
+
+		@Override
+		public synchronized void put( Integer element ) throws InterruptedException
+		{
+			while ( queue.isFull() )
+			{
+				wait();
+			}
+			queue.enqueue( element );
+			// Producers and consumers wait on the same monitor, so all of them are woken
+			notifyAll();
+		}
+
+		@Override
+		public synchronized Integer take() throws InterruptedException
+		{
+			while ( queue.isEmpty() )
+			{
+				wait();
+			}
+			notifyAll();
+			try
+			{
+				return queue.dequeue();
+			}
+			catch ( EmptyQueueException e )
+			{
+				throw new IllegalStateException( e );
+			}
+		}
+	}
+
+	private static final class TwoLocks implements BoundedQueue
+	{
+		private final int capacity;
+		private MyBlockingQueue<Integer> queue;
+
+		TwoLocks( int capacity )
+		{
+			this.capacity = capacity;
+		}
+
+		@Override
+		public void reset()
+		{
+			queue = new MyBlockingQueue<>( capacity );
+		}
+
+		@Override
+		public void put( Integer element ) throws InterruptedException
+		{
+			queue.put( element );
+		}
+
+		@Override
+		public Integer take() throws InterruptedException
+		{
+			return queue.take();
+		}
+	}
+}
@@ -0,0 +1,178 @@
+package benchmarks;
+
+import java.util.concurrent.CountDownLatch;
+
+import exceptions.EmptyQueueException;
+import implementations.MyConcurrentQueue;
+import implementations.MyQueue;
+
+/**
+ * Compares the throughput of the lock-free {@code MyConcurrentQueue} with a {@code MyQueue}
+ * whose operations are guarded by one lock, the simplest way to share the existing queue between
+ * threads.
+ *
+ * <p>Run with {@code java benchmarks.ConcurrentQueueBenchmark [elements per producer]}, 1,000,000
+ * by default. For 1, 2, 4 and 8 producers, the producers enqueue their elements while as many
+ * consumers dequeue them, and the time until every element is dequeued is measured. Every
+ * measurement is repeated and the fastest round is reported.
+ */
+public class ConcurrentQueueBenchmark
+{
+	private static final int ROUNDS = 5;
+	private static final int[] PRODUCERS = { 1, 2, 4, 8 };
+
+	public static void main( String[] args ) throws InterruptedException
+	{
+		int perProducer = args.length > 0 ? Integer.parseInt( args[0] ) : 1_000_000;
+		System.out.println( "Elements per producer: " + perProducer + ", available processors: "
+				+ Runtime.getRuntime().availableProcessors() );
+		System.out.printf( "%-10s %24s %20s%n", "Producers", "Locked MyQueue (ops/ms)", "MyConcurrentQueue" );
+
+		for ( int producers : PRODUCERS )
+		{
+			double locked = best( new Locked(), producers, perProducer );
+			double lockFree = best( new LockFree(), producers, perProducer );
+			System.out.printf( "%-10d %24.0f %20.0f%n", producers, locked, lockFree );
+		}
+	}
+
+	/**
+	 * The two operations measured, on a fresh queue for every round.
+	 */
+	private interface SharedQueue
+	{
+		void reset();
+
+		void enqueue( Integer element );
+
+		// Returns null if the queue is empty
+		Integer poll();
+	}
+
+	private static double best( SharedQueue queue, int producers, int perProducer ) throws InterruptedException
+	{
+		long fastest = Long.MAX_VALUE;
+		for ( int round = 0; round < ROUNDS; round++ )
+		{
+			queue.reset();
+			fastest = Math.min( fastest, run( queue, producers, perProducer ) );
+		}
+		// Every element is enqueued once and dequeued once
+		return 2.0 * producers * perProducer / ( fastest / 1e6 );
+	}
+
+	private static long run( final SharedQueue queue, int producers, final int perProducer )
+			throws InterruptedException
+	{
+		final CountDownLatch start = new CountDownLatch( 1 );
+		Thread[] threads = new Thread[producers * 2];
+		for ( int p = 0; p < producers; p++ )
+		{
+			threads[p] = new Thread( () -> {
+				await( start );
+				for ( int i = 0; i < perProducer; i++ )
+				{
+					queue.enqueue( i );
+				}
+			} );
+		}
+		for ( int c = 0; c < producers; c++ )
+		{
+			// Every consumer takes as many elements as one producer adds
+			threads[producers + c] = new Thread( () -> {
+				await( start );
+				int taken = 0;
+				while ( taken < perProducer )
+				{
+					if ( queue.poll() != null )
+					{
+						taken++;
+					}
+				}
+			} );
+		}
+
+		for ( Thread thread : threads )
+		{
+			thread.start();
+		}
+		long begin = System.nanoTime();
+		start.countDown();
+		for ( Thread thread : threads )
+		{
+			thread.join();
+		}
+		return System.nanoTime() - begin;
+	}
+
+	private static void await( CountDownLatch latch )
+	{
+		try
+		{
+			latch.await();
+		}
+		catch ( InterruptedException e )
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static final class Locked implements SharedQueue
+	{
+		private MyQueue<Integer> queue;
+
+		@Override
+		public void reset()
+		{
+			queue = new MyQueue<>();
+		}
+
+		@Override
+		public void enqueue( Integer element )
+		{
+			synchronized ( this )
+			{
+				queue.enqueue( element );
+			}
+		}
+
+		@Override
+		public Integer poll()
+		{
+			synchronized ( this )
+			{
+				try
+				{
+					return queue.isEmpty() ? null : queue.dequeue();
+				}
+				catch ( EmptyQueueException e )
+				{
+					return null;
+				}
+			}
+		}
+	}
+
+	private static final class LockFree implements SharedQueue
+	{
+		private MyConcurrentQueue<Integer> queue;
+
+		@Override
+		public void reset()
+		{
+			queue = new MyConcurrentQueue<>();
+		}
+
+		@Override
+		public void enqueue( Integer element )
+		{
+			queue.enqueue( element );
+		}
+
+		@Override
+		public Integer poll()
+		{
+			return queue.poll();
+		}
+	}
+}
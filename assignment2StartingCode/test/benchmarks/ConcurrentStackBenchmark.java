@@ -0,0 +1,147 @@
+package benchmarks;
+
+import java.util.concurrent.CountDownLatch;
+
+import implementations.MyConcurrentStack;
+import implementations.MyStack;
+
+/**
+ * Compares the throughput of {@code MyConcurrentStack}, with and without elimination, against a
+ * {@code MyStack} guarded by one lock, when many threads push and pop at the same time.
+ *
+ * <p>Run with {@code java benchmarks.ConcurrentStackBenchmark [operations per thread]}, 1,000,000
+ * by default. For 1, 2, 4, 8 and 16 threads, every thread pushes and pops in turn, so all threads
+ * compete for the top of the stack, and the time until all are done is measured. Every
+ * measurement is repeated and the fastest round is reported. Elimination only pays off when many
+ * threads run on cores of their own.
+ */
+public class ConcurrentStackBenchmark
+{
+	private static final int ROUNDS = 5;
+	private static final int[] THREADS = { 1, 2, 4, 8, 16 };
+
+	public static void main( String[] args ) throws InterruptedException
+	{
+		int operations = args.length > 0 ? Integer.parseInt( args[0] ) : 1_000_000;
+		System.out.println( "Operations per thread: " + operations + ", available processors: "
+				+ Runtime.getRuntime().availableProcessors() );
+		System.out.printf( "%-8s %24s %20s %20s%n", "Threads", "Locked MyStack (ops/ms)", "MyConcurrentStack",
+				"With elimination" );
+
+		for ( int threads : THREADS )
+		{
+			double locked = best( new Locked(), threads, operations );
+			double lockFree = best( new LockFree( false ), threads, operations );
+			double elimination = best( new LockFree( true ), threads, operations );
+			System.out.printf( "%-8d %24.0f %20.0f %20.0f%n", threads, locked, lockFree, elimination );
+		}
+	}
+
+	/**
+	 * The two operations measured, on a fresh stack for every round.
+	 */
+	private interface SharedStack
+	{
+		void reset();
+
+		void push( Integer element );
+
+		Integer pop();
+	}
+
+	private static double best( SharedStack stack, int threads, int operations ) throws InterruptedException
+	{
+		long fastest = Long.MAX_VALUE;
+		for ( int round = 0; round < ROUNDS; round++ )
+		{
+			stack.reset();
+			fastest = Math.min( fastest, run( stack, threads, operations ) );
+		}
+		return (double) threads * operations / ( fastest / 1e6 );
+	}
+
+	private static long run( final SharedStack stack, int threads, final int operations ) throws InterruptedException
+	{
+		final CountDownLatch start = new CountDownLatch( 1 );
+		Thread[] workers = new Thread[threads];
+		for ( int t = 0; t < threads; t++ )
+		{
+			workers[t] = new Thread( () -> {
+				try
+				{
+					start.await();
+				}
+				catch ( InterruptedException e )
+				{
+					Thread.currentThread().interrupt();
+				}
+				Integer element = 42;
+				for ( int i = 0; i < operations; i += 2 )
+				{
+					stack.push( element );
+					stack.pop();
+				}
+			} );
+			workers[t].start();
+		}
+		long begin = System.nanoTime();
+		start.countDown();
+		for ( Thread worker : workers )
+		{
+			worker.join();
+		}
+		return System.nanoTime() - begin;
+	}
+
+	private static final class Locked implements SharedStack
+	{
+		private MyStack<Integer> stack;
+
+		@Override
+		public void reset()
+		{
+			stack = new MyStack<>();
+		}
+
+		@Override
+		public synchronized void push( Integer element )
+		{
+			stack.push( element );
+		}
+
+		@Override
+		public synchronized Integer pop()
+		{
+			return stack.isEmpty() ? null : stack.pop();
+		}
+	}
+
+	private static final class LockFree implements SharedStack
+	{
+		private final boolean elimination;
+		private MyConcurrentStack<Integer> stack;
+
+		LockFree( boolean elimination )
+		{
+			this.elimination = elimination;
+		}
+
+		@Override
+		public void reset()
+		{
+			stack = new MyConcurrentStack<>( elimination );
+		}
+
+		@Override
+		public void push( Integer element )
+		{
+			stack.push( element );
+		}
+
+		@Override
+		public Integer pop()
+		{
+			return stack.tryPop();
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package benchmarks;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+import implementations.MyArrayList;
+import implementations.MyDLL;
+import implementations.MyTreeList;
+import implementations.MyUnrolledList;
+import utilities.Iterator;
+import utilities.ListADT;
+
+/**
+ * Compares the ListADT implementations on the operations that depend on how the elements are
+ * stored: appending, iterating, and getting, inserting and removing at random indices.
+ *
+ * <p>Run with {@code java benchmarks.ListBenchmark [elements] [random operations]}, 100,000
+ * elements and 10,000 operations of each random kind by default. Every list gets the same indices.
+ * Every measurement is repeated and the fastest round is reported. The random operations take
+ * linear time in MyArrayList (add and remove) and MyDLL (all three), but logarithmic time in
+ * MyTreeList, so the gap grows with the number of elements.
+ */
+public class ListBenchmark
+{
+	private static final int ROUNDS = 5;
+
+	// Keeps the results of the timed loops alive so that they are not optimized away
+	private static long sink;
+
+	public static void main( String[] args )
+	{
+		int n = args.length > 0 ? Integer.parseInt( args[0] ) : 100_000;
+		int operations = args.length > 1 ? Integer.parseInt( args[1] ) : 10_000;
+		System.out.println( "Elements: " + n + ", random operations: " + operations );
+		System.out.printf( "%-16s %12s %10s %10s %10s %10s%n", "List", "Append (ms)", "Iterate", "get(i)", "add(i, e)",
+				"remove(i)" );
+
+		report( "MyArrayList", n, operations, MyArrayList::new );
+		report( "MyDLL", n, operations, MyDLL::new );
+		report( "MyUnrolledList", n, operations, MyUnrolledList::new );
+		report( "MyTreeList", n, operations, MyTreeList::new );
+
+		if ( sink == 42 )
+		{
+			System.out.println();
+		}
+	}
+
+	private static void report( String name, int n, int operations, Supplier<ListADT<Integer>> factory )
+	{
+		long append = Long.MAX_VALUE;
+		long iterate = Long.MAX_VALUE;
+		long get = Long.MAX_VALUE;
+		long add = Long.MAX_VALUE;
+		long remove = Long.MAX_VALUE;
+		for ( int round = 0; round < ROUNDS; round++ )
+		{
+			Random random = new Random( 304 );
+			ListADT<Integer> list = factory.get();
+
+			long start = System.nanoTime();
+			for ( int i = 0; i < n; i++ )
+			{
+				list.add( i );
+			}
+			append = Math.min( append, System.nanoTime() - start );
+
+			start = System.nanoTime();
+			long sum = 0;
+			Iterator<Integer> it = list.iterator();
+			while ( it.hasNext() )
+			{
+				sum += it.next();
+			}
+			iterate = Math.min( iterate, System.nanoTime() - start );
+
+			start = System.nanoTime();
+			for ( int i = 0; i < operations; i++ )
+			{
+				sum += list.get( random.nextInt( n ) );
+			}
+			get = Math.min( get, System.nanoTime() - start );
+
+			start = System.nanoTime();
+			for ( int i = 0; i < operations; i++ )
+			{
+				list.add( random.nextInt( list.size() + 1 ), i );
+			}
+			add = Math.min( add, System.nanoTime() - start );
+
+			start = System.nanoTime();
+			for ( int i = 0; i < operations; i++ )
+			{
+				sum += list.remove( random.nextInt( list.size() ) );
+			}
+			remove = Math.min( remove, System.nanoTime() - start );
+			sink += sum;
+		}
+
+		System.out.printf( "%-16s %12.1f %10.1f %10.1f %10.1f %10.1f%n", name, append / 1e6, iterate / 1e6, get / 1e6,
+				add / 1e6, remove / 1e6 );
+	}
+}
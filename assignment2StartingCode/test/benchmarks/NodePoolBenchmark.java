@@ -0,0 +1,130 @@
+package benchmarks;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import exceptions.EmptyQueueException;
+import implementations.MyQueue;
+
+/**
+ * Compares a MyQueue that allocates a node per enqueue with one that reuses the nodes of dequeued
+ * elements, for the time, the bytes allocated and the garbage collections of a queue whose
+ * elements come and go at a steady size.
+ *
+ * <p>Run with {@code java benchmarks.NodePoolBenchmark [operations] [queue size]}, 20,000,000
+ * enqueue and dequeue pairs on a queue of 1,000 elements by default. The elements are boxed
+ * before timing, so that the allocations counted are those of the queue. Every measurement is
+ * repeated and the fastest round is reported, the allocations and collections of that round.
+ * Allocated bytes are only reported on JVMs that count them per thread.
+ */
+public class NodePoolBenchmark
+{
+	private static final int ROUNDS = 5;
+
+	// Keeps the results of the timed loops alive so that they are not optimized away
+	private static long sink;
+
+	public static void main( String[] args ) throws EmptyQueueException
+	{
+		int operations = args.length > 0 ? Integer.parseInt( args[0] ) : 20_000_000;
+		int depth = args.length > 1 ? Integer.parseInt( args[1] ) : 1_000;
+		System.out.println( "Operations: " + operations + ", queue size: " + depth );
+		System.out.printf( "%-20s %10s %14s %8s %10s%n", "Queue", "Time (ms)", "Bytes per op", "GCs", "GC (ms)" );
+
+		Integer[] elements = new Integer[1024];
+		for ( int i = 0; i < elements.length; i++ )
+		{
+			elements[i] = 1_000 + i;
+		}
+
+		report( "MyQueue", operations, depth, 0, elements );
+		report( "MyQueue, pooled", operations, depth, depth, elements );
+
+		if ( sink == 42 )
+		{
+			System.out.println();
+		}
+	}
+
+	private static void report( String name, int operations, int depth, int poolCapacity, Integer[] elements )
+			throws EmptyQueueException
+	{
+		long best = Long.MAX_VALUE;
+		long bestBytes = -1;
+		long bestCollections = 0;
+		long bestCollectionTime = 0;
+		for ( int round = 0; round < ROUNDS; round++ )
+		{
+			MyQueue<Integer> queue = poolCapacity == 0 ? new MyQueue<Integer>() : new MyQueue<Integer>( poolCapacity );
+			for ( int i = 0; i < depth; i++ )
+			{
+				queue.enqueue( elements[i & 1023] );
+			}
+			System.gc();
+
+			long bytes = allocatedBytes();
+			long collections = collections();
+			long collectionTime = collectionTime();
+			long start = System.nanoTime();
+			long sum = 0;
+			for ( int i = 0; i < operations; i++ )
+			{
+				queue.enqueue( elements[i & 1023] );
+				sum += queue.dequeue();
+			}
+			long time = System.nanoTime() - start;
+			sink += sum;
+
+			if ( time < best )
+			{
+				best = time;
+				bestBytes = bytes < 0 ? -1 : allocatedBytes() - bytes;
+				bestCollections = collections() - collections;
+				bestCollectionTime = collectionTime() - collectionTime;
+			}
+		}
+
+		String bytesPerOperation = bestBytes < 0 ? "n/a" : String.format( "%.2f", (double) bestBytes / operations );
+		System.out.printf( "%-20s %10.1f %14s %8d %10d%n", name, best / 1e6, bytesPerOperation, bestCollections,
+				bestCollectionTime );
+	}
+
+	/**
+	 * Returns the bytes allocated by the current thread so far, or -1 if the JVM does not count
+	 * them.
+	 */
+	private static long allocatedBytes()
+	{
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if ( threads instanceof com.sun.management.ThreadMXBean )
+		{
+			com.sun.management.ThreadMXBean counting = (com.sun.management.ThreadMXBean) threads;
+			if ( counting.isThreadAllocatedMemorySupported() && counting.isThreadAllocatedMemoryEnabled() )
+			{
+				return counting.getThreadAllocatedBytes( Thread.currentThread().getId() );
+			}
+		}
+		return -1;
+	}
+
+	private static long collections()
+	{
+		long count = 0;
+		for ( GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans() )
+		{
+			count += Math.max( 0, collector.getCollectionCount() );
+		}
+		return count;
+	}
+
+	private static long collectionTime()
+	{
+		long time = 0;
+		for ( GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans() )
+		{
+			time += Math.max( 0, collector.getCollectionTime() );
+		}
+		return time;
+	}
+}
@@ -0,0 +1,239 @@
+package benchmarks;
+
+import java.util.Arrays;
+
+import implementations.MyArrayList;
+import implementations.MyDoubleArrayList;
+import implementations.MyIntArrayList;
+import implementations.MyLongArrayList;
+import utilities.DoubleIterator;
+import utilities.IntIterator;
+import utilities.Iterator;
+import utilities.LongIterator;
+
+/**
+ * Compares the primitive lists with {@code MyArrayList<Integer>} for the memory a filled list
+ * retains and the time to fill, iterate and sort it.
+ *
+ * <p>Run with {@code java benchmarks.PrimitiveListBenchmark [elements]}, 5,000,000 elements by
+ * default. Every measurement is repeated and the fastest round is reported, so the JIT has
+ * compiled the code by then. Memory is the growth of the used heap after garbage collection
+ * while the list is still referenced.
+ */
+public class PrimitiveListBenchmark
+{
+	private static final int ROUNDS = 5;
+
+	// Keeps the results of the timed loops alive so that they are not optimized away
+	private static long sink;
+
+	public static void main( String[] args )
+	{
+		int n = args.length > 0 ? Integer.parseInt( args[0] ) : 5_000_000;
+		System.out.println( "Elements: " + n );
+		System.out.printf( "%-26s %12s %10s %10s %10s%n", "List", "Memory (MB)", "Fill (ms)", "Iterate", "Sort" );
+
+		report( "MyArrayList<Integer>", n, new Boxed() );
+		report( "MyIntArrayList", n, new Ints() );
+		report( "MyLongArrayList", n, new Longs() );
+		report( "MyDoubleArrayList", n, new Doubles() );
+
+		if ( sink == 42 )
+		{
+			System.out.println();
+		}
+	}
+
+	/**
+	 * The operations measured for one kind of list.
+	 */
+	private interface Workload
+	{
+		Object fill( int n );
+
+		long iterate( Object list );
+
+		void sort( Object list );
+	}
+
+	private static void report( String name, int n, Workload workload )
+	{
+		long before = usedMemory();
+		Object retained = workload.fill( n );
+		long memory = usedMemory() - before;
+		sink += retained.hashCode();
+		retained = null;
+
+		long fill = Long.MAX_VALUE;
+		long iterate = Long.MAX_VALUE;
+		long sort = Long.MAX_VALUE;
+		for ( int round = 0; round < ROUNDS; round++ )
+		{
+			long start = System.nanoTime();
+			Object list = workload.fill( n );
+			fill = Math.min( fill, System.nanoTime() - start );
+
+			start = System.nanoTime();
+			sink += workload.iterate( list );
+			iterate = Math.min( iterate, System.nanoTime() - start );
+
+			start = System.nanoTime();
+			workload.sort( list );
+			sort = Math.min( sort, System.nanoTime() - start );
+		}
+
+		System.out.printf( "%-26s %12.1f %10.1f %10.1f %10.1f%n", name, memory / 1e6, fill / 1e6, iterate / 1e6,
+				sort / 1e6 );
+	}
+
+	private static long usedMemory()
+	{
+		Runtime runtime = Runtime.getRuntime();
+		for ( int i = 0; i < 3; i++ )
+		{
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	// A fixed pseudo-random sequence, so that every list is filled and sorted with the same values
+	private static int value( int i )
+	{
+		return i * 0x9E3779B1;
+	}
+
+	private static final class Boxed implements Workload
+	{
+		@Override
+		public Object fill( int n )
+		{
+			MyArrayList<Integer> list = new MyArrayList<>();
+			for ( int i = 0; i < n; i++ )
+			{
+				list.add( value( i ) );
+			}
+			return list;
+		}
+
+		@Override
+		@SuppressWarnings( "unchecked" )
+		public long iterate( Object list )
+		{
+			long sum = 0;
+			Iterator<Integer> it = ( (MyArrayList<Integer>) list ).iterator();
+			while ( it.hasNext() )
+			{
+				sum += it.next();
+			}
+			return sum;
+		}
+
+		@Override
+		@SuppressWarnings( "unchecked" )
+		public void sort( Object list )
+		{
+			// MyArrayList has no sort, its elements are sorted in an array and copied back
+			MyArrayList<Integer> boxed = (MyArrayList<Integer>) list;
+			Integer[] values = boxed.toArray( new Integer[boxed.size()] );
+			Arrays.sort( values );
+			boxed.clear();
+			boxed.addAllFromArray( values );
+		}
+	}
+
+	private static final class Ints implements Workload
+	{
+		@Override
+		public Object fill( int n )
+		{
+			MyIntArrayList list = new MyIntArrayList();
+			for ( int i = 0; i < n; i++ )
+			{
+				list.add( value( i ) );
+			}
+			return list;
+		}
+
+		@Override
+		public long iterate( Object list )
+		{
+			long sum = 0;
+			IntIterator it = ( (MyIntArrayList) list ).iterator();
+			while ( it.hasNext() )
+			{
+				sum += it.next();
+			}
+			return sum;
+		}
+
+		@Override
+		public void sort( Object list )
+		{
+			( (MyIntArrayList) list ).sort();
+		}
+	}
+
+	private static final class Longs implements Workload
+	{
+		@Override
+		public Object fill( int n )
+		{
+			MyLongArrayList list = new MyLongArrayList();
+			for ( int i = 0; i < n; i++ )
+			{
+				list.add( value( i ) );
+			}
+			return list;
+		}
+
+		@Override
+		public long iterate( Object list )
+		{
+			long sum = 0;
+			LongIterator it = ( (MyLongArrayList) list ).iterator();
+			while ( it.hasNext() )
+			{
+				sum += it.next();
+			}
+			return sum;
+		}
+
+		@Override
+		public void sort( Object list )
+		{
+			( (MyLongArrayList) list ).sort();
+		}
+	}
+
+	private static final class Doubles implements Workload
+	{
+		@Override
+		public Object fill( int n )
+		{
+			MyDoubleArrayList list = new MyDoubleArrayList();
+			for ( int i = 0; i < n; i++ )
+			{
+				list.add( value( i ) );
+			}
+			return list;
+		}
+
+		@Override
+		public long iterate( Object list )
+		{
+			double sum = 0;
+			DoubleIterator it = ( (MyDoubleArrayList) list ).iterator();
+			while ( it.hasNext() )
+			{
+				sum += it.next();
+			}
+			return (long) sum;
+		}
+
+		@Override
+		public void sort( Object list )
+		{
+			( (MyDoubleArrayList) list ).sort();
+		}
+	}
+}
@@ -0,0 +1,204 @@
+package benchmarks;
+
+import implementations.MyBlockingQueue;
+import implementations.MyRingBuffer;
+
+/**
+ * Measures how many elements per second one producer thread hands to one consumer thread through
+ * {@code MyRingBuffer}, element by element and in batches, against {@code MyBlockingQueue} used
+ * without waiting.
+ *
+ * <p>Run with {@code java benchmarks.RingBufferBenchmark [handoffs] [capacity] [batch]}, 50,000,000
+ * handoffs, a capacity of 1,024 and batches of 64 by default. The elements are boxed beforehand so
+ * that allocation is not measured. A thread that finds the queue full or empty yields and tries
+ * again. Every measurement is repeated and the fastest round is reported. The producer and the
+ * consumer should run on two cores of their own; with fewer cores the threads take turns and the
+ * result mostly shows the cost of switching between them.
+ */
+public class RingBufferBenchmark
+{
+	private static final int ROUNDS = 5;
+	private static final Integer[] VALUES = new Integer[4096];
+
+	// Keeps the results of the consumers alive so that they are not optimized away
+	private static volatile long sink;
+
+	public static void main( String[] args ) throws InterruptedException
+	{
+		int handoffs = args.length > 0 ? Integer.parseInt( args[0] ) : 50_000_000;
+		int capacity = args.length > 1 ? Integer.parseInt( args[1] ) : 1_024;
+		int batch = args.length > 2 ? Integer.parseInt( args[2] ) : 64;
+		for ( int i = 0; i < VALUES.length; i++ )
+		{
+			VALUES[i] = i;
+		}
+		System.out.println( "Handoffs: " + handoffs + ", capacity: " + capacity + ", batch: " + batch
+				+ ", available processors: " + Runtime.getRuntime().availableProcessors() );
+		System.out.printf( "%-28s %18s%n", "Queue", "Millions per second" );
+
+		report( "MyBlockingQueue offer/poll", handoffs, () -> new BlockingPair( capacity ) );
+		report( "MyRingBuffer offer/poll", handoffs, () -> new SinglePair( capacity ) );
+		report( "MyRingBuffer batches", handoffs, () -> new BatchPair( capacity, batch ) );
+	}
+
+	/**
+	 * The producer and consumer loops of one way to hand elements over.
+	 */
+	private interface Pair
+	{
+		void produce( int handoffs );
+
+		long consume( int handoffs );
+	}
+
+	private interface PairFactory
+	{
+		Pair create();
+	}
+
+	private static void report( String name, int handoffs, PairFactory factory ) throws InterruptedException
+	{
+		long fastest = Long.MAX_VALUE;
+		for ( int round = 0; round < ROUNDS; round++ )
+		{
+			final Pair pair = factory.create();
+			Thread producer = new Thread( () -> pair.produce( handoffs ) );
+			Thread consumer = new Thread( () -> sink += pair.consume( handoffs ) );
+			long start = System.nanoTime();
+			consumer.start();
+			producer.start();
+			producer.join();
+			consumer.join();
+			fastest = Math.min( fastest, System.nanoTime() - start );
+		}
+		System.out.printf( "%-28s %18.1f%n", name, handoffs / ( fastest / 1e3 ) );
+	}
+
+	private static final class BlockingPair implements Pair
+	{
+		private final MyBlockingQueue<Integer> queue;
+
+		BlockingPair( int capacity )
+		{
+			queue = new MyBlockingQueue<>( capacity );
+		}
+
+		@Override
+		public void produce( int handoffs )
+		{
+			for ( int i = 0; i < handoffs; i++ )
+			{
+				while ( !queue.offer( VALUES[i & ( VALUES.length - 1 )] ) )
+				{
+					Thread.yield();
+				}
+			}
+		}
+
+		@Override
+		public long consume( int handoffs )
+		{
+			long sum = 0;
+			for ( int i = 0; i < handoffs; i++ )
+			{
+				Integer value;
+				while ( ( value = queue.poll() ) == null )
+				{
+					Thread.yield();
+				}
+				sum += value;
+			}
+			return sum;
+		}
+	}
+
+	private static final class SinglePair implements Pair
+	{
+		private final MyRingBuffer<Integer> buffer;
+
+		SinglePair( int capacity )
+		{
+			buffer = new MyRingBuffer<>( capacity );
+		}
+
+		@Override
+		public void produce( int handoffs )
+		{
+			for ( int i = 0; i < handoffs; i++ )
+			{
+				while ( !buffer.offer( VALUES[i & ( VALUES.length - 1 )] ) )
+				{
+					Thread.yield();
+				}
+			}
+		}
+
+		@Override
+		public long consume( int handoffs )
+		{
+			long sum = 0;
+			for ( int i = 0; i < handoffs; i++ )
+			{
+				Integer value;
+				while ( ( value = buffer.poll() ) == null )
+				{
+					Thread.yield();
+				}
+				sum += value;
+			}
+			return sum;
+		}
+	}
+
+	private static final class BatchPair implements Pair
+	{
+		private final MyRingBuffer<Integer> buffer;
+		private final int batch;
+
+		BatchPair( int capacity, int batch )
+		{
+			this.buffer = new MyRingBuffer<>( capacity );
+			this.batch = batch;
+		}
+
+		@Override
+		public void produce( int handoffs )
+		{
+			// VALUES is used as the source of every batch, so nothing is allocated or copied first
+			int next = 0;
+			while ( next < handoffs )
+			{
+				int offset = next & ( VALUES.length - 1 );
+				int count = Math.min( Math.min( batch, handoffs - next ), VALUES.length - offset );
+				int added = buffer.offer( VALUES, offset, count );
+				if ( added == 0 )
+				{
+					Thread.yield();
+				}
+				next += added;
+			}
+		}
+
+		@Override
+		public long consume( int handoffs )
+		{
+			Integer[] target = new Integer[batch];
+			long sum = 0;
+			int taken = 0;
+			while ( taken < handoffs )
+			{
+				int count = buffer.drainTo( target, 0, target.length );
+				if ( count == 0 )
+				{
+					Thread.yield();
+				}
+				for ( int i = 0; i < count; i++ )
+				{
+					sum += target[i];
+				}
+				taken += count;
+			}
+			return sum;
+		}
+	}
+}
@@ -1299,4 +1299,210 @@ public class ArrayListTest
 
 		assertArrayEquals( "Failed to convert list to array.", original, returnArray );
 	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyArrayList#addAll(int, utilities.ListADT)}
+	 * to insert a list in the middle of the list.
+	 */
+	@Test
+	public void testAddAllIndex_Middle()
+	{
+		MyDLL<Integer> intList = new MyDLL<>();
+		intList.add( two );
+		intList.add( three );
+		intList.add( four );
+
+		myList.add( one );
+		myList.add( five );
+
+		boolean actualReturn = myList.addAll( 1, intList );
+		assertEquals( "Failed to return true.", true, actualReturn );
+		assertEquals( "Failed to update size.", 5, myList.size() );
+
+		for( int i = 0; i < myList.size(); i++ )
+		{
+			int expectedValue = i + 1;
+			int actualValue = myList.get( i );
+			assertEquals( "Failed to add to the correct position.", expectedValue, actualValue );
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyArrayList#addAll(int, utilities.ListADT)}
+	 * to insert the list into itself.
+	 */
+	@Test
+	public void testAddAllIndex_Self()
+	{
+		myList.add( one );
+		myList.add( two );
+
+		myList.addAll( 1, myList );
+
+		Object[] expectedArray = { one, one, two, two };
+		assertArrayEquals( "Failed to insert the list into itself.", expectedArray, myList.toArray() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyArrayList#addAll(int, utilities.ListADT)}
+	 * to throw an IndexOutOfBoundsException for an index past the end.
+	 */
+	@Test
+	public void testAddAllIndex_IndexOutOfBoundsException()
+	{
+		MyArrayList<Integer> intArray = new MyArrayList<>();
+		intArray.add( two );
+		myList.add( one );
+		try
+		{
+			myList.addAll( 2, intArray );
+			fail( "Failed to throw IndexOutOfBoundsException." );
+		}
+		catch( IndexOutOfBoundsException e )
+		{
+			assertTrue( true );
+		}
+		assertEquals( "Failed to maintain size.", 1, myList.size() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyArrayList#addAllFromArray(Object[])}
+	 * to append the items of an array beyond the default capacity.
+	 */
+	@Test
+	public void testAddAllFromArray()
+	{
+		Integer[] original = new Integer[100];
+		for( int i = 0; i < 100; i++ )
+		{
+			original[i] = i;
+		}
+		myList.add( -1 );
+
+		myList.addAllFromArray( original );
+		assertEquals( "Failed to update size.", 101, myList.size() );
+		for( int i = 0; i < 100; i++ )
+		{
+			assertEquals( "Failed to add to the correct position.", original[i], myList.get( i + 1 ) );
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyArrayList#addAllFromArray(Object[])}
+	 * to throw a NullPointerException and leave the list unchanged when the array holds a null.
+	 */
+	@Test
+	public void testAddAllFromArray_NullElement()
+	{
+		Integer[] withNull = { two, null, three };
+		myList.add( one );
+		try
+		{
+			myList.addAllFromArray( withNull );
+			fail( "Failed to throw NullPointerException." );
+		}
+		catch( NullPointerException e )
+		{
+			assertTrue( true );
+		}
+		assertEquals( "Failed to maintain size.", 1, myList.size() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyArrayList#removeRange(int, int)}
+	 * to remove a range of items and shift the rest to the left.
+	 */
+	@Test
+	public void testRemoveRange()
+	{
+		for( int i = 0; i < 10; i++ )
+		{
+			myList.add( i );
+		}
+
+		myList.removeRange( 2, 7 );
+
+		Object[] expectedArray = { 0, 1, 7, 8, 9 };
+		assertArrayEquals( "Failed to remove the range.", expectedArray, myList.toArray() );
+
+		myList.removeRange( 0, 0 );
+		assertEquals( "Failed to maintain size for an empty range.", 5, myList.size() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyArrayList#removeRange(int, int)}
+	 * to throw an IndexOutOfBoundsException for an invalid range.
+	 */
+	@Test
+	public void testRemoveRange_IndexOutOfBoundsException()
+	{
+		myList.add( one );
+		myList.add( two );
+		try
+		{
+			myList.removeRange( 1, 3 );
+			fail( "Failed to throw IndexOutOfBoundsException." );
+		}
+		catch( IndexOutOfBoundsException e )
+		{
+			assertTrue( true );
+		}
+		try
+		{
+			myList.removeRange( 2, 1 );
+			fail( "Failed to throw IndexOutOfBoundsException." );
+		}
+		catch( IndexOutOfBoundsException e )
+		{
+			assertTrue( true );
+		}
+		assertEquals( "Failed to maintain size.", 2, myList.size() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyArrayList#ensureCapacity(int)}
+	 * and {@link implementations.MyArrayList#trimToSize()}
+	 * to keep the items while the capacity changes.
+	 */
+	@Test
+	public void testEnsureCapacityTrimToSize()
+	{
+		myList.ensureCapacity( 1000 );
+		myList.add( one );
+		myList.add( two );
+		myList.trimToSize();
+		myList.add( three );
+
+		Object[] expectedArray = { one, two, three };
+		assertArrayEquals( "Failed to keep the items.", expectedArray, myList.toArray() );
+
+		myList.clear();
+		myList.trimToSize();
+		myList.add( four );
+		assertEquals( "Failed to add after trimming an empty list.", four, myList.get( 0 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyArrayList#clear()}
+	 * to allow reuse of the list after clearing it.
+	 */
+	@Test
+	public void testClear_Reuse()
+	{
+		myList.add( one );
+		myList.add( two );
+		myList.clear();
+		myList.add( three );
+
+		assertEquals( "Failed to update size.", 1, myList.size() );
+		assertEquals( "Failed to add after clear.", three, myList.get( 0 ) );
+	}
 }
@@ -0,0 +1,388 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.util.NoSuchElementException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import exceptions.EmptyQueueException;
+import implementations.MyArrayQueue;
+import implementations.MyQueue;
+import utilities.Iterator;
+
+/**
+ * Test for the circular-array-based implementation of the QueueADT defined in the CPRG 304
+ * Assignment 2, in growable and fixed-capacity mode.
+ */
+
+public class ArrayQueueTest
+{
+	// Attributes
+	private MyArrayQueue<Integer> queue;
+	private MyArrayQueue<Integer> fixedQueue;
+	private Integer one;
+	private Integer two;
+	private Integer three;
+	private Integer four;
+	private Integer five;
+
+	/**
+	 * Initializes a growable and a fixed-capacity MyArrayQueue instance and five Integer instances
+	 * before each test.
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		queue = new MyArrayQueue<Integer>();
+		fixedQueue = new MyArrayQueue<Integer>( 3, false );
+		one = 111;
+		two = 222;
+		three = 333;
+		four = 444;
+		five = 555;
+	}
+
+	/**
+	 * Cleans up instances used after each test.
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		queue = null;
+		fixedQueue = null;
+		one = null;
+		two = null;
+		three = null;
+		four = null;
+		five = null;
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyArrayQueue#MyArrayQueue(int, boolean)}
+	 * to reject a capacity less than one.
+	 */
+	@Test
+	public void testConstructor_InvalidCapacity()
+	{
+		try
+		{
+			new MyArrayQueue<Integer>( 0, false );
+			fail( "Failed to throw IllegalArgumentException." );
+		}
+		catch( IllegalArgumentException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyArrayQueue#enqueue(java.lang.Object)}
+	 * and {@link implementations.MyArrayQueue#dequeue()}
+	 * to keep first-in first-out order.
+	 * @throws EmptyQueueException
+	 */
+	@Test
+	public void testEnqueueDequeue_Order() throws EmptyQueueException
+	{
+		queue.enqueue( one );
+		queue.enqueue( two );
+		queue.enqueue( three );
+
+		assertEquals( "Failed to remove the item.", one, queue.dequeue() );
+		assertEquals( "Failed to remove the item.", two, queue.dequeue() );
+		assertEquals( "Failed to remove the item.", three, queue.dequeue() );
+		assertEquals( "Failed to update size.", 0, queue.size() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyArrayQueue#enqueue(java.lang.Object)}
+	 * to grow while the elements wrap around the end of the array.
+	 * @throws EmptyQueueException
+	 */
+	@Test
+	public void testEnqueue_GrowWrapped() throws EmptyQueueException
+	{
+		MyArrayQueue<Integer> small = new MyArrayQueue<Integer>( 4, true );
+		for( int i = 0; i < 3; i++ )
+		{
+			small.enqueue( i );
+		}
+		small.dequeue();
+		small.dequeue();
+
+		// The next elements wrap around and then force the array to grow
+		for( int i = 3; i < 20; i++ )
+		{
+			small.enqueue( i );
+		}
+
+		assertEquals( "Failed to update size.", 18, small.size() );
+		for( int i = 2; i < 20; i++ )
+		{
+			assertEquals( "Failed to keep the order.", Integer.valueOf( i ), small.dequeue() );
+		}
+		assertTrue( small.isEmpty() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyArrayQueue#enqueue(java.lang.Object)}
+	 * to throw a NullPointerException when a null is passed.
+	 */
+	@Test
+	public void testEnqueue_NullPointerException()
+	{
+		queue.enqueue( one );
+		try
+		{
+			queue.enqueue( null );
+			fail( "Failed to throw NullPointerException." );
+		}
+		catch( NullPointerException e )
+		{
+			assertTrue( true );
+		}
+		assertEquals( "Failed to maintain queue size.", 1, queue.size() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyArrayQueue#dequeue()}
+	 * to throw EmptyQueueException when removing from an empty queue.
+	 */
+	@Test
+	public void testDequeue_Empty()
+	{
+		try
+		{
+			queue.dequeue();
+			fail( "Failed to throw EmptyQueueException." );
+		}
+		catch( EmptyQueueException e )
+		{
+			assertTrue( true );
+		}
+		assertEquals( "Failed to maintain size.", 0, queue.size() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyArrayQueue#peek()}
+	 * to return the first item in the queue without removing it.
+	 * @throws EmptyQueueException
+	 */
+	@Test
+	public void testPeek_First() throws EmptyQueueException
+	{
+		queue.enqueue( one );
+		queue.enqueue( two );
+
+		assertEquals( "Failed to return the item.", one, queue.peek() );
+		assertEquals( "Failed to maintain size.", 2, queue.size() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyArrayQueue#peek()}
+	 * to throw EmptyQueueException when queue is empty.
+	 */
+	@Test
+	public void testPeek_Empty()
+	{
+		try
+		{
+			queue.peek();
+			fail( "Failed to throw EmptyQueueException." );
+		}
+		catch( EmptyQueueException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyArrayQueue#isFull()}
+	 * to never report a growable queue as full.
+	 */
+	@Test
+	public void testIsFull_Growable()
+	{
+		for( int i = 0; i < 500; i++ )
+		{
+			queue.enqueue( i );
+		}
+		assertFalse( queue.isFull() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyArrayQueue#isFull()}
+	 * to report a fixed-capacity queue as full when it holds its capacity, even though the
+	 * array is larger.
+	 * @throws EmptyQueueException
+	 */
+	@Test
+	public void testIsFull_Fixed() throws EmptyQueueException
+	{
+		fixedQueue.enqueue( one );
+		fixedQueue.enqueue( two );
+		assertFalse( fixedQueue.isFull() );
+
+		fixedQueue.enqueue( three );
+		assertTrue( fixedQueue.isFull() );
+		assertEquals( "Failed to return the capacity.", 3, fixedQueue.capacity() );
+
+		fixedQueue.dequeue();
+		assertFalse( fixedQueue.isFull() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyArrayQueue#enqueue(java.lang.Object)}
+	 * to throw IllegalStateException when a fixed-capacity queue is full.
+	 */
+	@Test
+	public void testEnqueue_FixedFull()
+	{
+		fixedQueue.enqueue( one );
+		fixedQueue.enqueue( two );
+		fixedQueue.enqueue( three );
+		try
+		{
+			fixedQueue.enqueue( four );
+			fail( "Failed to throw IllegalStateException." );
+		}
+		catch( IllegalStateException e )
+		{
+			assertTrue( true );
+		}
+		assertEquals( "Failed to maintain queue size.", 3, fixedQueue.size() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyArrayQueue#dequeueAll()}
+	 * to clear the queue and allow reuse.
+	 * @throws EmptyQueueException
+	 */
+	@Test
+	public void testDequeueAll() throws EmptyQueueException
+	{
+		fixedQueue.enqueue( one );
+		fixedQueue.enqueue( two );
+		fixedQueue.enqueue( three );
+		fixedQueue.dequeueAll();
+
+		assertEquals( "Failed to clear.", 0, fixedQueue.size() );
+		fixedQueue.enqueue( four );
+		assertEquals( "Failed to reuse the queue.", four, fixedQueue.peek() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyArrayQueue#search(java.lang.Object)}
+	 * and {@link implementations.MyArrayQueue#contains(java.lang.Object)}
+	 * to find items by their 1-based position from the front.
+	 * @throws EmptyQueueException
+	 */
+	@Test
+	public void testSearchContains() throws EmptyQueueException
+	{
+		fixedQueue.enqueue( one );
+		fixedQueue.enqueue( two );
+		fixedQueue.enqueue( three );
+		fixedQueue.dequeue();
+		fixedQueue.enqueue( four );
+
+		assertEquals( "Failed to find item", 1, fixedQueue.search( two ) );
+		assertEquals( "Failed to find item", 3, fixedQueue.search( four ) );
+		assertEquals( "Failed to return -1 for not found", -1, fixedQueue.search( one ) );
+		assertTrue( fixedQueue.contains( three ) );
+		assertFalse( fixedQueue.contains( five ) );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyArrayQueue#iterator()}
+	 * to iterate over the items from head to tail.
+	 * @throws EmptyQueueException
+	 */
+	@Test
+	public void testIterator() throws EmptyQueueException
+	{
+		fixedQueue.enqueue( one );
+		fixedQueue.enqueue( two );
+		fixedQueue.enqueue( three );
+		fixedQueue.dequeue();
+		fixedQueue.enqueue( four );
+
+		Iterator<Integer> it = fixedQueue.iterator();
+		assertEquals( "Failed to return item at position.", two, it.next() );
+		assertEquals( "Failed to return item at position.", three, it.next() );
+		assertEquals( "Failed to return item at position.", four, it.next() );
+		assertFalse( it.hasNext() );
+
+		try
+		{
+			it.next();
+			fail( "Failed to throw NoSuchElementException." );
+		}
+		catch( NoSuchElementException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyArrayQueue#toArray()}
+	 * and {@link implementations.MyArrayQueue#toArray(E[])}
+	 * to return the items in order when they wrap around the end of the array.
+	 * @throws EmptyQueueException
+	 */
+	@Test
+	public void testToArray_Wrapped() throws EmptyQueueException
+	{
+		MyArrayQueue<Integer> small = new MyArrayQueue<Integer>( 4, false );
+		small.enqueue( one );
+		small.enqueue( two );
+		small.enqueue( three );
+		small.dequeue();
+		small.dequeue();
+		small.enqueue( four );
+		small.enqueue( five );
+
+		Integer[] expectedArray = { three, four, five };
+		assertArrayEquals( "Failed to convert queue to array.", expectedArray, small.toArray() );
+		assertArrayEquals( "Failed to convert queue to array.", expectedArray, small.toArray( new Integer[1] ) );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyArrayQueue#equals(utilities.QueueADT)}
+	 * to compare equal to a MyQueue with the same items.
+	 */
+	@Test
+	public void testEquals_MyQueue()
+	{
+		MyQueue<Integer> queue2 = new MyQueue<Integer>();
+		queue.enqueue( one );
+		queue.enqueue( two );
+		queue2.enqueue( one );
+		queue2.enqueue( two );
+
+		assertTrue( queue.equals( queue2 ) );
+
+		queue2.enqueue( three );
+		assertFalse( queue.equals( queue2 ) );
+	}
+}
@@ -0,0 +1,521 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import exceptions.EmptyQueueException;
+import implementations.MyArrayQueue;
+import implementations.MyBlockingQueue;
+import implementations.MyQueue;
+import utilities.Iterator;
+
+/**
+ * Test for the bounded blocking implementation of the QueueADT defined in the CPRG 304
+ * Assignment 2, with its waiting, timed and non-blocking operations.
+ */
+
+public class BlockingQueueTest
+{
+	// Constants
+	private static final int THREADS = 4;
+	private static final int PER_THREAD = 50_000;
+
+	// Attributes
+	private MyBlockingQueue<Integer> queue;
+	private Integer one;
+	private Integer two;
+	private Integer three;
+	private Integer four;
+	private Integer five;
+
+	/**
+	 * Initializes a MyBlockingQueue instance with a capacity of 3 and five Integer instances
+	 * before each test.
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		queue = new MyBlockingQueue<Integer>( 3 );
+		one = 111;
+		two = 222;
+		three = 333;
+		four = 444;
+		five = 555;
+	}
+
+	/**
+	 * Cleans up instances used after each test.
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		queue = null;
+		one = null;
+		two = null;
+		three = null;
+		four = null;
+		five = null;
+	}
+
+	/**
+	 * Test method for {@link implementations.MyBlockingQueue#MyBlockingQueue(int)}
+	 * to reject a capacity less than one.
+	 */
+	@Test
+	public void testConstructor_InvalidCapacity()
+	{
+		try
+		{
+			new MyBlockingQueue<Integer>( 0 );
+			fail( "Failed to throw IllegalArgumentException." );
+		}
+		catch( IllegalArgumentException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.MyBlockingQueue#enqueue(java.lang.Object)}
+	 * and {@link implementations.MyBlockingQueue#isFull()}
+	 * to throw an IllegalStateException when the capacity is reached.
+	 */
+	@Test
+	public void testEnqueue_Full()
+	{
+		queue.enqueue( one );
+		queue.enqueue( two );
+		assertFalse( queue.isFull() );
+		queue.enqueue( three );
+		assertTrue( queue.isFull() );
+		assertEquals( "Failed to report the remaining capacity.", 0, queue.remainingCapacity() );
+
+		try
+		{
+			queue.enqueue( four );
+			fail( "Failed to throw IllegalStateException." );
+		}
+		catch( IllegalStateException e )
+		{
+			assertTrue( true );
+		}
+		assertEquals( "Failed to maintain size.", 3, queue.size() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyBlockingQueue#enqueue(java.lang.Object)}
+	 * to throw a NullPointerException for a null element.
+	 */
+	@Test
+	public void testEnqueue_NullPointerException()
+	{
+		try
+		{
+			queue.enqueue( null );
+			fail( "Failed to throw NullPointerException." );
+		}
+		catch( NullPointerException e )
+		{
+			assertTrue( true );
+		}
+		assertTrue( queue.isEmpty() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyBlockingQueue#dequeue()}
+	 * and {@link implementations.MyBlockingQueue#peek()}
+	 * to throw an EmptyQueueException on an empty queue.
+	 */
+	@Test
+	public void testDequeuePeek_EmptyQueueException()
+	{
+		try
+		{
+			queue.dequeue();
+			fail( "Failed to throw EmptyQueueException." );
+		}
+		catch( EmptyQueueException e )
+		{
+			assertTrue( true );
+		}
+		try
+		{
+			queue.peek();
+			fail( "Failed to throw EmptyQueueException." );
+		}
+		catch( EmptyQueueException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.MyBlockingQueue#dequeue()}
+	 * to keep the order while the positions wrap around the end of the array.
+	 * @throws EmptyQueueException
+	 */
+	@Test
+	public void testDequeue_WrapAround() throws EmptyQueueException
+	{
+		queue.enqueue( one );
+		queue.enqueue( two );
+		queue.enqueue( three );
+		assertEquals( "Failed to dequeue in order.", one, queue.dequeue() );
+		assertEquals( "Failed to dequeue in order.", two, queue.dequeue() );
+		queue.enqueue( four );
+		queue.enqueue( five );
+
+		assertEquals( "Failed to peek the front element.", three, queue.peek() );
+		assertArrayEquals( "Failed to keep the order.", new Object[] { three, four, five }, queue.toArray() );
+		assertEquals( "Failed to dequeue in order.", three, queue.dequeue() );
+		assertEquals( "Failed to dequeue in order.", four, queue.dequeue() );
+		assertEquals( "Failed to dequeue in order.", five, queue.dequeue() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyBlockingQueue#offer(java.lang.Object)}
+	 * and {@link implementations.MyBlockingQueue#poll()}
+	 * to return at once when the queue is full or empty.
+	 */
+	@Test
+	public void testOfferPoll_NonBlocking()
+	{
+		assertNull( "Failed to return null for an empty queue.", queue.poll() );
+		assertTrue( queue.offer( one ) );
+		assertTrue( queue.offer( two ) );
+		assertTrue( queue.offer( three ) );
+		assertFalse( "Failed to refuse an element when full.", queue.offer( four ) );
+		assertEquals( "Failed to poll the front element.", one, queue.poll() );
+		assertTrue( queue.offer( four ) );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyBlockingQueue#offer(java.lang.Object, long, java.util.concurrent.TimeUnit)}
+	 * and {@link implementations.MyBlockingQueue#poll(long, java.util.concurrent.TimeUnit)}
+	 * to give up after the timeout.
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void testOfferPoll_Timeout() throws InterruptedException
+	{
+		long start = System.nanoTime();
+		assertNull( "Failed to time out on an empty queue.", queue.poll( 20, TimeUnit.MILLISECONDS ) );
+		assertTrue( "Failed to wait for the timeout.", System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos( 20 ) );
+
+		queue.put( one );
+		queue.put( two );
+		queue.put( three );
+		start = System.nanoTime();
+		assertFalse( "Failed to time out on a full queue.", queue.offer( four, 20, TimeUnit.MILLISECONDS ) );
+		assertTrue( "Failed to wait for the timeout.", System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos( 20 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyBlockingQueue#put(java.lang.Object)}
+	 * to wait while the queue is full until another thread takes an element.
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void testPut_WaitsWhileFull() throws InterruptedException
+	{
+		queue.put( one );
+		queue.put( two );
+		queue.put( three );
+		final CountDownLatch added = new CountDownLatch( 1 );
+		Thread producer = new Thread( () -> {
+			try
+			{
+				queue.put( four );
+				added.countDown();
+			}
+			catch( InterruptedException e )
+			{
+				Thread.currentThread().interrupt();
+			}
+		} );
+		producer.start();
+
+		assertFalse( "Failed to wait while the queue is full.", added.await( 50, TimeUnit.MILLISECONDS ) );
+		assertEquals( "Failed to take the front element.", one, queue.take() );
+		assertTrue( "Failed to wake the waiting producer.", added.await( 5, TimeUnit.SECONDS ) );
+		producer.join();
+		assertArrayEquals( "Failed to add after waiting.", new Object[] { two, three, four }, queue.toArray() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyBlockingQueue#take()}
+	 * to wait while the queue is empty until another thread puts an element.
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void testTake_WaitsWhileEmpty() throws InterruptedException
+	{
+		final AtomicReference<Integer> taken = new AtomicReference<Integer>();
+		Thread consumer = new Thread( () -> {
+			try
+			{
+				taken.set( queue.take() );
+			}
+			catch( InterruptedException e )
+			{
+				Thread.currentThread().interrupt();
+			}
+		} );
+		consumer.start();
+
+		consumer.join( 50 );
+		assertTrue( "Failed to wait while the queue is empty.", consumer.isAlive() );
+		queue.put( one );
+		consumer.join( 5_000 );
+		assertEquals( "Failed to wake the waiting consumer.", one, taken.get() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyBlockingQueue#take()}
+	 * to throw an InterruptedException when the waiting thread is interrupted.
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void testTake_Interrupted() throws InterruptedException
+	{
+		final AtomicReference<Throwable> thrown = new AtomicReference<Throwable>();
+		Thread consumer = new Thread( () -> {
+			try
+			{
+				queue.take();
+			}
+			catch( Throwable e )
+			{
+				thrown.set( e );
+			}
+		} );
+		consumer.start();
+		consumer.interrupt();
+		consumer.join( 5_000 );
+
+		assertTrue( "Failed to throw InterruptedException.", thrown.get() instanceof InterruptedException );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyBlockingQueue#drainTo(utilities.QueueADT, int)}
+	 * to move at most the given number of elements in order.
+	 * @throws EmptyQueueException
+	 */
+	@Test
+	public void testDrainTo() throws EmptyQueueException
+	{
+		MyQueue<Integer> target = new MyQueue<Integer>();
+		queue.enqueue( one );
+		queue.enqueue( two );
+		queue.enqueue( three );
+
+		assertEquals( "Failed to return the number moved.", 2, queue.drainTo( target, 2 ) );
+		assertEquals( "Failed to keep the rest.", three, queue.peek() );
+		assertEquals( "Failed to return the number moved.", 1, queue.drainTo( target ) );
+		assertTrue( queue.isEmpty() );
+		assertEquals( "Failed to move in order.", one, target.dequeue() );
+		assertEquals( "Failed to move in order.", two, target.dequeue() );
+		assertEquals( "Failed to move in order.", three, target.dequeue() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyBlockingQueue#drainTo(utilities.QueueADT, int)}
+	 * to keep the elements a full target refuses and still wake a producer waiting for space.
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void testDrainTo_TargetRefuses() throws InterruptedException
+	{
+		MyArrayQueue<Integer> target = new MyArrayQueue<Integer>( 1, false );
+		queue.put( one );
+		queue.put( two );
+		queue.put( three );
+		final CountDownLatch added = new CountDownLatch( 1 );
+		Thread producer = new Thread( () -> {
+			try
+			{
+				queue.put( four );
+				added.countDown();
+			}
+			catch( InterruptedException e )
+			{
+				Thread.currentThread().interrupt();
+			}
+		} );
+		producer.start();
+		assertFalse( "Failed to wait while the queue is full.", added.await( 50, TimeUnit.MILLISECONDS ) );
+
+		try
+		{
+			queue.drainTo( target );
+			fail( "Failed to throw IllegalStateException." );
+		}
+		catch( IllegalStateException e )
+		{
+			assertTrue( true );
+		}
+		assertTrue( "Failed to wake the waiting producer.", added.await( 5, TimeUnit.SECONDS ) );
+		producer.join();
+		assertEquals( "Failed to move the accepted element.", 1, target.size() );
+		assertArrayEquals( "Failed to keep the refused elements.", new Object[] { two, three, four }, queue.toArray() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyBlockingQueue#drainTo(utilities.QueueADT)}
+	 * to reject draining a queue into itself.
+	 */
+	@Test
+	public void testDrainTo_Self()
+	{
+		queue.enqueue( one );
+		try
+		{
+			queue.drainTo( queue );
+			fail( "Failed to throw IllegalArgumentException." );
+		}
+		catch( IllegalArgumentException e )
+		{
+			assertTrue( true );
+		}
+		assertEquals( "Failed to maintain size.", 1, queue.size() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyBlockingQueue#dequeueAll()}
+	 * to remove all elements and wake a producer waiting for space.
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void testDequeueAll() throws InterruptedException
+	{
+		queue.put( one );
+		queue.put( two );
+		queue.put( three );
+		Thread producer = new Thread( () -> {
+			try
+			{
+				queue.put( four );
+			}
+			catch( InterruptedException e )
+			{
+				Thread.currentThread().interrupt();
+			}
+		} );
+		producer.start();
+		producer.join( 50 );
+
+		queue.dequeueAll();
+		producer.join( 5_000 );
+		assertFalse( "Failed to wake the waiting producer.", producer.isAlive() );
+		assertArrayEquals( "Failed to clear the queue.", new Object[] { four }, queue.toArray() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyBlockingQueue#iterator()},
+	 * {@link implementations.MyBlockingQueue#search(java.lang.Object)}
+	 * and {@link implementations.MyBlockingQueue#contains(java.lang.Object)}.
+	 * @throws EmptyQueueException
+	 */
+	@Test
+	public void testIteratorSearch() throws EmptyQueueException
+	{
+		queue.enqueue( one );
+		queue.enqueue( two );
+		Iterator<Integer> it = queue.iterator();
+		queue.dequeue();
+
+		assertEquals( "Failed to iterate over a copy.", one, it.next() );
+		assertEquals( "Failed to iterate over a copy.", two, it.next() );
+		assertFalse( it.hasNext() );
+		assertEquals( "Failed to find the position.", 1, queue.search( two ) );
+		assertFalse( queue.contains( one ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyBlockingQueue#toArray(Object[])}
+	 * to use a sufficient array and replace an insufficient one.
+	 */
+	@Test
+	public void testToArrayHolder()
+	{
+		queue.enqueue( one );
+		queue.enqueue( two );
+
+		Integer[] larger = new Integer[] { five, five, five };
+		assertSame( "Failed to use the given array.", larger, queue.toArray( larger ) );
+		assertNull( "Failed to mark the end of the elements.", larger[2] );
+		assertArrayEquals( "Failed to convert queue to array.", new Integer[] { one, two },
+				queue.toArray( new Integer[0] ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyBlockingQueue#put(java.lang.Object)}
+	 * and {@link implementations.MyBlockingQueue#take()}
+	 * with several producers and consumers passing many elements through the small queue.
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void testConcurrentPutTake() throws InterruptedException
+	{
+		final AtomicLong sum = new AtomicLong();
+		Thread[] threads = new Thread[THREADS * 2];
+		for( int t = 0; t < THREADS; t++ )
+		{
+			threads[t] = new Thread( () -> {
+				try
+				{
+					for( int i = 1; i <= PER_THREAD; i++ )
+					{
+						queue.put( i );
+					}
+				}
+				catch( InterruptedException e )
+				{
+					Thread.currentThread().interrupt();
+				}
+			} );
+			threads[THREADS + t] = new Thread( () -> {
+				try
+				{
+					long local = 0;
+					for( int i = 0; i < PER_THREAD; i++ )
+					{
+						local += queue.take();
+					}
+					sum.addAndGet( local );
+				}
+				catch( InterruptedException e )
+				{
+					Thread.currentThread().interrupt();
+				}
+			} );
+		}
+
+		for( Thread thread : threads )
+		{
+			thread.start();
+		}
+		for( Thread thread : threads )
+		{
+			thread.join( 60_000 );
+			assertFalse( "Failed to finish in time.", thread.isAlive() );
+		}
+
+		long expected = (long) THREADS * PER_THREAD * ( PER_THREAD + 1 ) / 2;
+		assertEquals( "Failed to pass every element exactly once.", expected, sum.get() );
+		assertTrue( queue.isEmpty() );
+	}
+}
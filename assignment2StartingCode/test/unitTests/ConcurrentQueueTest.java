@@ -0,0 +1,470 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import exceptions.EmptyQueueException;
+import implementations.MyConcurrentQueue;
+import implementations.MyQueue;
+import utilities.Iterator;
+
+/**
+ * Test for the lock-free implementation of the QueueADT defined in the CPRG 304 Assignment 2,
+ * single-threaded and under concurrent producers and consumers.
+ */
+
+public class ConcurrentQueueTest
+{
+	// Constants
+	private static final int PRODUCERS = 4;
+	private static final int CONSUMERS = 4;
+	private static final int PER_PRODUCER = 50_000;
+
+	// Attributes
+	private MyConcurrentQueue<Integer> queue;
+	private Integer one;
+	private Integer two;
+	private Integer three;
+	private Integer four;
+	private Integer five;
+
+	/**
+	 * Initializes a new MyConcurrentQueue instance and five Integer instances before each test.
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		queue = new MyConcurrentQueue<Integer>();
+		one = 111;
+		two = 222;
+		three = 333;
+		four = 444;
+		five = 555;
+	}
+
+	/**
+	 * Cleans up instances used after each test.
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		queue = null;
+		one = null;
+		two = null;
+		three = null;
+		four = null;
+		five = null;
+	}
+
+	/**
+	 * Test method for {@link implementations.MyConcurrentQueue#enqueue(java.lang.Object)}
+	 * and {@link implementations.MyConcurrentQueue#dequeue()}
+	 * to remove elements in the order they were added.
+	 * @throws EmptyQueueException
+	 */
+	@Test
+	public void testEnqueueDequeue_Order() throws EmptyQueueException
+	{
+		queue.enqueue( one );
+		queue.enqueue( two );
+		queue.enqueue( three );
+
+		assertEquals( "Failed to update size.", 3, queue.size() );
+		assertEquals( "Failed to dequeue in order.", one, queue.dequeue() );
+		assertEquals( "Failed to dequeue in order.", two, queue.dequeue() );
+		queue.enqueue( four );
+		assertEquals( "Failed to dequeue in order.", three, queue.dequeue() );
+		assertEquals( "Failed to dequeue in order.", four, queue.dequeue() );
+		assertTrue( queue.isEmpty() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyConcurrentQueue#enqueue(java.lang.Object)}
+	 * to throw a NullPointerException for a null element.
+	 */
+	@Test
+	public void testEnqueue_NullPointerException()
+	{
+		try
+		{
+			queue.enqueue( null );
+			fail( "Failed to throw NullPointerException." );
+		}
+		catch( NullPointerException e )
+		{
+			assertTrue( true );
+		}
+		assertTrue( queue.isEmpty() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyConcurrentQueue#dequeue()}
+	 * and {@link implementations.MyConcurrentQueue#peek()}
+	 * to throw an EmptyQueueException on an empty queue.
+	 */
+	@Test
+	public void testDequeuePeek_EmptyQueueException()
+	{
+		try
+		{
+			queue.dequeue();
+			fail( "Failed to throw EmptyQueueException." );
+		}
+		catch( EmptyQueueException e )
+		{
+			assertTrue( true );
+		}
+		try
+		{
+			queue.peek();
+			fail( "Failed to throw EmptyQueueException." );
+		}
+		catch( EmptyQueueException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.MyConcurrentQueue#poll()}
+	 * to return null on an empty queue instead of throwing.
+	 */
+	@Test
+	public void testPoll()
+	{
+		assertNull( "Failed to return null for an empty queue.", queue.poll() );
+		queue.enqueue( one );
+		assertEquals( "Failed to poll the front element.", one, queue.poll() );
+		assertNull( "Failed to return null for an empty queue.", queue.poll() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyConcurrentQueue#peek()}
+	 * to return the front element without removing it.
+	 * @throws EmptyQueueException
+	 */
+	@Test
+	public void testPeek() throws EmptyQueueException
+	{
+		queue.enqueue( one );
+		queue.enqueue( two );
+
+		assertEquals( "Failed to peek the front element.", one, queue.peek() );
+		assertEquals( "Failed to keep the size.", 2, queue.size() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyConcurrentQueue#search(java.lang.Object)}
+	 * and {@link implementations.MyConcurrentQueue#contains(java.lang.Object)}.
+	 */
+	@Test
+	public void testSearchContains()
+	{
+		queue.enqueue( one );
+		queue.enqueue( two );
+		queue.enqueue( three );
+
+		assertEquals( "Failed to find the position.", 2, queue.search( two ) );
+		assertEquals( "Failed to return -1 for not found.", -1, queue.search( five ) );
+		assertTrue( queue.contains( three ) );
+		assertFalse( queue.contains( four ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyConcurrentQueue#dequeueAll()}
+	 * to remove all elements and allow reuse.
+	 * @throws EmptyQueueException
+	 */
+	@Test
+	public void testDequeueAll() throws EmptyQueueException
+	{
+		queue.enqueue( one );
+		queue.enqueue( two );
+		queue.dequeueAll();
+
+		assertTrue( queue.isEmpty() );
+		assertEquals( "Failed to clear the queue.", 0, queue.size() );
+		queue.enqueue( three );
+		assertEquals( "Failed to enqueue after clearing.", three, queue.dequeue() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyConcurrentQueue#iterator()}
+	 * to iterate over the elements from front to back.
+	 */
+	@Test
+	public void testIterator()
+	{
+		queue.enqueue( one );
+		queue.enqueue( two );
+		Iterator<Integer> it = queue.iterator();
+
+		assertEquals( "Failed to return element at position.", one, it.next() );
+		assertEquals( "Failed to return element at position.", two, it.next() );
+		assertFalse( it.hasNext() );
+
+		try
+		{
+			it.next();
+			fail( "Failed to throw NoSuchElementException." );
+		}
+		catch( NoSuchElementException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.MyConcurrentQueue#iterator()}
+	 * to keep iterating after elements were dequeued and enqueued meanwhile.
+	 * @throws EmptyQueueException
+	 */
+	@Test
+	public void testIterator_WeaklyConsistent() throws EmptyQueueException
+	{
+		queue.enqueue( one );
+		queue.enqueue( two );
+		queue.enqueue( three );
+		Iterator<Integer> it = queue.iterator();
+
+		queue.dequeue();
+		queue.dequeue();
+		queue.enqueue( four );
+
+		// The first element was read when the iterator was created, the second was dequeued
+		assertEquals( "Failed to return the element read before.", one, it.next() );
+		assertEquals( "Failed to skip the dequeued element.", three, it.next() );
+		assertEquals( "Failed to see the element enqueued meanwhile.", four, it.next() );
+		assertFalse( it.hasNext() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyConcurrentQueue#toArray(Object[])}
+	 * and {@link implementations.MyConcurrentQueue#toArray()}.
+	 */
+	@Test
+	public void testToArray()
+	{
+		queue.enqueue( one );
+		queue.enqueue( two );
+
+		assertArrayEquals( "Failed to convert queue to array.", new Object[] { one, two }, queue.toArray() );
+		assertArrayEquals( "Failed to convert queue to array.", new Integer[] { one, two },
+				queue.toArray( new Integer[0] ) );
+
+		Integer[] larger = new Integer[] { five, five, five };
+		assertSame( "Failed to use the given array.", larger, queue.toArray( larger ) );
+		assertNull( "Failed to mark the end of the elements.", larger[2] );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyConcurrentQueue#equals(utilities.QueueADT)}
+	 * to compare with a MyQueue holding the same elements.
+	 */
+	@Test
+	public void testEquals()
+	{
+		MyQueue<Integer> other = new MyQueue<Integer>();
+		queue.enqueue( one );
+		queue.enqueue( two );
+		other.enqueue( one );
+		other.enqueue( two );
+
+		assertTrue( queue.equals( other ) );
+		other.enqueue( three );
+		assertFalse( queue.equals( other ) );
+	}
+
+	/**
+	 * Test method for serializing a MyConcurrentQueue, which must come back with the same elements
+	 * in the same order and accept new ones.
+	 * @throws Exception
+	 */
+	@Test
+	public void testSerialization() throws Exception
+	{
+		queue.enqueue( one );
+		queue.enqueue( two );
+		queue.dequeue();
+		queue.enqueue( three );
+
+		MyConcurrentQueue<Integer> copy = roundTrip( queue );
+
+		assertEquals( "Failed to keep the size.", 2, copy.size() );
+		assertTrue( "Failed to keep the elements in order.", copy.equals( queue ) );
+		copy.enqueue( four );
+		assertEquals( "Failed to dequeue the first element.", two, copy.dequeue() );
+		assertEquals( "Failed to dequeue the second element.", three, copy.dequeue() );
+		assertEquals( "Failed to dequeue the new element.", four, copy.dequeue() );
+		assertTrue( "Failed to empty the copy.", copy.isEmpty() );
+
+		MyConcurrentQueue<Integer> empty = roundTrip( new MyConcurrentQueue<Integer>() );
+		assertTrue( "Failed to keep an empty queue empty.", empty.isEmpty() );
+		empty.enqueue( five );
+		assertEquals( "Failed to enqueue into the copy.", 1, empty.size() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyConcurrentQueue#enqueue(java.lang.Object)}
+	 * and {@link implementations.MyConcurrentQueue#poll()}
+	 * with several producers and consumers at the same time: every element must be dequeued
+	 * exactly once, and the elements of one producer in the order they were enqueued.
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void testConcurrentProducersConsumers() throws InterruptedException
+	{
+		final int total = PRODUCERS * PER_PRODUCER;
+		final AtomicInteger consumed = new AtomicInteger();
+		final AtomicReference<String> failure = new AtomicReference<String>();
+		final boolean[] seen = new boolean[total];
+		final CountDownLatch start = new CountDownLatch( 1 );
+		Thread[] threads = new Thread[PRODUCERS + CONSUMERS];
+
+		for( int p = 0; p < PRODUCERS; p++ )
+		{
+			final int first = p * PER_PRODUCER;
+			threads[p] = new Thread( () -> {
+				await( start );
+				for( int i = 0; i < PER_PRODUCER; i++ )
+				{
+					queue.enqueue( first + i );
+				}
+			} );
+		}
+		for( int c = 0; c < CONSUMERS; c++ )
+		{
+			threads[PRODUCERS + c] = new Thread( () -> {
+				// The last value this consumer saw from each producer
+				int[] last = new int[PRODUCERS];
+				Arrays.fill( last, -1 );
+				await( start );
+				while( consumed.get() < total )
+				{
+					Integer value = queue.poll();
+					if( value == null )
+					{
+						continue;
+					}
+					int producer = value / PER_PRODUCER;
+					if( value <= last[producer] )
+					{
+						failure.compareAndSet( null, "Failed to keep the order of producer " + producer + "." );
+					}
+					last[producer] = value;
+					synchronized( seen )
+					{
+						if( seen[value] )
+						{
+							failure.compareAndSet( null, "Failed to dequeue " + value + " only once." );
+						}
+						seen[value] = true;
+					}
+					consumed.incrementAndGet();
+				}
+			} );
+		}
+
+		for( Thread thread : threads )
+		{
+			thread.start();
+		}
+		start.countDown();
+		for( Thread thread : threads )
+		{
+			thread.join( 60_000 );
+			assertFalse( "Failed to finish in time.", thread.isAlive() );
+		}
+
+		assertNull( failure.get(), failure.get() );
+		assertEquals( "Failed to dequeue every element.", total, consumed.get() );
+		assertTrue( queue.isEmpty() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyConcurrentQueue#iterator()}
+	 * and {@link implementations.MyConcurrentQueue#size()}
+	 * to run without errors while other threads change the queue.
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void testIterator_ConcurrentModification() throws InterruptedException
+	{
+		final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+		Thread changer = new Thread( () -> {
+			for( int i = 0; i < PER_PRODUCER; i++ )
+			{
+				queue.enqueue( i );
+				if( i % 3 == 0 )
+				{
+					queue.poll();
+				}
+			}
+		} );
+		changer.start();
+
+		try
+		{
+			while( changer.isAlive() )
+			{
+				Iterator<Integer> it = queue.iterator();
+				while( it.hasNext() )
+				{
+					assertNotNull( "Failed to skip dequeued elements.", it.next() );
+				}
+				assertTrue( "Failed to count the elements.", queue.size() >= 0 );
+			}
+		}
+		catch( Throwable e )
+		{
+			failure.set( e );
+		}
+		changer.join();
+
+		assertNull( "Failed to iterate during changes: " + failure.get(), failure.get() );
+	}
+
+	private static void await( CountDownLatch latch )
+	{
+		try
+		{
+			latch.await();
+		}
+		catch( InterruptedException e )
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@SuppressWarnings( "unchecked" )
+	private static MyConcurrentQueue<Integer> roundTrip( MyConcurrentQueue<Integer> original )
+			throws IOException, ClassNotFoundException
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try( ObjectOutputStream out = new ObjectOutputStream( bytes ) )
+		{
+			out.writeObject( original );
+		}
+		try( ObjectInputStream in = new ObjectInputStream( new ByteArrayInputStream( bytes.toByteArray() ) ) )
+		{
+			return (MyConcurrentQueue<Integer>) in.readObject();
+		}
+	}
+}
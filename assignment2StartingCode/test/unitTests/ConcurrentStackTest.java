@@ -0,0 +1,450 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.EmptyStackException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import implementations.MyConcurrentStack;
+import implementations.MyStack;
+import utilities.Iterator;
+
+/**
+ * Test for the lock-free implementation of the StackADT defined in the CPRG 304 Assignment 2,
+ * bounded and unbounded, single-threaded and under concurrent pushes and pops.
+ */
+
+public class ConcurrentStackTest
+{
+	// Constants
+	private static final int THREADS = 8;
+	private static final int PER_THREAD = 20_000;
+
+	// Attributes
+	private MyConcurrentStack<Integer> stack;
+	private Integer one;
+	private Integer two;
+	private Integer three;
+	private Integer four;
+	private Integer five;
+
+	/**
+	 * Initializes a new unbounded MyConcurrentStack instance and five Integer instances before
+	 * each test.
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		stack = new MyConcurrentStack<Integer>();
+		one = 111;
+		two = 222;
+		three = 333;
+		four = 444;
+		five = 555;
+	}
+
+	/**
+	 * Cleans up instances used after each test.
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		stack = null;
+		one = null;
+		two = null;
+		three = null;
+		four = null;
+		five = null;
+	}
+
+	/**
+	 * Test method for {@link implementations.MyConcurrentStack#push(java.lang.Object)}
+	 * and {@link implementations.MyConcurrentStack#pop()}
+	 * to remove elements in the reverse order they were added.
+	 */
+	@Test
+	public void testPushPop_Order()
+	{
+		stack.push( one );
+		stack.push( two );
+		stack.push( three );
+
+		assertEquals( "Failed to update size.", 3, stack.size() );
+		assertEquals( "Failed to peek the top element.", three, stack.peek() );
+		assertEquals( "Failed to pop in order.", three, stack.pop() );
+		assertEquals( "Failed to pop in order.", two, stack.pop() );
+		stack.push( four );
+		assertEquals( "Failed to pop in order.", four, stack.pop() );
+		assertEquals( "Failed to pop in order.", one, stack.pop() );
+		assertTrue( stack.isEmpty() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyConcurrentStack#push(java.lang.Object)}
+	 * to throw a NullPointerException for a null element.
+	 */
+	@Test
+	public void testPush_NullPointerException()
+	{
+		try
+		{
+			stack.push( null );
+			fail( "Failed to throw NullPointerException." );
+		}
+		catch( NullPointerException e )
+		{
+			assertTrue( true );
+		}
+		assertTrue( stack.isEmpty() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyConcurrentStack#pop()}
+	 * and {@link implementations.MyConcurrentStack#peek()}
+	 * to throw an EmptyStackException on an empty stack.
+	 */
+	@Test
+	public void testPopPeek_EmptyStackException()
+	{
+		assertNull( "Failed to return null for an empty stack.", stack.tryPop() );
+		try
+		{
+			stack.pop();
+			fail( "Failed to throw EmptyStackException." );
+		}
+		catch( EmptyStackException e )
+		{
+			assertTrue( true );
+		}
+		try
+		{
+			stack.peek();
+			fail( "Failed to throw EmptyStackException." );
+		}
+		catch( EmptyStackException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.MyConcurrentStack#stackOverflow()}
+	 * and {@link implementations.MyConcurrentStack#tryPush(java.lang.Object)}
+	 * to report and refuse pushes beyond the capacity of a bounded stack.
+	 */
+	@Test
+	public void testStackOverflow_Bounded()
+	{
+		MyConcurrentStack<Integer> bounded = new MyConcurrentStack<Integer>( 2 );
+		assertTrue( bounded.tryPush( one ) );
+		assertFalse( bounded.stackOverflow() );
+		bounded.push( two );
+		assertTrue( "Failed to report the capacity is reached.", bounded.stackOverflow() );
+		assertFalse( "Failed to refuse a push when full.", bounded.tryPush( three ) );
+
+		try
+		{
+			bounded.push( three );
+			fail( "Failed to throw IllegalStateException." );
+		}
+		catch( IllegalStateException e )
+		{
+			assertTrue( true );
+		}
+		assertEquals( "Failed to pop the top element.", two, bounded.pop() );
+		assertFalse( bounded.stackOverflow() );
+		assertFalse( "Failed to report an unbounded stack as not full.", stack.stackOverflow() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyConcurrentStack#MyConcurrentStack(int)}
+	 * to reject a capacity less than one.
+	 */
+	@Test
+	public void testConstructor_InvalidCapacity()
+	{
+		try
+		{
+			new MyConcurrentStack<Integer>( 0 );
+			fail( "Failed to throw IllegalArgumentException." );
+		}
+		catch( IllegalArgumentException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.MyConcurrentStack#search(java.lang.Object)},
+	 * {@link implementations.MyConcurrentStack#contains(java.lang.Object)}
+	 * and {@link implementations.MyConcurrentStack#clear()}.
+	 */
+	@Test
+	public void testSearchContainsClear()
+	{
+		stack.push( one );
+		stack.push( two );
+		stack.push( three );
+
+		assertEquals( "Failed to find the position from the top.", 3, stack.search( one ) );
+		assertEquals( "Failed to return -1 for not found.", -1, stack.search( five ) );
+		assertTrue( stack.contains( two ) );
+		assertFalse( stack.contains( four ) );
+
+		stack.clear();
+		assertTrue( stack.isEmpty() );
+		assertEquals( "Failed to clear the stack.", 0, stack.size() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyConcurrentStack#iterator()}
+	 * to iterate in LIFO order over the stack as it was when the iterator was created.
+	 */
+	@Test
+	public void testIterator_Snapshot()
+	{
+		stack.push( one );
+		stack.push( two );
+		Iterator<Integer> it = stack.iterator();
+		stack.pop();
+		stack.push( three );
+
+		assertEquals( "Failed to return element at position.", two, it.next() );
+		assertEquals( "Failed to return element at position.", one, it.next() );
+		assertFalse( it.hasNext() );
+		try
+		{
+			it.next();
+			fail( "Failed to throw NoSuchElementException." );
+		}
+		catch( NoSuchElementException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.MyConcurrentStack#toArray(Object[])},
+	 * {@link implementations.MyConcurrentStack#toArray()}
+	 * and {@link implementations.MyConcurrentStack#equals(utilities.StackADT)}.
+	 */
+	@Test
+	public void testToArrayEquals()
+	{
+		MyStack<Integer> other = new MyStack<Integer>();
+		stack.push( one );
+		stack.push( two );
+		other.push( one );
+		other.push( two );
+
+		assertArrayEquals( "Failed to convert stack to array.", new Object[] { two, one }, stack.toArray() );
+		Integer[] larger = new Integer[] { five, five, five };
+		assertSame( "Failed to use the given array.", larger, stack.toArray( larger ) );
+		assertArrayEquals( "Failed to convert stack to array.", new Integer[] { two, one, null }, larger );
+		assertTrue( stack.equals( other ) );
+		other.push( three );
+		assertFalse( stack.equals( other ) );
+	}
+
+	/**
+	 * Test method for serializing a MyConcurrentStack, which must come back with the same elements
+	 * in the same order, its size and its capacity.
+	 * @throws Exception
+	 */
+	@Test
+	public void testSerialization() throws Exception
+	{
+		MyConcurrentStack<Integer> eliminating = new MyConcurrentStack<Integer>( true );
+		eliminating.push( one );
+		eliminating.push( two );
+
+		MyConcurrentStack<Integer> copy = roundTrip( eliminating );
+
+		assertEquals( "Failed to keep the size.", 2, copy.size() );
+		assertTrue( "Failed to keep the elements in order.", copy.equals( eliminating ) );
+		copy.push( three );
+		assertEquals( "Failed to count the new element.", 3, copy.size() );
+		assertEquals( "Failed to pop the new element.", three, copy.pop() );
+		assertEquals( "Failed to pop the top element.", two, copy.pop() );
+		assertEquals( "Failed to pop the bottom element.", one, copy.pop() );
+		assertTrue( "Failed to empty the copy.", copy.isEmpty() );
+
+		MyConcurrentStack<Integer> bounded = new MyConcurrentStack<Integer>( 2 );
+		bounded.push( four );
+		bounded.push( five );
+		MyConcurrentStack<Integer> boundedCopy = roundTrip( bounded );
+		assertEquals( "Failed to keep the capacity.", 2, boundedCopy.capacity() );
+		assertTrue( "Failed to keep the stack full.", boundedCopy.stackOverflow() );
+		assertFalse( "Failed to refuse a push beyond the capacity.", boundedCopy.tryPush( one ) );
+	}
+
+	/**
+	 * Test method for serializing a MyConcurrentStack with elimination, whose copy must still keep
+	 * every element exactly once under many threads.
+	 * @throws Exception
+	 */
+	@Test
+	public void testSerialization_ConcurrentPushPop() throws Exception
+	{
+		assertEveryElementOnce( roundTrip( new MyConcurrentStack<Integer>( true ) ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyConcurrentStack#tryPush(java.lang.Object)}
+	 * and {@link implementations.MyConcurrentStack#tryPop()}
+	 * with many threads on a stack with elimination: every element pushed must be popped exactly
+	 * once or still be on the stack, and the size must match.
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void testConcurrentPushPop_Elimination() throws InterruptedException
+	{
+		assertEveryElementOnce( new MyConcurrentStack<Integer>( true ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyConcurrentStack#tryPush(java.lang.Object)}
+	 * and {@link implementations.MyConcurrentStack#tryPop()}
+	 * with many threads on a stack without elimination.
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void testConcurrentPushPop() throws InterruptedException
+	{
+		assertEveryElementOnce( stack );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyConcurrentStack#tryPush(java.lang.Object)}
+	 * with many threads on a bounded stack: exactly as many pushes as the capacity must succeed,
+	 * and no thread may ever see more elements than the capacity.
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void testConcurrentPush_Bounded() throws InterruptedException
+	{
+		final int capacity = 1_000;
+		final MyConcurrentStack<Integer> bounded = new MyConcurrentStack<Integer>( capacity );
+		final AtomicInteger pushed = new AtomicInteger();
+		final AtomicReference<String> failure = new AtomicReference<String>();
+		final CountDownLatch start = new CountDownLatch( 1 );
+		Thread[] threads = new Thread[THREADS];
+		for( int t = 0; t < THREADS; t++ )
+		{
+			threads[t] = new Thread( () -> {
+				await( start );
+				for( int i = 0; i < capacity; i++ )
+				{
+					if( bounded.tryPush( i ) )
+					{
+						pushed.incrementAndGet();
+					}
+					if( bounded.size() > capacity )
+					{
+						failure.compareAndSet( null, "Failed to keep the size within the capacity." );
+					}
+				}
+			} );
+			threads[t].start();
+		}
+		start.countDown();
+		for( Thread thread : threads )
+		{
+			thread.join( 60_000 );
+		}
+
+		assertNull( failure.get(), failure.get() );
+		assertEquals( "Failed to accept exactly the capacity.", capacity, pushed.get() );
+		assertEquals( "Failed to update size.", capacity, bounded.size() );
+		assertTrue( bounded.stackOverflow() );
+	}
+
+	/**
+	 * Every thread pushes its own distinct values and pops as many times as it pushes, then the
+	 * values popped and those left on the stack are counted.
+	 */
+	private static void assertEveryElementOnce( final MyConcurrentStack<Integer> shared ) throws InterruptedException
+	{
+		final int total = THREADS * PER_THREAD;
+		final AtomicIntegerArray seen = new AtomicIntegerArray( total );
+		final CountDownLatch start = new CountDownLatch( 1 );
+		Thread[] threads = new Thread[THREADS];
+		for( int t = 0; t < THREADS; t++ )
+		{
+			final int first = t * PER_THREAD;
+			threads[t] = new Thread( () -> {
+				await( start );
+				for( int i = 0; i < PER_THREAD; i++ )
+				{
+					shared.push( first + i );
+					Integer value = shared.tryPop();
+					if( value != null )
+					{
+						seen.incrementAndGet( value );
+					}
+				}
+			} );
+			threads[t].start();
+		}
+		start.countDown();
+		for( Thread thread : threads )
+		{
+			thread.join( 60_000 );
+			assertFalse( "Failed to finish in time.", thread.isAlive() );
+		}
+
+		int left = shared.size();
+		Iterator<Integer> it = shared.iterator();
+		while( it.hasNext() )
+		{
+			seen.incrementAndGet( it.next() );
+		}
+		for( int i = 0; i < total; i++ )
+		{
+			assertEquals( "Failed to keep element " + i + " exactly once.", 1, seen.get( i ) );
+		}
+		assertEquals( "Failed to pop as many as pushed.", 0, left );
+	}
+
+	@SuppressWarnings( "unchecked" )
+	private static MyConcurrentStack<Integer> roundTrip( MyConcurrentStack<Integer> original )
+			throws IOException, ClassNotFoundException
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try( ObjectOutputStream out = new ObjectOutputStream( bytes ) )
+		{
+			out.writeObject( original );
+		}
+		try( ObjectInputStream in = new ObjectInputStream( new ByteArrayInputStream( bytes.toByteArray() ) ) )
+		{
+			return (MyConcurrentStack<Integer>) in.readObject();
+		}
+	}
+
+	private static void await( CountDownLatch latch )
+	{
+		try
+		{
+			latch.await();
+		}
+		catch( InterruptedException e )
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+}
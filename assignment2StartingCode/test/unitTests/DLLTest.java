@@ -1325,4 +1325,82 @@ public class DLLTest
 
 		assertArrayEquals( "Failed to convert list to array.", original, returnArray );
 	}
+	
+	/**
+	 * Test method for {@link implementations.MyDLL#MyDLL(int)}
+	 * to reject a negative pool capacity.
+	 */
+	@Test
+	public void testConstructor_NegativePoolCapacity()
+	{
+		try
+		{
+			new MyDLL<Integer>( -1 );
+			fail( "Failed to throw IllegalArgumentException." );
+		}
+		catch( IllegalArgumentException e )
+		{
+			assertTrue( true );
+		}
+	}
+	
+	/**
+	 * Test method for {@link implementations.MyDLL#remove(int)},
+	 * {@link implementations.MyDLL#remove(java.lang.Object)}
+	 * and {@link implementations.MyDLL#pooledNodes()}
+	 * to keep removed nodes up to the pool capacity and reuse them when adding.
+	 */
+	@Test
+	public void testPooling_RemoveAndAdd()
+	{
+		MyDLL<Integer> pooled = new MyDLL<Integer>( 2 );
+		pooled.add( one );
+		pooled.add( two );
+		pooled.add( three );
+		pooled.add( four );
+
+		assertEquals( "Failed to return the removed element.", one, pooled.remove( 0 ) );
+		assertEquals( "Failed to return the removed element.", three, pooled.remove( three ) );
+		assertEquals( "Failed to return the removed element.", four, pooled.remove( 1 ) );
+		assertEquals( "Failed to bound the pool.", 2, pooled.pooledNodes() );
+
+		pooled.add( 0, five );
+		assertEquals( "Failed to reuse a pooled node.", 1, pooled.pooledNodes() );
+		pooled.add( one );
+		pooled.add( three );
+		assertEquals( "Failed to reuse the pooled nodes.", 0, pooled.pooledNodes() );
+		assertArrayEquals( "Failed to link the reused nodes.", new Object[] { five, two, one, three },
+				pooled.toArray() );
+
+		Iterator<Integer> it = pooled.iterator();
+		assertEquals( "Failed to iterate over reused nodes.", five, it.next() );
+		assertEquals( "Failed to iterate over reused nodes.", two, it.next() );
+		assertEquals( "Failed to iterate over reused nodes.", one, it.next() );
+		assertEquals( "Failed to iterate over reused nodes.", three, it.next() );
+		assertFalse( it.hasNext() );
+	}
+	
+	/**
+	 * Test method for {@link implementations.MyDLL#clear()}
+	 * to move nodes into the pool, and for a list without a pool to keep none.
+	 */
+	@Test
+	public void testPooling_Clear()
+	{
+		MyDLL<Integer> pooled = new MyDLL<Integer>( 3 );
+		for( int i = 0; i < 5; i++ )
+		{
+			pooled.add( i );
+			myList.add( i );
+		}
+		pooled.clear();
+		myList.clear();
+		assertTrue( pooled.isEmpty() );
+		assertEquals( "Failed to fill the pool up to its capacity.", 3, pooled.pooledNodes() );
+		assertEquals( "Failed to keep no nodes without a pool.", 0, myList.pooledNodes() );
+
+		pooled.add( five );
+		assertEquals( "Failed to add after clearing.", five, pooled.get( 0 ) );
+		assertEquals( "Failed to reuse a pooled node.", 2, pooled.pooledNodes() );
+	}
 }
@@ -0,0 +1,154 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.util.NoSuchElementException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import implementations.MyDoubleArrayList;
+import utilities.DoubleIterator;
+
+/**
+ * Test for the primitive double array list, which mirrors the operations of the ListADT defined
+ * in the CPRG304 Assignment 2.
+ */
+
+public class DoubleArrayListTest
+{
+	// Attributes
+	private MyDoubleArrayList myList;
+	private static final double DELTA = 0.0;
+
+	/**
+	 * Initializes a new MyDoubleArrayList instance before each test.
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		myList = new MyDoubleArrayList();
+	}
+
+	/**
+	 * Cleans up instances used after each test.
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		myList = null;
+	}
+
+	/**
+	 * Test method for {@link implementations.MyDoubleArrayList#add(double)}
+	 * and {@link implementations.MyDoubleArrayList#add(int, double)}
+	 * to add values at the end and in the middle beyond the default capacity.
+	 */
+	@Test
+	public void testAdd()
+	{
+		for( int i = 0; i < 50; i++ )
+		{
+			myList.add( i + 0.5 );
+		}
+		myList.add( 25, -1.0 );
+
+		assertEquals( "Failed to update size.", 51, myList.size() );
+		assertEquals( "Failed to add to the correct position.", -1.0, myList.get( 25 ), DELTA );
+		assertEquals( "Failed to shift the values.", 25.5, myList.get( 26 ), DELTA );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyDoubleArrayList#remove(int)},
+	 * {@link implementations.MyDoubleArrayList#removeValue(double)}
+	 * and {@link implementations.MyDoubleArrayList#removeRange(int, int)}.
+	 */
+	@Test
+	public void testRemove()
+	{
+		myList.addAll( new double[] { 1.5, 2.5, 3.5, 4.5, 5.5 } );
+
+		assertEquals( "Failed to return the removed value.", 2.5, myList.remove( 1 ), DELTA );
+		assertTrue( myList.removeValue( 4.5 ) );
+		assertFalse( myList.removeValue( 4.5 ) );
+		myList.removeRange( 0, 1 );
+
+		assertArrayEquals( "Failed to remove the values.", new double[] { 3.5, 5.5 }, myList.toArray(), DELTA );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyDoubleArrayList#indexOf(double)}
+	 * to compare values like Double.equals: NaN is found and -0.0 is not 0.0.
+	 */
+	@Test
+	public void testIndexOf_SpecialValues()
+	{
+		myList.addAll( new double[] { -0.0, Double.NaN } );
+
+		assertEquals( "Failed to find NaN.", 1, myList.indexOf( Double.NaN ) );
+		assertEquals( "Failed to find -0.0.", 0, myList.indexOf( -0.0 ) );
+		assertEquals( "Failed to tell 0.0 from -0.0.", -1, myList.indexOf( 0.0 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyDoubleArrayList#sort()}
+	 * to sort in ascending order with -0.0 before 0.0 and NaN last.
+	 */
+	@Test
+	public void testSort()
+	{
+		myList.addAll( new double[] { Double.NaN, 2.0, 0.0, -0.0, Double.NEGATIVE_INFINITY, -3.5 } );
+		myList.sort();
+
+		double[] expected = { Double.NEGATIVE_INFINITY, -3.5, -0.0, 0.0, 2.0, Double.NaN };
+		double[] actual = myList.toArray();
+		for( int i = 0; i < expected.length; i++ )
+		{
+			assertEquals( "Failed to sort the values.", Double.valueOf( expected[i] ), Double.valueOf( actual[i] ) );
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyDoubleArrayList#addAll(int, implementations.MyDoubleArrayList)}
+	 * to insert another list.
+	 */
+	@Test
+	public void testAddAllIndex()
+	{
+		MyDoubleArrayList other = new MyDoubleArrayList();
+		other.addAll( new double[] { 2.0, 3.0 } );
+		myList.addAll( new double[] { 1.0, 4.0 } );
+
+		myList.addAll( 1, other );
+		assertArrayEquals( "Failed to insert the list.", new double[] { 1.0, 2.0, 3.0, 4.0 }, myList.toArray(), DELTA );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyDoubleArrayList#iterator()}
+	 * to iterate over the values in order.
+	 */
+	@Test
+	public void testIterator()
+	{
+		myList.addAll( new double[] { 1.25, 2.25 } );
+		DoubleIterator it = myList.iterator();
+
+		assertEquals( "Failed to return value at position.", 1.25, it.next(), DELTA );
+		assertEquals( "Failed to return value at position.", 2.25, it.next(), DELTA );
+		assertFalse( it.hasNext() );
+
+		try
+		{
+			it.next();
+			fail( "Failed to throw NoSuchElementException." );
+		}
+		catch( NoSuchElementException e )
+		{
+			assertTrue( true );
+		}
+	}
+}
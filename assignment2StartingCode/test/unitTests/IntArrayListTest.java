@@ -0,0 +1,276 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.util.NoSuchElementException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import implementations.MyIntArrayList;
+import utilities.IntIterator;
+
+/**
+ * Test for the primitive int array list, which mirrors the operations of the ListADT defined in
+ * the CPRG304 Assignment 2.
+ */
+
+public class IntArrayListTest
+{
+	// Attributes
+	private MyIntArrayList myList;
+
+	/**
+	 * Initializes a new MyIntArrayList instance before each test.
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		myList = new MyIntArrayList();
+	}
+
+	/**
+	 * Cleans up instances used after each test.
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		myList = null;
+	}
+
+	/**
+	 * Test method for {@link implementations.MyIntArrayList#add(int)}
+	 * to add 100 values to the list (beyond default capacity of 10).
+	 */
+	@Test
+	public void testAdd_Many()
+	{
+		for( int i = 0; i < 100; i++ )
+		{
+			assertTrue( myList.add( i * 3 ) );
+		}
+		assertEquals( "Failed to update size.", 100, myList.size() );
+		for( int i = 0; i < 100; i++ )
+		{
+			assertEquals( "Failed to add to the correct position.", i * 3, myList.get( i ) );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.MyIntArrayList#add(int, int)}
+	 * to insert values at the start, middle and end.
+	 */
+	@Test
+	public void testAddIndex()
+	{
+		myList.add( 0, 2 );
+		myList.add( 0, 1 );
+		myList.add( 2, 4 );
+		myList.add( 2, 3 );
+
+		assertArrayEquals( "Failed to add to the correct positions.", new int[] { 1, 2, 3, 4 }, myList.toArray() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyIntArrayList#add(int, int)}
+	 * to throw an IndexOutOfBoundsException for an index past the end.
+	 */
+	@Test
+	public void testAddIndex_IndexOutOfBoundsException()
+	{
+		myList.add( 1 );
+		try
+		{
+			myList.add( 2, 5 );
+			fail( "Failed to throw IndexOutOfBoundsException." );
+		}
+		catch( IndexOutOfBoundsException e )
+		{
+			assertTrue( true );
+		}
+		assertEquals( "Failed to maintain size.", 1, myList.size() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyIntArrayList#remove(int)}
+	 * to remove by index and shift the rest to the left.
+	 */
+	@Test
+	public void testRemoveIndex()
+	{
+		myList.addAll( new int[] { 10, 20, 30, 40 } );
+
+		assertEquals( "Failed to return the removed value.", 20, myList.remove( 1 ) );
+		assertArrayEquals( "Failed to shift the values.", new int[] { 10, 30, 40 }, myList.toArray() );
+
+		try
+		{
+			myList.remove( 3 );
+			fail( "Failed to throw IndexOutOfBoundsException." );
+		}
+		catch( IndexOutOfBoundsException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.MyIntArrayList#removeValue(int)}
+	 * to remove the first occurrence of a value.
+	 */
+	@Test
+	public void testRemoveValue()
+	{
+		myList.addAll( new int[] { 5, 7, 5 } );
+
+		assertTrue( myList.removeValue( 5 ) );
+		assertArrayEquals( "Failed to remove the first occurrence.", new int[] { 7, 5 }, myList.toArray() );
+		assertFalse( myList.removeValue( 9 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyIntArrayList#set(int, int)}
+	 * and {@link implementations.MyIntArrayList#get(int)}.
+	 */
+	@Test
+	public void testSetGet()
+	{
+		myList.addAll( new int[] { 1, 2, 3 } );
+
+		assertEquals( "Failed to return the old value.", 2, myList.set( 1, 20 ) );
+		assertEquals( "Failed to set the value.", 20, myList.get( 1 ) );
+
+		try
+		{
+			myList.get( 3 );
+			fail( "Failed to throw IndexOutOfBoundsException." );
+		}
+		catch( IndexOutOfBoundsException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyIntArrayList#addAll(int, implementations.MyIntArrayList)}
+	 * to insert another list and the list itself.
+	 */
+	@Test
+	public void testAddAllIndex()
+	{
+		MyIntArrayList other = new MyIntArrayList();
+		other.addAll( new int[] { 2, 3 } );
+		myList.addAll( new int[] { 1, 4 } );
+
+		myList.addAll( 1, other );
+		assertArrayEquals( "Failed to insert the list.", new int[] { 1, 2, 3, 4 }, myList.toArray() );
+
+		myList.addAll( myList );
+		assertArrayEquals( "Failed to append the list to itself.", new int[] { 1, 2, 3, 4, 1, 2, 3, 4 },
+				myList.toArray() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyIntArrayList#removeRange(int, int)}
+	 * to remove a range of values.
+	 */
+	@Test
+	public void testRemoveRange()
+	{
+		for( int i = 0; i < 10; i++ )
+		{
+			myList.add( i );
+		}
+		myList.removeRange( 3, 8 );
+
+		assertArrayEquals( "Failed to remove the range.", new int[] { 0, 1, 2, 8, 9 }, myList.toArray() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyIntArrayList#sort()}
+	 * to sort the values, including negative ones, in ascending order.
+	 */
+	@Test
+	public void testSort()
+	{
+		myList.addAll( new int[] { 3, -1, Integer.MAX_VALUE, 0, Integer.MIN_VALUE, 3 } );
+		myList.trimToSize();
+		myList.sort();
+
+		assertArrayEquals( "Failed to sort the values.", new int[] { Integer.MIN_VALUE, -1, 0, 3, 3, Integer.MAX_VALUE },
+				myList.toArray() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyIntArrayList#contains(int)}
+	 * and {@link implementations.MyIntArrayList#indexOf(int)}.
+	 */
+	@Test
+	public void testContainsIndexOf()
+	{
+		myList.addAll( new int[] { 4, 8, 15 } );
+
+		assertTrue( myList.contains( 8 ) );
+		assertFalse( myList.contains( 16 ) );
+		assertEquals( "Failed to find the value.", 2, myList.indexOf( 15 ) );
+		assertEquals( "Failed to return -1 for not found.", -1, myList.indexOf( 16 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyIntArrayList#toArray(int[])}
+	 * to use a sufficient array and replace an insufficient one.
+	 */
+	@Test
+	public void testToArrayHolder()
+	{
+		myList.addAll( new int[] { 1, 2 } );
+
+		int[] sufficient = new int[2];
+		assertSame( "Failed to use the given array.", sufficient, myList.toArray( sufficient ) );
+		assertArrayEquals( "Failed to convert list to array.", new int[] { 1, 2 }, myList.toArray( new int[1] ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyIntArrayList#iterator()}
+	 * to iterate over the values in order.
+	 */
+	@Test
+	public void testIterator()
+	{
+		myList.addAll( new int[] { 1, 2 } );
+		IntIterator it = myList.iterator();
+
+		assertEquals( "Failed to return value at position.", 1, it.next() );
+		assertEquals( "Failed to return value at position.", 2, it.next() );
+		assertFalse( it.hasNext() );
+
+		try
+		{
+			it.next();
+			fail( "Failed to throw NoSuchElementException." );
+		}
+		catch( NoSuchElementException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.MyIntArrayList#clear()}
+	 * to clear the list and allow reuse.
+	 */
+	@Test
+	public void testClear()
+	{
+		myList.addAll( new int[] { 1, 2, 3 } );
+		myList.clear();
+
+		assertTrue( myList.isEmpty() );
+		myList.add( 4 );
+		assertEquals( "Failed to add after clear.", 4, myList.get( 0 ) );
+	}
+}
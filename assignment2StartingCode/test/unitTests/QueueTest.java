@@ -73,6 +73,28 @@ public class QueueTest
 		assertEquals( "Failed to create the queue.", expected, actual );
 	}
 
+	/**
+	 * Test method for 
+	 * {@link implementations.MyQueue#MyQueue(int)}
+	 * to keep the order of a queue that reuses the nodes of dequeued elements.
+	 * @throws EmptyQueueException 
+	 */
+	@Test
+	public void testConstructor_Pooled() throws EmptyQueueException
+	{
+		MyQueue<Integer> pooled = new MyQueue<Integer>( 4 );
+		for( int round = 0; round < 100; round++ )
+		{
+			pooled.enqueue( one );
+			pooled.enqueue( two );
+			pooled.enqueue( three );
+			assertEquals( "Failed to dequeue in order.", one, pooled.dequeue() );
+			assertEquals( "Failed to dequeue in order.", two, pooled.dequeue() );
+			assertEquals( "Failed to dequeue in order.", three, pooled.dequeue() );
+		}
+		assertTrue( pooled.isEmpty() );
+	}
+
 	/**
 	 * Test method for 
 	 * {@link implementations.MyQueue#dequeueAll()}
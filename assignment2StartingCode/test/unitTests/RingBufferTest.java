@@ -0,0 +1,371 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import exceptions.EmptyQueueException;
+import implementations.MyQueue;
+import implementations.MyRingBuffer;
+import utilities.Iterator;
+
+/**
+ * Test for the single-producer single-consumer ring buffer, through its own operations, its
+ * batch operations and the QueueADT defined in the CPRG 304 Assignment 2.
+ */
+
+public class RingBufferTest
+{
+	// Constants
+	private static final int HANDOFFS = 1_000_000;
+
+	// Attributes
+	private MyRingBuffer<Integer> buffer;
+	private Integer one;
+	private Integer two;
+	private Integer three;
+	private Integer four;
+	private Integer five;
+
+	/**
+	 * Initializes a MyRingBuffer instance with a capacity of 4 and five Integer instances before
+	 * each test.
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		buffer = new MyRingBuffer<Integer>( 4 );
+		one = 111;
+		two = 222;
+		three = 333;
+		four = 444;
+		five = 555;
+	}
+
+	/**
+	 * Cleans up instances used after each test.
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		buffer = null;
+		one = null;
+		two = null;
+		three = null;
+		four = null;
+		five = null;
+	}
+
+	/**
+	 * Test method for {@link implementations.MyRingBuffer#MyRingBuffer(int)}
+	 * to round the capacity up to a power of two and reject a capacity less than one.
+	 */
+	@Test
+	public void testConstructor_Capacity()
+	{
+		assertEquals( "Failed to round the capacity up.", 8, new MyRingBuffer<Integer>( 5 ).capacity() );
+		assertEquals( "Failed to keep a power of two.", 4, buffer.capacity() );
+		try
+		{
+			new MyRingBuffer<Integer>( 0 );
+			fail( "Failed to throw IllegalArgumentException." );
+		}
+		catch( IllegalArgumentException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.MyRingBuffer#offer(java.lang.Object)}
+	 * and {@link implementations.MyRingBuffer#poll()}
+	 * to keep the order across the end of the array and refuse an element when full.
+	 */
+	@Test
+	public void testOfferPoll()
+	{
+		assertNull( "Failed to return null for an empty buffer.", buffer.poll() );
+		assertTrue( buffer.offer( one ) );
+		assertTrue( buffer.offer( two ) );
+		assertTrue( buffer.offer( three ) );
+		assertEquals( "Failed to poll in order.", one, buffer.poll() );
+		assertTrue( buffer.offer( four ) );
+		assertTrue( buffer.offer( five ) );
+		assertTrue( buffer.isFull() );
+		assertFalse( "Failed to refuse an element when full.", buffer.offer( one ) );
+
+		assertEquals( "Failed to poll in order.", two, buffer.poll() );
+		assertEquals( "Failed to poll in order.", three, buffer.poll() );
+		assertEquals( "Failed to poll in order.", four, buffer.poll() );
+		assertEquals( "Failed to poll in order.", five, buffer.poll() );
+		assertTrue( buffer.isEmpty() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyRingBuffer#enqueue(java.lang.Object)}
+	 * to throw an IllegalStateException when full and a NullPointerException for null.
+	 */
+	@Test
+	public void testEnqueue_Exceptions()
+	{
+		try
+		{
+			buffer.enqueue( null );
+			fail( "Failed to throw NullPointerException." );
+		}
+		catch( NullPointerException e )
+		{
+			assertTrue( true );
+		}
+		for( int i = 0; i < 4; i++ )
+		{
+			buffer.enqueue( i );
+		}
+		try
+		{
+			buffer.enqueue( five );
+			fail( "Failed to throw IllegalStateException." );
+		}
+		catch( IllegalStateException e )
+		{
+			assertTrue( true );
+		}
+		assertEquals( "Failed to maintain size.", 4, buffer.size() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyRingBuffer#dequeue()}
+	 * and {@link implementations.MyRingBuffer#peek()}
+	 * to throw an EmptyQueueException on an empty buffer.
+	 */
+	@Test
+	public void testDequeuePeek_EmptyQueueException()
+	{
+		try
+		{
+			buffer.dequeue();
+			fail( "Failed to throw EmptyQueueException." );
+		}
+		catch( EmptyQueueException e )
+		{
+			assertTrue( true );
+		}
+		try
+		{
+			buffer.peek();
+			fail( "Failed to throw EmptyQueueException." );
+		}
+		catch( EmptyQueueException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.MyRingBuffer#offer(Object[], int, int)}
+	 * to add as many elements of the range as fit.
+	 * @throws EmptyQueueException
+	 */
+	@Test
+	public void testOfferBatch() throws EmptyQueueException
+	{
+		buffer.enqueue( one );
+		buffer.dequeue();
+		Integer[] elements = { five, one, two, three, four, five };
+
+		assertEquals( "Failed to add the elements that fit.", 4, buffer.offer( elements, 1, 5 ) );
+		assertArrayEquals( "Failed to add in order.", new Object[] { one, two, three, four }, buffer.toArray() );
+		assertEquals( "Failed to refuse elements when full.", 0, buffer.offer( elements, 5, 1 ) );
+		try
+		{
+			buffer.offer( elements, 4, 3 );
+			fail( "Failed to throw IndexOutOfBoundsException." );
+		}
+		catch( IndexOutOfBoundsException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.MyRingBuffer#drainTo(Object[], int, int)}
+	 * to remove up to the given number of elements into an array.
+	 */
+	@Test
+	public void testDrainToArray()
+	{
+		buffer.offer( one );
+		buffer.poll();
+		buffer.offer( two );
+		buffer.offer( three );
+		buffer.offer( four );
+		buffer.offer( five );
+		Integer[] target = new Integer[6];
+
+		assertEquals( "Failed to return the number removed.", 3, buffer.drainTo( target, 1, 3 ) );
+		assertArrayEquals( "Failed to remove in order.", new Integer[] { null, two, three, four, null, null }, target );
+		assertEquals( "Failed to return the number removed.", 1, buffer.drainTo( target, 0, 6 ) );
+		assertEquals( "Failed to remove the last element.", five, target[0] );
+		assertEquals( "Failed to return 0 for an empty buffer.", 0, buffer.drainTo( target, 0, 6 ) );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyRingBuffer#drain(java.util.function.Consumer, int)}
+	 * to pass the elements to the handler and release them even if the handler fails.
+	 */
+	@Test
+	public void testDrainHandler()
+	{
+		final MyQueue<Integer> handled = new MyQueue<Integer>();
+		buffer.offer( one );
+		buffer.offer( two );
+		buffer.offer( three );
+
+		assertEquals( "Failed to return the number removed.", 2, buffer.drain( handled::enqueue, 2 ) );
+		assertArrayEquals( "Failed to handle in order.", new Object[] { one, two }, handled.toArray() );
+
+		buffer.offer( four );
+		try
+		{
+			buffer.drain( element -> {
+				throw new IllegalStateException( "handler" );
+			}, 10 );
+			fail( "Failed to pass on the exception of the handler." );
+		}
+		catch( IllegalStateException e )
+		{
+			assertTrue( true );
+		}
+		assertArrayEquals( "Failed to release the failed element only.", new Object[] { four }, buffer.toArray() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyRingBuffer#iterator()},
+	 * {@link implementations.MyRingBuffer#search(java.lang.Object)}
+	 * and {@link implementations.MyRingBuffer#equals(utilities.QueueADT)}.
+	 * @throws EmptyQueueException
+	 */
+	@Test
+	public void testQueueView() throws EmptyQueueException
+	{
+		MyQueue<Integer> other = new MyQueue<Integer>();
+		buffer.enqueue( one );
+		buffer.dequeue();
+		buffer.enqueue( two );
+		buffer.enqueue( three );
+		other.enqueue( two );
+		other.enqueue( three );
+
+		assertEquals( "Failed to peek the front element.", two, buffer.peek() );
+		assertEquals( "Failed to find the position.", 2, buffer.search( three ) );
+		assertFalse( buffer.contains( one ) );
+		assertTrue( buffer.equals( other ) );
+
+		Iterator<Integer> it = buffer.iterator();
+		assertEquals( "Failed to return element at position.", two, it.next() );
+		assertEquals( "Failed to return element at position.", three, it.next() );
+		try
+		{
+			it.next();
+			fail( "Failed to throw NoSuchElementException." );
+		}
+		catch( NoSuchElementException e )
+		{
+			assertTrue( true );
+		}
+
+		Integer[] larger = new Integer[] { five, five, five };
+		assertSame( "Failed to use the given array.", larger, buffer.toArray( larger ) );
+		assertArrayEquals( "Failed to convert buffer to array.", new Integer[] { two, three, null }, larger );
+
+		buffer.dequeueAll();
+		assertTrue( buffer.isEmpty() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyRingBuffer#offer(Object[], int, int)}
+	 * and {@link implementations.MyRingBuffer#poll()}
+	 * with a producer and a consumer thread: every element must arrive once and in order.
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void testProducerConsumer() throws InterruptedException
+	{
+		final MyRingBuffer<Integer> shared = new MyRingBuffer<Integer>( 64 );
+		final AtomicReference<String> failure = new AtomicReference<String>();
+		Thread producer = new Thread( () -> {
+			Integer[] batch = new Integer[7];
+			int next = 0;
+			while( next < HANDOFFS )
+			{
+				// Alternate single and batch publishing
+				if( next % 2 == 0 )
+				{
+					if( !shared.offer( next ) )
+					{
+						Thread.yield();
+						continue;
+					}
+					next++;
+				}
+				else
+				{
+					int count = Math.min( batch.length, HANDOFFS - next );
+					for( int i = 0; i < count; i++ )
+					{
+						batch[i] = next + i;
+					}
+					int added = shared.offer( batch, 0, count );
+					if( added == 0 )
+					{
+						Thread.yield();
+					}
+					next += added;
+				}
+			}
+		} );
+		Thread consumer = new Thread( () -> {
+			Integer[] batch = new Integer[5];
+			int expected = 0;
+			while( expected < HANDOFFS && failure.get() == null )
+			{
+				int count = shared.drainTo( batch, 0, batch.length );
+				if( count == 0 )
+				{
+					Integer value = shared.poll();
+					if( value == null )
+					{
+						Thread.yield();
+						continue;
+					}
+					batch[0] = value;
+					count = 1;
+				}
+				for( int i = 0; i < count; i++ )
+				{
+					if( batch[i] != expected )
+					{
+						failure.compareAndSet( null, "Failed to receive " + expected + ", got " + batch[i] + "." );
+					}
+					expected++;
+				}
+			}
+		} );
+
+		producer.start();
+		consumer.start();
+		producer.join( 60_000 );
+		consumer.join( 60_000 );
+		assertFalse( "Failed to finish in time.", producer.isAlive() || consumer.isAlive() );
+		assertNull( failure.get(), failure.get() );
+		assertTrue( shared.isEmpty() );
+	}
+}
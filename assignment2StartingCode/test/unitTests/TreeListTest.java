@@ -0,0 +1,297 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import implementations.MyArrayList;
+import implementations.MyDLL;
+import implementations.MyTreeList;
+import utilities.Iterator;
+
+/**
+ * Test for the balanced tree implementation of the ListADT defined in the CPRG 304
+ * Assignment 2.
+ */
+
+public class TreeListTest
+{
+	// Attributes
+	private MyTreeList<Integer> myList;
+	private Integer one;
+	private Integer two;
+	private Integer three;
+	private Integer four;
+	private Integer five;
+
+	/**
+	 * Initializes a MyTreeList instance and five Integer instances before each test.
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		myList = new MyTreeList<Integer>();
+		one = 111;
+		two = 222;
+		three = 333;
+		four = 444;
+		five = 555;
+	}
+
+	/**
+	 * Cleans up instances used after each test.
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		myList = null;
+		one = null;
+		two = null;
+		three = null;
+		four = null;
+		five = null;
+	}
+
+	/**
+	 * Test method for {@link implementations.MyTreeList#add(java.lang.Object)}
+	 * and {@link implementations.MyTreeList#get(int)}
+	 * to append many elements. The tree is added to and removed from recursively, so an
+	 * unbalanced tree of this size would overflow the stack.
+	 */
+	@Test
+	public void testAdd_ManyStaysBalanced()
+	{
+		for( int i = 0; i < 200_000; i++ )
+		{
+			assertTrue( myList.add( i ) );
+		}
+		assertEquals( "Failed to update size.", 200_000, myList.size() );
+		for( int i = 0; i < 200_000; i += 997 )
+		{
+			assertEquals( "Failed to add to the correct position.", Integer.valueOf( i ), myList.get( i ) );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.MyTreeList#add(int, java.lang.Object)}
+	 * to insert at the start, middle and end.
+	 */
+	@Test
+	public void testAddIndex()
+	{
+		myList.add( one );
+		myList.add( two );
+		myList.add( four );
+		myList.add( five );
+		myList.add( 2, three );
+		myList.add( 0, five );
+
+		assertArrayEquals( "Failed to insert at the correct positions.",
+				new Object[] { five, one, two, three, four, five }, myList.toArray() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyTreeList#add(int, java.lang.Object)}
+	 * to throw the documented exceptions.
+	 */
+	@Test
+	public void testAddIndex_Exceptions()
+	{
+		try
+		{
+			myList.add( 1, one );
+			fail( "Failed to throw IndexOutOfBoundsException." );
+		}
+		catch( IndexOutOfBoundsException e )
+		{
+			assertTrue( true );
+		}
+		try
+		{
+			myList.add( 0, null );
+			fail( "Failed to throw NullPointerException." );
+		}
+		catch( NullPointerException e )
+		{
+			assertTrue( true );
+		}
+		assertTrue( myList.isEmpty() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyTreeList#remove(int)}
+	 * to remove elements, including ones with two subtrees, until the list is empty.
+	 */
+	@Test
+	public void testRemoveIndex()
+	{
+		for( int i = 0; i < 10; i++ )
+		{
+			myList.add( i );
+		}
+		assertEquals( "Failed to return the removed element.", Integer.valueOf( 1 ), myList.remove( 1 ) );
+		assertEquals( "Failed to return the removed element.", Integer.valueOf( 2 ), myList.remove( 1 ) );
+		assertEquals( "Failed to return the removed element.", Integer.valueOf( 9 ), myList.remove( 7 ) );
+		assertArrayEquals( "Failed to keep the order.", new Object[] { 0, 3, 4, 5, 6, 7, 8 }, myList.toArray() );
+
+		while( !myList.isEmpty() )
+		{
+			myList.remove( myList.size() / 2 );
+		}
+		assertEquals( "Failed to update size.", 0, myList.size() );
+		myList.add( one );
+		assertEquals( "Failed to add after emptying.", one, myList.get( 0 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyTreeList#remove(java.lang.Object)}
+	 * to remove the first occurrence of an element.
+	 */
+	@Test
+	public void testRemoveElement()
+	{
+		myList.add( one );
+		myList.add( two );
+		myList.add( one );
+
+		assertEquals( "Failed to return the removed element.", one, myList.remove( one ) );
+		assertArrayEquals( "Failed to remove the first occurrence.", new Object[] { two, one }, myList.toArray() );
+		assertNull( "Failed to return null for not found.", myList.remove( five ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyTreeList#set(int, java.lang.Object)}
+	 * and {@link implementations.MyTreeList#contains(java.lang.Object)}.
+	 */
+	@Test
+	public void testSetContains()
+	{
+		for( int i = 0; i < 10; i++ )
+		{
+			myList.add( i );
+		}
+		assertEquals( "Failed to return the old element.", Integer.valueOf( 7 ), myList.set( 7, five ) );
+		assertEquals( "Failed to set the element.", five, myList.get( 7 ) );
+		assertTrue( myList.contains( five ) );
+		assertFalse( myList.contains( 7 ) );
+
+		try
+		{
+			myList.get( 10 );
+			fail( "Failed to throw IndexOutOfBoundsException." );
+		}
+		catch( IndexOutOfBoundsException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.MyTreeList#addAll(utilities.ListADT)}
+	 * to append another list and the list itself.
+	 */
+	@Test
+	public void testAddAll()
+	{
+		MyDLL<Integer> other = new MyDLL<Integer>();
+		other.add( one );
+		other.add( two );
+		other.add( three );
+
+		assertTrue( myList.addAll( other ) );
+		assertTrue( myList.addAll( myList ) );
+		assertArrayEquals( "Failed to append the lists.", new Object[] { one, two, three, one, two, three },
+				myList.toArray() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyTreeList#iterator()}
+	 * to iterate over the elements in order.
+	 */
+	@Test
+	public void testIterator()
+	{
+		for( int i = 8; i >= 0; i-- )
+		{
+			myList.add( 0, i );
+		}
+		Iterator<Integer> it = myList.iterator();
+		for( int i = 0; i < 9; i++ )
+		{
+			assertEquals( "Failed to return element at position.", Integer.valueOf( i ), it.next() );
+		}
+		assertFalse( it.hasNext() );
+		try
+		{
+			it.next();
+			fail( "Failed to throw NoSuchElementException." );
+		}
+		catch( NoSuchElementException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.MyTreeList#toArray(Object[])}
+	 * to use a sufficient array and replace an insufficient one.
+	 */
+	@Test
+	public void testToArrayHolder()
+	{
+		myList.add( one );
+		myList.add( two );
+
+		Integer[] larger = new Integer[] { five, five, five };
+		assertSame( "Failed to use the given array.", larger, myList.toArray( larger ) );
+		assertArrayEquals( "Failed to convert list to array.", new Integer[] { one, two, null }, larger );
+		assertArrayEquals( "Failed to convert list to array.", new Integer[] { one, two },
+				myList.toArray( new Integer[0] ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyTreeList#add(int, java.lang.Object)},
+	 * {@link implementations.MyTreeList#remove(int)}
+	 * and {@link implementations.MyTreeList#set(int, java.lang.Object)}
+	 * to give the same elements as MyArrayList after many random edits.
+	 */
+	@Test
+	public void testRandomEdits_SameAsArrayList()
+	{
+		MyArrayList<Integer> expected = new MyArrayList<Integer>();
+		Random random = new Random( 304 );
+		for( int i = 0; i < 20_000; i++ )
+		{
+			int operation = random.nextInt( 10 );
+			if( operation < 5 || expected.isEmpty() )
+			{
+				int index = random.nextInt( expected.size() + 1 );
+				expected.add( index, i );
+				myList.add( index, i );
+			}
+			else if( operation < 9 )
+			{
+				int index = random.nextInt( expected.size() );
+				assertEquals( "Failed to remove the same element.", expected.remove( index ), myList.remove( index ) );
+			}
+			else
+			{
+				int index = random.nextInt( expected.size() );
+				assertEquals( "Failed to set the same element.", expected.set( index, -i ), myList.set( index, -i ) );
+			}
+			assertEquals( "Failed to keep the size.", expected.size(), myList.size() );
+		}
+		assertArrayEquals( "Failed to keep the elements.", expected.toArray(), myList.toArray() );
+		for( int i = 0; i < expected.size(); i++ )
+		{
+			assertEquals( "Failed to get the same element.", expected.get( i ), myList.get( i ) );
+		}
+	}
+}
@@ -0,0 +1,354 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import implementations.MyArrayList;
+import implementations.MyDLL;
+import implementations.MyUnrolledList;
+import utilities.Iterator;
+
+/**
+ * Test for the unrolled linked list implementation of the ListADT defined in the CPRG 304
+ * Assignment 2. Most tests use nodes of 4 elements, so that a few elements already split and
+ * merge nodes.
+ */
+
+public class UnrolledListTest
+{
+	// Attributes
+	private MyUnrolledList<Integer> myList;
+	private Integer one;
+	private Integer two;
+	private Integer three;
+	private Integer four;
+	private Integer five;
+
+	/**
+	 * Initializes a MyUnrolledList instance with nodes of 4 elements and five Integer instances
+	 * before each test.
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		myList = new MyUnrolledList<Integer>( 4 );
+		one = 111;
+		two = 222;
+		three = 333;
+		four = 444;
+		five = 555;
+	}
+
+	/**
+	 * Cleans up instances used after each test.
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		myList = null;
+		one = null;
+		two = null;
+		three = null;
+		four = null;
+		five = null;
+	}
+
+	/**
+	 * Test method for {@link implementations.MyUnrolledList#MyUnrolledList(int)}
+	 * to reject a node capacity less than four.
+	 */
+	@Test
+	public void testConstructor_InvalidNodeCapacity()
+	{
+		try
+		{
+			new MyUnrolledList<Integer>( 3 );
+			fail( "Failed to throw IllegalArgumentException." );
+		}
+		catch( IllegalArgumentException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.MyUnrolledList#add(java.lang.Object)}
+	 * and {@link implementations.MyUnrolledList#get(int)}
+	 * to add elements over several nodes.
+	 */
+	@Test
+	public void testAdd_ManyNodes()
+	{
+		for( int i = 0; i < 100; i++ )
+		{
+			assertTrue( myList.add( i ) );
+		}
+		assertEquals( "Failed to update size.", 100, myList.size() );
+		for( int i = 0; i < 100; i++ )
+		{
+			assertEquals( "Failed to add to the correct position.", Integer.valueOf( i ), myList.get( i ) );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.MyUnrolledList#add(int, java.lang.Object)}
+	 * to insert into a full node, splitting it.
+	 */
+	@Test
+	public void testAddIndex_Split()
+	{
+		myList.add( one );
+		myList.add( two );
+		myList.add( four );
+		myList.add( five );
+		myList.add( 2, three );
+		myList.add( 0, five );
+
+		assertArrayEquals( "Failed to insert at the correct positions.",
+				new Object[] { five, one, two, three, four, five }, myList.toArray() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyUnrolledList#add(int, java.lang.Object)}
+	 * to throw the documented exceptions.
+	 */
+	@Test
+	public void testAddIndex_Exceptions()
+	{
+		try
+		{
+			myList.add( 1, one );
+			fail( "Failed to throw IndexOutOfBoundsException." );
+		}
+		catch( IndexOutOfBoundsException e )
+		{
+			assertTrue( true );
+		}
+		try
+		{
+			myList.add( 0, null );
+			fail( "Failed to throw NullPointerException." );
+		}
+		catch( NullPointerException e )
+		{
+			assertTrue( true );
+		}
+		assertTrue( myList.isEmpty() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyUnrolledList#remove(int)}
+	 * to remove elements until nodes merge and become empty.
+	 */
+	@Test
+	public void testRemoveIndex_Merge()
+	{
+		for( int i = 0; i < 10; i++ )
+		{
+			myList.add( i );
+		}
+		assertEquals( "Failed to return the removed element.", Integer.valueOf( 1 ), myList.remove( 1 ) );
+		assertEquals( "Failed to return the removed element.", Integer.valueOf( 2 ), myList.remove( 1 ) );
+		assertEquals( "Failed to return the removed element.", Integer.valueOf( 9 ), myList.remove( 7 ) );
+		assertArrayEquals( "Failed to keep the order.", new Object[] { 0, 3, 4, 5, 6, 7, 8 }, myList.toArray() );
+
+		while( !myList.isEmpty() )
+		{
+			myList.remove( myList.size() / 2 );
+		}
+		assertEquals( "Failed to update size.", 0, myList.size() );
+		myList.add( one );
+		assertEquals( "Failed to add after emptying.", one, myList.get( 0 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyUnrolledList#remove(java.lang.Object)}
+	 * to remove the first occurrence of an element.
+	 */
+	@Test
+	public void testRemoveElement()
+	{
+		myList.add( one );
+		myList.add( two );
+		myList.add( one );
+
+		assertEquals( "Failed to return the removed element.", one, myList.remove( one ) );
+		assertArrayEquals( "Failed to remove the first occurrence.", new Object[] { two, one }, myList.toArray() );
+		assertNull( "Failed to return null for not found.", myList.remove( five ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyUnrolledList#set(int, java.lang.Object)}
+	 * and {@link implementations.MyUnrolledList#contains(java.lang.Object)}.
+	 */
+	@Test
+	public void testSetContains()
+	{
+		for( int i = 0; i < 10; i++ )
+		{
+			myList.add( i );
+		}
+		assertEquals( "Failed to return the old element.", Integer.valueOf( 7 ), myList.set( 7, five ) );
+		assertEquals( "Failed to set the element.", five, myList.get( 7 ) );
+		assertTrue( myList.contains( five ) );
+		assertFalse( myList.contains( 7 ) );
+
+		try
+		{
+			myList.get( 10 );
+			fail( "Failed to throw IndexOutOfBoundsException." );
+		}
+		catch( IndexOutOfBoundsException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.MyUnrolledList#addAll(utilities.ListADT)}
+	 * to append another list and the list itself.
+	 */
+	@Test
+	public void testAddAll()
+	{
+		MyDLL<Integer> other = new MyDLL<Integer>();
+		other.add( one );
+		other.add( two );
+		other.add( three );
+
+		assertTrue( myList.addAll( other ) );
+		assertTrue( myList.addAll( myList ) );
+		assertArrayEquals( "Failed to append the lists.", new Object[] { one, two, three, one, two, three },
+				myList.toArray() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyUnrolledList#iterator()}
+	 * to iterate over the elements of all nodes in order.
+	 */
+	@Test
+	public void testIterator()
+	{
+		for( int i = 0; i < 9; i++ )
+		{
+			myList.add( i );
+		}
+		Iterator<Integer> it = myList.iterator();
+		for( int i = 0; i < 9; i++ )
+		{
+			assertEquals( "Failed to return element at position.", Integer.valueOf( i ), it.next() );
+		}
+		assertFalse( it.hasNext() );
+		try
+		{
+			it.next();
+			fail( "Failed to throw NoSuchElementException." );
+		}
+		catch( NoSuchElementException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.MyUnrolledList#toArray(Object[])}
+	 * to use a sufficient array and replace an insufficient one.
+	 */
+	@Test
+	public void testToArrayHolder()
+	{
+		myList.add( one );
+		myList.add( two );
+
+		Integer[] larger = new Integer[] { five, five, five };
+		assertSame( "Failed to use the given array.", larger, myList.toArray( larger ) );
+		assertArrayEquals( "Failed to convert list to array.", new Integer[] { one, two, null }, larger );
+		assertArrayEquals( "Failed to convert list to array.", new Integer[] { one, two },
+				myList.toArray( new Integer[0] ) );
+	}
+
+	/**
+	 * Test method for serializing a MyUnrolledList over several nodes, which must come back with
+	 * the same elements in the same order and accept changes.
+	 * @throws Exception
+	 */
+	@Test
+	@SuppressWarnings( "unchecked" )
+	public void testSerialization() throws Exception
+	{
+		for( int i = 0; i < 10; i++ )
+		{
+			myList.add( i );
+		}
+		myList.remove( 3 );
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try( ObjectOutputStream out = new ObjectOutputStream( bytes ) )
+		{
+			out.writeObject( myList );
+		}
+		MyUnrolledList<Integer> copy;
+		try( ObjectInputStream in = new ObjectInputStream( new ByteArrayInputStream( bytes.toByteArray() ) ) )
+		{
+			copy = (MyUnrolledList<Integer>) in.readObject();
+		}
+
+		assertEquals( "Failed to keep the size.", 9, copy.size() );
+		assertArrayEquals( "Failed to keep the elements in order.", myList.toArray(), copy.toArray() );
+		copy.add( 2, 42 );
+		assertEquals( "Failed to insert into the copy.", Integer.valueOf( 42 ), copy.get( 2 ) );
+		assertEquals( "Failed to remove from the copy.", Integer.valueOf( 9 ), copy.remove( 9 ) );
+		assertEquals( "Failed to keep the size after changes.", 9, copy.size() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyUnrolledList#add(int, java.lang.Object)},
+	 * {@link implementations.MyUnrolledList#remove(int)}
+	 * and {@link implementations.MyUnrolledList#set(int, java.lang.Object)}
+	 * to give the same elements as MyArrayList after many random edits.
+	 */
+	@Test
+	public void testRandomEdits_SameAsArrayList()
+	{
+		MyArrayList<Integer> expected = new MyArrayList<Integer>();
+		Random random = new Random( 304 );
+		for( int i = 0; i < 20_000; i++ )
+		{
+			int operation = random.nextInt( 10 );
+			if( operation < 5 || expected.isEmpty() )
+			{
+				int index = random.nextInt( expected.size() + 1 );
+				expected.add( index, i );
+				myList.add( index, i );
+			}
+			else if( operation < 9 )
+			{
+				int index = random.nextInt( expected.size() );
+				assertEquals( "Failed to remove the same element.", expected.remove( index ), myList.remove( index ) );
+			}
+			else
+			{
+				int index = random.nextInt( expected.size() );
+				assertEquals( "Failed to set the same element.", expected.set( index, -i ), myList.set( index, -i ) );
+			}
+			assertEquals( "Failed to keep the size.", expected.size(), myList.size() );
+		}
+		assertArrayEquals( "Failed to keep the elements.", expected.toArray(), myList.toArray() );
+		for( int i = 0; i < expected.size(); i++ )
+		{
+			assertEquals( "Failed to get the same element.", expected.get( i ), myList.get( i ) );
+		}
+	}
+}